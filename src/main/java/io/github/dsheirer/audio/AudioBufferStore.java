@@ -0,0 +1,148 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Append-only chunked storage for the audio buffers of an audio segment.
+ *
+ * Audio buffers are appended to fixed size chunks, so adding a buffer is a constant time operation and only the small
+ * chunk directory is copied when it grows.  The store supports a single producer thread that adds audio buffers and
+ * multiple consumer threads that read the audio buffers concurrently.  The buffer count is published after each buffer
+ * is stored, so a consumer can always access any buffer with an index less than the current size, until the store is
+ * cleared.
+ *
+ * Use the create() method to create a store for the desired storage mode.
+ */
+public abstract class AudioBufferStore
+{
+    protected static final int CHUNK_SHIFT = 6;
+    protected static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    protected static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    protected static final int INITIAL_DIRECTORY_SIZE = 4;
+
+    private volatile int mSize;
+
+    /**
+     * Creates an audio buffer store for the specified storage mode.
+     * @param audioStorageMode for the store
+     * @return store
+     */
+    public static AudioBufferStore create(AudioStorageMode audioStorageMode)
+    {
+        return switch(audioStorageMode)
+        {
+            case PCM_16 -> new PCM16AudioBufferStore();
+            case PCM_16_OFF_HEAP -> new OffHeapPCM16AudioBufferStore();
+            default -> new FloatAudioBufferStore();
+        };
+    }
+
+    /**
+     * Adds the audio buffer to the end of this store.  Only invoke from the producer thread.
+     * @param audioBuffer to add
+     */
+    public void add(float[] audioBuffer)
+    {
+        int index = mSize;
+        append(index, audioBuffer);
+        mSize = index + 1;
+    }
+
+    /**
+     * Number of audio buffers in this store
+     */
+    public int size()
+    {
+        return mSize;
+    }
+
+    /**
+     * Indicates if this store is empty
+     */
+    public boolean isEmpty()
+    {
+        return mSize == 0;
+    }
+
+    /**
+     * Audio buffer at the specified index
+     * @param index of the buffer
+     * @return audio buffer
+     * @throws IndexOutOfBoundsException if the index is not valid
+     */
+    public float[] get(int index)
+    {
+        if(index < 0 || index >= mSize)
+        {
+            throw new IndexOutOfBoundsException("Audio buffer index [" + index + "] size [" + mSize + "]");
+        }
+
+        return read(index);
+    }
+
+    /**
+     * Unmodifiable snapshot of the audio buffers that are currently in this store.  The snapshot is not affected by
+     * audio buffers that are added, or by a clear(), after the snapshot is created.
+     */
+    public synchronized List<float[]> snapshot()
+    {
+        float[][] audioBuffers = new float[mSize][];
+
+        for(int x = 0; x < audioBuffers.length; x++)
+        {
+            audioBuffers[x] = read(x);
+        }
+
+        return Collections.unmodifiableList(Arrays.asList(audioBuffers));
+    }
+
+    /**
+     * Removes all audio buffers and releases the storage.  Only invoke once all consumers are finished with the store.
+     */
+    public synchronized void clear()
+    {
+        mSize = 0;
+        release();
+    }
+
+    /**
+     * Stores the audio buffer at the specified index.
+     * @param index for the buffer, equal to the current size.
+     * @param audioBuffer to store
+     */
+    protected abstract void append(int index, float[] audioBuffer);
+
+    /**
+     * Reads the audio buffer at the specified (valid) index.
+     * @param index of the buffer
+     * @return audio buffer
+     */
+    protected abstract float[] read(int index);
+
+    /**
+     * Releases the storage for all audio buffers.
+     */
+    protected abstract void release();
+
+}
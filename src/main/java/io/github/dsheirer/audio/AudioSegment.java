@@ -35,7 +35,6 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
@@ -66,6 +65,7 @@ import org.slf4j.LoggerFactory;
 public class AudioSegment implements Listener<IdentifierUpdateNotification>
 {
     private final static Logger mLog = LoggerFactory.getLogger(AudioSegment.class);
+    private static volatile AudioStorageMode sAudioStorageMode = AudioStorageMode.FLOAT;
     private BooleanProperty mComplete = new SimpleBooleanProperty(false);
     private BooleanProperty mDuplicate = new SimpleBooleanProperty(false);
     private BooleanProperty mRecordAudio = new SimpleBooleanProperty(false);
@@ -73,11 +73,11 @@ public class AudioSegment implements Listener<IdentifierUpdateNotification>
     private ObservableSet<BroadcastChannel> mBroadcastChannels = FXCollections.observableSet(new HashSet<>());
     private MutableIdentifierCollection mIdentifierCollection = new MutableIdentifierCollection();
     private Broadcaster<IdentifierUpdateNotification> mIdentifierUpdateNotificationBroadcaster = new Broadcaster<>();
-    private List<float[]> mAudioBuffers = new CopyOnWriteArrayList();
+    private AudioBufferStore mAudioBuffers = AudioBufferStore.create(sAudioStorageMode);
     private AtomicInteger mConsumerCount = new AtomicInteger();
     private AliasList mAliasList;
     private long mStartTimestamp = System.currentTimeMillis();
-    private long mSampleCount = 0;
+    private volatile long mSampleCount = 0;
     private boolean mDisposing = false;
     private AudioSegment mLinkedAudioSegment;
     private int mTimeslot;
@@ -94,6 +94,24 @@ public class AudioSegment implements Listener<IdentifierUpdateNotification>
         mIdentifierCollection.setTimeslot(timeslot);
     }
 
+    /**
+     * Sets the storage mode for the audio buffers of audio segments that are created after this method is invoked.
+     * This should be set once at application startup.
+     * @param audioStorageMode for new audio segments
+     */
+    public static void setAudioStorageMode(AudioStorageMode audioStorageMode)
+    {
+        sAudioStorageMode = audioStorageMode;
+    }
+
+    /**
+     * Storage mode for the audio buffers of newly created audio segments.
+     */
+    public static AudioStorageMode getAudioStorageMode()
+    {
+        return sAudioStorageMode;
+    }
+
     /**
      * Timeslot for this audio segment
      */
@@ -129,6 +147,15 @@ public class AudioSegment implements Listener<IdentifierUpdateNotification>
         return (mSampleCount / 8); //8 kHz audio generates 8 samples per millisecond
     }
 
+    /**
+     * Current count of audio samples in this audio segment.  Note: this is a dynamic value until the complete property
+     * is set to true.
+     */
+    public long getSampleCount()
+    {
+        return mSampleCount;
+    }
+
     /**
      * The complete property is used by the audio segment producer to signal that the segment is complete and no
      * additional audio or identifiers will be added to the segment.
@@ -282,13 +309,16 @@ public class AudioSegment implements Listener<IdentifierUpdateNotification>
     }
 
     /**
-     * Unmodifiable copy of the list of audio buffers for this segment.
+     * Unmodifiable snapshot of the audio buffers for this segment.
+     *
+     * Note: when the audio storage mode is 16-bit PCM, the snapshot decodes each audio buffer to a new float array.
+     * Use getAudioBuffer() to access individual audio buffers.
      *
      * @return list of audio buffers
      */
     public List<float[]> getAudioBuffers()
     {
-        return Collections.unmodifiableList(mAudioBuffers);
+        return mAudioBuffers.snapshot();
     }
 
     /**
@@ -309,7 +339,7 @@ public class AudioSegment implements Listener<IdentifierUpdateNotification>
      */
     public float[] getAudioBuffer(int index)
     {
-        if(0 <= index && index < getAudioBufferCount())
+        if(0 <= index && index < mAudioBuffers.size())
         {
             return mAudioBuffers.get(index);
         }
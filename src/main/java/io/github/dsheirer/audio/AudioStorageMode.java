@@ -0,0 +1,94 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio;
+
+import io.github.dsheirer.audio.convert.InputAudioFormat;
+
+/**
+ * Storage representation for the audio buffers of an audio segment.
+ *
+ * The 16-bit PCM modes are only lossless when the audio is converted directly to 16-bit 8 kHz samples for recording,
+ * which is the case for WAVE recordings and for MP3 recordings with the 16-bit 8 kHz (no resample) input audio format
+ * and without audio normalization.  Resampling, 32-bit conversion and normalization all operate on the full precision
+ * float samples, so the 16-bit modes fall back to FLOAT for any other MP3 setting (see getEffectiveMode()).
+ */
+public enum AudioStorageMode
+{
+    FLOAT("32-bit Float"),
+    PCM_16("16-bit PCM"),
+    PCM_16_OFF_HEAP("16-bit PCM (Off-Heap)");
+
+    private String mLabel;
+
+    AudioStorageMode(String label)
+    {
+        mLabel = label;
+    }
+
+    @Override
+    public String toString()
+    {
+        return mLabel;
+    }
+
+    /**
+     * Indicates if this mode stores audio buffers as 16-bit PCM samples.
+     */
+    public boolean isPCM16()
+    {
+        return this == PCM_16 || this == PCM_16_OFF_HEAP;
+    }
+
+    /**
+     * Storage mode to use for the MP3 encoder settings.  The 16-bit PCM modes are only used when the MP3 encoder input
+     * is 16-bit 8 kHz audio without normalization, otherwise FLOAT.
+     * @param inputAudioFormat for the MP3 encoder
+     * @param normalizeAudio setting for the MP3 encoder
+     * @return this mode or FLOAT
+     */
+    public AudioStorageMode getEffectiveMode(InputAudioFormat inputAudioFormat, boolean normalizeAudio)
+    {
+        if(isPCM16() && (inputAudioFormat != InputAudioFormat.SR_8000 || normalizeAudio))
+        {
+            return FLOAT;
+        }
+
+        return this;
+    }
+
+    /**
+     * Lookup the enum entry from the value.
+     * @param value to match
+     * @return matched value or (default) FLOAT if the value couldn't be matched.
+     */
+    public static AudioStorageMode fromValue(String value)
+    {
+        try
+        {
+            return AudioStorageMode.valueOf(value);
+        }
+        catch(Exception e)
+        {
+            //Do nothing
+        }
+
+        return FLOAT;
+    }
+}
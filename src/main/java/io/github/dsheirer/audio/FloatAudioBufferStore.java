@@ -0,0 +1,70 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio;
+
+import java.util.Arrays;
+
+/**
+ * Audio buffer store that holds references to the original 32-bit float audio buffers.  Audio buffers are returned
+ * without copying.
+ */
+public class FloatAudioBufferStore extends AudioBufferStore
+{
+    private volatile float[][][] mChunks = new float[INITIAL_DIRECTORY_SIZE][][];
+
+    /**
+     * Constructs an instance
+     */
+    public FloatAudioBufferStore()
+    {
+    }
+
+    @Override
+    protected void append(int index, float[] audioBuffer)
+    {
+        int chunk = index >> CHUNK_SHIFT;
+        float[][][] chunks = mChunks;
+
+        if(chunk == chunks.length)
+        {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            mChunks = chunks;
+        }
+
+        if(chunks[chunk] == null)
+        {
+            chunks[chunk] = new float[CHUNK_SIZE][];
+        }
+
+        chunks[chunk][index & CHUNK_MASK] = audioBuffer;
+    }
+
+    @Override
+    protected float[] read(int index)
+    {
+        return mChunks[index >> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    @Override
+    protected void release()
+    {
+        mChunks = new float[INITIAL_DIRECTORY_SIZE][][];
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+/**
+ * Audio buffer store that packs the audio buffers as 16-bit PCM samples into direct (off-heap) sample blocks, so that
+ * the audio occupies almost no heap memory for the life of the audio segment.  Audio buffers are converted back to
+ * float samples on each read.
+ *
+ * Samples from consecutive audio buffers are packed contiguously and an audio buffer can span two sample blocks.  The
+ * start position of each audio buffer is held in a chunked position index, where the end of an audio buffer is the
+ * start position of the next audio buffer.
+ *
+ * See PCM16AudioBufferStore for the sample conversion.
+ */
+public class OffHeapPCM16AudioBufferStore extends AudioBufferStore
+{
+    private static final int BLOCK_SHIFT = 14;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT; //Samples per block
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    private volatile ShortBuffer[] mBlocks = new ShortBuffer[INITIAL_DIRECTORY_SIZE];
+    private volatile int[][] mPositionChunks = newPositionDirectory();
+    private short[] mScratch = new short[0];
+
+    /**
+     * Constructs an instance
+     */
+    public OffHeapPCM16AudioBufferStore()
+    {
+    }
+
+    /**
+     * Creates an empty position index, with the start position of the first audio buffer set to zero.
+     */
+    private static int[][] newPositionDirectory()
+    {
+        int[][] positionChunks = new int[INITIAL_DIRECTORY_SIZE][];
+        positionChunks[0] = new int[CHUNK_SIZE];
+        return positionChunks;
+    }
+
+    /**
+     * Sample position at the specified position index.
+     */
+    private int getPosition(int index)
+    {
+        return mPositionChunks[index >> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    @Override
+    protected void append(int index, float[] audioBuffer)
+    {
+        int start = getPosition(index);
+        int end = start + audioBuffer.length;
+
+        if(mScratch.length < audioBuffer.length)
+        {
+            mScratch = new short[audioBuffer.length];
+        }
+
+        for(int x = 0; x < audioBuffer.length; x++)
+        {
+            mScratch[x] = PCM16AudioBufferStore.toPCM16(audioBuffer[x]);
+        }
+
+        //Write the samples, allocating sample blocks as needed
+        ShortBuffer[] blocks = mBlocks;
+        int position = start;
+
+        while(position < end)
+        {
+            int block = position >> BLOCK_SHIFT;
+
+            if(block == blocks.length)
+            {
+                blocks = Arrays.copyOf(blocks, blocks.length * 2);
+                mBlocks = blocks;
+            }
+
+            if(blocks[block] == null)
+            {
+                blocks[block] = ByteBuffer.allocateDirect(BLOCK_SIZE * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+            }
+
+            int offset = position & BLOCK_MASK;
+            int length = Math.min(end - position, BLOCK_SIZE - offset);
+            blocks[block].put(offset, mScratch, position - start, length);
+            position += length;
+        }
+
+        //Store the end position (ie start of the next audio buffer)
+        int next = index + 1;
+        int chunk = next >> CHUNK_SHIFT;
+        int[][] positionChunks = mPositionChunks;
+
+        if(chunk == positionChunks.length)
+        {
+            positionChunks = Arrays.copyOf(positionChunks, positionChunks.length * 2);
+            mPositionChunks = positionChunks;
+        }
+
+        if(positionChunks[chunk] == null)
+        {
+            positionChunks[chunk] = new int[CHUNK_SIZE];
+        }
+
+        positionChunks[chunk][next & CHUNK_MASK] = end;
+    }
+
+    @Override
+    protected float[] read(int index)
+    {
+        int start = getPosition(index);
+        int end = getPosition(index + 1);
+        short[] samples = new short[end - start];
+        ShortBuffer[] blocks = mBlocks;
+        int position = start;
+
+        while(position < end)
+        {
+            int offset = position & BLOCK_MASK;
+            int length = Math.min(end - position, BLOCK_SIZE - offset);
+            blocks[position >> BLOCK_SHIFT].get(offset, samples, position - start, length);
+            position += length;
+        }
+
+        float[] audioBuffer = new float[samples.length];
+
+        for(int x = 0; x < samples.length; x++)
+        {
+            audioBuffer[x] = PCM16AudioBufferStore.toFloat(samples[x]);
+        }
+
+        return audioBuffer;
+    }
+
+    @Override
+    protected void release()
+    {
+        mBlocks = new ShortBuffer[INITIAL_DIRECTORY_SIZE];
+        mPositionChunks = newPositionDirectory();
+        mScratch = new short[0];
+    }
+}
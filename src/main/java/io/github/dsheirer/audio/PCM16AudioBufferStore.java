@@ -0,0 +1,130 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio;
+
+import java.util.Arrays;
+
+/**
+ * Audio buffer store that holds each audio buffer as 16-bit PCM samples, using half of the heap memory of the
+ * original 32-bit float audio buffers.  Audio buffers are converted back to float samples on each read.
+ *
+ * Samples are quantized with the same clipping and scaling as the 16-bit sample conversion that is used for MP3 and
+ * WAVE recordings, and are restored with a half-bit magnitude offset so that converting a restored sample back to
+ * 16-bit produces the original 16-bit sample.  This makes 16-bit 8 kHz recordings identical to recordings made from
+ * the original float audio, but audio that is resampled, normalized or converted to 32-bit samples differs.  See
+ * AudioStorageMode.getEffectiveMode().
+ */
+public class PCM16AudioBufferStore extends AudioBufferStore
+{
+    private static final float SCALE = Short.MAX_VALUE;
+    private volatile short[][][] mChunks = new short[INITIAL_DIRECTORY_SIZE][][];
+
+    /**
+     * Constructs an instance
+     */
+    public PCM16AudioBufferStore()
+    {
+    }
+
+    /**
+     * Converts a float sample to a 16-bit PCM sample.
+     * @param sample to convert, nominally in the range -1.0 to 1.0
+     * @return clipped 16-bit sample
+     */
+    public static short toPCM16(float sample)
+    {
+        if(sample > 1.0f)
+        {
+            return Short.MAX_VALUE;
+        }
+        else if(sample < -1.0f)
+        {
+            return -Short.MAX_VALUE;
+        }
+
+        return (short)(sample * SCALE);
+    }
+
+    /**
+     * Converts a 16-bit PCM sample to a float sample.
+     * @param sample to convert
+     * @return float sample
+     */
+    public static float toFloat(short sample)
+    {
+        if(sample > 0)
+        {
+            return (sample + 0.5f) / SCALE;
+        }
+        else if(sample < 0)
+        {
+            return (sample - 0.5f) / SCALE;
+        }
+
+        return 0.0f;
+    }
+
+    @Override
+    protected void append(int index, float[] audioBuffer)
+    {
+        int chunk = index >> CHUNK_SHIFT;
+        short[][][] chunks = mChunks;
+
+        if(chunk == chunks.length)
+        {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            mChunks = chunks;
+        }
+
+        if(chunks[chunk] == null)
+        {
+            chunks[chunk] = new short[CHUNK_SIZE][];
+        }
+
+        short[] samples = new short[audioBuffer.length];
+
+        for(int x = 0; x < audioBuffer.length; x++)
+        {
+            samples[x] = toPCM16(audioBuffer[x]);
+        }
+
+        chunks[chunk][index & CHUNK_MASK] = samples;
+    }
+
+    @Override
+    protected float[] read(int index)
+    {
+        short[] samples = mChunks[index >> CHUNK_SHIFT][index & CHUNK_MASK];
+        float[] audioBuffer = new float[samples.length];
+
+        for(int x = 0; x < samples.length; x++)
+        {
+            audioBuffer[x] = toFloat(samples[x]);
+        }
+
+        return audioBuffer;
+    }
+
+    @Override
+    protected void release()
+    {
+        mChunks = new short[INITIAL_DIRECTORY_SIZE][][];
+    }
+}
@@ -19,7 +19,11 @@
 
 package io.github.dsheirer.audio.broadcast;
 
+import io.github.dsheirer.monitor.jfr.AudioUploadEvent;
+import io.github.dsheirer.monitor.metrics.LatencyHistogram;
+import io.github.dsheirer.monitor.metrics.MetricsRegistry;
 import io.github.dsheirer.sample.Listener;
+import java.io.IOException;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import org.slf4j.Logger;
@@ -37,6 +41,7 @@ public abstract class AbstractAudioBroadcaster<T extends BroadcastConfiguration>
     protected int mStreamedAudioCount = 0;
     protected int mErrorAudioCount = 0;
     protected int mAgedOffAudioCount = 0;
+    private LatencyHistogram mUploadLatency;
 
     /**
      * Constructs an instance
@@ -174,4 +179,59 @@ public abstract class AbstractAudioBroadcaster<T extends BroadcastConfiguration>
     {
         mErrorAudioCount++;
     }
+
+    /**
+     * Records the elapsed time for a completed audio recording upload in the upload latency metric.
+     * @param startNanos timestamp from System.nanoTime() when the upload was started.
+     */
+    protected void recordUploadLatency(long startNanos)
+    {
+        if(mUploadLatency == null)
+        {
+            mUploadLatency = MetricsRegistry.getInstance().histogram("sdrtrunk_broadcast_upload_latency_seconds",
+                "Audio recording upload latency", "broadcaster", getBroadcastConfiguration().getName(),
+                "type", getBroadcastConfiguration().getBroadcastServerType().toString());
+        }
+
+        mUploadLatency.recordSince(startNanos);
+    }
+
+    /**
+     * Creates and begins a flight recorder event to time an audio recording upload.
+     * @return started upload event
+     */
+    protected AudioUploadEvent beginUploadEvent()
+    {
+        AudioUploadEvent event = new AudioUploadEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Completes the audio recording upload flight recorder event, when enabled.
+     * @param event that was started when the upload began
+     * @param audioRecording that was uploaded
+     * @param success true if the upload was accepted by the remote server
+     */
+    protected void commitUploadEvent(AudioUploadEvent event, AudioRecording audioRecording, boolean success)
+    {
+        if(event.shouldCommit())
+        {
+            event.setChannel(audioRecording.getIdentifierCollection());
+            event.setBroadcaster(getBroadcastConfiguration().getName());
+            event.setServerType(getBroadcastConfiguration().getBroadcastServerType().toString());
+            event.setSuccess(success);
+
+            try
+            {
+                event.setSize(audioRecording.getSize());
+            }
+            catch(IOException ioe)
+            {
+                //Recording file may have already been removed
+            }
+
+            event.commit();
+        }
+    }
 }
@@ -23,10 +23,18 @@ import io.github.dsheirer.identifier.IdentifierCollection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Encoded audio recording that is ready to be streamed.  The encoded audio is either stored on disk at the recording
+ * path, or is held in memory (off-heap) by the audio recording store until the memory budget requires the recording to
+ * be spilled to disk at the recording path.  Use getAudioBytes() to access the encoded audio from either location.
+ */
 public class AudioRecording implements Comparable<AudioRecording>
 {
     private final static Logger mLog = LoggerFactory.getLogger(AudioRecording.class);
@@ -37,11 +45,13 @@ public class AudioRecording implements Comparable<AudioRecording>
     private AtomicInteger mPendingReplayCount = new AtomicInteger();
     private IdentifierCollection mIdentifierCollection;
     private Collection<BroadcastChannel> mBroadcastChannels;
+    private ByteBuffer[] mAudioBlocks;
+    private int mAudioLength;
 
     /**
      * Audio recording that is ready to be streamed
      *
-     * @param path to the audio recording file
+     * @param path to the audio recording file, or the path to use when the in-memory audio is spilled to disk
      * @param identifierCollection associated with the recording
      * @param start time of recording in milliseconds since epoch
      * @param recordingLength in milliseconds
@@ -64,6 +74,103 @@ public class AudioRecording implements Comparable<AudioRecording>
         return mPath;
     }
 
+    /**
+     * Indicates if the encoded audio for this recording is currently held in memory instead of on disk.
+     */
+    public synchronized boolean isInMemory()
+    {
+        return mAudioBlocks != null;
+    }
+
+    /**
+     * Encoded audio for this recording, from memory or from the recording file on disk.
+     * @return encoded audio bytes
+     * @throws IOException if the recording is not in memory and there is an error reading the recording file
+     */
+    public synchronized byte[] getAudioBytes() throws IOException
+    {
+        if(mAudioBlocks != null)
+        {
+            byte[] audio = new byte[mAudioLength];
+            int offset = 0;
+
+            for(ByteBuffer block: mAudioBlocks)
+            {
+                int length = Math.min(block.capacity(), mAudioLength - offset);
+                block.get(0, audio, offset, length);
+                offset += length;
+            }
+
+            return audio;
+        }
+
+        return Files.readAllBytes(mPath);
+    }
+
+    /**
+     * Size of the encoded audio for this recording.
+     * @return size in bytes
+     * @throws IOException if the recording is not in memory and there is an error accessing the recording file
+     */
+    public synchronized long getSize() throws IOException
+    {
+        if(mAudioBlocks != null)
+        {
+            return mAudioLength;
+        }
+
+        return Files.size(mPath);
+    }
+
+    /**
+     * Sets the in-memory encoded audio for this recording.  Managed by the audio recording store.
+     * @param blocks containing the encoded audio, in order, starting at index 0 of each block
+     * @param length of the encoded audio in bytes
+     */
+    synchronized void setAudio(ByteBuffer[] blocks, int length)
+    {
+        mAudioBlocks = blocks;
+        mAudioLength = length;
+    }
+
+    /**
+     * Number of memory blocks holding the in-memory encoded audio.  Managed by the audio recording store.
+     * @return block count, or 0 if the audio is not in memory
+     */
+    synchronized int getBlockCount()
+    {
+        return mAudioBlocks != null ? mAudioBlocks.length : 0;
+    }
+
+    /**
+     * Writes the in-memory encoded audio to the recording file and releases the memory blocks.  Managed by the audio
+     * recording store.
+     * @return released memory blocks for recycling, or null if the audio is not in memory
+     * @throws IOException if there is an error writing the recording file.  The memory is not released.
+     */
+    synchronized ByteBuffer[] spill() throws IOException
+    {
+        if(mAudioBlocks == null)
+        {
+            return null;
+        }
+
+        Files.write(mPath, getAudioBytes());
+        return release();
+    }
+
+    /**
+     * Releases the in-memory encoded audio.  Managed by the audio recording store.
+     * @return released memory blocks for recycling, or null if the audio is not in memory
+     */
+    synchronized ByteBuffer[] release()
+    {
+        ByteBuffer[] blocks = mAudioBlocks;
+        mAudioBlocks = null;
+        mAudioLength = 0;
+        return blocks;
+    }
+
     /**
      * Collection of broadcast channels that this recording should be streamed to
      */
@@ -0,0 +1,233 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio.broadcast;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded off-heap store for the encoded audio of streaming audio recordings.  Streamed recordings only live for the
+ * few seconds that it takes the broadcasters to upload them, so holding the encoded audio in memory avoids writing
+ * the recording to disk and then reading it back for each broadcaster.  A single copy of the audio is shared by all
+ * broadcasters that stream the recording.
+ *
+ * The memory budget is a single direct buffer that is allocated on first use and divided into fixed size blocks.
+ * Each recording holds as many blocks as it needs and the blocks are recycled when the recording is released or
+ * spilled, so the direct memory used by the store never exceeds the budget and doesn't depend on garbage collection
+ * to be freed.  When a new recording doesn't fit within the free blocks, the oldest in-memory recordings are spilled
+ * to disk (ie recordings that are queued by a disconnected or failing broadcaster) until the new recording fits.
+ * Recordings larger than the budget are not stored.
+ */
+public class AudioRecordingStore
+{
+    private final static Logger mLog = LoggerFactory.getLogger(AudioRecordingStore.class);
+    public static final long DEFAULT_MEMORY_BUDGET = 32 * 1024 * 1024;
+    public static final int BLOCK_SIZE = 64 * 1024;
+    private static AudioRecordingStore sInstance;
+
+    private final Deque<AudioRecording> mRecordings = new ArrayDeque<>();
+    private final Deque<ByteBuffer> mFreeBlocks = new ArrayDeque<>();
+    private final int mBlockCount;
+    private boolean mAllocated;
+
+    /**
+     * Constructs an instance
+     * @param memoryBudget maximum bytes of encoded audio to hold in memory, rounded down to a multiple of the block
+     * size.
+     */
+    public AudioRecordingStore(long memoryBudget)
+    {
+        mBlockCount = (int)Math.min(Integer.MAX_VALUE / BLOCK_SIZE, memoryBudget / BLOCK_SIZE);
+    }
+
+    /**
+     * Singleton instance of the store with the default memory budget.
+     */
+    public static synchronized AudioRecordingStore getInstance()
+    {
+        if(sInstance == null)
+        {
+            sInstance = new AudioRecordingStore(DEFAULT_MEMORY_BUDGET);
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Stores the encoded audio in memory for the recording, spilling the oldest in-memory recordings to disk as
+     * needed to free enough blocks for the audio.  The recordings to spill are selected under the store lock, but are
+     * written to disk outside of it so that other recordings can be stored and released while the spill is in progress.
+     * @param recording to receive the encoded audio
+     * @param audio bytes for the recording
+     * @return true if the audio is stored in memory, or false if the audio exceeds the memory budget, or the blocks
+     * are held by recordings that are being spilled by another thread, and the caller must write the audio to the
+     * recording path.
+     */
+    public boolean store(AudioRecording recording, byte[] audio)
+    {
+        int blockCount = (audio.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        if(blockCount > mBlockCount)
+        {
+            return false;
+        }
+
+        List<AudioRecording> spills = new ArrayList<>();
+
+        synchronized(this)
+        {
+            allocate();
+
+            int available = mFreeBlocks.size();
+
+            while(available < blockCount && !mRecordings.isEmpty())
+            {
+                AudioRecording oldest = mRecordings.poll();
+                available += oldest.getBlockCount();
+                spills.add(oldest);
+            }
+
+            if(spills.isEmpty())
+            {
+                return available >= blockCount && add(recording, audio, blockCount);
+            }
+        }
+
+        //The spilled recordings are no longer tracked by the store, so their blocks can't be released by another thread
+        List<ByteBuffer[]> released = new ArrayList<>();
+
+        for(AudioRecording spill: spills)
+        {
+            try
+            {
+                released.add(spill.spill());
+            }
+            catch(IOException ioe)
+            {
+                //Memory is released regardless and broadcasters will log the missing recording
+                released.add(spill.release());
+                mLog.error("Error spilling in-memory audio recording to disk: " + spill.getPath(), ioe);
+            }
+        }
+
+        synchronized(this)
+        {
+            for(ByteBuffer[] blocks: released)
+            {
+                recycle(blocks);
+            }
+
+            //Another thread may have claimed the free blocks while the recordings were spilling
+            return mFreeBlocks.size() >= blockCount && add(recording, audio, blockCount);
+        }
+    }
+
+    /**
+     * Copies the audio into free blocks and adds the recording to the in-memory recordings.  Requires the store lock
+     * and enough free blocks for the audio.
+     * @return true
+     */
+    private boolean add(AudioRecording recording, byte[] audio, int blockCount)
+    {
+        ByteBuffer[] blocks = new ByteBuffer[blockCount];
+        int offset = 0;
+
+        for(int x = 0; x < blockCount; x++)
+        {
+            blocks[x] = mFreeBlocks.poll();
+            int length = Math.min(BLOCK_SIZE, audio.length - offset);
+            blocks[x].put(0, audio, offset, length);
+            offset += length;
+        }
+
+        recording.setAudio(blocks, audio.length);
+        mRecordings.add(recording);
+        return true;
+    }
+
+    /**
+     * Releases the in-memory audio for the recording once all broadcasters are finished with it.
+     * @param recording to release
+     */
+    public synchronized void release(AudioRecording recording)
+    {
+        //Note: audio recording equality is based on start time, so compare by identity
+        Iterator<AudioRecording> it = mRecordings.iterator();
+
+        while(it.hasNext())
+        {
+            if(it.next() == recording)
+            {
+                it.remove();
+                recycle(recording.release());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Current size of the in-memory audio blocks that are in use.
+     * @return size in bytes
+     */
+    public synchronized long getMemoryUsed()
+    {
+        return mAllocated ? (long)(mBlockCount - mFreeBlocks.size()) * BLOCK_SIZE : 0;
+    }
+
+    /**
+     * Allocates the direct buffer for the memory budget on first use and divides it into the free blocks.
+     */
+    private void allocate()
+    {
+        if(!mAllocated)
+        {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(mBlockCount * BLOCK_SIZE);
+
+            for(int x = 0; x < mBlockCount; x++)
+            {
+                mFreeBlocks.add(buffer.slice(x * BLOCK_SIZE, BLOCK_SIZE));
+            }
+
+            mAllocated = true;
+        }
+    }
+
+    /**
+     * Returns the blocks released by a recording to the free blocks.
+     * @param blocks to recycle, or null
+     */
+    private void recycle(ByteBuffer[] blocks)
+    {
+        if(blocks != null)
+        {
+            for(ByteBuffer block: blocks)
+            {
+                mFreeBlocks.add(block);
+            }
+        }
+    }
+}
@@ -360,9 +360,9 @@ public abstract class AudioStreamingBroadcaster<T extends BroadcastConfiguration
 
                 try
                 {
-                    if(Files.exists(nextRecording.getPath()))
+                    if(nextRecording.isInMemory() || Files.exists(nextRecording.getPath()))
                     {
-                        byte[] audio = Files.readAllBytes(nextRecording.getPath());
+                        byte[] audio = nextRecording.getAudioBytes();
 
                         if(audio.length > 0)
                         {
@@ -31,17 +31,24 @@ import io.github.dsheirer.identifier.patch.PatchGroup;
 import io.github.dsheirer.identifier.patch.PatchGroupIdentifier;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.record.AudioSegmentRecorder;
+import io.github.dsheirer.record.EncodedAudioCache;
+import io.github.dsheirer.record.IncrementalMP3Encoder;
+import io.github.dsheirer.record.MP3EncoderPool;
 import io.github.dsheirer.record.RecordFormat;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.util.ThreadPool;
 import io.github.dsheirer.util.TimeStamp;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -51,12 +58,21 @@ import org.slf4j.LoggerFactory;
 /**
  * Audio streaming manager monitors audio segments through completion and creates temporary streaming recordings on
  * disk and enqueues the temporary recording for streaming.
+ *
+ * Audio segments with broadcast channels are incrementally encoded to MP3 while the segment is in progress, so that
+ * the recording is available as soon as the segment completes.  Encoders are shared with the audio recording manager
+ * via the encoded audio cache so that the audio segment is only encoded once.  Incrementally encoded recordings are held in memory
+ * by the audio recording store and are only written to disk when they exceed the store's memory budget.  Audio
+ * segments are encoded in parallel on the MP3 encoder pool.  When the user preferences don't support incremental
+ * encoding (ie audio normalization), the completed segment is encoded in full.
  */
 public class AudioStreamingManager implements Listener<AudioSegment>
 {
     private final static Logger mLog = LoggerFactory.getLogger(AudioStreamingManager.class);
     private LinkedTransferQueue<AudioSegment> mNewAudioSegments = new LinkedTransferQueue<>();
     private List<AudioSegment> mAudioSegments = new ArrayList<>();
+    private Map<AudioSegment,IncrementalMP3Encoder> mEncoderMap = new HashMap<>();
+    private Set<IncrementalMP3Encoder> mPendingEncoderUpdates = ConcurrentHashMap.newKeySet();
     private Listener<AudioRecording> mAudioRecordingListener;
     private BroadcastFormat mBroadcastFormat;
     private UserPreferences mUserPreferences;
@@ -121,6 +137,13 @@ public class AudioStreamingManager implements Listener<AudioSegment>
         }
 
         mAudioSegments.clear();
+
+        for(IncrementalMP3Encoder encoder: mEncoderMap.values())
+        {
+            EncodedAudioCache.getInstance().release(encoder);
+        }
+
+        mEncoderMap.clear();
     }
 
     /**
@@ -130,6 +153,8 @@ public class AudioStreamingManager implements Listener<AudioSegment>
     {
         mNewAudioSegments.drainTo(mAudioSegments);
 
+        encodeAudioSegments();
+
         Iterator<AudioSegment> it = mAudioSegments.iterator();
         AudioSegment audioSegment;
         while(it.hasNext())
@@ -139,11 +164,13 @@ public class AudioStreamingManager implements Listener<AudioSegment>
             if(audioSegment.isDuplicate() && mUserPreferences.getDuplicateCallDetectionPreference().isDuplicateStreamingSuppressionEnabled())
             {
                 it.remove();
+                releaseEncoder(audioSegment);
                 audioSegment.decrementConsumerCount();
             }
             else if(audioSegment.completeProperty().get())
             {
                 it.remove();
+                IncrementalMP3Encoder encoder = mEncoderMap.remove(audioSegment);
 
                 if(mAudioRecordingListener != null && audioSegment.hasBroadcastChannels())
                 {
@@ -166,7 +193,7 @@ public class AudioStreamingManager implements Listener<AudioSegment>
                             //If there are no patched radios/talkgroups, override user preference and stream as a patch group
                             if(ids.isEmpty() || audioSegment.getAliasList() == null)
                             {
-                                processAudioSegment(audioSegment, identifiers, audioSegment.getBroadcastChannels());
+                                processAudioSegment(audioSegment, encoder, identifiers, audioSegment.getBroadcastChannels());
                             }
                             else
                             {
@@ -188,54 +215,127 @@ public class AudioStreamingManager implements Listener<AudioSegment>
                                         //Remove patch group TO identifier & replace with the patched talkgroup/radio
                                         decomposedIdentifiers.remove(Role.TO);
                                         decomposedIdentifiers.update(identifier);
-                                        processAudioSegment(audioSegment, decomposedIdentifiers, broadcastChannels);
+                                        processAudioSegment(audioSegment, encoder, decomposedIdentifiers, broadcastChannels);
                                     }
                                 }
                             }
                         }
                         else
                         {
-                            processAudioSegment(audioSegment, identifiers, audioSegment.getBroadcastChannels());
+                            processAudioSegment(audioSegment, encoder, identifiers, audioSegment.getBroadcastChannels());
                         }
                     }
                     else
                     {
-                        processAudioSegment(audioSegment, identifiers, audioSegment.getBroadcastChannels());
+                        processAudioSegment(audioSegment, encoder, identifiers, audioSegment.getBroadcastChannels());
                     }
                 }
 
+                if(encoder != null)
+                {
+                    EncodedAudioCache.getInstance().release(encoder);
+                }
+
                 audioSegment.decrementConsumerCount();
             }
         }
     }
 
+    /**
+     * Removes the encoder for the audio segment and releases it back to the encoded audio cache.
+     * @param audioSegment for the encoder
+     */
+    private void releaseEncoder(AudioSegment audioSegment)
+    {
+        IncrementalMP3Encoder encoder = mEncoderMap.remove(audioSegment);
+
+        if(encoder != null)
+        {
+            EncodedAudioCache.getInstance().release(encoder);
+        }
+    }
+
+    /**
+     * Incrementally encodes the audio that has arrived so far for each audio segment with broadcast channels.  The
+     * encoder updates are submitted to the MP3 encoder pool without waiting for them to complete, so that the
+     * scheduled thread is not blocked behind queued recording encodes.  An encoder that still has an update pending
+     * from a previous interval is skipped.
+     */
+    private void encodeAudioSegments()
+    {
+        if(mAudioRecordingListener == null || !IncrementalMP3Encoder.isSupported(mUserPreferences))
+        {
+            return;
+        }
+
+        for(AudioSegment audioSegment: mAudioSegments)
+        {
+            if(audioSegment.hasBroadcastChannels() && !(audioSegment.isDuplicate() &&
+                    mUserPreferences.getDuplicateCallDetectionPreference().isDuplicateStreamingSuppressionEnabled()))
+            {
+                IncrementalMP3Encoder encoder = mEncoderMap.computeIfAbsent(audioSegment,
+                        segment -> EncodedAudioCache.getInstance().acquire(segment, mUserPreferences));
+
+                if(!encoder.isComplete() && mPendingEncoderUpdates.add(encoder))
+                {
+                    MP3EncoderPool.getInstance().submit(() -> {
+                        try
+                        {
+                            encoder.update();
+                        }
+                        finally
+                        {
+                            mPendingEncoderUpdates.remove(encoder);
+                        }
+                    });
+                }
+            }
+        }
+    }
+
     /**
      * Processes an audio segment for streaming by creating a temporary MP3 recording and submitting the recording
      * to the specific broadcast channel(s).
      * @param audioSegment to process for streaming
+     * @param encoder containing the incrementally encoded audio for the segment, or null to encode the segment.
      * @param identifierCollection to use for the streamed audio recording.
      * @param broadcastChannels to receive the audio recording
      */
-    private void processAudioSegment(AudioSegment audioSegment, IdentifierCollection identifierCollection,
-                                     Set<BroadcastChannel> broadcastChannels)
+    private void processAudioSegment(AudioSegment audioSegment, IncrementalMP3Encoder encoder,
+                                     IdentifierCollection identifierCollection, Set<BroadcastChannel> broadcastChannels)
     {
         Path path = getTemporaryRecordingPath();
-        long length = 0;
 
-        for(float[] audioBuffer: audioSegment.getAudioBuffers())
+        try
         {
-            length += audioBuffer.length;
-        }
+            if(encoder != null)
+            {
+                //Encode any remaining audio and flush the encoder.  This is a no-op when the encoder is already
+                //complete from a previous decomposed patch group recording.
+                encoder.update();
+                byte[] recording = AudioSegmentRecorder.recordMP3(encoder, identifierCollection);
+                AudioRecording audioRecording = new AudioRecording(path, broadcastChannels, identifierCollection,
+                        audioSegment.getStartTimestamp(), encoder.getDuration());
+
+                //Hold the recording in memory for the broadcasters, or write it to disk when it can't be held in memory
+                if(!AudioRecordingStore.getInstance().store(audioRecording, recording))
+                {
+                    Files.write(path, recording);
+                }
 
-        length /= 8; //Sample rate is 8000 samples per second, or 8 samples per millisecond.
+                mAudioRecordingListener.receive(audioRecording);
+            }
+            else
+            {
+                long length = audioSegment.getDuration();
 
-        try
-        {
-            AudioSegmentRecorder.record(audioSegment, path, RecordFormat.MP3, mUserPreferences, identifierCollection);
+                AudioSegmentRecorder.record(audioSegment, path, RecordFormat.MP3, mUserPreferences,
+                        identifierCollection);
 
-            AudioRecording audioRecording = new AudioRecording(path, broadcastChannels, identifierCollection,
-                    audioSegment.getStartTimestamp(), length);
-            mAudioRecordingListener.receive(audioRecording);
+                AudioRecording audioRecording = new AudioRecording(path, broadcastChannels, identifierCollection,
+                        audioSegment.getStartTimestamp(), length);
+                mAudioRecordingListener.receive(audioRecording);
+            }
         }
         catch(IOException ioe)
         {
@@ -671,9 +671,12 @@ public class BroadcastModel extends AbstractTableModel implements Listener<Audio
      */
     private void removeRecording(AudioRecording recording)
     {
+        AudioRecordingStore.getInstance().release(recording);
+
         try
         {
-            Files.delete(recording.getPath());
+            //In-memory recordings only have a file when spilled to disk
+            Files.deleteIfExists(recording.getPath());
         }
         catch(IOException ioe)
         {
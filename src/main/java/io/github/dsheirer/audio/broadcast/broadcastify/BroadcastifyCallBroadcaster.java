@@ -37,8 +37,8 @@ import io.github.dsheirer.identifier.patch.PatchGroup;
 import io.github.dsheirer.identifier.patch.PatchGroupIdentifier;
 import io.github.dsheirer.identifier.radio.RadioIdentifier;
 import io.github.dsheirer.identifier.talkgroup.TalkgroupIdentifier;
+import io.github.dsheirer.monitor.jfr.AudioUploadEvent;
 import io.github.dsheirer.util.ThreadPool;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -267,6 +267,9 @@ public class BroadcastifyCallBroadcaster extends AbstractAudioBroadcaster<Broadc
                         .POST(bodyBuilder.build())
                         .build();
 
+                    long uploadStart = System.nanoTime();
+                    AudioUploadEvent uploadEvent = beginUploadEvent();
+
                     mHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
                         .whenComplete((stringHttpResponse, throwable) -> {
                             if(throwable != null || stringHttpResponse.statusCode() != 200)
@@ -295,9 +298,17 @@ public class BroadcastifyCallBroadcaster extends AbstractAudioBroadcaster<Broadc
 
                                     try
                                     {
-                                        filePublisher = HttpRequest.BodyPublishers.ofFile(audioRecording.getPath());
+                                        if(audioRecording.isInMemory())
+                                        {
+                                            filePublisher = HttpRequest.BodyPublishers
+                                                .ofByteArray(audioRecording.getAudioBytes());
+                                        }
+                                        else
+                                        {
+                                            filePublisher = HttpRequest.BodyPublishers.ofFile(audioRecording.getPath());
+                                        }
                                     }
-                                    catch(FileNotFoundException fnfe)
+                                    catch(IOException ioe)
                                     {
                                         mLog.error("Broadcastify calls API - audio recording file not found - ignoring upload");
                                     }
@@ -313,6 +324,9 @@ public class BroadcastifyCallBroadcaster extends AbstractAudioBroadcaster<Broadc
 
                                         mHttpClient.sendAsync(fileRequest, HttpResponse.BodyHandlers.ofString())
                                             .whenComplete((fileResponse, throwable1) -> {
+                                                commitUploadEvent(uploadEvent, audioRecording,
+                                                    throwable1 == null && fileResponse.statusCode() == 200);
+
                                                 if(throwable1 != null || fileResponse.statusCode() != 200)
                                                 {
                                                     if(throwable1 instanceof IOException || throwable1 instanceof CompletionException)
@@ -335,6 +349,7 @@ public class BroadcastifyCallBroadcaster extends AbstractAudioBroadcaster<Broadc
                                                 else
                                                 {
                                                     incrementStreamedAudioCount();
+                                                    recordUploadLatency(uploadStart);
                                                     broadcast(new BroadcastEvent(BroadcastifyCallBroadcaster.this,
                                                         BroadcastEvent.Event.BROADCASTER_STREAMED_COUNT_CHANGE));
                                                 }
@@ -41,12 +41,12 @@
  import io.github.dsheirer.identifier.patch.PatchGroupIdentifier;
  import io.github.dsheirer.identifier.radio.RadioIdentifier;
  import io.github.dsheirer.identifier.talkgroup.TalkgroupIdentifier;
+ import io.github.dsheirer.monitor.jfr.AudioUploadEvent;
  import io.github.dsheirer.util.ThreadPool;
  import org.slf4j.Logger;
  import org.slf4j.LoggerFactory;
 
  import java.io.File;
- import java.nio.file.Files;
  import java.io.FileInputStream;
  import java.io.FileNotFoundException;
  import java.io.IOException;
@@ -261,7 +261,7 @@
 
                      try
                      {
-                         audioBytes = Files.readAllBytes(audioRecording.getPath());
+                         audioBytes = audioRecording.getAudioBytes();
                      }
                      catch(IOException e)
                      {
@@ -293,8 +293,14 @@
                              .POST(bodyBuilder.build())
                              .build();
 
+                         long uploadStart = System.nanoTime();
+                         AudioUploadEvent uploadEvent = beginUploadEvent();
+
                          mHttpClient.sendAsync(fileRequest, HttpResponse.BodyHandlers.ofString())
                              .whenComplete((fileResponse, throwable1) -> {
+                                 commitUploadEvent(uploadEvent, audioRecording,
+                                     throwable1 == null && fileResponse.statusCode() == 200);
+
                                  if(throwable1 != null || fileResponse.statusCode() != 200)
                                  {
                                      if(throwable1 instanceof IOException || throwable1 instanceof CompletionException)
@@ -324,6 +330,7 @@
                                      if(fileResponse.statusCode() == 200)
                                      {
                                          incrementStreamedAudioCount();
+                                         recordUploadLatency(uploadStart);
                                          broadcast(new BroadcastEvent(OpenMHzBroadcaster.this,
                                              BroadcastEvent.Event.BROADCASTER_STREAMED_COUNT_CHANGE)); 
                                          audioRecording.removePendingReplay(); 
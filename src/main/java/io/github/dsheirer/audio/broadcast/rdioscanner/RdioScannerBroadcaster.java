@@ -39,13 +39,13 @@ import io.github.dsheirer.identifier.patch.PatchGroup;
 import io.github.dsheirer.identifier.patch.PatchGroupIdentifier;
 import io.github.dsheirer.identifier.radio.RadioIdentifier;
 import io.github.dsheirer.identifier.talkgroup.TalkgroupIdentifier;
+import io.github.dsheirer.monitor.jfr.AudioUploadEvent;
 import io.github.dsheirer.util.ThreadPool;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.file.Files;
 import java.time.Duration;
 import java.util.List;
 import java.util.Queue;
@@ -242,7 +242,7 @@ public class RdioScannerBroadcaster extends AbstractAudioBroadcaster<RdioScanner
 
                     try
                     {
-                        audioBytes = Files.readAllBytes(audioRecording.getPath());
+                        audioBytes = audioRecording.getAudioBytes();
                     }
                     catch(IOException e)
                     {
@@ -273,8 +273,14 @@ public class RdioScannerBroadcaster extends AbstractAudioBroadcaster<RdioScanner
                             .POST(bodyBuilder.build())
                             .build();
 
+                        long uploadStart = System.nanoTime();
+                        AudioUploadEvent uploadEvent = beginUploadEvent();
+
                         mHttpClient.sendAsync(fileRequest, HttpResponse.BodyHandlers.ofString())
                             .whenComplete((fileResponse, throwable1) -> {
+                                commitUploadEvent(uploadEvent, audioRecording,
+                                    throwable1 == null && fileResponse.statusCode() == 200);
+
                                 if(throwable1 != null || fileResponse.statusCode() != 200)
                                 {
                                     if(throwable1 instanceof IOException || throwable1 instanceof CompletionException)
@@ -305,6 +311,7 @@ public class RdioScannerBroadcaster extends AbstractAudioBroadcaster<RdioScanner
                                     if(fileResponseString.contains("Call imported successfully."))
                                     {
                                         incrementStreamedAudioCount();
+                                        recordUploadLatency(uploadStart);
                                         broadcast(new BroadcastEvent(RdioScannerBroadcaster.this,
                                             BroadcastEvent.Event.BROADCASTER_STREAMED_COUNT_CHANGE)); 
                                         audioRecording.removePendingReplay(); 
@@ -97,52 +97,98 @@ public class MP3AudioConverter implements IAudioConverter
             audioPackets = mResampler.resample(audioPackets);
         }
 
-        for(int x = 0; x < audioPackets.size(); x++)
+        for(float[] audioPacket: audioPackets)
         {
-            byte[] bytesToEncode = null;
+            encode(audioPacket, converted);
+        }
 
-            if(mInputAudioFormat.getAudioFormat().getSampleSizeInBits() == 16)
-            {
-                bytesToEncode = ConversionUtils.convertToSigned16BitSamples(audioPackets.get(x)).array();
-            }
-            else
+        int finalChunkSize = mEncoder.encodeFinish(mOutputFramesBuffer);
+
+        if(finalChunkSize > 0)
+        {
+            converted.add(Arrays.copyOf(mOutputFramesBuffer, finalChunkSize));
+        }
+
+        return converted;
+    }
+
+    /**
+     * Converts a single PCM audio packet to MP3 as part of an incremental conversion, where the audio packets are
+     * converted as they become available.  Invoke flush() after converting the last packet to retrieve the final
+     * encoded frame(s).
+     *
+     * Note: audio normalization is not applied since it requires the complete set of audio packets.
+     *
+     * @param audioPacket of PCM audio sampled at 8 kHz
+     * @param lastPacket set to true for the final audio packet so that any buffered samples are flushed from the
+     * resampler.
+     * @return encoded MP3 audio frames, or an empty list if the encoder has not yet produced a frame.
+     */
+    public List<byte[]> convert(float[] audioPacket, boolean lastPacket)
+    {
+        List<byte[]> converted = new ArrayList<>();
+
+        if(mResampler != null)
+        {
+            List<float[]> resampled = new ArrayList<>();
+            mResampler.setListener(resampled::add);
+            mResampler.resample(audioPacket, lastPacket);
+            mResampler.setListener(null);
+
+            for(float[] resampledPacket: resampled)
             {
-                bytesToEncode = ConversionUtils.convertToSigned32BitSamples(audioPackets.get(x)).array();
+                encode(resampledPacket, converted);
             }
+        }
+        else
+        {
+            encode(audioPacket, converted);
+        }
+
+        return converted;
+    }
+
+    /**
+     * Encodes the audio packet and adds any encoded MP3 frames to the converted list.
+     * @param audioPacket to encode
+     * @param converted list to receive encoded frames
+     */
+    private void encode(float[] audioPacket, List<byte[]> converted)
+    {
+        byte[] bytesToEncode = null;
+
+        if(mInputAudioFormat.getAudioFormat().getSampleSizeInBits() == 16)
+        {
+            bytesToEncode = ConversionUtils.convertToSigned16BitSamples(audioPacket).array();
+        }
+        else
+        {
+            bytesToEncode = ConversionUtils.convertToSigned32BitSamples(audioPacket).array();
+        }
 
-            int bytesToEncodePointer = 0;
+        int bytesToEncodePointer = 0;
 
-            int inputChunkSize = FastMath.min(mOutputFramesBuffer.length, bytesToEncode.length);
-            int outputChunkSize = 0;
+        int inputChunkSize = FastMath.min(mOutputFramesBuffer.length, bytesToEncode.length);
+        int outputChunkSize = 0;
 
-            try
+        try
+        {
+            while(bytesToEncodePointer < bytesToEncode.length)
             {
-                while(bytesToEncodePointer < bytesToEncode.length)
+                outputChunkSize = mEncoder.encodeBuffer(bytesToEncode, bytesToEncodePointer, inputChunkSize, mOutputFramesBuffer);
+                bytesToEncodePointer += inputChunkSize;
+                inputChunkSize = FastMath.min(mOutputFramesBuffer.length, bytesToEncode.length - bytesToEncodePointer);
+
+                if(outputChunkSize > 0)
                 {
-                    outputChunkSize = mEncoder.encodeBuffer(bytesToEncode, bytesToEncodePointer, inputChunkSize, mOutputFramesBuffer);
-                    bytesToEncodePointer += inputChunkSize;
-                    inputChunkSize = FastMath.min(mOutputFramesBuffer.length, bytesToEncode.length - bytesToEncodePointer);
-
-                    if(outputChunkSize > 0)
-                    {
-                        converted.add(Arrays.copyOf(mOutputFramesBuffer, outputChunkSize));
-                    }
+                    converted.add(Arrays.copyOf(mOutputFramesBuffer, outputChunkSize));
                 }
             }
-            catch(Exception e)
-            {
-                mLog.error("There was an error converting audio to MP3: " + e.getMessage());
-            }
         }
-
-        int finalChunkSize = mEncoder.encodeFinish(mOutputFramesBuffer);
-
-        if(finalChunkSize > 0)
+        catch(Exception e)
         {
-            converted.add(Arrays.copyOf(mOutputFramesBuffer, finalChunkSize));
+            mLog.error("There was an error converting audio to MP3: " + e.getMessage());
         }
-
-        return converted;
     }
 
     @Override
@@ -408,7 +408,7 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
 
                 try
                 {
-                    float[] audioBuffer = mCurrentAudioSegment.getAudioBuffers().get(mCurrentBufferIndex++);
+                    float[] audioBuffer = mCurrentAudioSegment.getAudioBuffer(mCurrentBufferIndex++);
 
                     if(audioBuffer != null)
                     {
@@ -55,6 +55,15 @@ public class BinaryMessage extends BitSet
      */
     private CRC mCRC;
 
+    /**
+     * Word-packed (little-endian bit order within each word, same as BitSet) snapshot of the bits in this message,
+     * used for bulk field extraction.  Lazily created on first field access and discarded by any mutator so that a
+     * message that is filled once and then parsed many times only pays for the snapshot once.  The snapshot array is
+     * never modified in place, so copies and clones may safely share it.  The field is volatile so that a snapshot
+     * created by one thread is only visible to other threads once the array contents are fully written.
+     */
+    private transient volatile long[] mWords;
+
     /**
      * Constructs a bitset that buffers bits added one at a time, up to the size
      * of the this bitset.
@@ -259,6 +268,169 @@ public class BinaryMessage extends BitSet
         mPointer = 0;
     }
 
+    @Override
+    public void set(int bitIndex)
+    {
+        super.set(bitIndex);
+        mWords = null;
+    }
+
+    @Override
+    public void set(int bitIndex, boolean value)
+    {
+        super.set(bitIndex, value);
+        mWords = null;
+    }
+
+    @Override
+    public void set(int fromIndex, int toIndex)
+    {
+        super.set(fromIndex, toIndex);
+        mWords = null;
+    }
+
+    @Override
+    public void set(int fromIndex, int toIndex, boolean value)
+    {
+        super.set(fromIndex, toIndex, value);
+        mWords = null;
+    }
+
+    @Override
+    public void clear(int bitIndex)
+    {
+        super.clear(bitIndex);
+        mWords = null;
+    }
+
+    @Override
+    public void clear(int fromIndex, int toIndex)
+    {
+        super.clear(fromIndex, toIndex);
+        mWords = null;
+    }
+
+    @Override
+    public void flip(int bitIndex)
+    {
+        super.flip(bitIndex);
+        mWords = null;
+    }
+
+    @Override
+    public void flip(int fromIndex, int toIndex)
+    {
+        super.flip(fromIndex, toIndex);
+        mWords = null;
+    }
+
+    @Override
+    public void and(BitSet set)
+    {
+        super.and(set);
+        mWords = null;
+    }
+
+    @Override
+    public void or(BitSet set)
+    {
+        super.or(set);
+        mWords = null;
+    }
+
+    @Override
+    public void xor(BitSet set)
+    {
+        super.xor(set);
+        mWords = null;
+    }
+
+    @Override
+    public void andNot(BitSet set)
+    {
+        super.andNot(set);
+        mWords = null;
+    }
+
+    /**
+     * Word-packed snapshot of this message's bits, created on demand.
+     */
+    private long[] words()
+    {
+        long[] words = mWords;
+
+        if(words == null)
+        {
+            words = toLongArray();
+            mWords = words;
+        }
+
+        return words;
+    }
+
+    /**
+     * Value of the bit at the index from the word-packed snapshot.
+     * @param words snapshot
+     * @param index of the bit
+     * @return 1 if the bit is set, otherwise 0
+     * @throws IndexOutOfBoundsException if the index is negative, to match BitSet.get()
+     */
+    private static int bit(long[] words, int index)
+    {
+        if(index < 0)
+        {
+            throw new IndexOutOfBoundsException("bitIndex < 0: " + index);
+        }
+
+        int wordIndex = index >>> 6;
+        return wordIndex < words.length ? (int)(words[wordIndex] >>> index) & 1 : 0;
+    }
+
+    /**
+     * Extracts a contiguous field from the word-packed snapshot with a shift-and-mask across at most two words.
+     * @param words snapshot
+     * @param start index of the field MSB (must be non-negative)
+     * @param width of the field, 1 - 64 bits
+     * @return field value right-justified with the bit at the start index as the MSB
+     */
+    private static long extract(long[] words, int start, int width)
+    {
+        int wordIndex = start >>> 6;
+        int shift = start & 0x3F;
+
+        //Gather the 64 bits that begin at the start index with the start bit in the LSB position
+        long window = wordIndex < words.length ? words[wordIndex] >>> shift : 0;
+
+        if(shift != 0 && wordIndex + 1 < words.length)
+        {
+            window |= words[wordIndex + 1] << (64 - shift);
+        }
+
+        //BitSet bit order is LSB first, message field order is MSB first
+        return Long.reverse(window) >>> (64 - width);
+    }
+
+    /**
+     * Extracts a fragmented field using the field's precompiled run plan.
+     * @param field to extract
+     * @param offset to apply to each of the field indices
+     * @return field value
+     */
+    private int extract(FragmentedIntField field, int offset)
+    {
+        long[] words = words();
+        int[] starts = field.runStarts();
+        int[] widths = field.runWidths();
+        long value = 0;
+
+        for(int x = 0; x < starts.length; x++)
+        {
+            value = (value << widths[x]) | extract(words, starts[x] + offset, widths[x]);
+        }
+
+        return (int)value;
+    }
+
     /**
      * Adds a the bit parameters to this bitset, placing it in the index
      * specified by mPointer, and incrementing mPointer to prepare for the next
@@ -436,16 +608,12 @@ public class BinaryMessage extends BitSet
                 + "or less to fit into a primitive integer value");
         }
 
+        long[] words = words();
         int value = 0;
 
         for(int index : bits)
         {
-            value = Integer.rotateLeft(value, 1);
-
-            if(get(index))
-            {
-                value++;
-            }
+            value = (value << 1) | bit(words, index);
         }
 
         return value;
@@ -458,6 +626,11 @@ public class BinaryMessage extends BitSet
      */
     public int getInt(IntField intField)
     {
+        if(intField.start() >= 0 && intField.width() <= 32)
+        {
+            return (int)extract(words(), intField.start(), intField.width());
+        }
+
         int value = 0;
 
         for(int index = intField.start(); index <= intField.end(); index++)
@@ -480,6 +653,11 @@ public class BinaryMessage extends BitSet
      */
     public int getInt(FragmentedIntField fragmentedField)
     {
+        if(fragmentedField.minimumIndex() >= 0)
+        {
+            return extract(fragmentedField, 0);
+        }
+
         int value = 0;
 
         for(int index: fragmentedField.indices())
@@ -502,6 +680,11 @@ public class BinaryMessage extends BitSet
      */
     public boolean hasInt(IntField intField)
     {
+        if(intField.start() >= 0 && intField.width() <= 32)
+        {
+            return extract(words(), intField.start(), intField.width()) != 0;
+        }
+
         return nextSetBit(intField.start()) <= intField.end();
     }
 
@@ -512,6 +695,11 @@ public class BinaryMessage extends BitSet
      */
     public boolean hasInt(FragmentedIntField fragmentedField)
     {
+        if(fragmentedField.minimumIndex() >= 0)
+        {
+            return extract(fragmentedField, 0) != 0;
+        }
+
         for(int index: fragmentedField.indices())
         {
             if(get(index))
@@ -532,6 +720,11 @@ public class BinaryMessage extends BitSet
      */
     public int getInt(IntField intField, int offset)
     {
+        if(intField.start() + offset >= 0 && intField.width() <= 32)
+        {
+            return (int)extract(words(), intField.start() + offset, intField.width());
+        }
+
         int value = 0;
 
         for(int index = intField.start() + offset; index <= intField.end() + offset; index++)
@@ -556,6 +749,11 @@ public class BinaryMessage extends BitSet
      */
     public int getInt(FragmentedIntField fragmentedField, int offset)
     {
+        if(fragmentedField.minimumIndex() + offset >= 0)
+        {
+            return extract(fragmentedField, offset);
+        }
+
         int value = 0;
 
         for(int index: fragmentedField.indices())
@@ -579,6 +777,11 @@ public class BinaryMessage extends BitSet
      */
     public boolean hasInt(IntField intField, int offset)
     {
+        if(intField.start() + offset >= 0 && intField.width() <= 32)
+        {
+            return extract(words(), intField.start() + offset, intField.width()) != 0;
+        }
+
         return nextSetBit(intField.start() + offset) <= (intField.end() + offset);
     }
 
@@ -590,6 +793,11 @@ public class BinaryMessage extends BitSet
      */
     public boolean hasInt(FragmentedIntField fragmentedField, int offset)
     {
+        if(fragmentedField.minimumIndex() + offset >= 0)
+        {
+            return extract(fragmentedField, offset) != 0;
+        }
+
         for(int index: fragmentedField.indices())
         {
             if(get(index + offset))
@@ -608,6 +816,13 @@ public class BinaryMessage extends BitSet
      */
     public long getLong(LongField intField)
     {
+        int width = intField.end() - intField.start() + 1;
+
+        if(intField.start() >= 0 && width <= 64)
+        {
+            return extract(words(), intField.start(), width);
+        }
+
         long value = 0;
 
         for(int index = intField.start(); index <= intField.end(); index++)
@@ -632,6 +847,13 @@ public class BinaryMessage extends BitSet
      */
     public long getLong(LongField intField, int offset)
     {
+        int width = intField.end() - intField.start() + 1;
+
+        if(intField.start() + offset >= 0 && width <= 64)
+        {
+            return extract(words(), intField.start() + offset, width);
+        }
+
         long value = 0;
 
         for(int index = intField.start() + offset; index <= intField.end() + offset; index++)
@@ -665,16 +887,12 @@ public class BinaryMessage extends BitSet
                 + "or less to fit into a primitive integer value");
         }
 
+        long[] words = words();
         int value = 0;
 
         for(int index : bits)
         {
-            value = Integer.rotateLeft(value, 1);
-
-            if(get(index + offset))
-            {
-                value++;
-            }
+            value = (value << 1) | bit(words, index + offset);
         }
 
         return value;
@@ -873,16 +1091,12 @@ public class BinaryMessage extends BitSet
                 + "or less to fit into a primitive long value");
         }
 
+        long[] words = words();
         long value = 0;
 
         for(int index : bits)
         {
-            value = Long.rotateLeft(value, 1);
-
-            if(get(index))
-            {
-                value++;
-            }
+            value = (value << 1) | bit(words, index);
         }
 
         return value;
@@ -905,16 +1119,12 @@ public class BinaryMessage extends BitSet
                 + "or less to fit into a primitive long value");
         }
 
+        long[] words = words();
         long value = 0;
 
         for(int index : bits)
         {
-            value = Long.rotateLeft(value, 1);
-
-            if(get(index + offset))
-            {
-                value++;
-            }
+            value = (value << 1) | bit(words, index + offset);
         }
 
         return value;
@@ -1014,6 +1224,11 @@ public class BinaryMessage extends BitSet
                 + "or less to fit into a primitive integer value");
         }
 
+        if(start <= end && start >= 0 && (end - start) < 32)
+        {
+            return (int)extract(words(), start, end - start + 1);
+        }
+
         int value = 0;
 
         if(start < end)
@@ -1089,6 +1304,11 @@ public class BinaryMessage extends BitSet
                 + "or less to fit into a primitive long value");
         }
 
+        if(start <= end && start >= 0 && (end - start) < 64)
+        {
+            return extract(words(), start, end - start + 1);
+        }
+
         long value = 0;
 
         if(start < end)
@@ -18,11 +18,18 @@
  */
 package io.github.dsheirer.bits;
 
+import java.util.Arrays;
 import java.util.BitSet;
 
 public class CorrectedBinaryMessage extends BinaryMessage
 {
+    /**
+     * Maximum soft-decision confidence for a bit.  Bits from a hard-decision source are treated as maximum confidence.
+     */
+    public static final int MAXIMUM_CONFIDENCE = 7;
+
     private int mCorrectedBitCount;
+    private byte[] mBitConfidence;
 
     /**
      * Subclass of binary message class to allow capturing a corrected bits metric.
@@ -52,6 +59,11 @@ public class CorrectedBinaryMessage extends BinaryMessage
     {
         this(message.size());
         this.xor(message);
+
+        if(message instanceof CorrectedBinaryMessage corrected && corrected.hasBitConfidence())
+        {
+            mBitConfidence = Arrays.copyOf(corrected.mBitConfidence, message.size());
+        }
     }
 
     @Override
@@ -88,6 +100,73 @@ public class CorrectedBinaryMessage extends BinaryMessage
     public CorrectedBinaryMessage getSubMessage(int start, int end)
     {
         BitSet subset = this.get(start, end);
-        return new CorrectedBinaryMessage(subset, end - start);
+        CorrectedBinaryMessage subMessage = new CorrectedBinaryMessage(subset, end - start);
+
+        if(hasBitConfidence())
+        {
+            subMessage.mBitConfidence = Arrays.copyOfRange(mBitConfidence, start, end);
+        }
+
+        return subMessage;
+    }
+
+    /**
+     * Clears all bits, the corrected bit count and any soft-decision confidence values so that this message can be
+     * reused as a scratch buffer.
+     */
+    public void reset()
+    {
+        clear();
+        mCorrectedBitCount = 0;
+        mBitConfidence = null;
+    }
+
+    /**
+     * Indicates if this message carries soft-decision confidence values for any of its bits.
+     */
+    public boolean hasBitConfidence()
+    {
+        return mBitConfidence != null;
+    }
+
+    /**
+     * Soft-decision confidence for the bit at the specified index.
+     * @param index of the bit
+     * @return confidence in the range 0 <> MAXIMUM_CONFIDENCE, or MAXIMUM_CONFIDENCE when this message doesn't carry
+     * confidence values.
+     */
+    public int getBitConfidence(int index)
+    {
+        if(mBitConfidence == null || index >= mBitConfidence.length)
+        {
+            return MAXIMUM_CONFIDENCE;
+        }
+
+        return mBitConfidence[index];
+    }
+
+    /**
+     * Sets the soft-decision confidence for the bit at the specified index.  Confidence storage is only allocated once
+     * a bit is set to less than maximum confidence, so hard-decision messages don't carry the extra array.
+     * @param index of the bit
+     * @param confidence in the range 0 <> MAXIMUM_CONFIDENCE
+     */
+    public void setBitConfidence(int index, int confidence)
+    {
+        if(mBitConfidence == null)
+        {
+            if(confidence >= MAXIMUM_CONFIDENCE)
+            {
+                return;
+            }
+
+            mBitConfidence = new byte[size()];
+            Arrays.fill(mBitConfidence, (byte)MAXIMUM_CONFIDENCE);
+        }
+
+        if(index < mBitConfidence.length)
+        {
+            mBitConfidence[index] = (byte)Math.max(0, Math.min(confidence, MAXIMUM_CONFIDENCE));
+        }
     }
 }
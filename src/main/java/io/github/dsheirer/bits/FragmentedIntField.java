@@ -19,18 +19,97 @@
 
 package io.github.dsheirer.bits;
 
+import java.util.Arrays;
+
 /**
  * Defines a fragmented or non-contiguous bit field within a binary message.
- * @param indices for the bits in the field.
+ *
+ * The field indices are precompiled at construction into an extraction plan of contiguous index runs so that the
+ * field value can be extracted from a binary message with one shift-and-mask operation per run instead of one
+ * operation per bit.
  */
-public record FragmentedIntField(int... indices)
+public final class FragmentedIntField
 {
-    public FragmentedIntField
+    private final int[] mIndices;
+    private final int[] mRunStarts;
+    private final int[] mRunWidths;
+    private final int mMinimumIndex;
+
+    /**
+     * Constructs an instance
+     * @param indices for the bits in the field, ordered MSB to LSB.
+     */
+    public FragmentedIntField(int... indices)
     {
         if(indices.length > 32)
         {
             throw new IllegalArgumentException("Integer field indices size [" + indices.length + "] cannot exceed 32-bits for an integer");
         }
+
+        mIndices = indices;
+
+        int[] runStarts = new int[indices.length];
+        int[] runWidths = new int[indices.length];
+        int runCount = 0;
+        int minimum = Integer.MAX_VALUE;
+
+        for(int x = 0; x < indices.length; x++)
+        {
+            minimum = Math.min(minimum, indices[x]);
+
+            if(runCount > 0 && indices[x] == runStarts[runCount - 1] + runWidths[runCount - 1])
+            {
+                runWidths[runCount - 1]++;
+            }
+            else
+            {
+                runStarts[runCount] = indices[x];
+                runWidths[runCount] = 1;
+                runCount++;
+            }
+        }
+
+        mRunStarts = Arrays.copyOf(runStarts, runCount);
+        mRunWidths = Arrays.copyOf(runWidths, runCount);
+        mMinimumIndex = minimum;
+    }
+
+    /**
+     * Indices for the bits in the field, ordered MSB to LSB.
+     */
+    public int[] indices()
+    {
+        return mIndices;
+    }
+
+    /**
+     * Start index for each contiguous run of bits in the extraction plan.
+     */
+    int[] runStarts()
+    {
+        return mRunStarts;
+    }
+
+    /**
+     * Width of each contiguous run of bits in the extraction plan.
+     */
+    int[] runWidths()
+    {
+        return mRunWidths;
+    }
+
+    /**
+     * Smallest bit index in the field, or Integer.MAX_VALUE for an empty field.
+     */
+    int minimumIndex()
+    {
+        return mMinimumIndex;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "FragmentedIntField[indices=" + Arrays.toString(mIndices) + "]";
     }
 
     /**
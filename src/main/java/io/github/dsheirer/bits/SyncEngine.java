@@ -0,0 +1,241 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.bits;
+
+import io.github.dsheirer.dsp.symbol.Dibit;
+import java.util.Arrays;
+
+/**
+ * Bit-parallel sync pattern detection engine.  Maintains a rolling 64-bit history of received dibits and evaluates
+ * every registered sync pattern against the history in a single pass, using an XOR and a population count per
+ * pattern.  Since an inverted (180 degree) pattern is the one's complement of the pattern, the same bit count also
+ * provides the inverted pattern match error count (pattern length - bit errors) at no additional cost.
+ *
+ * Patterns are evaluated in registration order and the first pattern that matches within its bit error threshold
+ * is the match, with the normal pattern tested before the inverted pattern.  Patterns can be up to 64 bits long and
+ * only the least significant pattern length bits of the history are compared.
+ *
+ * Invoke receive() for each dibit and inspect the match state when it returns true.
+ */
+public class SyncEngine
+{
+    public static final int NO_MATCH = -1;
+    private static final int INITIAL_CAPACITY = 4;
+    private long[] mPatterns = new long[INITIAL_CAPACITY];
+    private long[] mMasks = new long[INITIAL_CAPACITY];
+    private int[] mBitLengths = new int[INITIAL_CAPACITY];
+    private int[] mMaxBitErrors = new int[INITIAL_CAPACITY];
+    private int[] mMinInvertedBitCounts = new int[INITIAL_CAPACITY];
+    private int mPatternCount;
+    private long mHistory;
+    private int mMatchIndex = NO_MATCH;
+    private boolean mMatchInverted;
+    private int mMatchBitErrors;
+
+    /**
+     * Constructs an instance
+     */
+    public SyncEngine()
+    {
+    }
+
+    /**
+     * Registers a sync pattern without inverted pattern detection.
+     * @param pattern to detect, right-aligned.
+     * @param bitLength of the pattern in the range 1 - 64
+     * @param maxBitErrors allowed for a pattern match
+     * @return index of the pattern for use in interpreting the match index.
+     */
+    public int add(long pattern, int bitLength, int maxBitErrors)
+    {
+        return add(pattern, bitLength, maxBitErrors, NO_MATCH);
+    }
+
+    /**
+     * Registers a sync pattern and optionally the inversion (one's complement) of the pattern.
+     * @param pattern to detect, right-aligned.
+     * @param bitLength of the pattern in the range 1 - 64
+     * @param maxBitErrors allowed for a pattern match
+     * @param maxInvertedBitErrors allowed for an inverted pattern match, or a negative value to disable detection of
+     * the inverted pattern.
+     * @return index of the pattern for use in interpreting the match index.
+     */
+    public int add(long pattern, int bitLength, int maxBitErrors, int maxInvertedBitErrors)
+    {
+        if(bitLength < 1 || bitLength > 64)
+        {
+            throw new IllegalArgumentException("Sync pattern bit length must be in range 1 - 64: " + bitLength);
+        }
+
+        if(mPatternCount == mPatterns.length)
+        {
+            int capacity = mPatterns.length * 2;
+            mPatterns = Arrays.copyOf(mPatterns, capacity);
+            mMasks = Arrays.copyOf(mMasks, capacity);
+            mBitLengths = Arrays.copyOf(mBitLengths, capacity);
+            mMaxBitErrors = Arrays.copyOf(mMaxBitErrors, capacity);
+            mMinInvertedBitCounts = Arrays.copyOf(mMinInvertedBitCounts, capacity);
+        }
+
+        long mask = bitLength == 64 ? -1L : (1L << bitLength) - 1;
+        mPatterns[mPatternCount] = pattern & mask;
+        mMasks[mPatternCount] = mask;
+        mBitLengths[mPatternCount] = bitLength;
+        mMaxBitErrors[mPatternCount] = maxBitErrors;
+
+        //An inverted match has (bit length - bit errors) <= max inverted bit errors.  When disabled, use a minimum
+        //bit count that can never be reached.
+        mMinInvertedBitCounts[mPatternCount] = maxInvertedBitErrors < 0 ? bitLength + 1 :
+            bitLength - maxInvertedBitErrors;
+        return mPatternCount++;
+    }
+
+    /**
+     * Number of registered sync patterns
+     */
+    public int getPatternCount()
+    {
+        return mPatternCount;
+    }
+
+    /**
+     * Adds the dibit to the history and checks the history for a sync pattern match.
+     * @param dibit to add
+     * @return true if a sync pattern was matched
+     */
+    public boolean receive(Dibit dibit)
+    {
+        return receive(dibit.getValue());
+    }
+
+    /**
+     * Adds the dibit value (0 - 3) to the history and checks the history for a sync pattern match.
+     * @param dibit value to add
+     * @return true if a sync pattern was matched
+     */
+    public boolean receive(int dibit)
+    {
+        mHistory = (mHistory << 2) | (dibit & 0x3);
+        return check(mHistory);
+    }
+
+    /**
+     * Checks the value against each of the registered patterns and updates the match state.  Does not modify the
+     * history.
+     * @param value to check
+     * @return true if a sync pattern was matched
+     */
+    public boolean check(long value)
+    {
+        for(int x = 0; x < mPatternCount; x++)
+        {
+            int bitErrors = Long.bitCount((value ^ mPatterns[x]) & mMasks[x]);
+
+            if(bitErrors <= mMaxBitErrors[x])
+            {
+                mMatchIndex = x;
+                mMatchInverted = false;
+                mMatchBitErrors = bitErrors;
+                return true;
+            }
+
+            if(bitErrors >= mMinInvertedBitCounts[x])
+            {
+                mMatchIndex = x;
+                mMatchInverted = true;
+                mMatchBitErrors = mBitLengths[x] - bitErrors;
+                return true;
+            }
+        }
+
+        mMatchIndex = NO_MATCH;
+        mMatchInverted = false;
+        mMatchBitErrors = 0;
+        return false;
+    }
+
+    /**
+     * Index of the pattern matched by the most recent check, or NO_MATCH (-1).
+     */
+    public int getMatchIndex()
+    {
+        return mMatchIndex;
+    }
+
+    /**
+     * Indicates if the most recent check matched a sync pattern
+     */
+    public boolean hasMatch()
+    {
+        return mMatchIndex != NO_MATCH;
+    }
+
+    /**
+     * Indicates if the most recent match was against the inverted form of the pattern.
+     */
+    public boolean isMatchInverted()
+    {
+        return mMatchInverted;
+    }
+
+    /**
+     * Number of bit errors for the most recent match.
+     */
+    public int getMatchBitErrors()
+    {
+        return mMatchBitErrors;
+    }
+
+    /**
+     * Number of bit errors between the current history and the (non-inverted) pattern at the index.
+     * @param index of the pattern
+     */
+    public int getBitErrors(int index)
+    {
+        return Long.bitCount((mHistory ^ mPatterns[index]) & mMasks[index]);
+    }
+
+    /**
+     * Current rolling dibit history with the most recent dibit in the least significant bits.
+     */
+    public long getHistory()
+    {
+        return mHistory;
+    }
+
+    /**
+     * Sets the rolling dibit history.
+     */
+    public void setHistory(long history)
+    {
+        mHistory = history;
+    }
+
+    /**
+     * Clears the history and match state.
+     */
+    public void reset()
+    {
+        mHistory = 0;
+        mMatchIndex = NO_MATCH;
+        mMatchInverted = false;
+        mMatchBitErrors = 0;
+    }
+}
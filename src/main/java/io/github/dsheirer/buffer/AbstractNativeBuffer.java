@@ -19,11 +19,15 @@
 
 package io.github.dsheirer.buffer;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * Base native buffer class.
+ * Base native buffer class.  Provides reference counting so that subclasses with pooled sample arrays can return the
+ * array to the pool once all consumers have released the buffer.
  */
 public abstract class AbstractNativeBuffer implements INativeBuffer
 {
+    private final AtomicInteger mUserCount = new AtomicInteger();
     private long mTimestamp;
     private float mSamplesPerMillisecond;
 
@@ -48,6 +52,35 @@ public abstract class AbstractNativeBuffer implements INativeBuffer
         return mTimestamp;
     }
 
+    @Override
+    public void incrementUserCount()
+    {
+        mUserCount.incrementAndGet();
+    }
+
+    /**
+     * Decrements the user count and releases this buffer when the count reaches zero.  Buffers delivered by a
+     * producer that doesn't count users will go negative on the first decrement and are never released, leaving the
+     * sample array to the garbage collector.
+     */
+    @Override
+    public void decrementUserCount()
+    {
+        if(mUserCount.decrementAndGet() == 0)
+        {
+            release();
+        }
+    }
+
+    /**
+     * Invoked once all consumers have released this buffer.  Subclasses with pooled sample arrays should override
+     * this method to return the sample array to the pool.
+     */
+    protected void release()
+    {
+        //No-op.  Override in subclass to recycle pooled resources.
+    }
+
     /**
      * Quantity of samples representing one millisecond of sample data, used for calculating fragment timestamp offsets.
      * @return samples per millisecond count.
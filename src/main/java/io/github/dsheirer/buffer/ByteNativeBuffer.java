@@ -46,6 +46,7 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
     }
 
     private byte[] mSamples;
+    private NativeArrayPool<byte[]> mPool;
 
     /**
      * Constructs an instance
@@ -55,6 +56,21 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
      * @param samplesPerMillisecond to calculate derivative timestamps for sub-buffers.
      */
     public ByteNativeBuffer(byte[] samples, long timestamp, float averageDc, float samplesPerMillisecond)
+    {
+        this(samples, timestamp, averageDc, samplesPerMillisecond, null);
+    }
+
+    /**
+     * Constructs an instance with a pooled samples array that is returned to the pool once all consumers release
+     * this buffer.
+     * @param samples to process
+     * @param timestamp of the samples
+     * @param averageDc measured from sample stream
+     * @param samplesPerMillisecond to calculate derivative timestamps for sub-buffers.
+     * @param pool (optional) to receive the samples array once this buffer is released.
+     */
+    public ByteNativeBuffer(byte[] samples, long timestamp, float averageDc, float samplesPerMillisecond,
+                            NativeArrayPool<byte[]> pool)
     {
         super(timestamp, samplesPerMillisecond);
         //Ensure we're an even multiple of the fragment size.  Typically, this will be 64k or 128k
@@ -65,6 +81,16 @@ public class ByteNativeBuffer extends AbstractNativeBuffer
 
         mSamples = samples;
         mAverageDc = averageDc;
+        mPool = pool;
+    }
+
+    @Override
+    protected void release()
+    {
+        if(mPool != null)
+        {
+            mPool.recycle(mSamples);
+        }
     }
 
     @Override
@@ -27,11 +27,12 @@ import java.nio.ByteBuffer;
 public class ByteNativeBufferFactory extends AbstractNativeBufferFactory
 {
     private DcCorrectionManager mDcCorrectionManager = new DcCorrectionManager();
+    private NativeArrayPool<byte[]> mBufferPool = NativeArrayPool.byteArrayPool();
 
     @Override
     public INativeBuffer getBuffer(ByteBuffer samples, long timestamp)
     {
-        byte[] copy = new byte[samples.capacity()];
+        byte[] copy = mBufferPool.getArray(samples.capacity());
         samples.get(copy);
 
         if(mDcCorrectionManager.shouldCalculateDc())
@@ -39,7 +40,14 @@ public class ByteNativeBufferFactory extends AbstractNativeBufferFactory
             calculateDc(copy);
         }
 
-        return new ByteNativeBuffer(copy, timestamp, mDcCorrectionManager.getAverageDc(), getSamplesPerMillisecond());
+        return new ByteNativeBuffer(copy, timestamp, mDcCorrectionManager.getAverageDc(), getSamplesPerMillisecond(),
+            mBufferPool);
+    }
+
+    @Override
+    public NativeArrayPool<?> getBufferPool()
+    {
+        return mBufferPool;
     }
 
     /**
@@ -50,4 +50,23 @@ public interface INativeBuffer
      * @return millis since epoch
      */
     long getTimestamp();
+
+    /**
+     * Increments the user count to indicate that another consumer holds a reference to this buffer.  Producers
+     * increment the user count for each listener before delivering the buffer.
+     */
+    default void incrementUserCount()
+    {
+        //No-op for non-pooled buffers
+    }
+
+    /**
+     * Decrements the user count to indicate that a consumer is finished with this buffer.  Pooled buffers return
+     * their backing sample array to the pool once the user count reaches zero.  Consumers must not access the buffer
+     * (or create new iterators) after invoking this method.
+     */
+    default void decrementUserCount()
+    {
+        //No-op for non-pooled buffers
+    }
 }
@@ -44,4 +44,13 @@ public interface INativeBufferFactory
      * @param samplesPerMillisecond to calculate timestamp offset for child buffers.
      */
     void setSamplesPerMillisecond(float samplesPerMillisecond);
+
+    /**
+     * Pool of reusable sample arrays used by this factory to create native buffers.
+     * @return pool or null if this factory doesn't use pooled sample arrays.
+     */
+    default NativeArrayPool<?> getBufferPool()
+    {
+        return null;
+    }
 }
@@ -0,0 +1,163 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.buffer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Pool of reusable sample arrays that back the native buffers created from tuner (e.g. USB) transfers.  Native
+ * buffers are reference counted across all listeners and return their sample array to the pool once every listener
+ * has released the buffer.  When the pool is empty, a new array is allocated and when the pool is full, a recycled
+ * array is discarded, so the pool never blocks the producer thread.
+ *
+ * Arrays are requested by length.  When the transfer size changes, pooled arrays with the old length are discarded
+ * as they are encountered.
+ *
+ * @param <T> array type (e.g. byte[] or short[])
+ */
+public class NativeArrayPool<T>
+{
+    private static final int DEFAULT_CAPACITY = 32;
+    private final ArrayBlockingQueue<T> mArrays;
+    private final IntFunction<T> mArrayFactory;
+    private final ToIntFunction<T> mArrayLength;
+    private final LongAdder mHitCount = new LongAdder();
+    private final LongAdder mMissCount = new LongAdder();
+    private final LongAdder mRecycleCount = new LongAdder();
+
+    /**
+     * Constructs an instance
+     * @param capacity maximum number of pooled arrays
+     * @param arrayFactory to create a new array of the requested length
+     * @param arrayLength function to determine the length of an array
+     */
+    public NativeArrayPool(int capacity, IntFunction<T> arrayFactory, ToIntFunction<T> arrayLength)
+    {
+        mArrays = new ArrayBlockingQueue<>(capacity);
+        mArrayFactory = arrayFactory;
+        mArrayLength = arrayLength;
+    }
+
+    /**
+     * Creates a byte array pool with a default capacity.
+     */
+    public static NativeArrayPool<byte[]> byteArrayPool()
+    {
+        return new NativeArrayPool<>(DEFAULT_CAPACITY, byte[]::new, array -> array.length);
+    }
+
+    /**
+     * Creates a short array pool with a default capacity.
+     */
+    public static NativeArrayPool<short[]> shortArrayPool()
+    {
+        return new NativeArrayPool<>(DEFAULT_CAPACITY, short[]::new, array -> array.length);
+    }
+
+    /**
+     * Provides an array of the requested length from the pool, or a newly allocated array when the pool is empty.
+     * Note: the array contents are not cleared.
+     * @param length of the array
+     * @return array
+     */
+    public T getArray(int length)
+    {
+        T array = mArrays.poll();
+
+        //Discard any pooled arrays that don't match the requested length
+        while(array != null && mArrayLength.applyAsInt(array) != length)
+        {
+            array = mArrays.poll();
+        }
+
+        if(array == null)
+        {
+            mMissCount.increment();
+            return mArrayFactory.apply(length);
+        }
+
+        mHitCount.increment();
+        return array;
+    }
+
+    /**
+     * Returns the array to the pool.  If the pool is already full, the array is discarded.
+     * @param array to recycle
+     */
+    public void recycle(T array)
+    {
+        if(array != null)
+        {
+            mRecycleCount.increment();
+            mArrays.offer(array);
+        }
+    }
+
+    /**
+     * Number of array requests that were satisfied from the pool.
+     */
+    public long getHitCount()
+    {
+        return mHitCount.sum();
+    }
+
+    /**
+     * Number of array requests that required a new array allocation.
+     */
+    public long getMissCount()
+    {
+        return mMissCount.sum();
+    }
+
+    /**
+     * Number of arrays currently available in the pool.
+     */
+    public int getPooledCount()
+    {
+        return mArrays.size();
+    }
+
+    /**
+     * Maximum number of arrays that can be held in the pool.
+     */
+    public int getCapacity()
+    {
+        return mArrays.size() + mArrays.remainingCapacity();
+    }
+
+    /**
+     * Number of arrays that have been provided by this pool and not yet returned.  This includes arrays held by
+     * listeners that don't release native buffers, which are reclaimed by the garbage collector instead.
+     */
+    public long getOutstandingCount()
+    {
+        return getHitCount() + getMissCount() - mRecycleCount.sum();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Native Array Pool - Pooled:" + getPooledCount() + "/" + getCapacity() + " Outstanding:" +
+            getOutstandingCount() + " Hits:" + getHitCount() + " Misses:" + getMissCount();
+    }
+}
@@ -42,6 +42,10 @@ import java.util.concurrent.LinkedTransferQueue;
  * delayed buffers.  Any listeners that are added to this class are expected to implement a non-blocking receive method
  * so as not to delay the stream of sample buffers.  Channel listeners are expected to implement buffer queue processing
  * on another thread.
+ *
+ * Buffer reference counting: this delay buffer retains the reference that it receives from the producer for as long as
+ * the buffer is held in the delay queue and releases it when the buffer is evicted or cleared.  Each listener receives
+ * its own reference and must release the buffer (ie decrementUserCount()) once it is finished processing the buffer.
  */
 public class NativeSampleDelayBuffer implements Listener<INativeBuffer>
 {
@@ -68,7 +72,7 @@ public class NativeSampleDelayBuffer implements Listener<INativeBuffer>
     /**
      * Prepares this instance for disposal by releasing all stored sample buffers.
      */
-    public void dispose()
+    public synchronized void dispose()
     {
         clearBuffer();
         mBroadcaster.clear();
@@ -81,13 +85,17 @@ public class NativeSampleDelayBuffer implements Listener<INativeBuffer>
     }
 
     /**
-     * Clears any delayed/enqueued sample buffers.
+     * Clears any delayed/enqueued sample buffers and releases the buffer references held by the delay queue.
      */
     private void clearBuffer()
     {
         for(int x = 0; x < mDelayBuffer.length; x++)
         {
-            mDelayBuffer[x] = null;
+            if(mDelayBuffer[x] != null)
+            {
+                mDelayBuffer[x].decrementUserCount();
+                mDelayBuffer[x] = null;
+            }
         }
 
         mDelayBufferPointer = 0;
@@ -116,9 +124,18 @@ public class NativeSampleDelayBuffer implements Listener<INativeBuffer>
             actionRequest = mActionQueue.poll();
         }
 
-        mBroadcaster.receive(samples);
+        for(Listener<INativeBuffer> listener: mBroadcaster.getListeners())
+        {
+            samples.incrementUserCount();
+            listener.receive(samples);
+        }
+
+        //Release the evicted buffer and store the new buffer in the delay queue, retaining the producer's reference
+        if(mDelayBuffer[mDelayBufferPointer] != null)
+        {
+            mDelayBuffer[mDelayBufferPointer].decrementUserCount();
+        }
 
-        //Store the new buffer in the delay queue and increment the pointer
         mDelayBuffer[mDelayBufferPointer++] = samples;
 
         //Wrap the delay buffer pointer as needed
@@ -150,6 +167,7 @@ public class NativeSampleDelayBuffer implements Listener<INativeBuffer>
             if(toEvaluate != null &&
                 ((toEvaluate.getTimestamp() + mBufferDuration) >= listenerToAdd.getTimestamp()))
             {
+                toEvaluate.incrementUserCount();
                 listenerToAdd.getListener().receive(toEvaluate);
             }
 
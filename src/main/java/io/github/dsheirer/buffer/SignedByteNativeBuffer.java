@@ -46,6 +46,7 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
     }
 
     private byte[] mSamples;
+    private NativeArrayPool<byte[]> mPool;
     private float mIAverageDc;
     private float mQAverageDc;
 
@@ -58,6 +59,22 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
      * @param samplesPerMillisecond to calculate sub-buffer timestamps
      */
     public SignedByteNativeBuffer(byte[] samples, long timestamp, float iAverageDc, float qAverageDc, float samplesPerMillisecond)
+    {
+        this(samples, timestamp, iAverageDc, qAverageDc, samplesPerMillisecond, null);
+    }
+
+    /**
+     * Constructs an instance with a pooled samples array that is returned to the pool once all consumers release
+     * this buffer.
+     * @param samples to process
+     * @param timestamp of the samples
+     * @param iAverageDc of the sample stream
+     * @param qAverageDc of the sample stream
+     * @param samplesPerMillisecond to calculate sub-buffer timestamps
+     * @param pool (optional) to receive the samples array once this buffer is released.
+     */
+    public SignedByteNativeBuffer(byte[] samples, long timestamp, float iAverageDc, float qAverageDc,
+                                  float samplesPerMillisecond, NativeArrayPool<byte[]> pool)
     {
         super(timestamp, samplesPerMillisecond);
 
@@ -70,6 +87,16 @@ public class SignedByteNativeBuffer extends AbstractNativeBuffer
         mSamples = samples;
         mIAverageDc = iAverageDc;
         mQAverageDc = qAverageDc;
+        mPool = pool;
+    }
+
+    @Override
+    protected void release()
+    {
+        if(mPool != null)
+        {
+            mPool.recycle(mSamples);
+        }
     }
 
     @Override
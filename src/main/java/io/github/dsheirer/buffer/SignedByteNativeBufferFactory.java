@@ -67,10 +67,15 @@ public class SignedByteNativeBufferFactory extends AbstractNativeBufferFactory
      */
     private float mQAverageDc = 0.0f;
 
+    /**
+     * Pool of reusable sample arrays
+     */
+    private NativeArrayPool<byte[]> mBufferPool = NativeArrayPool.byteArrayPool();
+
     @Override
     public INativeBuffer getBuffer(ByteBuffer samples, long timestamp)
     {
-        byte[] copy = new byte[samples.capacity()];
+        byte[] copy = mBufferPool.getArray(samples.capacity());
         samples.get(copy);
 
         if(shouldCalculateDc())
@@ -78,7 +83,14 @@ public class SignedByteNativeBufferFactory extends AbstractNativeBufferFactory
             calculateDc(copy);
         }
 
-        return new SignedByteNativeBuffer(copy, timestamp, mIAverageDc, mQAverageDc, getSamplesPerMillisecond());
+        return new SignedByteNativeBuffer(copy, timestamp, mIAverageDc, mQAverageDc, getSamplesPerMillisecond(),
+            mBufferPool);
+    }
+
+    @Override
+    public NativeArrayPool<?> getBufferPool()
+    {
+        return mBufferPool;
     }
 
     /**
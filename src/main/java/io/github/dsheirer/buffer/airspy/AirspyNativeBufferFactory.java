@@ -21,6 +21,7 @@ package io.github.dsheirer.buffer.airspy;
 
 import io.github.dsheirer.buffer.AbstractNativeBufferFactory;
 import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.buffer.NativeArrayPool;
 import io.github.dsheirer.vector.calibrate.CalibrationManager;
 import io.github.dsheirer.vector.calibrate.CalibrationType;
 import io.github.dsheirer.vector.calibrate.Implementation;
@@ -36,6 +37,7 @@ public class AirspyNativeBufferFactory extends AbstractNativeBufferFactory
     private short[] mResidualI = new short[AirspyBufferIterator.I_OVERLAP];
     private short[] mResidualQ = new short[AirspyBufferIterator.Q_OVERLAP];
     private IAirspySampleConverter mConverter;
+    private NativeArrayPool<short[]> mBufferPool = NativeArrayPool.shortArrayPool();
     private Implementation mInterleavedIteratorImplementation;
     private Implementation mNonInterleavedIteratorImplementation;
 
@@ -100,18 +102,26 @@ public class AirspyNativeBufferFactory extends AbstractNativeBufferFactory
     @Override
     public INativeBuffer getBuffer(ByteBuffer buffer, long timestamp)
     {
-        short[] samples = mConverter.convert(buffer);
+        short[] samples = mConverter.convert(buffer,
+                mBufferPool.getArray(mConverter.getConvertedLength(buffer.capacity())));
 
         INativeBuffer nativeBuffer = new AirspyNativeBuffer(samples,
                 Arrays.copyOf(mResidualI, mResidualI.length),
                 Arrays.copyOf(mResidualQ, mResidualQ.length), mConverter.getAverageDc(), timestamp,
-                mInterleavedIteratorImplementation, mNonInterleavedIteratorImplementation, getSamplesPerMillisecond());
+                mInterleavedIteratorImplementation, mNonInterleavedIteratorImplementation, getSamplesPerMillisecond(),
+                mBufferPool);
 
         extractResidual(samples);
 
         return nativeBuffer;
     }
 
+    @Override
+    public NativeArrayPool<?> getBufferPool()
+    {
+        return mBufferPool;
+    }
+
     /**
      * Extracts the residual overlap samples needed for continuity in the Hilbert transform filter.
      * @param samples to extract residual from
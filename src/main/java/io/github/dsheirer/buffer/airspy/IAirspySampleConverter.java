@@ -31,7 +31,26 @@ public interface IAirspySampleConverter
      * @param buffer of airspy samples
      * @return converted samples
      */
-    short[] convert(ByteBuffer buffer);
+    default short[] convert(ByteBuffer buffer)
+    {
+        return convert(buffer, null);
+    }
+
+    /**
+     * Converts the airspy byte samples contained in the byte buffer to their short-valued representation, reusing
+     * the supplied samples array when it is the correct length for the buffer.
+     * @param buffer of airspy samples
+     * @param samples (optional) array to reuse, or null to allocate a new array.
+     * @return converted samples
+     */
+    short[] convert(ByteBuffer buffer, short[] samples);
+
+    /**
+     * Length of the converted samples array for a byte buffer of the specified capacity.
+     * @param capacity of the byte buffer
+     * @return converted samples array length
+     */
+    int getConvertedLength(int capacity);
 
     /**
      * Current DC average of the samples that have been processed thus far.
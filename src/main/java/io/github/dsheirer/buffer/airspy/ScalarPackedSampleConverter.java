@@ -33,16 +33,23 @@ public class ScalarPackedSampleConverter implements IAirspySampleConverter
     private DcCorrectionManager mDcCalculationManager = new DcCorrectionManager();
 
     @Override
-    public short[] convert(ByteBuffer buffer)
+    public int getConvertedLength(int capacity)
+    {
+        return capacity / 3 * 2;
+    }
+
+    @Override
+    public short[] convert(ByteBuffer buffer, short[] reusable)
     {
         boolean shouldCalculateDc = mDcCalculationManager.shouldCalculateDc();
 
         int offset = 0;
         short sample;
-        short[] samples;
         byte b1, b2, b3;
 
-        samples = new short[buffer.capacity() / 3 * 2];
+        int length = getConvertedLength(buffer.capacity());
+        //Packed conversion does not write every array element, so always start with a zeroed array
+        short[] samples = new short[length];
 
         if(shouldCalculateDc)
         {
@@ -38,15 +38,21 @@ public class VectorUnpackedSampleConverter implements IAirspySampleConverter
     private DcCorrectionManager mDcCalculationManager = new DcCorrectionManager();
 
     @Override
-    public short[] convert(ByteBuffer buffer)
+    public int getConvertedLength(int capacity)
+    {
+        return capacity / 2;
+    }
+
+    @Override
+    public short[] convert(ByteBuffer buffer, short[] reusable)
     {
         boolean shouldCalculateDc = mDcCalculationManager.shouldCalculateDc();
 
         short sample;
-        short[] samples;
         byte b1, b2;
 
-        samples = new short[buffer.capacity() / 2];
+        int length = getConvertedLength(buffer.capacity());
+        short[] samples = (reusable != null && reusable.length == length) ? reusable : new short[length];
 
         int bytesOffset;
         int rawPointer = 0;
@@ -20,6 +20,7 @@
 package io.github.dsheirer.buffer.airspy.hf;
 
 import io.github.dsheirer.buffer.AbstractNativeBuffer;
+import io.github.dsheirer.buffer.NativeArrayPool;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
 import java.util.Iterator;
@@ -32,6 +33,7 @@ public class AirspyHfNativeBuffer extends AbstractNativeBuffer
     public static final float SCALE = 1.0f / 32768.0f;
     private short[] mInterleavedSamples;
     private float mAverageDc;
+    private NativeArrayPool<short[]> mPool;
 
     /**
      * Constructs an instance.
@@ -39,10 +41,33 @@ public class AirspyHfNativeBuffer extends AbstractNativeBuffer
      * @param interleavedSamples pairs of 16-bit complex samples.
      */
     public AirspyHfNativeBuffer(long timestamp, float samplesPerMillisecond, float averageDc, short[] interleavedSamples)
+    {
+        this(timestamp, samplesPerMillisecond, averageDc, interleavedSamples, null);
+    }
+
+    /**
+     * Constructs an instance with a pooled samples array that is returned to the pool once all consumers release
+     * this buffer.
+     * @param timestamp of the first sample of the buffer
+     * @param interleavedSamples pairs of 16-bit complex samples.
+     * @param pool (optional) to receive the samples array once this buffer is released.
+     */
+    public AirspyHfNativeBuffer(long timestamp, float samplesPerMillisecond, float averageDc, short[] interleavedSamples,
+                                NativeArrayPool<short[]> pool)
     {
         super(timestamp, samplesPerMillisecond);
         mInterleavedSamples = interleavedSamples;
         mAverageDc = averageDc;
+        mPool = pool;
+    }
+
+    @Override
+    protected void release()
+    {
+        if(mPool != null)
+        {
+            mPool.recycle(mInterleavedSamples);
+        }
     }
 
     @Override
@@ -22,6 +22,7 @@ package io.github.dsheirer.buffer.airspy.hf;
 import io.github.dsheirer.buffer.AbstractNativeBufferFactory;
 import io.github.dsheirer.buffer.DcCorrectionManager;
 import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.buffer.NativeArrayPool;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.ShortBuffer;
@@ -34,6 +35,7 @@ import java.nio.ShortBuffer;
 public class AirspyHfNativeBufferFactory extends AbstractNativeBufferFactory
 {
     private DcCorrectionManager mDcCorrectionManager = new DcCorrectionManager();
+    private NativeArrayPool<short[]> mBufferPool = NativeArrayPool.shortArrayPool();
 
     /**
      * Constructs an instance
@@ -52,7 +54,7 @@ public class AirspyHfNativeBufferFactory extends AbstractNativeBufferFactory
     public INativeBuffer getBuffer(ByteBuffer samples, long timestamp)
     {
         ShortBuffer shortBuffer = samples.order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
-        short[] converted = new short[shortBuffer.capacity()];
+        short[] converted = mBufferPool.getArray(shortBuffer.capacity());
         shortBuffer.get(converted);
 
         if(mDcCorrectionManager.shouldCalculateDc())
@@ -60,7 +62,14 @@ public class AirspyHfNativeBufferFactory extends AbstractNativeBufferFactory
             calculateDc(converted);
         }
 
-        return new AirspyHfNativeBuffer(timestamp, getSamplesPerMillisecond(), mDcCorrectionManager.getAverageDc(), converted);
+        return new AirspyHfNativeBuffer(timestamp, getSamplesPerMillisecond(), mDcCorrectionManager.getAverageDc(), converted,
+            mBufferPool);
+    }
+
+    @Override
+    public NativeArrayPool<?> getBufferPool()
+    {
+        return mBufferPool;
     }
 
     /**
@@ -19,7 +19,9 @@
 package io.github.dsheirer.controller.channel;
 
 import com.google.common.eventbus.Subscribe;
+import io.github.dsheirer.alias.Alias;
 import io.github.dsheirer.alias.AliasModel;
+import io.github.dsheirer.alias.id.priority.Priority;
 import io.github.dsheirer.audio.AudioSegment;
 import io.github.dsheirer.channel.metadata.ChannelAndMetadata;
 import io.github.dsheirer.channel.metadata.ChannelMetadata;
@@ -39,6 +41,9 @@ import io.github.dsheirer.module.ProcessingChain;
 import io.github.dsheirer.module.decode.DecoderFactory;
 import io.github.dsheirer.module.decode.event.IDecodeEvent;
 import io.github.dsheirer.module.log.EventLogManager;
+import io.github.dsheirer.monitor.IGovernedLoad;
+import io.github.dsheirer.monitor.OverloadGovernor;
+import io.github.dsheirer.monitor.ProcessingRole;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.record.RecorderFactory;
 import io.github.dsheirer.sample.Broadcaster;
@@ -78,6 +83,7 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
     private final static Logger mLog = LoggerFactory.getLogger(ChannelProcessingManager.class);
     private static final String TUNER_UNAVAILABLE_DESCRIPTION = "TUNER UNAVAILABLE";
     private Map<Channel,ProcessingChain> mProcessingChainsMap = new ConcurrentHashMap<>();
+    private Map<ProcessingChain,ChannelLoad> mChannelLoads = new ConcurrentHashMap<>();
     private Lock mLock = new ReentrantLock();
 
     private ChannelSourceEventErrorListener mSourceErrorListener = new ChannelSourceEventErrorListener();
@@ -566,6 +572,11 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
                 added = true;
                 mProcessingChainsMap.put(channel, processingChain);
                 getChannelMetadataModel().add(new ChannelAndMetadata(channel, processingChain.getChannelState().getChannelMetadata()));
+
+                //Register the channel with the overload governor for load shedding by channel role
+                ChannelLoad channelLoad = new ChannelLoad(channel, processingChain);
+                mChannelLoads.put(processingChain, channelLoad);
+                OverloadGovernor.getInstance().register(channelLoad);
             }
         }
         finally
@@ -597,6 +608,13 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
                 {
                     getChannelMetadataModel().remove(channelMetadata);
                 }
+
+                ChannelLoad channelLoad = mChannelLoads.remove(removed);
+
+                if(channelLoad != null)
+                {
+                    OverloadGovernor.getInstance().unregister(channelLoad);
+                }
             }
         }
         finally
@@ -705,6 +723,14 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
             });
 
             mProcessingChainsMap.put(request.getTrafficChannel(), processingChain);
+
+            ChannelLoad channelLoad = mChannelLoads.get(processingChain);
+
+            if(channelLoad != null)
+            {
+                channelLoad.setChannel(request.getTrafficChannel());
+            }
+
             mChannelMetadataModel.updateChannelMetadataToChannelMap(processingChain.getChannelState().getChannelMetadata(),
                 request.getTrafficChannel());
 
@@ -898,4 +924,103 @@ public class ChannelProcessingManager implements Listener<ChannelEvent>
 
         return sb.toString();
     }
+
+    /**
+     * Processing load for a channel, monitored by the overload governor.  The processing role is determined from the
+     * channel type and, for traffic channels, from the playback priority of the aliases for the current call.
+     */
+    public class ChannelLoad implements IGovernedLoad
+    {
+        private volatile Channel mChannel;
+        private ProcessingChain mProcessingChain;
+
+        /**
+         * Constructs an instance
+         * @param channel configuration
+         * @param processingChain for the channel
+         */
+        public ChannelLoad(Channel channel, ProcessingChain processingChain)
+        {
+            mChannel = channel;
+            mProcessingChain = processingChain;
+        }
+
+        /**
+         * Updates the channel configuration when a standard channel is converted to a traffic channel.
+         */
+        public void setChannel(Channel channel)
+        {
+            mChannel = channel;
+        }
+
+        @Override
+        public String getName()
+        {
+            return mChannel.getName();
+        }
+
+        @Override
+        public ProcessingRole getProcessingRole()
+        {
+            if(mChannel.isStandardChannel())
+            {
+                return ProcessingRole.CONTROL;
+            }
+
+            for(ChannelMetadata channelMetadata: mProcessingChain.getChannelState().getChannelMetadata())
+            {
+                if(hasPriority(channelMetadata.getFromIdentifierAliases()) ||
+                   hasPriority(channelMetadata.getToIdentifierAliases()))
+                {
+                    return ProcessingRole.PRIORITY_TRAFFIC;
+                }
+            }
+
+            return ProcessingRole.TRAFFIC;
+        }
+
+        /**
+         * Indicates if any of the aliases has a user-assigned (non-default) playback priority.
+         */
+        private boolean hasPriority(List<Alias> aliases)
+        {
+            if(aliases != null)
+            {
+                for(Alias alias: aliases)
+                {
+                    int priority = alias.getPlaybackPriority();
+
+                    if(priority >= Priority.MIN_PRIORITY && priority < Priority.DEFAULT_PRIORITY)
+                    {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public float getQueueUtilization()
+        {
+            return mProcessingChain.getSource() instanceof TunerChannelSource tunerChannelSource ?
+                tunerChannelSource.getQueueUtilization() : 0.0f;
+        }
+
+        @Override
+        public long getOverflowCount()
+        {
+            return mProcessingChain.getSource() instanceof TunerChannelSource tunerChannelSource ?
+                tunerChannelSource.getOverflowCount() : 0;
+        }
+
+        @Override
+        public void setLoadShedding(boolean shedding)
+        {
+            if(mProcessingChain.getSource() instanceof TunerChannelSource tunerChannelSource)
+            {
+                tunerChannelSource.setLoadShedding(shedding);
+            }
+        }
+    }
 }
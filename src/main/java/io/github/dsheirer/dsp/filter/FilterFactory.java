@@ -19,6 +19,7 @@
 package io.github.dsheirer.dsp.filter;
 
 import io.github.dsheirer.dsp.filter.decimate.IRealDecimationFilter;
+import io.github.dsheirer.dsp.filter.design.FilterDesignCache;
 import io.github.dsheirer.dsp.filter.design.FilterDesignException;
 import io.github.dsheirer.dsp.filter.fir.FIRFilterSpecification;
 import io.github.dsheirer.dsp.filter.fir.real.IRealFilter;
@@ -704,14 +705,16 @@ public class FilterFactory
      */
     public static float[] getTaps(FIRFilterSpecification specification) throws FilterDesignException
     {
-        RemezFIRFilterDesigner designer = new RemezFIRFilterDesigner(specification);
+        return FilterDesignCache.getInstance().getFilter("remez:" + specification.getDesignKey(), () -> {
+            RemezFIRFilterDesigner designer = new RemezFIRFilterDesigner(specification);
 
-        if(designer.isValid())
-        {
-            return designer.getImpulseResponse();
-        }
+            if(designer.isValid())
+            {
+                return designer.getImpulseResponse();
+            }
 
-        return null;
+            return null;
+        });
     }
 
     /**
@@ -788,6 +791,18 @@ public class FilterFactory
      */
     public static float[] getSincM2Synthesizer(double channelSampleRate, double channelBandwidth, int channels,
                                                int tapsPerChannel) throws FilterDesignException
+    {
+        String key = "sincM2Synthesizer:" + channelSampleRate + "," + channelBandwidth + "," + channels + "," +
+            tapsPerChannel;
+        return FilterDesignCache.getInstance().getFilter(key, () -> designSincM2Synthesizer(channelSampleRate,
+            channelBandwidth, channels, tapsPerChannel));
+    }
+
+    /**
+     * Designs the polyphase M2 synthesizer sync filter.  Use the cached getSincM2Synthesizer() method instead.
+     */
+    private static float[] designSincM2Synthesizer(double channelSampleRate, double channelBandwidth, int channels,
+                                                   int tapsPerChannel) throws FilterDesignException
     {
         int filterLength = (channels * tapsPerChannel) - 1;
 
@@ -841,6 +856,17 @@ public class FilterFactory
      */
     public static float[] getSincM2Channelizer(double channelBandwidth, int channels, int tapsPerChannel,
                                                boolean logResults) throws FilterDesignException
+    {
+        String key = "sincM2Channelizer:" + channelBandwidth + "," + channels + "," + tapsPerChannel;
+        return FilterDesignCache.getInstance().getFilter(key, () -> designSincM2Channelizer(channelBandwidth,
+            channels, tapsPerChannel, logResults));
+    }
+
+    /**
+     * Designs the polyphase M2 channelizer sync filter.  Use the cached getSincM2Channelizer() method instead.
+     */
+    private static float[] designSincM2Channelizer(double channelBandwidth, int channels, int tapsPerChannel,
+                                                   boolean logResults) throws FilterDesignException
     {
         int currentTapsPerChannel = tapsPerChannel;
         int filterLength = (channels * currentTapsPerChannel) - 1;
@@ -23,6 +23,7 @@ import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
 import io.github.dsheirer.source.ISourceEventListener;
 import io.github.dsheirer.source.SourceEvent;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import org.slf4j.Logger;
@@ -98,16 +99,57 @@ public abstract class AbstractComplexPolyphaseChannelizer implements Listener<In
     }
 
     /**
-     * Dispatches the processed channel samples to any registered polyphase channel outputs.
+     * Dispatches the processed channel samples to any registered polyphase channel outputs.  The buffer user count is
+     * incremented for each channel and each channel is responsible for decrementing the user count once it has
+     * finished processing the buffer.  A user count is held for the duration of this method so that the buffer can't
+     * be recycled before it is handed to all channels.
      *
-     * @param channelResultsList a list of arrays of I/Q samples per channel
+     * @param channelResultsBuffer containing filter blocks of I/Q samples per channel
      */
-    protected void dispatch(List<float[]> channelResultsList)
+    protected void dispatch(ChannelResultsBuffer channelResultsBuffer)
     {
-        for(PolyphaseChannelSource channel : mChannels)
+        dispatch(channelResultsBuffer, mChannels);
+    }
+
+    /**
+     * Dispatches the processed channel samples to the specified polyphase channel outputs.
+     *
+     * @param channelResultsBuffer containing filter blocks of I/Q samples per channel
+     * @param channels to receive the channel results buffer
+     */
+    protected void dispatch(ChannelResultsBuffer channelResultsBuffer, List<PolyphaseChannelSource> channels)
+    {
+        dispatch(channelResultsBuffer, channels, true);
+    }
+
+    /**
+     * Dispatches the processed channel samples to the specified polyphase channel outputs.
+     *
+     * @param channelResultsBuffer containing filter blocks of I/Q samples per channel
+     * @param channels to receive the channel results buffer
+     * @param applyPendingUpdates true to have each channel apply any pending output processor update before it
+     * processes the buffer, or false when the caller has already applied the updates prior to transforming the buffer.
+     */
+    protected void dispatch(ChannelResultsBuffer channelResultsBuffer, List<PolyphaseChannelSource> channels,
+                            boolean applyPendingUpdates)
+    {
+        channelResultsBuffer.incrementUserCount();
+
+        for(PolyphaseChannelSource channel : channels)
         {
-            channel.receiveChannelResults(channelResultsList, mCurrentSamplesTimestamp);
+            channelResultsBuffer.incrementUserCount();
+            channel.receiveChannelResults(channelResultsBuffer, mCurrentSamplesTimestamp, applyPendingUpdates);
         }
+
+        channelResultsBuffer.decrementUserCount();
+    }
+
+    /**
+     * Snapshot of the currently registered polyphase channel sources.
+     */
+    protected List<PolyphaseChannelSource> getChannels()
+    {
+        return new ArrayList<>(mChannels);
     }
 
     /**
@@ -0,0 +1,170 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.filter.channelizer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reusable, reference-counted buffer of polyphase channelizer results.  Each filter block produces one sample for each
+ * of the I/Q sub-channels and the results for consecutive filter blocks are stored contiguously, so that the results
+ * for block N start at offset (N * sub-channel count) in the samples array.
+ *
+ * The buffer is shared (read-only) by each of the channel output processors.  The dispatcher increments the user
+ * count for each output processor before handing over the buffer and each output processor must decrement the user
+ * count once it is finished with the buffer.  When the user count reaches zero, the buffer is returned to the pool
+ * for reuse.
+ */
+public class ChannelResultsBuffer
+{
+    private static final Logger mLog = LoggerFactory.getLogger(ChannelResultsBuffer.class);
+    private final ChannelResultsBufferPool mPool;
+    private final float[] mSamples;
+    private final int mSubChannelCount;
+    private final int mCapacity;
+    private final AtomicInteger mUserCount = new AtomicInteger();
+    private int mBlockCount;
+
+    /**
+     * Constructs an instance.
+     * @param pool that owns this buffer
+     * @param subChannelCount number of I/Q sub-channels (ie 2 x channel count) per filter block
+     * @param capacity in filter blocks
+     */
+    ChannelResultsBuffer(ChannelResultsBufferPool pool, int subChannelCount, int capacity)
+    {
+        mPool = pool;
+        mSubChannelCount = subChannelCount;
+        mCapacity = capacity;
+        mSamples = new float[subChannelCount * capacity];
+    }
+
+    /**
+     * Channel results samples array.  Only the first (block count x sub-channel count) samples are valid.
+     */
+    public float[] getSamples()
+    {
+        return mSamples;
+    }
+
+    /**
+     * Number of I/Q sub-channels in each filter block of results.  This is also the stride between filter blocks.
+     */
+    public int getSubChannelCount()
+    {
+        return mSubChannelCount;
+    }
+
+    /**
+     * Number of filter blocks of results contained in this buffer.
+     */
+    public int getBlockCount()
+    {
+        return mBlockCount;
+    }
+
+    /**
+     * Maximum number of filter blocks of results that this buffer can hold.
+     */
+    public int getCapacity()
+    {
+        return mCapacity;
+    }
+
+    /**
+     * Number of additional filter blocks of results that this buffer can hold.
+     */
+    public int getRemaining()
+    {
+        return mCapacity - mBlockCount;
+    }
+
+    /**
+     * Indicates if this buffer is filled to capacity.
+     */
+    public boolean isFull()
+    {
+        return mBlockCount >= mCapacity;
+    }
+
+    /**
+     * Offset into the samples array for the start of the specified filter block.
+     * @param block index
+     * @return offset
+     */
+    public int getOffset(int block)
+    {
+        return block * mSubChannelCount;
+    }
+
+    /**
+     * Increases the block count after filter block results are written into the samples array.
+     * @param blocks that were added
+     */
+    void addBlocks(int blocks)
+    {
+        mBlockCount += blocks;
+    }
+
+    /**
+     * Resets this buffer for reuse.  Note: the samples array is not cleared since each block will be overwritten.
+     */
+    void reset()
+    {
+        mBlockCount = 0;
+        mUserCount.set(0);
+    }
+
+    /**
+     * Returns this buffer to the pool.  Only use this method for a buffer that was never dispatched to consumers (ie
+     * user count is zero) and is being discarded by the producer.
+     */
+    void recycle()
+    {
+        mPool.recycle(this);
+    }
+
+    /**
+     * Increments the user count to indicate that another consumer holds a reference to this buffer.
+     */
+    public void incrementUserCount()
+    {
+        mUserCount.incrementAndGet();
+    }
+
+    /**
+     * Decrements the user count to indicate that a consumer is finished with this buffer.  When the user count reaches
+     * zero, the buffer is returned to the pool.
+     */
+    public void decrementUserCount()
+    {
+        int count = mUserCount.decrementAndGet();
+
+        if(count == 0)
+        {
+            mPool.recycle(this);
+        }
+        else if(count < 0)
+        {
+            mLog.error("Channel results buffer user count decremented below zero - buffer will not be reused");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.filter.channelizer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of reusable channel results buffers for a polyphase channelizer, sized for a fixed sub-channel count.  Buffers
+ * are returned to the pool once every consumer releases the buffer.  Buffers that are never released (e.g. when a
+ * consumer is stopped with queued buffers) are simply left for the garbage collector and will show up as pool misses.
+ */
+public class ChannelResultsBufferPool
+{
+    static final int MAXIMUM_POOLED_BUFFERS = 8;
+    private final ArrayBlockingQueue<ChannelResultsBuffer> mBuffers = new ArrayBlockingQueue<>(MAXIMUM_POOLED_BUFFERS);
+    private final LongAdder mHitCount = new LongAdder();
+    private final LongAdder mMissCount = new LongAdder();
+    private final int mSubChannelCount;
+    private final int mCapacity;
+
+    /**
+     * Constructs an instance
+     * @param subChannelCount number of I/Q sub-channels per filter block
+     * @param capacity of each buffer in filter blocks
+     */
+    public ChannelResultsBufferPool(int subChannelCount, int capacity)
+    {
+        mSubChannelCount = subChannelCount;
+        mCapacity = capacity;
+    }
+
+    /**
+     * Provides an empty buffer from the pool, or creates a new buffer if the pool is empty.
+     */
+    public ChannelResultsBuffer getBuffer()
+    {
+        ChannelResultsBuffer buffer = mBuffers.poll();
+
+        if(buffer == null)
+        {
+            mMissCount.increment();
+            return new ChannelResultsBuffer(this, mSubChannelCount, mCapacity);
+        }
+
+        mHitCount.increment();
+        buffer.reset();
+        return buffer;
+    }
+
+    /**
+     * Returns the buffer to the pool.  If the pool is already full, the buffer is discarded.
+     * @param buffer to recycle
+     */
+    void recycle(ChannelResultsBuffer buffer)
+    {
+        mBuffers.offer(buffer);
+    }
+
+    /**
+     * Number of buffer requests that were satisfied from the pool.
+     */
+    public long getHitCount()
+    {
+        return mHitCount.sum();
+    }
+
+    /**
+     * Number of buffer requests that required a new buffer allocation.
+     */
+    public long getMissCount()
+    {
+        return mMissCount.sum();
+    }
+
+    /**
+     * Number of buffers currently available in the pool.
+     */
+    public int getPooledCount()
+    {
+        return mBuffers.size();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Channel Results Buffer Pool - Hits:" + getHitCount() + " Misses:" + getMissCount() + " Pooled:" +
+            getPooledCount();
+    }
+}
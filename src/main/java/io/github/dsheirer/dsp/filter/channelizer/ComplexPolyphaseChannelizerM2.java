@@ -19,12 +19,16 @@
 package io.github.dsheirer.dsp.filter.channelizer;
 
 import io.github.dsheirer.dsp.filter.FilterFactory;
+import io.github.dsheirer.dsp.filter.channelizer.kernel.PolyphaseFilterKernel;
+import io.github.dsheirer.dsp.filter.channelizer.kernel.PolyphaseFilterKernelFactory;
 import io.github.dsheirer.dsp.filter.design.FilterDesignException;
 import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
 import io.github.dsheirer.util.Dispatcher;
+import io.github.dsheirer.util.ThreadPool;
 import java.text.DecimalFormat;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.RecursiveAction;
 import org.apache.commons.math3.util.FastMath;
 import org.jtransforms.fft.FloatFFT_1D;
 import org.slf4j.Logger;
@@ -38,17 +42,18 @@ import org.slf4j.LoggerFactory;
  * Processing for Communications Systems, p230-233.
  *
  * Samples are loaded into this filter one block at a time (1/2 channel count) and a filtered output is calculated
- * to produce an overall 2x oversampled channel sample rate.  Each sample block load is preceded by a serpentine
- * shift of the existing sample blocks.  We use the java System.arrayCopy() method which is able to leverage
- * native processor intrinsics for efficiency.
+ * to produce an overall 2x oversampled channel sample rate.  Incoming samples are appended to a chronological sample
+ * stream that retains enough history to compute any filter block output independently of the others, which avoids
+ * a serpentine shift of the sample blocks for each new block of samples.
  *
- * The prototype filter for the channelizer is rearranged to align with the structure of the sample buffer.
+ * The prototype filter for the channelizer is rearranged to align with the structure of the sample blocks.
  *
- * Instead of using an array of channel filters as described in the Harris text, this filter and the sample buffer
- * are arranged as a contiguous array to maximize Java's ability to leverage native processor Single Instruction
- * Multiple Data (SIMD) intrinsics (since Java 8).  The filter process is broken into four steps:
+ * Instead of using an array of channel filters as described in the Harris text, this filter and the sample blocks
+ * are arranged as contiguous arrays to maximize the ability to leverage native processor Single Instruction
+ * Multiple Data (SIMD) instructions.  The filter-bank top block is processed by a scalar or Vector API kernel
+ * that is selected by calibration for the host CPU.  The filter process is broken into four steps:
  *
- *   -Multiply the inline array of samples and filter coefficients
+ *   -Multiply the sample blocks and filter coefficients
  *   -Accumulate the results for each sub-channel
  *   -Rearrange the sub-channel results to correctly order the sub-channels
  *   -Perform IFFT
@@ -56,6 +61,18 @@ import org.slf4j.LoggerFactory;
  * Note: design the prototype filter as a Nyquist windowed filter with a -6.02 db attenuation at the channel edge
  * frequency if you need Perfect Reconstruction where you'll later re-join two or more channels to form a wider
  * bandwidth channel or to isolate a signal that located between two channels.
+ *
+ * Parallel Mode: for wideband sample rates (ie high channel counts) on multi-core hosts, the channelizer switches to a
+ * parallel mode where each batch of filter blocks produced by an incoming sample buffer is split across the shared
+ * channelizer fork-join pool and the results are collected in block order, so the output ordering and timestamps
+ * are identical to the single-threaded mode.  The IFFT batches are likewise split across the fork-join pool.  The
+ * channel count, processor count and per-task block count thresholds are set at startup from the application properties
+ * (see setParallelThresholds()) and apply to channelizers created afterward.
+ *
+ * Selective IFFT: when only a few polyphase channels are sourced, a cost model determines when it is cheaper to
+ * calculate a direct inverse DFT for only the output bins consumed by the active channel output processors instead
+ * of a full-size IFFT.  The active output bins are re-evaluated for each channel results buffer so that the channelizer
+ * switches between the selective and full IFFT as channels are started and stopped.
  */
 public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChannelizer
 {
@@ -64,22 +81,51 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
     private static final int DEFAULT_MINIMUM_CHANNEL_BANDWIDTH = 25000;
 
     /**
-     * Determines how many processed channel results to dispatch for threaded IFFT processing per batch
+     * Determines how many processed channel results (filter blocks) to dispatch for threaded IFFT processing per batch
      */
     private static final int PROCESSED_CHANNEL_RESULTS_THRESHOLD = 1024;
 
+    /**
+     * Application property keys for the parallel processing mode thresholds.
+     */
+    public static final String PROPERTY_PARALLEL_MINIMUM_CHANNEL_COUNT = "channelizer.parallel.minimum.channel.count";
+    public static final String PROPERTY_PARALLEL_MINIMUM_PROCESSOR_COUNT = "channelizer.parallel.minimum.processor.count";
+    public static final String PROPERTY_PARALLEL_BLOCKS_PER_TASK = "channelizer.parallel.blocks.per.task";
+
+    /**
+     * Default minimum channel count (ie 160 x 25 kHz = 4 MHz) and processor count for enabling parallel processing mode
+     */
+    public static final int DEFAULT_PARALLEL_MINIMUM_CHANNEL_COUNT = 160;
+    public static final int DEFAULT_PARALLEL_MINIMUM_PROCESSOR_COUNT = 4;
+
+    /**
+     * Default number of filter blocks or IFFT arrays to process serially within a single fork-join task
+     */
+    public static final int DEFAULT_PARALLEL_BLOCKS_PER_TASK = 32;
+
+    private static volatile int PARALLEL_MINIMUM_CHANNEL_COUNT = DEFAULT_PARALLEL_MINIMUM_CHANNEL_COUNT;
+    private static volatile int PARALLEL_MINIMUM_PROCESSOR_COUNT = DEFAULT_PARALLEL_MINIMUM_PROCESSOR_COUNT;
+    private static volatile int PARALLEL_BLOCKS_PER_TASK = DEFAULT_PARALLEL_BLOCKS_PER_TASK;
+
     //Sized to process 40 times per second
     private IFFTProcessorDispatcher mIFFTProcessorDispatcher = new IFFTProcessorDispatcher(25);
     private FloatFFT_1D mFFT;
-    private float[] mInlineSamples;
-    private float[] mInlineFilter;
+    private PolyphaseFilterKernel mFilterKernel;
     private boolean mTopBlockIndicator = true;
-    private int[] mTopBlockMap;
-    private int[] mMiddleBlockMap;
-    private int mSampleBufferPointer;
     private int mSamplesPerBlock;
     private int mTapsPerChannel;
-    private List<float[]> mProcessedChannelResultsList = new ArrayList<>();
+    private ChannelResultsBufferPool mChannelResultsBufferPool;
+    private ChannelResultsBuffer mChannelResultsBuffer;
+    private float[] mFilterAccumulator;
+    private SelectiveInverseDFT mSelectiveInverseDFT;
+    private boolean[] mActiveBins;
+    private boolean mSelectiveIFFT;
+    private boolean mParallel;
+    private int mParallelBlocksPerTask;
+    private ThreadLocal<float[]> mWorkerAccumulator = new ThreadLocal<>();
+    private float[] mSampleStream;
+    private int mSampleStreamHistoryLength;
+    private int mSampleStreamPointer;
 
     /**
      * Creates a NMDPFB channelizer instance.
@@ -141,6 +187,23 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
         mIFFTProcessorDispatcher.stop();
     }
 
+    /**
+     * Sets the thresholds for the parallel processing mode.  This should be set once at application startup, before any
+     * channelizers are created.  Existing channelizers keep the thresholds that were in effect when they were created
+     * or last reconfigured.
+     *
+     * @param minimumChannelCount for enabling parallel mode
+     * @param minimumProcessorCount (available processors) for enabling parallel mode
+     * @param blocksPerTask number of filter blocks or IFFT arrays to process serially within a single fork-join task.
+     * Values less than 1 are treated as 1.
+     */
+    public static void setParallelThresholds(int minimumChannelCount, int minimumProcessorCount, int blocksPerTask)
+    {
+        PARALLEL_MINIMUM_CHANNEL_COUNT = minimumChannelCount;
+        PARALLEL_MINIMUM_PROCESSOR_COUNT = minimumProcessorCount;
+        PARALLEL_BLOCKS_PER_TASK = Math.max(1, blocksPerTask);
+    }
+
     /**
      * Calculates the multiple of two number of channels that can be channelized from the specified sample rate so that
      * each channel has a minimum bandwidth of the default channel bandwidth (12.5 kHz).
@@ -185,6 +248,31 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
         }
     }
 
+    /**
+     * Pool of reusable channel results buffers used by this channelizer.
+     */
+    public ChannelResultsBufferPool getChannelResultsBufferPool()
+    {
+        return mChannelResultsBufferPool;
+    }
+
+    /**
+     * Indicates if this channelizer is currently using the selective IFFT that only calculates the output bins for
+     * the active channels.
+     */
+    public boolean isSelectiveIFFT()
+    {
+        return mSelectiveIFFT;
+    }
+
+    /**
+     * Indicates if this channelizer is using the multi-core parallel processing mode.
+     */
+    public boolean isParallel()
+    {
+        return mParallel;
+    }
+
     /**
      * Receives the complex sample buffer and processes the results through the channelizer.
      */
@@ -195,43 +283,92 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
 
         float[] samples = complexSamples.samples();
 
-        int samplesPointer = 0;
-        int samplesToCopy;
+        int required = mSampleStreamPointer + samples.length;
 
-        while(samplesPointer < samples.length)
+        if(mSampleStream.length < required)
         {
-            if(mSampleBufferPointer < mSamplesPerBlock)
-            {
-                samplesToCopy = mSamplesPerBlock - mSampleBufferPointer;
+            mSampleStream = Arrays.copyOf(mSampleStream, required);
+        }
 
-                int samplesDiff = samples.length - samplesPointer;
-                if(samplesDiff < samplesToCopy)
-                {
-                    samplesToCopy = samplesDiff;
-                }
+        System.arraycopy(samples, 0, mSampleStream, mSampleStreamPointer, samples.length);
+        mSampleStreamPointer += samples.length;
 
-                System.arraycopy(samples, samplesPointer, mInlineSamples, mSampleBufferPointer, samplesToCopy);
+        int blockCount = (mSampleStreamPointer - mSampleStreamHistoryLength) / mSamplesPerBlock;
 
-                mSampleBufferPointer += samplesToCopy;
-                samplesPointer += samplesToCopy;
+        if(blockCount <= 0)
+        {
+            return;
+        }
+
+        int block = 0;
+
+        while(block < blockCount)
+        {
+            if(mChannelResultsBuffer == null)
+            {
+                mChannelResultsBuffer = mChannelResultsBufferPool.getBuffer();
             }
 
-            if(mSampleBufferPointer >= mSamplesPerBlock)
+            int blocks = Math.min(blockCount - block, mChannelResultsBuffer.getRemaining());
+
+            if(mParallel && blocks > mParallelBlocksPerTask)
+            {
+                ThreadPool.CHANNELIZER.invoke(new BlockProcessorTask(mSampleStream, mChannelResultsBuffer, block,
+                    block + blocks, mChannelResultsBuffer.getBlockCount(), mTopBlockIndicator));
+            }
+            else
             {
-                //Filter buffered samples and produce a single sample across each of the polyphase channels
-                mProcessedChannelResultsList.add(process());
+                processBlocks(mSampleStream, mChannelResultsBuffer, block, block + blocks,
+                    mChannelResultsBuffer.getBlockCount(), mTopBlockIndicator, mFilterAccumulator);
+            }
 
-                if(mProcessedChannelResultsList.size() >= PROCESSED_CHANNEL_RESULTS_THRESHOLD)
-                {
-                    mIFFTProcessorDispatcher.receive(new ArrayList<>(mProcessedChannelResultsList));
-                    mProcessedChannelResultsList.clear();
-                }
+            mChannelResultsBuffer.addBlocks(blocks);
+            block += blocks;
 
-                //Right-shift the samples in the buffer over to make room for a new block of samples
-                System.arraycopy(mInlineSamples, 0, mInlineSamples, mSamplesPerBlock, (mInlineSamples.length - mSamplesPerBlock));
-                mSampleBufferPointer = 0;
+            if(mChannelResultsBuffer.isFull())
+            {
+                mIFFTProcessorDispatcher.receive(mChannelResultsBuffer);
+                mChannelResultsBuffer = null;
             }
         }
+
+        if(blockCount % 2 != 0)
+        {
+            mTopBlockIndicator = !mTopBlockIndicator;
+        }
+
+        //Shift the unprocessed samples and the filter history to the front of the sample stream
+        int consumed = blockCount * mSamplesPerBlock;
+        mSampleStreamPointer -= consumed;
+        System.arraycopy(mSampleStream, consumed, mSampleStream, 0, mSampleStreamPointer);
+    }
+
+    /**
+     * Processes a range of filter blocks from the chronological sample stream using the filter kernel and writes the
+     * results into the channel results buffer.
+     *
+     * Note: this method is thread-safe and can be invoked concurrently for separate block ranges, provided that each
+     * thread uses a separate accumulator.
+     *
+     * @param stream of chronological samples
+     * @param buffer to receive the processed block results
+     * @param start block index (inclusive) in the sample stream
+     * @param end block index (exclusive) in the sample stream
+     * @param bufferBlock index in the buffer for the start block
+     * @param topBlock indicator for the first block (index 0) of the sample stream
+     * @param accumulator scratch array for the filter kernel
+     */
+    private void processBlocks(float[] stream, ChannelResultsBuffer buffer, int start, int end, int bufferBlock,
+                               boolean topBlock, float[] accumulator)
+    {
+        float[] output = buffer.getSamples();
+
+        for(int block = start; block < end; block++)
+        {
+            //Top and middle blocks alternate, starting with the indicated block type for block index 0
+            mFilterKernel.process(stream, mSampleStreamHistoryLength + (block * mSamplesPerBlock),
+                (block % 2 == 0) == topBlock, accumulator, output, buffer.getOffset(bufferBlock + block - start));
+        }
     }
 
     /**
@@ -331,105 +468,292 @@ public class ComplexPolyphaseChannelizerM2 extends AbstractComplexPolyphaseChann
 
 
     /**
-     * Processes the sample buffer for each new block of sample data that is loaded and distributes the results to any
-     * registered channel listeners.
+     * Initializes the channelizer filter structures.
+     *
+     * @param coefficients of the prototype filter for this channelizer
      */
-    private float[] process()
+    private void init(float[] coefficients)
     {
+        int channelCount = getChannelCount();
+        mFFT = new FloatFFT_1D(channelCount);
         int bufferLength = getSubChannelCount() * mTapsPerChannel;
-        float[] inlineInterimOutput = new float[bufferLength];
+        mSamplesPerBlock = channelCount; //Same as subChannelCount / 2
+        mFilterKernel = PolyphaseFilterKernelFactory.getKernel(getAlignedFilter(coefficients, channelCount,
+            mTapsPerChannel), channelCount, mTapsPerChannel, getTopBlockMap(channelCount),
+            getMiddleBlockMap(channelCount));
+
+        mParallel = channelCount >= PARALLEL_MINIMUM_CHANNEL_COUNT &&
+            Runtime.getRuntime().availableProcessors() >= PARALLEL_MINIMUM_PROCESSOR_COUNT;
+        mParallelBlocksPerTask = PARALLEL_BLOCKS_PER_TASK;
+
+        //The sample stream starts with (zero-valued) history for all but the newest sample block
+        mSampleStreamHistoryLength = mFilterKernel.getHistoryLength();
+        mSampleStreamPointer = mSampleStreamHistoryLength;
+        mSampleStream = new float[bufferLength * 4];
+        mFilterAccumulator = new float[getSubChannelCount()];
+        mSelectiveInverseDFT = new SelectiveInverseDFT(channelCount);
+        mActiveBins = new boolean[channelCount];
+
+        //Any buffers from a previous configuration are released to the old pool
+        mChannelResultsBufferPool = new ChannelResultsBufferPool(getSubChannelCount(), PROCESSED_CHANNEL_RESULTS_THRESHOLD);
+        mChannelResultsBuffer = null;
+
+        if(mParallel)
+        {
+            mLog.info("Polyphase channelizer using parallel processing mode for [" + channelCount + "] channels with [" +
+                mParallelBlocksPerTask + "] blocks per task");
+        }
+    }
+
+    /**
+     * Filter kernel accumulator for the current fork-join worker thread, reused across tasks and sample buffers.
+     */
+    private float[] getWorkerAccumulator()
+    {
+        int length = mFilterKernel.getSubChannelCount();
+        float[] accumulator = mWorkerAccumulator.get();
 
-        //Multiply each of the samples by the corresponding filter tap
-        for(int x = 0; x < mInlineSamples.length; x++)
+        //Replace an accumulator from a previous configuration
+        if(accumulator == null || accumulator.length != length)
         {
-            inlineInterimOutput[x] = mInlineSamples[x] * mInlineFilter[x];
+            accumulator = new float[length];
+            mWorkerAccumulator.set(accumulator);
         }
 
-        float[] filterAccumulator = new float[getSubChannelCount()];
+        return accumulator;
+    }
 
-        int tapOffset = 0;
+    /**
+     * Fork-join task to process a range of filter blocks from the sample stream.  The range is recursively split until
+     * each task processes a block count at or below the per-task threshold.
+     */
+    private class BlockProcessorTask extends RecursiveAction
+    {
+        private final float[] mStream;
+        private final ChannelResultsBuffer mBuffer;
+        private final int mStart;
+        private final int mEnd;
+        private final int mBufferBlock;
+        private final boolean mTopBlock;
+
+        /**
+         * Constructs an instance
+         * @param stream of chronological samples
+         * @param buffer to receive the processed block results
+         * @param start block index (inclusive) in the sample stream
+         * @param end block index (exclusive) in the sample stream
+         * @param bufferBlock index in the buffer for the start block
+         * @param topBlock indicator for the first block (index 0) of the sample stream
+         */
+        public BlockProcessorTask(float[] stream, ChannelResultsBuffer buffer, int start, int end, int bufferBlock,
+                                  boolean topBlock)
+        {
+            mStream = stream;
+            mBuffer = buffer;
+            mStart = start;
+            mEnd = end;
+            mBufferBlock = bufferBlock;
+            mTopBlock = topBlock;
+        }
 
-        //Accumulate the sample/filter product results into each of the I/Q sub-channels
-        for(int tap = 0; tap < mTapsPerChannel; tap++)
+        @Override
+        protected void compute()
         {
-            tapOffset = tap * getSubChannelCount();
+            if(mEnd - mStart <= mParallelBlocksPerTask)
+            {
+                processBlocks(mStream, mBuffer, mStart, mEnd, mBufferBlock, mTopBlock, getWorkerAccumulator());
+            }
+            else
+            {
+                int middle = mStart + ((mEnd - mStart) / 2);
+                invokeAll(new BlockProcessorTask(mStream, mBuffer, mStart, middle, mBufferBlock, mTopBlock),
+                    new BlockProcessorTask(mStream, mBuffer, middle, mEnd, mBufferBlock + (middle - mStart), mTopBlock));
+            }
+        }
+    }
 
-            for(int channel = 0; channel < getSubChannelCount(); channel++)
+    /**
+     * Identifies the active output bins (polyphase channel indexes) that are consumed by the channel output processors
+     * and determines if the selective inverse DFT is cheaper than the full IFFT for the active bin count.
+     *
+     * Any pending output processor updates are applied first so that the active bins match the indexes that each
+     * output processor will use when it processes the channel results buffer.
+     *
+     * Note: this method must be invoked on the IFFT dispatcher thread.
+     *
+     * @param channels to evaluate
+     * @return active output bins to calculate or null if the full IFFT should be used.
+     */
+    private int[] getSelectiveBins(List<PolyphaseChannelSource> channels)
+    {
+        for(PolyphaseChannelSource channel: channels)
+        {
+            try
+            {
+                channel.applyPendingOutputProcessorUpdate();
+            }
+            catch(IllegalArgumentException iae)
             {
-                filterAccumulator[channel] += inlineInterimOutput[tapOffset + channel];
+                mLog.error("Error updating polyphase channel output processor", iae);
             }
         }
 
-        float[] processed = new float[getSubChannelCount()];
+        Arrays.fill(mActiveBins, false);
+        int activeCount = 0;
 
-        if(mTopBlockIndicator)
+        for(PolyphaseChannelSource channel: channels)
         {
-            for(int x = 0; x < getSubChannelCount(); x++)
+            for(Integer index: channel.getOutputProcessorIndexes())
             {
-                processed[x] = filterAccumulator[mTopBlockMap[x]];
+                if(index >= 0 && index < mActiveBins.length && !mActiveBins[index])
+                {
+                    mActiveBins[index] = true;
+                    activeCount++;
+                }
             }
         }
-        else
+
+        if(!mSelectiveInverseDFT.isPreferred(activeCount))
         {
-            for(int x = 0; x < getSubChannelCount(); x++)
+            mSelectiveIFFT = false;
+            return null;
+        }
+
+        int[] bins = new int[activeCount];
+        int pointer = 0;
+
+        for(int x = 0; x < mActiveBins.length; x++)
+        {
+            if(mActiveBins[x])
             {
-                processed[x] = filterAccumulator[mMiddleBlockMap[x]];
+                bins[pointer++] = x;
             }
         }
 
-        mTopBlockIndicator = !mTopBlockIndicator;
-
-        return processed;
+        mSelectiveIFFT = true;
+        return bins;
     }
 
     /**
-     * Initializes the channelizer filter structures.
+     * Performs an in-place inverse transform on a range of filter blocks in the channel results buffer to rotate each
+     * of the channels to the correct phase.
      *
-     * @param coefficients of the prototype filter for this channelizer
+     * Note: this method is thread-safe and can be invoked concurrently for separate block ranges.  The JTransforms FFT
+     * instance allocates its working buffers per invocation and can be shared across threads.
+     *
+     * @param buffer of channel results to transform
+     * @param start block index (inclusive)
+     * @param end block index (exclusive)
+     * @param selectiveBins to calculate with the selective inverse DFT, or null to use the full IFFT.
      */
-    private void init(float[] coefficients)
+    private void inverseTransform(ChannelResultsBuffer buffer, int start, int end, int[] selectiveBins)
     {
-        int channelCount = getChannelCount();
-        mFFT = new FloatFFT_1D(channelCount);
-        int bufferLength = getSubChannelCount() * mTapsPerChannel;
-        mSamplesPerBlock = channelCount; //Same as subChannelCount / 2
-        mTopBlockMap = getTopBlockMap(channelCount);
-        mMiddleBlockMap = getMiddleBlockMap(channelCount);
-        mInlineFilter = getAlignedFilter(coefficients, channelCount, mTapsPerChannel);
-        mInlineSamples = new float[bufferLength];
+        float[] samples = buffer.getSamples();
+
+        if(selectiveBins != null)
+        {
+            float[] scratch = new float[selectiveBins.length * 2];
+
+            for(int block = start; block < end; block++)
+            {
+                mSelectiveInverseDFT.inverse(samples, buffer.getOffset(block), selectiveBins, scratch);
+            }
+        }
+        else
+        {
+            for(int block = start; block < end; block++)
+            {
+                mFFT.complexInverse(samples, buffer.getOffset(block), true);
+            }
+        }
     }
 
     /**
-     * Separate threaded processor to receive and enqueue filtered channel results buffers, perform IFFT on each array
-     * as required to align the phase of each polyphase channel, and then dispatch the results to any registered
+     * Fork-join task to perform an in-place inverse transform on a range of filter blocks in a channel results buffer.
+     */
+    private class IFFTTask extends RecursiveAction
+    {
+        private final ChannelResultsBuffer mBuffer;
+        private final int mStart;
+        private final int mEnd;
+        private final int[] mSelectiveBins;
+
+        /**
+         * Constructs an instance
+         * @param buffer of channel results to transform
+         * @param start block index (inclusive)
+         * @param end block index (exclusive)
+         * @param selectiveBins to calculate with the selective inverse DFT, or null to use the full IFFT.
+         */
+        public IFFTTask(ChannelResultsBuffer buffer, int start, int end, int[] selectiveBins)
+        {
+            mBuffer = buffer;
+            mStart = start;
+            mEnd = end;
+            mSelectiveBins = selectiveBins;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(mEnd - mStart <= mParallelBlocksPerTask)
+            {
+                inverseTransform(mBuffer, mStart, mEnd, mSelectiveBins);
+            }
+            else
+            {
+                int middle = mStart + ((mEnd - mStart) / 2);
+                invokeAll(new IFFTTask(mBuffer, mStart, middle, mSelectiveBins),
+                    new IFFTTask(mBuffer, middle, mEnd, mSelectiveBins));
+            }
+        }
+    }
+
+    /**
+     * Separate threaded processor to receive and enqueue filtered channel results buffers, perform IFFT on each filter
+     * block as required to align the phase of each polyphase channel, and then dispatch the results to any registered
      * sample consumer channels.
      */
-    public class IFFTProcessorDispatcher extends Dispatcher<List<float[]>>
+    public class IFFTProcessorDispatcher extends Dispatcher<ChannelResultsBuffer>
     {
         public IFFTProcessorDispatcher(long interval)
         {
             super("sdrtrunk polyphase ifft processor", interval);
 
-            //We create a listener interface to receive the batched channel results arrays from the scheduled thread pool
+            //Return buffers that are discarded during a queue overflow to the pool
+            setDiscardListener(ChannelResultsBuffer::recycle);
+
+            //We create a listener interface to receive the channel results buffers from the scheduled thread pool
             //dispatcher thread that is part of this continuous buffer processor.  We perform an IFFT on each
-            //channel results array contained in each results buffer and then dispatch the buffer
-            //so that it can be distributed to each channel listener.
-            setListener(list -> {
+            //filter block contained in each results buffer and then dispatch the buffer so that it can be distributed
+            //to each channel listener.
+            setListener(buffer -> {
                 try
                 {
-                    List<float[]> processedChannelResults = new ArrayList<>();
+                    //Use the same snapshot of channels for evaluating the active bins and for dispatching
+                    List<PolyphaseChannelSource> channels = getChannels();
 
-                    for(float[] channelResults: list)
+                    //No need to transform when there are no channels to consume the results
+                    if(!channels.isEmpty())
                     {
-                        if(channelResults != null)
+                        int[] selectiveBins = getSelectiveBins(channels);
+
+                        if(mParallel && buffer.getBlockCount() > mParallelBlocksPerTask)
+                        {
+                            //Rotate each of the channels to the correct phase, split across the pool
+                            ThreadPool.CHANNELIZER.invoke(new IFFTTask(buffer, 0, buffer.getBlockCount(),
+                                selectiveBins));
+                        }
+                        else
                         {
-                            //Rotate each of the channels to the correct phase using the IFFT
-                            mFFT.complexInverse(channelResults, true);
-                            processedChannelResults.add(channelResults);
+                            //Rotate each of the channels to the correct phase
+                            inverseTransform(buffer, 0, buffer.getBlockCount(), selectiveBins);
                         }
                     }
 
-                    dispatch(processedChannelResults);
+                    //Pending output processor updates were applied while selecting the bins.  Don't apply them
+                    //again during dispatch, otherwise a retune arriving in between would read untransformed bins.
+                    dispatch(buffer, channels, false);
                 }
                 catch(Throwable t)
                 {
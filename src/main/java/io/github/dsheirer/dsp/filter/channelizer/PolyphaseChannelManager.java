@@ -24,6 +24,9 @@ import io.github.dsheirer.controller.channel.event.ChannelStopProcessingRequest;
 import io.github.dsheirer.dsp.filter.design.FilterDesignException;
 import io.github.dsheirer.eventbus.MyEventBus;
 import io.github.dsheirer.log.LoggingSuppressor;
+import io.github.dsheirer.monitor.jfr.ChannelizerBlockEvent;
+import io.github.dsheirer.monitor.metrics.Counter;
+import io.github.dsheirer.monitor.metrics.MetricsRegistry;
 import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
@@ -71,6 +74,8 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
     private static final double MINIMUM_CHANNEL_BANDWIDTH = 25000.0;
     private static final double CHANNEL_OVERSAMPLING = 2.0;
     private static final int POLYPHASE_CHANNELIZER_TAPS_PER_CHANNEL = 9;
+    private static final Counter CHANNELIZER_BLOCK_COUNTER = MetricsRegistry.getInstance()
+        .counter("sdrtrunk_channelizer_blocks_total", "Sample blocks processed by the polyphase channelizers");
 
     private Broadcaster<SourceEvent> mSourceEventBroadcaster = new Broadcaster<>();
     private INativeBufferProvider mNativeBufferProvider;
@@ -80,7 +85,7 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
     private ComplexPolyphaseChannelizerM2 mPolyphaseChannelizer;
     private ChannelSourceEventListener mChannelSourceEventListener = new ChannelSourceEventListener();
     private NativeBufferReceiver mNativeBufferReceiver = new NativeBufferReceiver();
-    private Dispatcher mBufferDispatcher;
+    private Dispatcher<INativeBuffer> mBufferDispatcher;
     private Map<Integer,float[]> mOutputProcessorFilters = new HashMap<>();
     private boolean mRunning = true;
 
@@ -110,8 +115,9 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
         }
 
         mChannelCalculator = new ChannelCalculator(sampleRate, channelCount, frequency, CHANNEL_OVERSAMPLING);
-        mBufferDispatcher = new Dispatcher("sdrtrunk polyphase buffer processor", 10);
+        mBufferDispatcher = new Dispatcher<>("sdrtrunk polyphase buffer processor", 10);
         mBufferDispatcher.setListener(mNativeBufferReceiver);
+        mBufferDispatcher.setDiscardListener(INativeBuffer::decrementUserCount);
     }
 
     /**
@@ -132,6 +138,12 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
         StringBuilder sb = new StringBuilder();
         sb.append("Polyphase Channel Manager Providing [").append(mChannelSources.size()).append("] Channels");
         sb.append("\n\t").append(mChannelCalculator);
+        if(mPolyphaseChannelizer != null)
+        {
+            sb.append("\n\tChannelizer Mode: ").append(mPolyphaseChannelizer.isParallel() ? "Parallel" : "Single Thread");
+            sb.append(" IFFT: ").append(mPolyphaseChannelizer.isSelectiveIFFT() ? "Selective" : "Full");
+            sb.append("\n\t").append(mPolyphaseChannelizer.getChannelResultsBufferPool());
+        }
         for(PolyphaseChannelSource pcs: mChannelSources)
         {
             List<Integer> indexes = pcs.getOutputProcessorIndexes();
@@ -486,11 +498,27 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
 
         /**
          * Process native buffer streams and update polyphase output channels when the parent tuner center
-         * frequency changes.
+         * frequency changes.  The native buffer is released once all samples have been processed.
          * @param nativeBuffer of sample to process.
          */
         @Override
         public void receive(INativeBuffer nativeBuffer)
+        {
+            try
+            {
+                process(nativeBuffer);
+            }
+            finally
+            {
+                nativeBuffer.decrementUserCount();
+            }
+        }
+
+        /**
+         * Processes the native buffer samples through the polyphase channelizer.
+         * @param nativeBuffer of samples to process.
+         */
+        private void process(INativeBuffer nativeBuffer)
         {
             if(mOutputProcessorUpdateRequired)
             {
@@ -507,19 +535,34 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
 
             if(mPolyphaseChannelizer != null)
             {
+                ChannelizerBlockEvent event = new ChannelizerBlockEvent();
+                event.begin();
+
                 Iterator<InterleavedComplexSamples> iterator = nativeBuffer.iteratorInterleaved();
+                int blockCount = 0;
 
                 while(iterator.hasNext())
                 {
                     try
                     {
                         mPolyphaseChannelizer.receive(iterator.next());
+                        CHANNELIZER_BLOCK_COUNTER.increment();
+                        blockCount++;
                     }
                     catch(Throwable throwable)
                     {
                         mLog.error("Error", throwable);
                     }
                 }
+
+                if(event.shouldCommit())
+                {
+                    event.setChannel("Polyphase Channelizer", (long)mChannelCalculator.getCenterFrequency());
+                    event.setBlockCount(blockCount);
+                    event.setSampleCount(nativeBuffer.sampleCount());
+                    event.setChannelCount(mChannelSources.size());
+                    event.commit();
+                }
             }
         }
     }
@@ -22,6 +22,7 @@ import io.github.dsheirer.dsp.filter.channelizer.output.IPolyphaseChannelOutputP
 import io.github.dsheirer.dsp.filter.channelizer.output.OneChannelOutputProcessor;
 import io.github.dsheirer.dsp.filter.channelizer.output.TwoChannelOutputProcessor;
 import io.github.dsheirer.dsp.filter.design.FilterDesignException;
+import io.github.dsheirer.monitor.jfr.ChannelOutputEvent;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.source.SourceEvent;
@@ -47,7 +48,8 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
     private List<Integer> mOutputProcessorIndexes = new ArrayList<>();
     private double mTunerSampleRate;
     private double mTunerCenterFrequency;
-    private PendingOutputProcessorUpdate mPendingOutputProcessorUpdate;
+    private volatile PendingOutputProcessorUpdate mPendingOutputProcessorUpdate;
+    private volatile boolean mLoadShedding;
 
     /**
      * Constructs an instance
@@ -125,6 +127,33 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
         }
     }
 
+    @Override
+    public void setLoadShedding(boolean shedding)
+    {
+        mLoadShedding = shedding;
+
+        IPolyphaseChannelOutputProcessor outputProcessor = mPolyphaseChannelOutputProcessor;
+
+        if(outputProcessor != null)
+        {
+            outputProcessor.setLoadShedding(shedding);
+        }
+    }
+
+    @Override
+    public float getQueueUtilization()
+    {
+        IPolyphaseChannelOutputProcessor outputProcessor = mPolyphaseChannelOutputProcessor;
+        return outputProcessor != null ? outputProcessor.getQueueUtilization() : 0.0f;
+    }
+
+    @Override
+    public long getOverflowCount()
+    {
+        IPolyphaseChannelOutputProcessor outputProcessor = mPolyphaseChannelOutputProcessor;
+        return outputProcessor != null ? outputProcessor.getOverflowCount() : 0;
+    }
+
     /**
      * Registers the listener to receive complex sample buffers from this channel source
      */
@@ -140,6 +169,9 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
     {
         if(mSamplesListener != null)
         {
+            ChannelOutputEvent event = new ChannelOutputEvent();
+            event.begin();
+
             try
             {
                 mSamplesListener.receive(complexSamples);
@@ -148,6 +180,14 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
             {
                 mLog.error("Error dispatching complex samples to listener [" + mSamplesListener.getClass() + "]", t);
             }
+
+            if(event.shouldCommit())
+            {
+                event.setChannel(getChannelName(), getFrequency());
+                event.setSampleCount(complexSamples.i().length);
+                event.setSampleRate(getSampleRate());
+                event.commit();
+            }
         }
     }
 
@@ -227,6 +267,7 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
                             indexes, channelCalculator.getChannelCount(), getHeartbeatManager(), mThreadName);
                     mPolyphaseChannelOutputProcessor.setListener(this);
                     mPolyphaseChannelOutputProcessor.setFrequencyOffset(getFrequencyOffset());
+                    mPolyphaseChannelOutputProcessor.setLoadShedding(mLoadShedding);
                     mPolyphaseChannelOutputProcessor.start();
                     break;
                 case 2:
@@ -238,6 +279,7 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
                                 indexes, filter, channelCalculator.getChannelCount(), getHeartbeatManager(), mThreadName);
                         mPolyphaseChannelOutputProcessor.setListener(this);
                         mPolyphaseChannelOutputProcessor.setFrequencyOffset(getFrequencyOffset());
+                        mPolyphaseChannelOutputProcessor.setLoadShedding(mLoadShedding);
                         mPolyphaseChannelOutputProcessor.start();
                     }
                     catch(FilterDesignException fde)
@@ -262,29 +304,67 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
         }
     }
 
+    /**
+     * Applies any pending output processor update.  This method must be invoked on the channel results calling thread
+     * to ensure we don't have thread contention on the output processor.
+     * @throws IllegalArgumentException if the output processor can't be updated.
+     */
+    public void applyPendingOutputProcessorUpdate() throws IllegalArgumentException
+    {
+        PendingOutputProcessorUpdate update = mPendingOutputProcessorUpdate;
+
+        if(update != null)
+        {
+            mPendingOutputProcessorUpdate = null;
+            doUpdateOutputProcessor(update.getChannelCalculator(), update.getSynthesisFilterManager());
+        }
+    }
+
     /**
      * Primary method for receiving channel results output from a polyphase channelizer.  The results buffer will be
      * queued for processing to extract the target channel samples, process them for frequency correction and/or
      * channel aggregation, and dispatch the results to the downstream sample listener/consumer.
      *
-     * @param channelResultsList containing a list of polyphase channelizer output arrays.
+     * Note: the caller increments the buffer user count for this channel and the output processor decrements the
+     * user count once it is finished with the buffer.
+     *
+     * @param channelResultsBuffer containing polyphase channelizer output filter blocks.
+     * @param currentSamplesTimestamp for the samples
+     */
+    public void receiveChannelResults(ChannelResultsBuffer channelResultsBuffer, long currentSamplesTimestamp)
+    {
+        receiveChannelResults(channelResultsBuffer, currentSamplesTimestamp, true);
+    }
+
+    /**
+     * Receives channel results output from a polyphase channelizer, optionally applying any pending output processor
+     * update first.
+     *
+     * Channelizers that select the transformed (IFFT) bins from the output processor indexes must apply the pending
+     * update before selecting the bins and then pass false here, so that the output processor can't be retuned to
+     * bins that were not transformed for this buffer.
+     *
+     * @param channelResultsBuffer containing polyphase channelizer output filter blocks.
      * @param currentSamplesTimestamp for the samples
+     * @param applyPendingUpdate true to apply any pending output processor update before processing the buffer.
      */
-    public void receiveChannelResults(List<float[]> channelResultsList, long currentSamplesTimestamp)
+    public void receiveChannelResults(ChannelResultsBuffer channelResultsBuffer, long currentSamplesTimestamp,
+                                      boolean applyPendingUpdate)
     {
-        if(mPendingOutputProcessorUpdate != null)
+        if(applyPendingUpdate)
         {
-            ChannelCalculator channelCalculator = mPendingOutputProcessorUpdate.getChannelCalculator();
-            SynthesisFilterManager filterManager = mPendingOutputProcessorUpdate.getSynthesisFilterManager();
-            mPendingOutputProcessorUpdate = null;
-            doUpdateOutputProcessor(channelCalculator, filterManager);
+            applyPendingOutputProcessorUpdate();
         }
 
         try
         {
             if(mPolyphaseChannelOutputProcessor != null)
             {
-                mPolyphaseChannelOutputProcessor.receiveChannelResults(channelResultsList, currentSamplesTimestamp);
+                mPolyphaseChannelOutputProcessor.receiveChannelResults(channelResultsBuffer, currentSamplesTimestamp);
+            }
+            else
+            {
+                channelResultsBuffer.decrementUserCount();
             }
         }
         catch(Exception e)
@@ -0,0 +1,147 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.filter.channelizer;
+
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * Selective (pruned output) inverse DFT that only calculates the output bins that are consumed by active channel
+ * output processors.  When only a few polyphase channels are sourced, calculating a direct DFT for each active output
+ * bin is cheaper than calculating a full-size IFFT over every channel bin.
+ *
+ * The output matches the JTransforms complexInverse() method with scaling enabled:
+ *
+ *   x[m] = (1/N) * SUM(k=0..N-1) a[k] * e^(j*2*PI*k*m/N)
+ *
+ * Only the active output bins are overwritten in the interleaved I/Q array.  All other bins retain the (untransformed)
+ * input values and must not be consumed.
+ *
+ * This class is thread-safe, provided that each thread uses a separate scratch array.
+ */
+public class SelectiveInverseDFT
+{
+    /**
+     * Approximate floating point operation costs used to choose between the full IFFT and the selective DFT.  A radix-2
+     * FFT costs roughly 5 x N x log2(N) operations and a direct DFT costs 8 operations (complex multiply-accumulate)
+     * per input bin for each output bin.
+     */
+    private static final double FFT_COST_FACTOR = 5.0;
+    private static final double DFT_COST_FACTOR = 8.0;
+
+    private final int mSize;
+    private final float[] mCosine;
+    private final float[] mSine;
+    private final int mMaximumBinCount;
+
+    /**
+     * Constructs an instance
+     * @param size of the DFT (ie channel count)
+     */
+    public SelectiveInverseDFT(int size)
+    {
+        mSize = size;
+        mCosine = new float[size];
+        mSine = new float[size];
+
+        for(int x = 0; x < size; x++)
+        {
+            double angle = 2.0 * FastMath.PI * x / size;
+            mCosine[x] = (float)FastMath.cos(angle);
+            mSine[x] = (float)FastMath.sin(angle);
+        }
+
+        double fftCost = FFT_COST_FACTOR * size * (FastMath.log(size) / FastMath.log(2.0));
+        mMaximumBinCount = (int)FastMath.floor(fftCost / (DFT_COST_FACTOR * size));
+    }
+
+    /**
+     * Size of the DFT
+     */
+    public int getSize()
+    {
+        return mSize;
+    }
+
+    /**
+     * Maximum number of active output bins where the selective DFT is cheaper than a full IFFT.
+     */
+    public int getMaximumBinCount()
+    {
+        return mMaximumBinCount;
+    }
+
+    /**
+     * Cost model that indicates if the selective DFT is cheaper than a full IFFT for the active bin count.
+     * @param activeBinCount number of output bins to calculate
+     * @return true if the selective DFT should be used.
+     */
+    public boolean isPreferred(int activeBinCount)
+    {
+        return activeBinCount > 0 && activeBinCount <= mMaximumBinCount;
+    }
+
+    /**
+     * Calculates the inverse DFT for each of the active output bins, in place.
+     * @param samples interleaved I/Q array containing one or more DFT blocks
+     * @param offset to the start of the DFT block in the samples array
+     * @param bins active output bin indices
+     * @param scratch array sized to at least 2 x bins length
+     */
+    public void inverse(float[] samples, int offset, int[] bins, float[] scratch)
+    {
+        float scale = 1.0f / mSize;
+
+        for(int x = 0; x < bins.length; x++)
+        {
+            int bin = bins[x];
+            int twiddle = 0;
+            float i = 0.0f;
+            float q = 0.0f;
+            float inI, inQ, cos, sin;
+
+            for(int k = 0; k < mSize; k++)
+            {
+                inI = samples[offset + (2 * k)];
+                inQ = samples[offset + (2 * k) + 1];
+                cos = mCosine[twiddle];
+                sin = mSine[twiddle];
+                i += (inI * cos) - (inQ * sin);
+                q += (inI * sin) + (inQ * cos);
+
+                twiddle += bin;
+
+                if(twiddle >= mSize)
+                {
+                    twiddle -= mSize;
+                }
+            }
+
+            scratch[2 * x] = i * scale;
+            scratch[2 * x + 1] = q * scale;
+        }
+
+        //Write the results after all bins are calculated since the input bins are overwritten
+        for(int x = 0; x < bins.length; x++)
+        {
+            samples[offset + (2 * bins[x])] = scratch[2 * x];
+            samples[offset + (2 * bins[x]) + 1] = scratch[2 * x + 1];
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.filter.channelizer.kernel;
+
+/**
+ * Polyphase channelizer filter-bank top block kernel.  Computes a single filter block output from a chronological
+ * sample stream, accumulating the sample/filter products into each of the I/Q sub-channels and then rearranging the
+ * sub-channel results using the top block or middle block map so that the output is ready for the IFFT.
+ *
+ * The aligned filter is arranged so that each tap spans two sample blocks, where the first half of each tap's
+ * sub-channels is multiplied against the newest sample block and the second half against the previous sample block.
+ *
+ * Implementations must be thread-safe so that separate blocks can be processed concurrently, provided that each
+ * thread uses a separate accumulator array.
+ */
+public abstract class PolyphaseFilterKernel
+{
+    protected final float[] mFilter;
+    protected final int[] mTopBlockMap;
+    protected final int[] mMiddleBlockMap;
+    protected final int mBlockSize;
+    protected final int mSubChannelCount;
+    protected final int mTapsPerChannel;
+
+    /**
+     * Constructs an instance
+     * @param filter that is aligned for inline processing of interleaved I/Q samples
+     * @param channelCount number of channels, which is also the sample block size (ie channelCount / 2 I/Q samples)
+     * @param tapsPerChannel of the polyphase filter
+     * @param topBlockMap to reorder sub-channel accumulators for top blocks
+     * @param middleBlockMap to reorder sub-channel accumulators for middle blocks
+     */
+    public PolyphaseFilterKernel(float[] filter, int channelCount, int tapsPerChannel, int[] topBlockMap,
+                                 int[] middleBlockMap)
+    {
+        mFilter = filter;
+        mBlockSize = channelCount;
+        mSubChannelCount = channelCount * 2;
+        mTapsPerChannel = tapsPerChannel;
+        mTopBlockMap = topBlockMap;
+        mMiddleBlockMap = middleBlockMap;
+    }
+
+    /**
+     * Length of the sample history (in floats) that must precede the newest sample block in the sample stream.
+     */
+    public int getHistoryLength()
+    {
+        return (mSubChannelCount * mTapsPerChannel) - mBlockSize;
+    }
+
+    /**
+     * Number of I/Q sub-channels produced for each filter block.  This is also the required accumulator array length.
+     */
+    public int getSubChannelCount()
+    {
+        return mSubChannelCount;
+    }
+
+    /**
+     * Processes a single filter block from the chronological sample stream and writes the results to the output array.
+     * @param samples chronological interleaved I/Q sample stream with history preceding the block offset
+     * @param blockOffset to the start of the newest sample block in the sample stream
+     * @param topBlock true to use the top block map or false to use the middle block map
+     * @param accumulator scratch array sized to the sub-channel count.  Contents are overwritten.
+     * @param output array to receive the processed sub-channel results ready for IFFT
+     * @param outputOffset into the output array
+     */
+    public abstract void process(float[] samples, int blockOffset, boolean topBlock, float[] accumulator,
+                                 float[] output, int outputOffset);
+}
@@ -0,0 +1,70 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.filter.channelizer.kernel;
+
+import io.github.dsheirer.vector.calibrate.CalibrationManager;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
+
+/**
+ * Factory for creating polyphase channelizer filter kernel instances from scalar and vector implementations.
+ */
+public class PolyphaseFilterKernelFactory
+{
+    /**
+     * Creates an instance of the optimal implementation of the polyphase filter kernel for this hardware.
+     * @param filter that is aligned for inline processing of interleaved I/Q samples
+     * @param channelCount number of channels
+     * @param tapsPerChannel of the polyphase filter
+     * @param topBlockMap to reorder sub-channel accumulators for top blocks
+     * @param middleBlockMap to reorder sub-channel accumulators for middle blocks
+     * @return optimal instance
+     */
+    public static PolyphaseFilterKernel getKernel(float[] filter, int channelCount, int tapsPerChannel,
+                                                  int[] topBlockMap, int[] middleBlockMap)
+    {
+        Implementation implementation = CalibrationManager.getInstance()
+            .getImplementation(CalibrationType.POLYPHASE_CHANNELIZER);
+
+        switch(implementation)
+        {
+            case VECTOR_SIMD_PREFERRED:
+                return new VectorPolyphaseFilterKernelDefaultBit(filter, channelCount, tapsPerChannel, topBlockMap,
+                    middleBlockMap);
+            case VECTOR_SIMD_64:
+                return new VectorPolyphaseFilterKernel64Bit(filter, channelCount, tapsPerChannel, topBlockMap,
+                    middleBlockMap);
+            case VECTOR_SIMD_128:
+                return new VectorPolyphaseFilterKernel128Bit(filter, channelCount, tapsPerChannel, topBlockMap,
+                    middleBlockMap);
+            case VECTOR_SIMD_256:
+                return new VectorPolyphaseFilterKernel256Bit(filter, channelCount, tapsPerChannel, topBlockMap,
+                    middleBlockMap);
+            case VECTOR_SIMD_512:
+                return new VectorPolyphaseFilterKernel512Bit(filter, channelCount, tapsPerChannel, topBlockMap,
+                    middleBlockMap);
+            case UNCALIBRATED:
+            case SCALAR:
+            default:
+                return new ScalarPolyphaseFilterKernel(filter, channelCount, tapsPerChannel, topBlockMap,
+                    middleBlockMap);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.filter.channelizer.kernel;
+
+import java.util.Arrays;
+
+/**
+ * Scalar implementation of the polyphase channelizer filter-bank top block kernel.
+ */
+public class ScalarPolyphaseFilterKernel extends PolyphaseFilterKernel
+{
+    /**
+     * Constructs an instance
+     * @param filter that is aligned for inline processing of interleaved I/Q samples
+     * @param channelCount number of channels
+     * @param tapsPerChannel of the polyphase filter
+     * @param topBlockMap to reorder sub-channel accumulators for top blocks
+     * @param middleBlockMap to reorder sub-channel accumulators for middle blocks
+     */
+    public ScalarPolyphaseFilterKernel(float[] filter, int channelCount, int tapsPerChannel, int[] topBlockMap,
+                                       int[] middleBlockMap)
+    {
+        super(filter, channelCount, tapsPerChannel, topBlockMap, middleBlockMap);
+    }
+
+    @Override
+    public void process(float[] samples, int blockOffset, boolean topBlock, float[] filterAccumulator,
+                        float[] output, int outputOffset)
+    {
+        Arrays.fill(filterAccumulator, 0.0f);
+
+        int filterOffset;
+        int sampleOffset;
+
+        //Accumulate the sample/filter product results into each of the I/Q sub-channels
+        for(int tap = 0; tap < mTapsPerChannel; tap++)
+        {
+            filterOffset = tap * mSubChannelCount;
+            sampleOffset = blockOffset - filterOffset;
+
+            for(int channel = 0; channel < mBlockSize; channel++)
+            {
+                filterAccumulator[channel] += samples[sampleOffset + channel] * mFilter[filterOffset + channel];
+            }
+
+            sampleOffset -= mSubChannelCount;
+
+            for(int channel = mBlockSize; channel < mSubChannelCount; channel++)
+            {
+                filterAccumulator[channel] += samples[sampleOffset + channel] * mFilter[filterOffset + channel];
+            }
+        }
+
+        int[] map = topBlock ? mTopBlockMap : mMiddleBlockMap;
+
+        for(int x = 0; x < mSubChannelCount; x++)
+        {
+            output[outputOffset + x] = filterAccumulator[map[x]];
+        }
+    }
+}
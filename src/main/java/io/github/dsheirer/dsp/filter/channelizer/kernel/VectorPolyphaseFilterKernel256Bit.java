@@ -0,0 +1,117 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.filter.channelizer.kernel;
+
+import io.github.dsheirer.vector.VectorUtilities;
+import java.util.Arrays;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector implementation of the polyphase channelizer filter-bank top block kernel.
+ *
+ * This kernel uses the Java Vector API for SIMD available in JDK 17+ and uses SIMD 256-bit/8-lane instructions.
+ */
+public class VectorPolyphaseFilterKernel256Bit extends PolyphaseFilterKernel
+{
+    private static final VectorSpecies<Float> VECTOR_SPECIES = FloatVector.SPECIES_256;
+    private final int mBlockLoopBound;
+    private final int mMapLoopBound;
+
+    /**
+     * Constructs an instance
+     * @param filter that is aligned for inline processing of interleaved I/Q samples
+     * @param channelCount number of channels
+     * @param tapsPerChannel of the polyphase filter
+     * @param topBlockMap to reorder sub-channel accumulators for top blocks
+     * @param middleBlockMap to reorder sub-channel accumulators for middle blocks
+     */
+    public VectorPolyphaseFilterKernel256Bit(float[] filter, int channelCount, int tapsPerChannel, int[] topBlockMap,
+                                             int[] middleBlockMap)
+    {
+        super(filter, channelCount, tapsPerChannel, topBlockMap, middleBlockMap);
+        VectorUtilities.checkSpecies(VECTOR_SPECIES);
+        mBlockLoopBound = VECTOR_SPECIES.loopBound(mBlockSize);
+        mMapLoopBound = VECTOR_SPECIES.loopBound(mSubChannelCount);
+    }
+
+    @Override
+    public void process(float[] samples, int blockOffset, boolean topBlock, float[] filterAccumulator,
+                        float[] output, int outputOffset)
+    {
+
+        FloatVector newer, older;
+        int filterOffset, sampleOffset, channel;
+
+        //Accumulate each lane-width group of sub-channels across all taps before storing
+        for(channel = 0; channel < mBlockLoopBound; channel += VECTOR_SPECIES.length())
+        {
+            newer = FloatVector.zero(VECTOR_SPECIES);
+            older = FloatVector.zero(VECTOR_SPECIES);
+
+            for(int tap = 0; tap < mTapsPerChannel; tap++)
+            {
+                filterOffset = tap * mSubChannelCount;
+                sampleOffset = blockOffset - filterOffset;
+
+                newer = FloatVector.fromArray(VECTOR_SPECIES, mFilter, filterOffset + channel)
+                    .fma(FloatVector.fromArray(VECTOR_SPECIES, samples, sampleOffset + channel), newer);
+                older = FloatVector.fromArray(VECTOR_SPECIES, mFilter, filterOffset + mBlockSize + channel)
+                    .fma(FloatVector.fromArray(VECTOR_SPECIES, samples, sampleOffset - mBlockSize + channel), older);
+            }
+
+            newer.intoArray(filterAccumulator, channel);
+            older.intoArray(filterAccumulator, mBlockSize + channel);
+        }
+
+        //Scalar processing for any residual sub-channels that don't fill the SIMD lanes
+        if(channel < mBlockSize)
+        {
+            Arrays.fill(filterAccumulator, channel, mBlockSize, 0.0f);
+            Arrays.fill(filterAccumulator, mBlockSize + channel, mSubChannelCount, 0.0f);
+
+            for(int tap = 0; tap < mTapsPerChannel; tap++)
+            {
+                filterOffset = tap * mSubChannelCount;
+                sampleOffset = blockOffset - filterOffset;
+
+                for(int x = channel; x < mBlockSize; x++)
+                {
+                    filterAccumulator[x] += samples[sampleOffset + x] * mFilter[filterOffset + x];
+                    filterAccumulator[mBlockSize + x] += samples[sampleOffset - mBlockSize + x] *
+                        mFilter[filterOffset + mBlockSize + x];
+                }
+            }
+        }
+
+        int[] map = topBlock ? mTopBlockMap : mMiddleBlockMap;
+
+        for(channel = 0; channel < mMapLoopBound; channel += VECTOR_SPECIES.length())
+        {
+            FloatVector.fromArray(VECTOR_SPECIES, filterAccumulator, 0, map, channel)
+                .intoArray(output, outputOffset + channel);
+        }
+
+        for(; channel < mSubChannelCount; channel++)
+        {
+            output[outputOffset + channel] = filterAccumulator[map[channel]];
+        }
+    }
+}
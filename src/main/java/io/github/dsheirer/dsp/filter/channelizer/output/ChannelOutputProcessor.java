@@ -18,11 +18,11 @@
  */
 package io.github.dsheirer.dsp.filter.channelizer.output;
 
+import io.github.dsheirer.dsp.filter.channelizer.ChannelResultsBuffer;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.source.heartbeat.HeartbeatManager;
 import io.github.dsheirer.util.Dispatcher;
-import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,7 +30,7 @@ public abstract class ChannelOutputProcessor implements IPolyphaseChannelOutputP
 {
     private final static Logger mLog = LoggerFactory.getLogger(ChannelOutputProcessor.class);
 
-    private Dispatcher<List<float[]>> mChannelResultsDispatcher;
+    private Dispatcher<ChannelResultsBuffer> mChannelResultsDispatcher;
     private HeartbeatManager mHeartbeatManager;
     protected Listener<ComplexSamples> mComplexSamplesListener;
     private int mInputChannelCount;
@@ -49,17 +49,24 @@ public abstract class ChannelOutputProcessor implements IPolyphaseChannelOutputP
         mInputChannelCount = inputChannelCount;
         //Process 1/10th of the sample rate per second at a rate of 20 times a second (200% of anticipated rate)
         mHeartbeatManager = heartbeatManager;
-        mChannelResultsDispatcher = new Dispatcher(threadName,50, mHeartbeatManager);
-        mChannelResultsDispatcher.setListener(floats -> {
+        mChannelResultsDispatcher = new Dispatcher<>(threadName,50, mHeartbeatManager);
+        mChannelResultsDispatcher.setListener(channelResultsBuffer -> {
             try
             {
-                process(floats);
+                process(channelResultsBuffer);
             }
             catch(Throwable t)
             {
                 mLog.error("Error processing channel results", t);
             }
+            finally
+            {
+                channelResultsBuffer.decrementUserCount();
+            }
         });
+
+        //Release buffers that are discarded during a queue overflow or cleared when the dispatcher is stopped
+        mChannelResultsDispatcher.setDiscardListener(ChannelResultsBuffer::decrementUserCount);
     }
 
     /**
@@ -103,17 +110,44 @@ public abstract class ChannelOutputProcessor implements IPolyphaseChannelOutputP
     }
 
     @Override
-    public void receiveChannelResults(List<float[]> channelResultsList, long timestamp)
+    public void setLoadShedding(boolean shedding)
+    {
+        mChannelResultsDispatcher.setLoadShedding(shedding);
+    }
+
+    @Override
+    public float getQueueUtilization()
+    {
+        return mChannelResultsDispatcher.getQueueUtilization();
+    }
+
+    @Override
+    public long getOverflowCount()
+    {
+        return mChannelResultsDispatcher.getOverflowCount();
+    }
+
+    @Override
+    public void receiveChannelResults(ChannelResultsBuffer channelResultsBuffer, long timestamp)
     {
-        mChannelResultsDispatcher.receive(channelResultsList);
+        if(mChannelResultsDispatcher.isRunning())
+        {
+            mChannelResultsDispatcher.receive(channelResultsBuffer);
+        }
+        else
+        {
+            channelResultsBuffer.decrementUserCount();
+        }
+
         mCurrentSampleTimestamp = timestamp;
     }
 
     /**
-     * Sub-class implementation to process one polyphase channelizer result array.
-     * @param channelResults to process
+     * Sub-class implementation to process one polyphase channelizer results buffer.  Note: the sub-class should not
+     * retain a reference to the buffer since it will be recycled once this method returns.
+     * @param channelResultsBuffer to process
      */
-    public abstract void process(List<float[]> channelResults);
+    public abstract void process(ChannelResultsBuffer channelResultsBuffer);
 
     @Override
     public int getInputChannelCount()
@@ -18,6 +18,7 @@
  */
 package io.github.dsheirer.dsp.filter.channelizer.output;
 
+import io.github.dsheirer.dsp.filter.channelizer.ChannelResultsBuffer;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import java.util.List;
@@ -39,11 +40,12 @@ public interface IPolyphaseChannelOutputProcessor
      */
     void stop();
     /**
-     * Receive and enqueue output results from the polyphase analysis channelizer
-     * @param channelResults to enqueue
+     * Receive and enqueue output results from the polyphase analysis channelizer.  The output processor must
+     * decrement the buffer user count once it is finished processing the buffer.
+     * @param channelResultsBuffer to enqueue
      * @param timestamp for the first channel results buffer
      */
-    void receiveChannelResults(List<float[]> channelResults, long timestamp);
+    void receiveChannelResults(ChannelResultsBuffer channelResultsBuffer, long timestamp);
 
     /**
      * Listener to receive assembled complex samples buffers
@@ -80,5 +82,21 @@ public interface IPolyphaseChannelOutputProcessor
      */
     void setSynthesisFilter(float[] filter);
 
+    /**
+     * Sets the load shedding state.  While shedding, channel results are discarded instead of being processed.
+     * @param shedding true to discard channel results
+     */
+    void setLoadShedding(boolean shedding);
+
+    /**
+     * Channel results queue utilization as a fraction of the maximum queue size (0.0 to 1.0).
+     */
+    float getQueueUtilization();
+
+    /**
+     * Number of channel results buffers discarded due to a queue overflow.
+     */
+    long getOverflowCount();
+
     void dispose();
 }
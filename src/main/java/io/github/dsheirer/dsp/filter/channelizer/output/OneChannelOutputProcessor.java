@@ -18,6 +18,7 @@
  */
 package io.github.dsheirer.dsp.filter.channelizer.output;
 
+import io.github.dsheirer.dsp.filter.channelizer.ChannelResultsBuffer;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.source.heartbeat.HeartbeatManager;
 import java.util.List;
@@ -93,14 +94,19 @@ public class OneChannelOutputProcessor extends ChannelOutputProcessor
      * Extract the channel from the channel results array and pass to the assembler.  The assembler will
      * apply frequency translation and gain and indicate when a buffer is fully assembled.
      *
-     * @param channelResultsList to process containing a list of a list of channel array of I/Q sample pairs (I0,Q0,I1,Q1...In,Qn)
+     * @param channelResultsBuffer to process containing filter blocks of channel I/Q sample pairs (I0,Q0,I1,Q1...In,Qn)
      */
     @Override
-    public void process(List<float[]> channelResultsList)
+    public void process(ChannelResultsBuffer channelResultsBuffer)
     {
-        for(float[] channelResults: channelResultsList)
+        float[] channelResults = channelResultsBuffer.getSamples();
+        int blockOffset;
+
+        for(int block = 0; block < channelResultsBuffer.getBlockCount(); block++)
         {
-            mMixerAssembler.receive(channelResults[mChannelOffset], channelResults[mChannelOffset + 1]);
+            blockOffset = channelResultsBuffer.getOffset(block);
+            mMixerAssembler.receive(channelResults[blockOffset + mChannelOffset],
+                channelResults[blockOffset + mChannelOffset + 1]);
 
             if(mMixerAssembler.hasBuffer())
             {
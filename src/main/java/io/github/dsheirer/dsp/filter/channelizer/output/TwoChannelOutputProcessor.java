@@ -18,6 +18,7 @@
  */
 package io.github.dsheirer.dsp.filter.channelizer.output;
 
+import io.github.dsheirer.dsp.filter.channelizer.ChannelResultsBuffer;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.source.heartbeat.HeartbeatManager;
 import java.util.List;
@@ -105,15 +106,20 @@ public class TwoChannelOutputProcessor extends ChannelOutputProcessor
      * Extract the channel from the channel results array, apply frequency translation, and deliver the
      * extracted frequency-corrected channel I/Q sample set to the complex sample listener.
      *
-     * @param channelResultsList to process containing a list of a list of an array of channel I/Q sample pairs (I0,Q0,I1,Q1...In,Qn)
+     * @param channelResultsBuffer to process containing filter blocks of channel I/Q sample pairs (I0,Q0,I1,Q1...In,Qn)
      */
     @Override
-    public void process(List<float[]> channelResultsList)
+    public void process(ChannelResultsBuffer channelResultsBuffer)
     {
-        for(float[] channelResults : channelResultsList)
+        float[] channelResults = channelResultsBuffer.getSamples();
+        int blockOffset;
+
+        for(int block = 0; block < channelResultsBuffer.getBlockCount(); block++)
         {
-            mMixerAssembler.receive(channelResults[mChannelOffset1], channelResults[mChannelOffset1 + 1],
-                    channelResults[mChannelOffset2], channelResults[mChannelOffset2 + 1]);
+            blockOffset = channelResultsBuffer.getOffset(block);
+            mMixerAssembler.receive(channelResults[blockOffset + mChannelOffset1],
+                    channelResults[blockOffset + mChannelOffset1 + 1], channelResults[blockOffset + mChannelOffset2],
+                    channelResults[blockOffset + mChannelOffset2 + 1]);
 
             if(mMixerAssembler.hasBuffer())
             {
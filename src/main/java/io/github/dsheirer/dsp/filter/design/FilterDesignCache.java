@@ -0,0 +1,343 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.filter.design;
+
+import io.github.dsheirer.properties.SystemProperties;
+import io.github.dsheirer.util.ThreadPool;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Content-addressed cache of filter designs (ie filter coefficients) that is shared across all channels and persisted
+ * to the application root directory so that expensive filter designs (e.g. Remez exchange or iterative windowed-sinc
+ * channelizer designs) are only performed once.
+ *
+ * Each filter design is identified by a key that is derived from all of the design parameters.  Cached filters are
+ * stored in the 'filters' folder using the SHA-256 hash of the key as the file name.  Each file also contains the
+ * full key so that a (highly unlikely) hash collision is detected and treated as a cache miss.
+ *
+ * The on-disk cache is cleared whenever the application version changes so that changes to the filter design
+ * algorithms are never masked by stale filter designs.  When the application version can't be determined (ie we're
+ * not running from a release jar) the cache is memory-only.
+ *
+ * Filter arrays returned from this cache are copies and can be modified by the caller.
+ */
+public class FilterDesignCache
+{
+    private static final Logger mLog = LoggerFactory.getLogger(FilterDesignCache.class);
+    private static final String CACHE_FOLDER = "filters";
+    private static final String VERSION_FILE = "cache.version";
+    private static final String FILTER_FILE_EXTENSION = ".filter";
+    private static final int FILE_FORMAT_VERSION = 1;
+    private static FilterDesignCache INSTANCE;
+
+    private final Map<String,float[]> mFilterMap = new ConcurrentHashMap<>();
+    private final LongAdder mMemoryHitCount = new LongAdder();
+    private final LongAdder mDiskHitCount = new LongAdder();
+    private final LongAdder mMissCount = new LongAdder();
+    private Path mCacheDirectory;
+    private String mCacheVersion;
+
+    /**
+     * Constructs an instance.  Use the getInstance() method to access the singleton.
+     * @param applicationVersion that created the on-disk cache, or null for a memory-only cache
+     * @param cacheDirectory for the on-disk cache, or null for a memory-only cache
+     */
+    FilterDesignCache(String applicationVersion, Path cacheDirectory)
+    {
+        if(applicationVersion != null && cacheDirectory != null)
+        {
+            mCacheVersion = FILE_FORMAT_VERSION + ":" + applicationVersion;
+            mCacheDirectory = cacheDirectory;
+            validateCacheVersion();
+        }
+        else
+        {
+            mLog.info("Application version is unavailable - filter design cache is memory-only");
+        }
+    }
+
+    /**
+     * Singleton instance of the filter design cache.
+     */
+    public static synchronized FilterDesignCache getInstance()
+    {
+        if(INSTANCE == null)
+        {
+            String applicationVersion = SystemProperties.getInstance().getApplicationVersion();
+            INSTANCE = new FilterDesignCache(applicationVersion, applicationVersion != null ?
+                SystemProperties.getInstance().getApplicationFolder(CACHE_FOLDER) : null);
+        }
+
+        return INSTANCE;
+    }
+
+    /**
+     * Retrieves a cached filter design or designs the filter and adds it to the cache.
+     *
+     * @param key that uniquely identifies the filter design parameters, including the design method.
+     * @param designer to design the filter when the filter is not cached.
+     * @return copy of the filter coefficients, or null if the designer produced a null filter (not cached).
+     * @throws FilterDesignException if the filter cannot be designed.
+     */
+    public float[] getFilter(String key, IFilterDesigner designer) throws FilterDesignException
+    {
+        float[] filter = mFilterMap.get(key);
+
+        if(filter != null)
+        {
+            mMemoryHitCount.increment();
+            return filter.clone();
+        }
+
+        filter = read(key);
+
+        if(filter != null)
+        {
+            mDiskHitCount.increment();
+        }
+        else
+        {
+            filter = designer.design();
+
+            if(filter == null)
+            {
+                return null;
+            }
+
+            mMissCount.increment();
+            write(key, filter.clone());
+        }
+
+        //If another thread designed the same filter concurrently, use the first one that was added to the cache
+        float[] existing = mFilterMap.putIfAbsent(key, filter);
+
+        if(existing != null)
+        {
+            filter = existing;
+        }
+
+        return filter.clone();
+    }
+
+    /**
+     * Number of filters that were served from the in-memory cache.
+     */
+    public long getMemoryHitCount()
+    {
+        return mMemoryHitCount.sum();
+    }
+
+    /**
+     * Number of filters that were loaded from the on-disk cache.
+     */
+    public long getDiskHitCount()
+    {
+        return mDiskHitCount.sum();
+    }
+
+    /**
+     * Number of filters that had to be designed.
+     */
+    public long getMissCount()
+    {
+        return mMissCount.sum();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Filter Design Cache - Filters:" + mFilterMap.size() + " Memory Hits:" + getMemoryHitCount() +
+            " Disk Hits:" + getDiskHitCount() + " Designed:" + getMissCount() +
+            (mCacheDirectory != null ? " Directory:" + mCacheDirectory : " Memory-Only");
+    }
+
+    /**
+     * Verifies that the on-disk cache was created by the current application version and clears the cache when the
+     * version has changed.
+     */
+    private void validateCacheVersion()
+    {
+        Path versionPath = mCacheDirectory.resolve(VERSION_FILE);
+
+        try
+        {
+            if(Files.exists(versionPath) && mCacheVersion.equals(Files.readString(versionPath).trim()))
+            {
+                return;
+            }
+
+            try(DirectoryStream<Path> stream = Files.newDirectoryStream(mCacheDirectory, "*" + FILTER_FILE_EXTENSION))
+            {
+                for(Path path : stream)
+                {
+                    Files.deleteIfExists(path);
+                }
+            }
+
+            Files.writeString(versionPath, mCacheVersion);
+            mLog.info("Filter design cache cleared for application version [" + mCacheVersion + "]");
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Unable to validate filter design cache version - filter design cache is memory-only", ioe);
+            mCacheDirectory = null;
+        }
+    }
+
+    /**
+     * Reads the filter from the on-disk cache.
+     * @param key for the filter
+     * @return filter or null if the filter is not cached or can't be read.
+     */
+    private float[] read(String key)
+    {
+        if(mCacheDirectory == null)
+        {
+            return null;
+        }
+
+        Path path = getPath(key);
+
+        if(!Files.exists(path))
+        {
+            return null;
+        }
+
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path))))
+        {
+            if(in.readInt() == FILE_FORMAT_VERSION && mCacheVersion.equals(in.readUTF()) && key.equals(in.readUTF()))
+            {
+                float[] filter = new float[in.readInt()];
+
+                for(int x = 0; x < filter.length; x++)
+                {
+                    filter[x] = in.readFloat();
+                }
+
+                return filter;
+            }
+        }
+        catch(IOException ioe)
+        {
+            mLog.warn("Unable to read cached filter design [" + path + "] - filter will be redesigned");
+        }
+
+        return null;
+    }
+
+    /**
+     * Writes the filter to the on-disk cache on a background thread.  The file is written to a temporary file and
+     * then moved into place so that a partially written file is never read.
+     * @param key for the filter
+     * @param filter to write
+     */
+    private void write(String key, float[] filter)
+    {
+        if(mCacheDirectory == null)
+        {
+            return;
+        }
+
+        ThreadPool.CACHED.submit(() -> {
+            Path path = getPath(key);
+            Path temporary = path.resolveSibling(path.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+
+            try
+            {
+                try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary))))
+                {
+                    out.writeInt(FILE_FORMAT_VERSION);
+                    out.writeUTF(mCacheVersion);
+                    out.writeUTF(key);
+                    out.writeInt(filter.length);
+
+                    for(float coefficient : filter)
+                    {
+                        out.writeFloat(coefficient);
+                    }
+                }
+
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch(IOException ioe)
+            {
+                mLog.warn("Unable to write filter design to cache [" + path + "]", ioe);
+
+                try
+                {
+                    Files.deleteIfExists(temporary);
+                }
+                catch(IOException ioe2)
+                {
+                    //Do nothing
+                }
+            }
+        });
+    }
+
+    /**
+     * Content-addressed file path for the filter key
+     */
+    private Path getPath(String key)
+    {
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+            return mCacheDirectory.resolve(HexFormat.of().formatHex(hash) + FILTER_FILE_EXTENSION);
+        }
+        catch(NoSuchAlgorithmException nsae)
+        {
+            //SHA-256 is a required algorithm for all Java platforms
+            throw new IllegalStateException("SHA-256 message digest is not available", nsae);
+        }
+    }
+
+    /**
+     * Designs a filter when the filter is not available from the cache.
+     */
+    @FunctionalInterface
+    public interface IFilterDesigner
+    {
+        /**
+         * Designs the filter
+         * @return filter coefficients
+         * @throws FilterDesignException if the filter can't be designed
+         */
+        float[] design() throws FilterDesignException;
+    }
+}
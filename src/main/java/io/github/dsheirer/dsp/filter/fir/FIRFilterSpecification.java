@@ -61,6 +61,25 @@ public class FIRFilterSpecification
         return sb.toString();
     }
 
+    /**
+     * Canonical key that uniquely identifies the filter design parameters of this specification, for use with the
+     * filter design cache.
+     */
+    public String getDesignKey()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(mRemezFilterType.name());
+        sb.append(",").append(mOrder);
+        sb.append(",").append(mGridDensity);
+
+        for(FrequencyBand band : mFrequencyBands)
+        {
+            sb.append(",[").append(band.getDesignKey()).append("]");
+        }
+
+        return sb.toString();
+    }
+
     public void addFrequencyBand(FrequencyBand band)
     {
         mFrequencyBands.add(band);
@@ -1044,6 +1063,14 @@ public class FIRFilterSpecification
             mGridSize = FastMath.max(1, (int)FastMath.ceil((double)totalGridSize * (getBandWidth() / totalBandwidth)));
         }
 
+        /**
+         * Canonical key that uniquely identifies the design parameters of this frequency band.
+         */
+        public String getDesignKey()
+        {
+            return mStart + "," + mEnd + "," + mAmplitude + "," + mRippleDB + "," + mWeight;
+        }
+
         public String toString()
         {
             StringBuilder sb = new StringBuilder();
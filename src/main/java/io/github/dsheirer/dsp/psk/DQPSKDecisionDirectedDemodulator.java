@@ -85,6 +85,6 @@ public class DQPSKDecisionDirectedDemodulator extends PSKDemodulator<Dibit>
         mPreviousPrecedingSample.setValues(mPrecedingSample);
         mPreviousCurrentSample.setValues(mCurrentSample);
 
-        broadcast(mSymbolEvaluator.getSymbolDecision());
+        broadcast(mSymbolEvaluator.getSymbolDecision(), getQuadrantConfidence(mCurrentSymbol));
     }
 }
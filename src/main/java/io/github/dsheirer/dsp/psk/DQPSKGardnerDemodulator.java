@@ -85,6 +85,6 @@ public class DQPSKGardnerDemodulator extends PSKDemodulator<Dibit>
         mPreviousMiddleSample.setValues(middleSample);
         mPreviousCurrentSample.setValues(currentSample);
 
-        broadcast(mSymbolEvaluator.getSymbolDecision());
+        broadcast(mSymbolEvaluator.getSymbolDecision(), getQuadrantConfidence(mCurrentSymbol));
     }
 }
@@ -18,7 +18,9 @@
  */
 package io.github.dsheirer.dsp.psk;
 
+import io.github.dsheirer.bits.CorrectedBinaryMessage;
 import io.github.dsheirer.dsp.psk.pll.IPhaseLockedLoop;
+import io.github.dsheirer.dsp.symbol.ISoftSymbolListener;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.complex.Complex;
 import io.github.dsheirer.sample.complex.ComplexSampleListener;
@@ -26,10 +28,15 @@ import io.github.dsheirer.sample.complex.ComplexSamples;
 
 public abstract class PSKDemodulator<T> implements ComplexSampleListener
 {
+    //Scales the distance of a unity gain symbol from a decision boundary, where the reference symbol distance is
+    //sin(45 degrees), to the confidence range
+    private static final float REFERENCE_DISTANCE_SCALOR = (float)(CorrectedBinaryMessage.MAXIMUM_CONFIDENCE / Math.sin(Math.PI / 4.0));
+
     private InterpolatingSampleBuffer mInterpolatingSampleBuffer;
     private IPhaseLockedLoop mPLL;
     private Complex mReceivedSample = new Complex(0, 0);
     private Listener<T> mSymbolListener;
+    private ISoftSymbolListener<T> mSoftSymbolListener;
     private boolean mRunning;
 
     /**
@@ -76,6 +83,14 @@ public abstract class PSKDemodulator<T> implements ComplexSampleListener
         mSymbolListener = listener;
     }
 
+    /**
+     * Registers the listener to receive symbol decisions with a soft-decision confidence value from this demodulator
+     */
+    public void setSoftSymbolListener(ISoftSymbolListener<T> listener)
+    {
+        mSoftSymbolListener = listener;
+    }
+
     /**
      * Broadcasts the symbol decision to the registered symbol listener
      * @param symbol
@@ -88,6 +103,22 @@ public abstract class PSKDemodulator<T> implements ComplexSampleListener
         }
     }
 
+    /**
+     * Broadcasts the symbol decision to the registered symbol listener and the symbol decision and confidence to the
+     * registered soft symbol listener.
+     * @param symbol decision
+     * @param confidence in the symbol decision
+     */
+    protected void broadcast(T symbol, int confidence)
+    {
+        broadcast(symbol);
+
+        if(mSoftSymbolListener != null)
+        {
+            mSoftSymbolListener.receive(symbol, confidence);
+        }
+    }
+
     /**
      * Interpolating sample buffer for receiving the incoming complex sample stream and providing access to
      * indexed and interpolated samples
@@ -149,6 +180,29 @@ public abstract class PSKDemodulator<T> implements ComplexSampleListener
 
     protected abstract void calculateSymbol();
 
+    /**
+     * Calculates the confidence of a quadrant symbol decision for a unity gain (normalized) QPSK symbol.  The
+     * reference symbols sit at +/-45 and +/-135 degrees and the decision boundaries are the inphase and quadrature
+     * axes, so the distance to the nearest boundary is the smaller of the absolute inphase and quadrature values,
+     * which is scaled so that a symbol at the reference point has maximum confidence.
+     *
+     * @param symbol that is normalized to unity gain
+     * @return confidence in the range 0 <> CorrectedBinaryMessage.MAXIMUM_CONFIDENCE
+     */
+    public static int getQuadrantConfidence(Complex symbol)
+    {
+        float distance = Math.min(Math.abs(symbol.inphase()), Math.abs(symbol.quadrature()));
+
+        if(Float.isNaN(distance))
+        {
+            return 0;
+        }
+
+        int confidence = Math.round(distance * REFERENCE_DISTANCE_SCALOR);
+
+        return Math.min(confidence, CorrectedBinaryMessage.MAXIMUM_CONFIDENCE);
+    }
+
     /**
      * Constrains value to the range of ( -maximum <> maximum )
      */
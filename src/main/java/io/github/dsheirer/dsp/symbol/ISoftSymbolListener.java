@@ -0,0 +1,36 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.symbol;
+
+/**
+ * Listener to receive symbol decisions along with a soft-decision confidence value for each symbol.
+ *
+ * Confidence values range from 0 (the sampled symbol fell on a decision boundary and the decision is a coin toss) to
+ * CorrectedBinaryMessage.MAXIMUM_CONFIDENCE (the sampled symbol is at or beyond the ideal reference symbol).
+ */
+public interface ISoftSymbolListener<T>
+{
+    /**
+     * Receives a symbol decision with a confidence value for that decision.
+     * @param symbol decision
+     * @param confidence in the symbol decision in the range 0 <> CorrectedBinaryMessage.MAXIMUM_CONFIDENCE
+     */
+    void receive(T symbol, int confidence);
+}
@@ -20,6 +20,8 @@
 package io.github.dsheirer.edac;
 
 import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.bits.CorrectedBinaryMessage;
+import java.util.Arrays;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +29,21 @@ public class BCH_63_16_11 extends ReedSolomon_63_P25
 {
     private final static Logger mLog = LoggerFactory.getLogger(BCH_63_16_11.class);
 
+    /**
+     * Number of least reliable bits that are flipped in each combination (2^n - 1 test patterns) for soft decoding.
+     */
+    private static final int CHASE_TEST_BIT_COUNT = 4;
+
+    /**
+     * Number of corrected bits beyond the hard-decision correction capability allowed for a soft decoding candidate.
+     *
+     * The hard-decision decoder already finds every codeword within TT bits of a test pattern, so soft decoding only
+     * recovers codewords beyond TT and a margin of zero would make it equivalent to the hard-decision decode.  A margin
+     * of 2 accepts roughly 3% of random noise vectors, versus 0.5% for the hard-decision decoder, and the NID is only
+     * tested following a sync pattern match.  The bounds are verified by BCH_63_16_11Test.
+     */
+    private static final int CHASE_CORRECTION_MARGIN = 2;
+
     /**
      * BCH( 63,16,11) decoder
      */
@@ -35,6 +52,140 @@ public class BCH_63_16_11 extends ReedSolomon_63_P25
         super(63, 41);
     }
 
+    /**
+     * Performs soft-decision (Chase) error detection and correction of the 63-bit codeword.  The hard-decision decode
+     * is attempted first.  When it fails, the least reliable bits (lowest confidence) are flipped in each combination
+     * and the hard-decision decoder is re-applied to each test pattern.  The successfully decoded (binary) codeword
+     * that is closest to the received codeword, weighted by bit confidence, is selected.
+     *
+     * @param input codeword bits (0 or 1) in the reverse bit order used by the decoder
+     * @param confidence for each input bit in the range 0 <> CorrectedBinaryMessage.MAXIMUM_CONFIDENCE
+     * @param output to receive the corrected codeword
+     * @return true if there were irrecoverable errors, or false if the codeword was decoded.
+     */
+    public boolean decode(int[] input, int[] confidence, int[] output)
+    {
+        if(!decode(input, output))
+        {
+            return false;
+        }
+
+        int[] leastReliable = getLeastReliableIndexes(confidence);
+
+        if(leastReliable.length == 0)
+        {
+            return true;
+        }
+
+        int[] testPattern = new int[input.length];
+        int[] candidate = new int[input.length];
+        int bestDistance = Integer.MAX_VALUE;
+
+        for(int flips = 1; flips < (1 << leastReliable.length); flips++)
+        {
+            System.arraycopy(input, 0, testPattern, 0, input.length);
+
+            for(int x = 0; x < leastReliable.length; x++)
+            {
+                if((flips & (1 << x)) != 0)
+                {
+                    testPattern[leastReliable[x]] ^= 1;
+                }
+            }
+
+            if(!decode(testPattern, candidate))
+            {
+                int distance = getSoftDistance(input, confidence, candidate);
+
+                if(distance < bestDistance)
+                {
+                    bestDistance = distance;
+                    System.arraycopy(candidate, 0, output, 0, candidate.length);
+                }
+            }
+        }
+
+        return bestDistance == Integer.MAX_VALUE;
+    }
+
+    /**
+     * Identifies the indexes of the least reliable bits that have less than maximum confidence.
+     * @param confidence values for each bit
+     * @return indexes of up to CHASE_TEST_BIT_COUNT least reliable bits, or an empty array when all bits have maximum
+     * confidence (ie hard-decision input).
+     */
+    private static int[] getLeastReliableIndexes(int[] confidence)
+    {
+        int[] indexes = new int[CHASE_TEST_BIT_COUNT];
+        int count = 0;
+
+        for(int x = 0; x < confidence.length; x++)
+        {
+            if(confidence[x] < CorrectedBinaryMessage.MAXIMUM_CONFIDENCE)
+            {
+                if(count < indexes.length)
+                {
+                    indexes[count++] = x;
+                }
+                else
+                {
+                    //Replace the most reliable of the selected bits when this bit is less reliable
+                    int mostReliable = 0;
+
+                    for(int y = 1; y < indexes.length; y++)
+                    {
+                        if(confidence[indexes[y]] > confidence[indexes[mostReliable]])
+                        {
+                            mostReliable = y;
+                        }
+                    }
+
+                    if(confidence[x] < confidence[indexes[mostReliable]])
+                    {
+                        indexes[mostReliable] = x;
+                    }
+                }
+            }
+        }
+
+        return Arrays.copyOf(indexes, count);
+    }
+
+    /**
+     * Confidence-weighted distance between the received and the candidate codeword.  Each differing bit costs its
+     * confidence value plus one so that candidates with fewer corrections win when confidence values are equal.
+     * Candidates containing non-binary symbols are not valid BCH codewords and candidates that differ from the received
+     * codeword in too many bits are likely miscorrections, and both are rejected with maximum distance.
+     */
+    private int getSoftDistance(int[] received, int[] confidence, int[] candidate)
+    {
+        int distance = 0;
+        int differences = 0;
+
+        for(int x = 0; x < received.length; x++)
+        {
+            if(candidate[x] != received[x])
+            {
+                if(candidate[x] > 1)
+                {
+                    return Integer.MAX_VALUE;
+                }
+
+                distance += confidence[x] + 1;
+                differences++;
+            }
+        }
+
+        //Limit candidates to slightly beyond the correction capability of the hard-decision decoder to control
+        //miscorrection of noise into a valid codeword
+        if(differences > TT + CHASE_CORRECTION_MARGIN)
+        {
+            return Integer.MAX_VALUE;
+        }
+
+        return distance;
+    }
+
     /**
      * Performs error detection and correction on the first 63 bits of the
      * message argument.  If the message is correctable, only the first 16 bits
@@ -20,7 +20,7 @@
 package io.github.dsheirer.edac;
 
 import io.github.dsheirer.log.LoggingSuppressor;
-import org.apache.commons.lang3.Validate;
+import java.util.Arrays;
 import org.apache.commons.math3.util.FastMath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +29,9 @@ import org.slf4j.LoggerFactory;
  * Berlekemp Massey decoder for primitive RS/BCH block codes
  *
  * Original C implementation by Simon Rockliff, 26 June 1991
+ *
+ * The Galois Field lookup tables are shared across all decoders that use the same field and the decode working
+ * buffers are reused per thread, so that decoding doesn't allocate and an instance can be shared across threads.
  */
 public class BerlekempMassey
 {
@@ -48,10 +51,14 @@ public class BerlekempMassey
     /* Maximum number of errors that can be corrected */
     int TT;
 
+    /* Shared field lookup tables.  Note: alpha_to is double length so that index sums don't require modulo */
+    private GaloisField mGaloisField;
     int[] alpha_to;
     int[] index_of;
     int[] gg;
 
+    private ThreadLocal<Workspace> mWorkspace = ThreadLocal.withInitial(Workspace::new);
+
     /**
      * Constructs an instance
      *
@@ -63,92 +70,52 @@ public class BerlekempMassey
      */
     public BerlekempMassey(int galoisFieldSize, int maxCorrectableErrors, int[] generatorPolynomial)
     {
-        //TODO: fix this
+        mGaloisField = GaloisField.getInstance(galoisFieldSize, generatorPolynomial);
         MM = galoisFieldSize;
-        NN = (int)FastMath.pow(2, MM) - 1;
+        NN = mGaloisField.getOrder();
         TT = maxCorrectableErrors;
         KK = NN - 2 * TT;
-
+        alpha_to = mGaloisField.getExponentTable();
+        index_of = mGaloisField.getLogTable();
+        gg = new int[NN - KK + 1];
+        gen_poly();
     }
 
     public BerlekempMassey(int bitSize, int n, int k, int[] generatorPolynomial)
     {
-        Validate.isTrue(bitSize == generatorPolynomial.length - 1,
-            "Generator polynomial length must be: bitSize + 1");
-
+        mGaloisField = GaloisField.getInstance(bitSize, generatorPolynomial);
         MM = bitSize;
         NN = n;
         KK = k;
         TT = (int)Math.floor((NN - KK) / 2);
-
-        //Since this may be a shortened code, setup arrays to the max size of NN
-        int maxNN = (int)Math.pow(2, MM) - 1;
-
-        alpha_to = new int[maxNN + 1];
-        index_of = new int[maxNN + 1];
-
+        alpha_to = mGaloisField.getExponentTable();
+        index_of = mGaloisField.getLogTable();
         gg = new int[NN - KK + 1];
-
-        generate_gf(generatorPolynomial);
-
         gen_poly();
     }
 
     /**
-     * Generates the Golay Field.
-     *
-     * Generates a GF( 2**mm ) from the irreducible polynomial
-     * p(X) in pp[0]..pp[mm]
-     *
-     * Lookup tables:
-     * index_of[] = polynomial form
-     * alpha_to[] = contains j=alpha**i;
-     *
-     * Polynomial form -> Index form  index_of[j=alpha**i] = i
-     *
-     * alpha_to = 2 is the primitive element of GF( 2**mm )
-     *
-     * @param generator_polynomial
+     * Galois Field used by this decoder
      */
-    private void generate_gf(int[] generator_polynomial)
+    public GaloisField getGaloisField()
     {
-        int i;
-        int mask = 1;
-
-        alpha_to[MM] = 0;
-
-        for(i = 0; i < MM; i++)
-        {
-            alpha_to[i] = mask;
-            index_of[alpha_to[i]] = i;
-
-            if(generator_polynomial[i] != 0)
-            {
-                alpha_to[MM] ^= mask;
-            }
-
-            mask <<= 1;
-        }
-
-        index_of[alpha_to[MM]] = MM;
-
-        mask >>= 1;
-
-        for(i = MM + 1; i < NN; i++)
-        {
-            if(alpha_to[i - 1] >= mask)
-            {
-                alpha_to[i] = alpha_to[MM] ^ ((alpha_to[i - 1] ^ mask) << 1);
-            }
-            else
-            {
-                alpha_to[i] = alpha_to[i - 1] << 1;
-            }
+        return mGaloisField;
+    }
 
-            index_of[alpha_to[i]] = i;
-        }
+    /**
+     * Codeword length (NN) in symbols, including any shortened symbols.
+     */
+    public int getCodewordLength()
+    {
+        return NN;
+    }
 
-        index_of[0] = -1;
+    /**
+     * Message length (KK) in symbols, including any shortened symbols.
+     */
+    public int getMessageLength()
+    {
+        return KK;
     }
 
     /**
@@ -190,6 +157,88 @@ public class BerlekempMassey
         }
     }
 
+    /**
+     * Encodes the message symbols into a systematic codeword using the same symbol ordering as the decode method,
+     * where the NN - KK parity symbols occupy indices 0 <> (NN - KK - 1) and the message symbols follow.
+     *
+     * @param input message symbols in polynomial form, KK symbols
+     * @param output codeword of NN symbols
+     */
+    public void encode(int[] input, int[] output)
+    {
+        int parityLength = NN - KK;
+        Arrays.fill(output, 0, parityLength, 0);
+
+        for(int i = KK - 1; i >= 0; i--)
+        {
+            int feedback = index_of[input[i] ^ output[parityLength - 1]];
+
+            for(int j = parityLength - 1; j > 0; j--)
+            {
+                if(feedback != -1 && gg[j] != -1)
+                {
+                    output[j] = output[j - 1] ^ alpha_to[gg[j] + feedback];
+                }
+                else
+                {
+                    output[j] = output[j - 1];
+                }
+            }
+
+            output[0] = (feedback != -1) ? alpha_to[gg[0] + feedback] : 0;
+        }
+
+        System.arraycopy(input, 0, output, parityLength, KK);
+    }
+
+    /**
+     * Calculates the 2*tt syndromes as the sum of alpha ** (recd[j] + i * j) over the non-zero received symbols and
+     * converts each syndrome to index form.  The exponent for each received symbol is advanced by its position for
+     * each successive syndrome and stays below NN, so no modulo is needed per term.
+     *
+     * @param received symbols in index form
+     * @param s syndromes array to receive syndromes 1 to 2*tt in index form
+     * @return true if any syndrome is non-zero (ie errors detected)
+     */
+    private boolean calculateSyndromes(int[] received, int[] s)
+    {
+        Arrays.fill(s, 0);
+
+        for(int j = 0; j < NN; j++)
+        {
+            int exponent = received[j];
+
+            if(exponent != -1)
+            {
+                for(int i = 1; i <= NN - KK; i++)
+                {
+                    exponent += j;
+
+                    if(exponent >= NN)
+                    {
+                        exponent -= NN;
+                    }
+
+                    s[i] ^= alpha_to[exponent];
+                }
+            }
+        }
+
+        boolean errors = false;
+
+        for(int i = 1; i <= NN - KK; i++)
+        {
+            if(s[i] != 0)
+            {
+                errors = true;
+            }
+
+            s[i] = index_of[s[i]];
+        }
+
+        return errors;
+    }
+
     /**
      * Decodes
      *
@@ -218,18 +267,19 @@ public class BerlekempMassey
     public boolean decode(final int[] input, int[] output) //input, output
     {
         int u, q;
-        int[][] elp = new int[NN - KK + 2][NN - KK];
-        int[] d = new int[NN - KK + 2];
-        int[] l = new int[NN - KK + 2];
-        int[] u_lu = new int[NN - KK + 2];
-        int[] s = new int[NN - KK + 1];
+        Workspace workspace = mWorkspace.get();
+        int[][] elp = workspace.elp;
+        int[] d = workspace.d;
+        int[] l = workspace.l;
+        int[] u_lu = workspace.u_lu;
+        int[] s = workspace.s;
         int count = 0;
         boolean syn_error = false;
-        int[] root = new int[TT];
-        int[] loc = new int[TT];
-        int[] z = new int[TT + 1];
-        int[] err = new int[NN];
-        int[] reg = new int[TT + 1];
+        int[] root = workspace.root;
+        int[] loc = workspace.loc;
+        int[] z = workspace.z;
+        int[] err = workspace.err;
+        int[] reg = workspace.reg;
 
         boolean irrecoverable_error = false;
 
@@ -248,29 +298,8 @@ public class BerlekempMassey
             }
         }
 
-        /* first form the syndromes */
-        for(int i = 1; i <= NN - KK; i++)
-        {
-            s[i] = 0;
-
-            for(int j = 0; j < NN; j++)
-            {
-                if(output[j] != -1)
-                {
-                    /* recd[j] in index form */
-                    s[i] ^= alpha_to[(output[j] + i * j) % NN];
-                }
-            }
-
-            /* convert syndrome from polynomial form to index form  */
-            if(s[i] != 0)
-            {
-                /* set flag if non-zero syndrome => error */
-                syn_error = true;
-            }
-
-            s[i] = index_of[s[i]];
-        }
+        /* first form the syndromes and convert them to index form */
+        syn_error = calculateSyndromes(output, s);
 
         if(syn_error) /* if errors, try and correct */
         {
@@ -282,7 +311,12 @@ public class BerlekempMassey
              step number and the degree of the elp.
              */
 
-            /* initialise table entries */
+            /* reset the reused elp rows and initialise table entries */
+            for(int[] row : elp)
+            {
+                Arrays.fill(row, 0);
+            }
+
             d[0] = 0; /* index form */
             d[1] = s[1]; /* index form */
             elp[0][0] = 0; /* index form */
@@ -421,7 +455,13 @@ public class BerlekempMassey
                     {
                         if(reg[j] != -1)
                         {
-                            reg[j] = (reg[j] + j) % NN;
+                            reg[j] += j;
+
+                            if(reg[j] >= NN)
+                            {
+                                reg[j] -= NN;
+                            }
+
                             q ^= alpha_to[reg[j]];
                         }
                         ;
@@ -564,4 +604,21 @@ public class BerlekempMassey
 
         return irrecoverable_error;
     }
+
+    /**
+     * Reusable decode buffers for a single thread
+     */
+    private class Workspace
+    {
+        private int[][] elp = new int[NN - KK + 2][NN - KK];
+        private int[] d = new int[NN - KK + 2];
+        private int[] l = new int[NN - KK + 2];
+        private int[] u_lu = new int[NN - KK + 2];
+        private int[] s = new int[NN - KK + 1];
+        private int[] root = new int[TT];
+        private int[] loc = new int[TT];
+        private int[] z = new int[TT + 1];
+        private int[] err = new int[NN];
+        private int[] reg = new int[TT + 1];
+    }
 }
@@ -20,6 +20,7 @@ package io.github.dsheirer.edac;
 
 import io.github.dsheirer.bits.BinaryMessage;
 import io.github.dsheirer.bits.CorrectedBinaryMessage;
+import java.util.Arrays;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,21 +76,41 @@ public class CRCDMR
             0x0DD, 0x16E, 0x09B, 0x14D, 0x1A6
         };
 
+    /**
+     * Table-driven CRC engines for each of the checksum tables.  The CRC-9 checksum is located within the message, so
+     * the message bits that precede and follow the checksum each have an engine.
+     */
+    private static final CRCEngine CCITT_80_ENGINE = new CRCEngine(CCITT_80_CHECKSUMS);
+    private static final CRCEngine CRC9_HEAD_ENGINE = new CRCEngine(Arrays.copyOfRange(CRC9_CHECKSUMS, 0, 7));
+    private static final CRCEngine CRC9_TAIL_ENGINE = new CRCEngine(Arrays.copyOfRange(CRC9_CHECKSUMS, 7, 135));
 
     /**
-     * Error detection and correction of single-bit errors for CCITT 16-bit CRC protected 80-bit messages.
+     * CRC-8 (x8 + x2 + x + 1) octet lookup table for the DMR short link control CRC.
      */
-    public static BinaryMessage correctCCITT80(BinaryMessage message, int messageStart, int crcStart)
-    {
-        int calculated = 0; //Starting value
+    private static final int CRC8_POLYNOMIAL = 0x07;
+    private static final int[] CRC8_TABLE = new int[256];
 
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart);
-            i >= messageStart && i < crcStart;
-            i = message.nextSetBit(i + 1))
+    static
+    {
+        for(int value = 0; value < CRC8_TABLE.length; value++)
         {
-            calculated ^= CCITT_80_CHECKSUMS[i - messageStart];
+            int crc = value;
+
+            for(int bit = 0; bit < 8; bit++)
+            {
+                crc = ((crc & 0x80) != 0 ? (crc << 1) ^ CRC8_POLYNOMIAL : crc << 1) & 0xFF;
+            }
+
+            CRC8_TABLE[value] = crc;
         }
+    }
+
+    /**
+     * Error detection and correction of single-bit errors for CCITT 16-bit CRC protected 80-bit messages.
+     */
+    public static BinaryMessage correctCCITT80(BinaryMessage message, int messageStart, int crcStart)
+    {
+        int calculated = (int)CCITT_80_ENGINE.calculate(message, messageStart, crcStart - messageStart);
 
         int checksum = getIntChecksum(message, crcStart, 16);
 
@@ -103,7 +124,7 @@ public class CRCDMR
         }
         else
         {
-            int errorLocation = getBitError(residual, CCITT_80_CHECKSUMS);
+            int errorLocation = CCITT_80_ENGINE.getBitError(residual);
 
             if(errorLocation >= 0)
             {
@@ -147,12 +168,7 @@ public class CRCDMR
     public static int correctCCITT80(CorrectedBinaryMessage message, int messageStart, int crcStart, int mask)
     {
         int calculated = mask; //Starting value
-
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart); i >= messageStart && i < crcStart; i = message.nextSetBit(i + 1))
-        {
-            calculated ^= CCITT_80_CHECKSUMS[i - messageStart];
-        }
+        calculated ^= (int)CCITT_80_ENGINE.calculate(message, messageStart, crcStart - messageStart);
 
         int checksum = getIntChecksum(message, crcStart, 16);
 
@@ -164,7 +180,7 @@ public class CRCDMR
         }
         else
         {
-            int errorLocation = getBitError(residual, CCITT_80_CHECKSUMS);
+            int errorLocation = CCITT_80_ENGINE.getBitError(residual);
 
             if(errorLocation >= 0)
             {
@@ -190,13 +206,7 @@ public class CRCDMR
      */
     public static int calculateResidual(CorrectedBinaryMessage message, int messageStart, int crcStart)
     {
-        int calculated = 0; //Starting value
-
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart); i >= messageStart && i < crcStart; i = message.nextSetBit(i + 1))
-        {
-            calculated ^= CCITT_80_CHECKSUMS[i - messageStart];
-        }
+        int calculated = (int)CCITT_80_ENGINE.calculate(message, messageStart, crcStart - messageStart);
 
         int checksum = getIntChecksum(message, crcStart, 16);
         return calculated ^ checksum;
@@ -213,22 +223,11 @@ public class CRCDMR
     {
         int calculated = 0x0; //Initial fill of all ones
 
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart);
-            i >= messageStart && i < messageStart + 144;
-            i = message.nextSetBit(i + 1))
-        {
-            /* message bits before the CRC */
-            if(i < (messageStart + 7))
-            {
-                calculated ^= CRC9_CHECKSUMS[i - messageStart];
-            }
-            /* message bits after the CRC */
-            else if(i > (messageStart + 15))
-            {
-                calculated ^= CRC9_CHECKSUMS[i - messageStart - 9];
-            }
-        }
+        /* message bits before the CRC */
+        calculated ^= (int)CRC9_HEAD_ENGINE.calculate(message, messageStart, 7);
+
+        /* message bits after the CRC */
+        calculated ^= (int)CRC9_TAIL_ENGINE.calculate(message, messageStart + 16, 128);
 
         int checksum = message.getInt(messageStart + 7, messageStart + 15);
 
@@ -292,24 +291,39 @@ public class CRCDMR
         return -1;
     }
 
-    public static int crc8(BinaryMessage bits, int len) {
-        int crc=0;
-        final int K = 8;
-        final boolean[] poly = new boolean[]{true,false,false,false,false,false,true,true,true}; // crc8 poly
-        boolean[] buf = new boolean[256];
-        if (len+K > 256) {
+    /**
+     * Calculates the CRC-8 remainder for the first len bits of the message, processing whole octets by table lookup
+     * and any remaining bits one at a time.
+     * @param bits message
+     * @param len number of message bits
+     * @return CRC-8 remainder, or 0 if the message length exceeds 248 bits
+     */
+    public static int crc8(BinaryMessage bits, int len)
+    {
+        if(len + 8 > 256)
+        {
             return 0;
         }
-        for (int i=0; i<len; i++){
-            buf[i] = bits.get(i);
+
+        int crc = 0;
+        int index = 0;
+
+        for(; index + 8 <= len; index += 8)
+        {
+            crc = CRC8_TABLE[crc ^ bits.getInt(index, index + 7)];
         }
-        for (int i=0; i<len; i++)
-            if (buf[i])
-                for (int j=0; j<K+1; j++)
-                    buf[i+j] ^= poly[j];
-        for (int i=0; i<K; i++){
-            crc = (crc << 1) + (buf[len + i] ? 1:0);
+
+        for(; index < len; index++)
+        {
+            boolean feedback = ((crc & 0x80) != 0) ^ bits.get(index);
+            crc = (crc << 1) & 0xFF;
+
+            if(feedback)
+            {
+                crc ^= CRC8_POLYNOMIAL;
+            }
         }
+
         return crc;
     }
 }
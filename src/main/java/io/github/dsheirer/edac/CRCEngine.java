@@ -0,0 +1,278 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Table-driven CRC engine built from a per-bit checksum table (the checksum contributed by each set message bit, as
+ * produced by CRCUtil.generate()).
+ *
+ * The per-bit table is folded into one 256-entry lookup table per message octet, so the checksum is calculated one
+ * octet at a time with a single lookup per octet instead of one lookup per set bit.  Because each octet table is the
+ * XOR combination of the original per-bit entries, the calculated checksum is identical to iterating the set bits
+ * and XORing the per-bit table values.
+ *
+ * Single-bit error correction uses an open-addressed hash of checksum (syndrome) value to bit position so that
+ * locating the errant bit is a constant time lookup instead of a linear search of the checksum table.
+ */
+public class CRCEngine
+{
+    private static final int OCTET = 8;
+    private static final int EMPTY = -1;
+
+    private final long[] mChecksums;
+    private final long[][] mOctetTables;
+    private final long[] mSyndromes;
+    private final int[] mSyndromePositions;
+    private final int mSyndromeMask;
+
+    /**
+     * Constructs an instance
+     * @param checksums per-bit checksum table where the entry at index x is the checksum contributed by message bit x
+     */
+    public CRCEngine(long[] checksums)
+    {
+        mChecksums = checksums;
+
+        //Octet tables - each octet value (MSB first) maps to the XOR of the per-bit entries for the bits that are set
+        mOctetTables = new long[(checksums.length + OCTET - 1) / OCTET][];
+
+        for(int octet = 0; octet < mOctetTables.length; octet++)
+        {
+            int base = octet * OCTET;
+            int width = Math.min(OCTET, checksums.length - base);
+            long[] table = new long[1 << OCTET];
+
+            for(int value = 1; value < (1 << width); value++)
+            {
+                int lowestSetBit = Integer.numberOfTrailingZeros(value);
+                table[value] = table[value & (value - 1)] ^ checksums[base + width - 1 - lowestSetBit];
+            }
+
+            //Right-justify a short final octet so that partial reads can be left-aligned into the table
+            if(width < OCTET)
+            {
+                long[] aligned = new long[1 << OCTET];
+
+                for(int value = 0; value < aligned.length; value++)
+                {
+                    aligned[value] = table[value >>> (OCTET - width)];
+                }
+
+                table = aligned;
+            }
+
+            mOctetTables[octet] = table;
+        }
+
+        //Syndrome hash table sized to a power of two at least twice the entry count, first occurrence wins
+        int capacity = Integer.highestOneBit(Math.max(1, checksums.length) * 2) << 1;
+        mSyndromes = new long[capacity];
+        mSyndromePositions = new int[capacity];
+        mSyndromeMask = capacity - 1;
+        Arrays.fill(mSyndromePositions, EMPTY);
+
+        for(int x = 0; x < checksums.length; x++)
+        {
+            int slot = slot(checksums[x]);
+
+            while(mSyndromePositions[slot] != EMPTY && mSyndromes[slot] != checksums[x])
+            {
+                slot = (slot + 1) & mSyndromeMask;
+            }
+
+            if(mSyndromePositions[slot] == EMPTY)
+            {
+                mSyndromes[slot] = checksums[x];
+                mSyndromePositions[slot] = x;
+            }
+        }
+    }
+
+    /**
+     * Constructs an instance
+     * @param checksums per-bit checksum table where the entry at index x is the checksum contributed by message bit x
+     */
+    public CRCEngine(int[] checksums)
+    {
+        this(widen(checksums));
+    }
+
+    /**
+     * Constructs an instance
+     * @param checksums per-bit checksum table where the entry at index x is the checksum contributed by message bit x
+     */
+    public CRCEngine(short[] checksums)
+    {
+        this(widen(checksums));
+    }
+
+    /**
+     * Constructs an instance
+     * @param checksums per-bit checksum table where the entry at index x is the checksum contributed by message bit x
+     */
+    public CRCEngine(byte[] checksums)
+    {
+        this(widen(checksums));
+    }
+
+    /**
+     * Number of entries in the per-bit checksum table.
+     */
+    public int size()
+    {
+        return mChecksums.length;
+    }
+
+    /**
+     * Calculates the checksum for the message bits offset through offset + length - 1, where message bit offset + x
+     * uses checksum table entry x.
+     * @param message containing the bits
+     * @param offset to the first message bit
+     * @param length number of message bits, not to exceed the checksum table size
+     * @return calculated checksum
+     */
+    public long calculate(BinaryMessage message, int offset, int length)
+    {
+        long calculated = 0;
+        int octet = 0;
+
+        //Read up to 64 message bits at a time and look up each octet, MSB first
+        for(int index = 0; index < length; index += Long.SIZE)
+        {
+            int width = Math.min(Long.SIZE, length - index);
+            long bits = message.getLong(offset + index, offset + index + width - 1) << (Long.SIZE - width);
+
+            for(int x = 0; x < width; x += OCTET)
+            {
+                calculated ^= mOctetTables[octet++][(int)(bits >>> (Long.SIZE - OCTET))];
+                bits <<= OCTET;
+            }
+        }
+
+        return calculated;
+    }
+
+    /**
+     * Calculates the checksum for the message bits offset through offset + length - 1, where message bit offset + x
+     * uses checksum table entry x.
+     * @param message containing the bits
+     * @param offset to the first message bit
+     * @param length number of message bits, not to exceed the checksum table size
+     * @return calculated checksum
+     */
+    public long calculate(BitSet message, int offset, int length)
+    {
+        if(message instanceof BinaryMessage binaryMessage)
+        {
+            return calculate(binaryMessage, offset, length);
+        }
+
+        long[] words = message.toLongArray();
+        long calculated = 0;
+
+        for(int index = 0; index < length; index += OCTET)
+        {
+            int width = Math.min(OCTET, length - index);
+            int value = 0;
+
+            for(int x = 0; x < width; x++)
+            {
+                int bit = offset + index + x;
+                int word = bit >>> 6;
+                value = (value << 1) | (word < words.length ? (int)(words[word] >>> bit) & 1 : 0);
+            }
+
+            calculated ^= mOctetTables[index / OCTET][value << (OCTET - width)];
+        }
+
+        return calculated;
+    }
+
+    /**
+     * Identifies the single bit error position whose checksum table entry matches the syndrome (checksum error).
+     * @param syndrome to lookup
+     * @return lowest checksum table index with a matching entry, or -1 if there is no match
+     */
+    public int getBitError(long syndrome)
+    {
+        int slot = slot(syndrome);
+
+        while(mSyndromePositions[slot] != EMPTY)
+        {
+            if(mSyndromes[slot] == syndrome)
+            {
+                return mSyndromePositions[slot];
+            }
+
+            slot = (slot + 1) & mSyndromeMask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Hash table slot for the syndrome value.
+     */
+    private int slot(long syndrome)
+    {
+        long hash = syndrome * 0x9E3779B97F4A7C15l;
+        return (int)(hash ^ (hash >>> 32)) & mSyndromeMask;
+    }
+
+    private static long[] widen(int[] values)
+    {
+        long[] widened = new long[values.length];
+
+        for(int x = 0; x < values.length; x++)
+        {
+            widened[x] = values[x];
+        }
+
+        return widened;
+    }
+
+    private static long[] widen(short[] values)
+    {
+        long[] widened = new long[values.length];
+
+        for(int x = 0; x < values.length; x++)
+        {
+            widened[x] = values[x];
+        }
+
+        return widened;
+    }
+
+    private static long[] widen(byte[] values)
+    {
+        long[] widened = new long[values.length];
+
+        for(int x = 0; x < values.length; x++)
+        {
+            widened[x] = values[x];
+        }
+
+        return widened;
+    }
+}
@@ -102,6 +102,8 @@ public class CRCFleetsync
 		0x0001  //Bit 62
 	};
 
+	private static final CRCEngine sENGINE = new CRCEngine( sCHECKSUMS );
+
 	/**
 	 * Determines if message bits 0 - 47 pass the Fleetsync CRC checksum
 	 * contained in bits 48 - 63, using a lookup table of CRC checksum values
@@ -116,11 +118,8 @@ public class CRCFleetsync
 		//Check even parity
 		if( msg.cardinality() % 2 == 0 )
 		{
-			//Iterate bits that are set and XOR running checksum with lookup value
-			for (int i = msg.nextSetBit( 0 ); i >= 0 && i < 48; i = msg.nextSetBit( i+1 ) ) 
-			{
-				calculated ^= sCHECKSUMS[ i ];
-			}
+			//XOR running checksum with table lookup values for the message bits
+			calculated ^= (int)sENGINE.calculate( msg, 0, 48 );
 			
 			if( calculated == getChecksum( msg ) )
 			{
@@ -175,12 +174,9 @@ public class CRCFleetsync
 		//Remove the initial fill value (1)
 		checksum ^= 1;
 		
-		//Iterate set message bits, removing their respective checksum value
-    	//from the transmitted checksum, to arrive at the remainder
-		for (int i = msg.nextSetBit( 0 ); i >= 0 && i < 48; i = msg.nextSetBit( i+1 ) ) 
-		{
-			checksum ^= sCHECKSUMS[ i ];
-		}
+		//Remove the message bits checksum value from the transmitted checksum,
+		//to arrive at the remainder
+		checksum ^= (int)sENGINE.calculate( msg, 0, 48 );
 		
 		//If at this point the checksum is 0, then we have a parity bit error
 		if( checksum == 0 )
@@ -191,14 +187,13 @@ public class CRCFleetsync
 		//Otherwise, try to lookup the syndrome for a single bit error
 		else
 		{
-			for( int x = 0; x < 63; x++ )
+			int x = sENGINE.getBitError( checksum );
+
+			if( x >= 0 )
 			{
-				if( checksum == sCHECKSUMS[ x ] )
-				{
-					//return this bit position
-					retVal = new int[ 1 ];
-					retVal[ 0 ] = x;
-				}
+				//return this bit position
+				retVal = new int[ 1 ];
+				retVal[ 0 ] = x;
 			}
 		}
 
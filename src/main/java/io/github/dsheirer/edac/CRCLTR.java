@@ -63,6 +63,8 @@ public class CRCLTR
 		0x43  //Free 0 
 	};
 
+	private static final CRCEngine sENGINE = new CRCEngine( sCHECKSUMS );
+
 	/**
 	 * Determines if message bits 10 - 34 pass the LTR CRC checksum
 	 * contained in bits 35 - 41, using a lookup table of CRC checksum values
@@ -114,15 +116,8 @@ public class CRCLTR
 
 	public static int getCalculatedChecksum( BitSet msg  )
 	{
-		int calculated = 0;
-		
-		//Iterate bits that are set and XOR running checksum with lookup value
-		for (int i = msg.nextSetBit( 9 ); i >= 9 && i < 33; i = msg.nextSetBit( i+1 ) ) 
-		{
-			calculated ^= sCHECKSUMS[ i - 9 ];
-		}
-		
-		return calculated;
+		//XOR of the table lookup values for the set message bits
+		return (int)sENGINE.calculate( msg, 9, 24 );
 	}
 	
 	/**
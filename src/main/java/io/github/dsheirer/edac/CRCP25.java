@@ -277,13 +277,27 @@ public class CRCP25
             0x3331, 0x9188, 0x48C4, 0x2462, 0x1231, 0x8108, 0x4084, 0x2042, 0x1021, 0x1, 0x2, 0x4, 0x8, 0x10, 0x20,
             0x40, 0x80, 0x100, 0x200, 0x400, 0x800, 0x1000, 0x2000, 0x4000, 0x8000};
 
+    /**
+     * Table-driven CRC engines for each of the checksum tables.  The CRC-9 checksum is located within the message, so
+     * the message bits that precede and follow the checksum each have an engine.
+     */
+    private static final CRCEngine CCITT_80_ENGINE = new CRCEngine(CCITT_80_CHECKSUMS);
+    private static final CRCEngine CRC9_HEAD_ENGINE = new CRCEngine(Arrays.copyOfRange(CRC9_CHECKSUMS, 0, 7));
+    private static final CRCEngine CRC9_TAIL_ENGINE = new CRCEngine(Arrays.copyOfRange(CRC9_CHECKSUMS, 7, 135));
+    private static final CRCEngine PDU1_ENGINE = new CRCEngine(PDU1_CHECKSUMS);
+    private static final CRCEngine PDU2_ENGINE = new CRCEngine(PDU2_CHECKSUMS);
+    private static final CRCEngine PDU3_ENGINE = new CRCEngine(PDU3_CHECKSUMS);
+    private static final CRCEngine CRC_12_FACCH_ENGINE = new CRCEngine(CRC_12_FACCH);
+    private static final CRCEngine CRC_12_SACCH_ENGINE = new CRCEngine(CRC_12_SACCH);
+    private static final CRCEngine CRC_16_LCCH_ENGINE = new CRCEngine(CRC_16_LCCH);
+
     /**
      * Performs error detection and single-bit error correction against the
      * data blocks of a PDU1 message.
      */
     public static BinaryMessage correctPDU1(BinaryMessage message)
     {
-        return correctPDU(message, PDU1_CHECKSUMS, 224);
+        return correctPDU(message, PDU1_ENGINE, 224);
     }
 
     /**
@@ -292,7 +306,7 @@ public class CRCP25
      */
     public static BinaryMessage correctPDU2(BinaryMessage message)
     {
-        return correctPDU(message, PDU2_CHECKSUMS, 320);
+        return correctPDU(message, PDU2_ENGINE, 320);
     }
 
     /**
@@ -301,22 +315,21 @@ public class CRCP25
      */
     public static BinaryMessage correctPDU3(BinaryMessage message)
     {
-        return correctPDU(message, PDU3_CHECKSUMS, 416);
+        return correctPDU(message, PDU3_ENGINE, 416);
     }
 
-    public static BinaryMessage correctPDU(BinaryMessage message, long[] checksums, int crcStart)
+    /**
+     * Performs error detection and single-bit error correction against the data blocks of a PDU message.
+     * @param message to correct
+     * @param engine for the PDU length
+     * @param crcStart index of the CRC-32 checksum
+     * @return message
+     */
+    private static BinaryMessage correctPDU(BinaryMessage message, CRCEngine engine, int crcStart)
     {
-        long calculated = 0; //Starting value
-
         int messageStart = 160;
 
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart);
-            i >= messageStart && i < crcStart;
-            i = message.nextSetBit(i + 1))
-        {
-            calculated ^= checksums[i - messageStart];
-        }
+        long calculated = engine.calculate(message, messageStart, crcStart - messageStart);
 
         long checksum = getLongChecksum(message, crcStart, 32);
 
@@ -330,7 +343,7 @@ public class CRCP25
         }
         else
         {
-            int errorLocation = getBitError(error, checksums);
+            int errorLocation = engine.getBitError(error);
 
             if(errorLocation >= 0)
             {
@@ -355,15 +368,7 @@ public class CRCP25
                                                int messageStart,
                                                int crcStart)
     {
-        int calculated = 0; //Starting value
-
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart);
-            i >= messageStart && i < crcStart;
-            i = message.nextSetBit(i + 1))
-        {
-            calculated ^= CCITT_80_CHECKSUMS[i - messageStart];
-        }
+        int calculated = (int)CCITT_80_ENGINE.calculate(message, messageStart, crcStart - messageStart);
 
         int checksum = getIntChecksum(message, crcStart, 16);
 
@@ -377,7 +382,7 @@ public class CRCP25
         }
         else
         {
-            int errorLocation = getBitError(residual, CCITT_80_CHECKSUMS);
+            int errorLocation = CCITT_80_ENGINE.getBitError(residual);
 
             if(errorLocation >= 0)
             {
@@ -401,12 +406,7 @@ public class CRCP25
     public static int correctCCITT80(CorrectedBinaryMessage message, int messageStart, int crcStart)
     {
         int calculated = 0xFFFF; //Starting value
-
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart); i >= messageStart && i < crcStart; i = message.nextSetBit(i + 1))
-        {
-            calculated ^= CCITT_80_CHECKSUMS[i - messageStart];
-        }
+        calculated ^= (int)CCITT_80_ENGINE.calculate(message, messageStart, crcStart - messageStart);
 
         int checksum = getIntChecksum(message, crcStart, 16);
 
@@ -418,7 +418,7 @@ public class CRCP25
         }
         else
         {
-            int errorLocation = getBitError(residual, CCITT_80_CHECKSUMS);
+            int errorLocation = CCITT_80_ENGINE.getBitError(residual);
 
             if(errorLocation >= 0)
             {
@@ -445,22 +445,11 @@ public class CRCP25
     {
         int calculated = 0x0; //Initial fill of all ones
 
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart);
-            i >= messageStart && i < messageStart + 144;
-            i = message.nextSetBit(i + 1))
-        {
-            /* message bits before the CRC */
-            if(i < (messageStart + 7))
-            {
-                calculated ^= CRC9_CHECKSUMS[i - messageStart];
-            }
-            /* message bits after the CRC */
-            else if(i > (messageStart + 15))
-            {
-                calculated ^= CRC9_CHECKSUMS[i - messageStart - 9];
-            }
-        }
+        /* message bits before the CRC */
+        calculated ^= (int)CRC9_HEAD_ENGINE.calculate(message, messageStart, 7);
+
+        /* message bits after the CRC */
+        calculated ^= (int)CRC9_TAIL_ENGINE.calculate(message, messageStart + 16, 128);
 
         int checksum = message.getInt(messageStart + 7, messageStart + 15);
         int residual = calculated ^ checksum;
@@ -511,11 +500,7 @@ public class CRCP25
     {
         int calculated = 0xFFF; //Initial fill of all ones.
 
-        //Iterate the set bits and XOR the running checksum with pre-calculated lookup value
-        for(int i = message.nextSetBit(0); i >= 0 && i < 144; i = message.nextSetBit(i + 1))
-        {
-            calculated ^= CRC_12_FACCH[i];
-        }
+        calculated ^= (int)CRC_12_FACCH_ENGINE.calculate(message, 0, 144);
 
         int checksum = message.getInt(144, 155); //12-bit transmitted checksum
         int residual = calculated ^ checksum;
@@ -534,11 +519,7 @@ public class CRCP25
     {
         int calculated = 0xFFF; //Initial fill of all ones.
 
-        //Iterate the set bits and XOR the running checksum with pre-calculated lookup value
-        for(int i = message.nextSetBit(0); i >= 0 && i < 168; i = message.nextSetBit(i + 1))
-        {
-            calculated ^= CRC_12_SACCH[i];
-        }
+        calculated ^= (int)CRC_12_SACCH_ENGINE.calculate(message, 0, 168);
 
         int checksum = message.getInt(168, 179); //12-bit transmitted checksum
         int residual = calculated ^ checksum;
@@ -557,11 +538,7 @@ public class CRCP25
     {
         int calculated = 0xFFFF; //Initial fill of all ones.
 
-        //Iterate the set bits and XOR the running checksum with pre-calculated lookup value
-        for(int i = message.nextSetBit(0); i >= 0 && i < 164; i = message.nextSetBit(i + 1))
-        {
-            calculated ^= CRC_16_LCCH[i];
-        }
+        calculated ^= (int)CRC_16_LCCH_ENGINE.calculate(message, 0, 164);
 
         int checksum = message.getInt(164, 179); //16-bit transmitted checksum
         int residual = calculated ^ checksum;
@@ -587,6 +564,8 @@ public class CRCP25
 
     /**
      * Identifies any single bit error position that matches the checksum error.
+     *
+     * Note: this is a linear search of the checksums table.  Use a CRCEngine for constant time lookup.
      */
     public static int getBitError(long checksumError, long[] checksums)
     {
@@ -603,6 +582,8 @@ public class CRCP25
 
     /**
      * Identifies any single bit error position that matches the checksum error.
+     *
+     * Note: this is a linear search of the checksums table.  Use a CRCEngine for constant time lookup.
      */
     public static int getBitError(int checksumError, int[] checksums)
     {
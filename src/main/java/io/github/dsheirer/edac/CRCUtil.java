@@ -27,6 +27,22 @@ public class CRCUtil
 {
     private final static Logger mLog = LoggerFactory.getLogger(CRCUtil.class);
 
+    /**
+     * Generates the per-bit checksum table for a message, where the entry at index x is the checksum (remainder plus
+     * initial fill) for a message with only bit x set.  Optionally appends one entry per checksum bit representing a
+     * single bit error in the checksum itself.
+     *
+     * The remainder for each message bit is calculated with a shift register (multiply by x modulo the polynomial),
+     * working backward from the final message bit, which produces the same values as binary division of each single
+     * bit message.
+     *
+     * @param messageSize in bits
+     * @param crcSize in bits
+     * @param polynomial generator polynomial, one bit longer than the crc size
+     * @param initialFill loaded into the checksum bits before division
+     * @param includeCRCBitErrors to append the checksum bit error entries
+     * @return checksum table
+     */
     public static long[] generate(int messageSize,
                                   int crcSize,
                                   long polynomial,
@@ -35,26 +51,22 @@ public class CRCUtil
     {
         long[] crcTable = new long[messageSize + (includeCRCBitErrors ? crcSize : 0)];
 
-        int[] checksumIndexes = new int[crcSize];
+        long crcMask = crcSize >= 64 ? -1l : (1l << crcSize) - 1;
+        long fill = initialFill & crcMask;
+        long feedback = polynomial & crcMask;
+
+        //Remainder of x^crcSize for the final message bit
+        long remainder = 1;
 
         for(int x = 0; x < crcSize; x++)
         {
-            checksumIndexes[x] = messageSize + x;
+            remainder = multiplyByX(remainder, feedback, crcSize, crcMask);
         }
 
-        for(int x = 0; x < messageSize; x++)
+        for(int x = messageSize - 1; x >= 0; x--)
         {
-            BinaryMessage message = new BinaryMessage(messageSize + crcSize);
-
-            message.load(messageSize, crcSize, initialFill);
-
-            message.set(x);
-
-            message = decode(message, 0, messageSize, polynomial, crcSize);
-
-            long checksum = message.getLong(checksumIndexes);
-
-            crcTable[x] = checksum;
+            crcTable[x] = remainder ^ fill;
+            remainder = multiplyByX(remainder, feedback, crcSize, crcMask);
         }
 
         if(includeCRCBitErrors)
@@ -68,6 +80,16 @@ public class CRCUtil
         return crcTable;
     }
 
+    /**
+     * Multiplies the remainder by x, modulo the generator polynomial.
+     */
+    private static long multiplyByX(long remainder, long feedback, int crcSize, long crcMask)
+    {
+        boolean carry = ((remainder >>> (crcSize - 1)) & 1) == 1;
+        remainder = (remainder << 1) & crcMask;
+        return carry ? remainder ^ feedback : remainder;
+    }
+
     /**
      * Generates the checksum table and treats the final bit of each check value
      * as a parity bit that complies with the request parity argument.
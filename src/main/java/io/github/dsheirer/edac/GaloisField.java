@@ -0,0 +1,173 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.edac;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Galois Field GF(2^m) arithmetic using exponent (antilog) and logarithm lookup tables.
+ *
+ * Fields are immutable and are created once per primitive polynomial and shared by all Reed-Solomon and BCH decoders
+ * that use the same field.  Use getInstance() to access a field.
+ *
+ * Elements are represented in polynomial form as integers 0 <> 2^m - 1.  The log of an element is its power of the
+ * primitive element alpha (index form) and the log of zero is -1.  The exponent table is double length so that the
+ * sum of two logs can be used as an index without a modulo operation.
+ */
+public class GaloisField
+{
+    private static final Map<Integer,GaloisField> FIELDS = new ConcurrentHashMap<>();
+
+    private final int mBitSize;
+    private final int mOrder;
+    private final int[] mExponents;
+    private final int[] mLogs;
+
+    /**
+     * Constructs an instance.  Use the getInstance() method to access a shared instance.
+     * @param bitSize of the field elements, m
+     * @param primitivePolynomial for the field with bit m set
+     */
+    private GaloisField(int bitSize, int primitivePolynomial)
+    {
+        mBitSize = bitSize;
+        mOrder = (1 << bitSize) - 1;
+        mExponents = new int[mOrder * 2];
+        mLogs = new int[mOrder + 1];
+
+        int element = 1;
+
+        for(int x = 0; x < mOrder; x++)
+        {
+            mExponents[x] = element;
+            mExponents[x + mOrder] = element;
+            mLogs[element] = x;
+
+            element <<= 1;
+
+            if((element & (1 << bitSize)) != 0)
+            {
+                element ^= primitivePolynomial;
+            }
+        }
+
+        mLogs[0] = -1;
+    }
+
+    /**
+     * Access the shared Galois Field for the primitive polynomial.
+     *
+     * @param bitSize as a power of 2, e.g. for a GF(2^6) the parameter would be 6
+     * @param generatorPolynomial for the Galois Field represented in binary as 0/1 integers where the array is in
+     * big-endian format.  For example: polynomial a6 + a1 + 1 is 1000011, as big endian: 1100001, and in array
+     * form as {1,1,0,0,0,0,1}
+     * @return shared field instance
+     */
+    public static GaloisField getInstance(int bitSize, int[] generatorPolynomial)
+    {
+        Validate.isTrue(bitSize == generatorPolynomial.length - 1,
+            "Generator polynomial length must be: bitSize + 1");
+
+        int polynomial = 0;
+
+        for(int x = 0; x < generatorPolynomial.length; x++)
+        {
+            if(generatorPolynomial[x] != 0)
+            {
+                polynomial |= (1 << x);
+            }
+        }
+
+        Validate.isTrue((polynomial & (1 << bitSize)) != 0, "Generator polynomial must have degree: bitSize");
+
+        return FIELDS.computeIfAbsent(polynomial, p -> new GaloisField(bitSize, p));
+    }
+
+    /**
+     * Size of field elements in bits, m
+     */
+    public int getBitSize()
+    {
+        return mBitSize;
+    }
+
+    /**
+     * Number of non-zero field elements (2^m - 1), which is also the full (non-shortened) RS/BCH codeword length.
+     */
+    public int getOrder()
+    {
+        return mOrder;
+    }
+
+    /**
+     * Element in polynomial form for the power of alpha.
+     * @param power of alpha, 0 or greater
+     * @return element
+     */
+    public int exp(int power)
+    {
+        return mExponents[power % mOrder];
+    }
+
+    /**
+     * Power of alpha (index form) for the element.
+     * @param element in polynomial form
+     * @return power of alpha or -1 for the zero element
+     */
+    public int log(int element)
+    {
+        return mLogs[element];
+    }
+
+    /**
+     * Multiplies the two elements.
+     * @param a element in polynomial form
+     * @param b element in polynomial form
+     * @return product in polynomial form
+     */
+    public int multiply(int a, int b)
+    {
+        if(a == 0 || b == 0)
+        {
+            return 0;
+        }
+
+        return mExponents[mLogs[a] + mLogs[b]];
+    }
+
+    /**
+     * Exponent (antilog) lookup table, indexed 0 <> (2 x order - 1).  This is the shared table and must not be
+     * modified.
+     */
+    int[] getExponentTable()
+    {
+        return mExponents;
+    }
+
+    /**
+     * Logarithm lookup table, indexed by element 0 <> order.  This is the shared table and must not be modified.
+     */
+    int[] getLogTable()
+    {
+        return mLogs;
+    }
+}
@@ -41,16 +41,24 @@ public class Golay18
     {
         int value = message.getInt(startIndex, startIndex + 17);
 
-        CorrectedBinaryMessage temp = new CorrectedBinaryMessage(24);
-        temp.load(6, 18, value);
+        //The 18-bit value occupies the right-most bits of the 24-bit codeword with the left-most 6 bits set to zero
+        int errorPattern = Golay24.getErrorPattern(value);
 
-        int errorsCorrected = Golay24.checkAndCorrect(temp, 0);
+        if(errorPattern != SyndromeDecoder.UNCORRECTABLE)
+        {
+            //Errors detected in the zero-valued left-most 6 bits don't apply to the message
+            int corrections = errorPattern & 0x3FFFF;
 
-        int correctedValue = temp.getInt(6, 23);
+            if(corrections != 0)
+            {
+                message.incrementCorrectedBitCount(Integer.bitCount(corrections));
 
-        message.load(startIndex, 18, correctedValue);
-
-        int correctedBitCount = Integer.bitCount(value ^ correctedValue);
-        message.incrementCorrectedBitCount(correctedBitCount);
+                while(corrections != 0)
+                {
+                    message.flip(startIndex + 17 - Integer.numberOfTrailingZeros(corrections));
+                    corrections &= corrections - 1;
+                }
+            }
+        }
     }
 }
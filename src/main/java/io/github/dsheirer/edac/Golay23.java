@@ -13,6 +13,25 @@ public class Golay23
 	    0x040, 0x020, 0x010, 0x008, 0x004, 0x002, 0x001 
 	};
 
+	/**
+	 * Golay(23,12,7) is a perfect code where every 11-bit syndrome maps to
+	 * exactly one error pattern of 3 or fewer bits, so decoding is a single
+	 * table lookup.  The table is built on first use and shared.
+	 */
+	private static final class Decoder
+	{
+		private static final SyndromeDecoder INSTANCE =
+			new SyndromeDecoder( CHECKSUMS, 12, 11, MAX_CORRECTABLE_ERRORS );
+	}
+
+	/**
+	 * Shared syndrome decoder for the Golay(23,12,7) code
+	 */
+	static SyndromeDecoder getDecoder()
+	{
+		return Decoder.INSTANCE;
+	}
+
 	/**
 	 * Implements Golay(23,12,7) error detection and correction.  Returns the
 	 * number of detected errors.  If the error count is less than or equal to
@@ -27,102 +46,30 @@ public class Golay23
 	 */
 	public static int checkAndCorrect( BinaryMessage frame, int startIndex )
 	{
-		int syndrome = getSyndrome( frame, startIndex );
-		
-		/* No errors */
-		if( syndrome == 0 )
-		{
-			return 0;
-		}
-		
-		BinaryMessage copy = frame.getSubMessage( startIndex, startIndex + 23 );
-
-		int index = -1;
-		int syndromeWeight = MAX_CORRECTABLE_ERRORS;
-		int errors = 0;
-		
-		while( index < 23 )
-		{
-			if( index != -1 )
-			{
-				/* restore the previous flipped bit */
-				if( index > 0 )
-				{
-					copy.flip( index - 1 );
-				}
-				
-				copy.flip( index );
-				
-				syndromeWeight = MAX_CORRECTABLE_ERRORS - 1;
-			}
-			
-			syndrome = getSyndrome( copy, 0 );
-			
-			if( syndrome > 0 )
-			{
-				for( int i = 0; i < 23; i++ )
-				{
-					errors = Integer.bitCount( syndrome );
-					
-					if( errors <= syndromeWeight )
-					{
-						copy.xor( 12, 11, syndrome );
-						
-						copy.rotateRight( i, 0, 22 );
-
-						if( index >= 0 )
-						{
-							errors ++;
-						}
+		SyndromeDecoder decoder = getDecoder();
 
-						int corrected = copy.getInt( 0, 22 );
-						int original = frame.getInt( startIndex, startIndex + 22 );
-						
-						int errorCount = Integer.bitCount( original ^ corrected );
-						
-						if( errorCount <= 3 )
-						{
-							frame.load( startIndex, 23, corrected );
-						}
-
-						return errorCount;
-					}
-					else
-					{
-						copy.rotateLeft( 0, 22 );
-						syndrome = getSyndrome( copy, 0 );
-					}
-				}
-				
-				index++;
-			}
-		}
+		int errorPattern = decoder.getErrorPattern( decoder.getCodeword( frame, startIndex ) );
 
 		/* Return an error count greater than 3 to indicate failed correction attempt */
-		return 4;
-	}
+		if( errorPattern == SyndromeDecoder.UNCORRECTABLE )
+		{
+			return MAX_CORRECTABLE_ERRORS + 1;
+		}
 
-	private static int getSyndrome( BinaryMessage frame, int startIndex )
-	{
-		int calculated = calculateChecksum( frame, startIndex );
-		
-		int checksum = frame.getInt( startIndex + 12, startIndex + 22 );
+		decoder.correct( frame, startIndex, errorPattern );
 
-		return ( checksum ^ calculated );
+		return Integer.bitCount( errorPattern );
 	}
-	
-	private static int calculateChecksum( BinaryMessage frame, int startIndex )
-	{
-		int calculated = 0; //Starting value
 
-		/* Iterate the set bits and XOR running checksum with lookup value */
-		for (int i = frame.nextSetBit( startIndex ); 
-				 i >= startIndex && i < startIndex + 12; 
-				 i = frame.nextSetBit( i+1 ) ) 
-		{
-			calculated ^= CHECKSUMS[ i - startIndex ];
-		}
-		
-		return calculated;
+	/**
+	 * Error pattern for a packed 23-bit codeword (12 data bits followed by
+	 * 11 check bits).  XOR the error pattern with the codeword to correct it.
+	 * 
+	 * @param codeword - packed 23-bit codeword
+	 * @return - error pattern, or SyndromeDecoder.UNCORRECTABLE
+	 */
+	public static int getErrorPattern( int codeword )
+	{
+		return getDecoder().getErrorPattern( codeword );
 	}
 }
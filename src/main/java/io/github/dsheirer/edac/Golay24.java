@@ -43,120 +43,73 @@ public class Golay24
                     0x040, 0x020, 0x010, 0x008, 0x004, 0x002, 0x001
             };
 
-    private static int calculateChecksum(BinaryMessage message, int startIndex)
-    {
-        int calculated = 0; //Starting value
-
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(startIndex);
-            i >= startIndex && i < startIndex + 12;
-            i = message.nextSetBit(i + 1))
-        {
-            calculated ^= CHECKSUMS[i - startIndex];
-        }
-
-        return calculated;
-    }
-
     /**
-     * Performs error detection and returns a corrected copy of the 24-bit
-     * message that starts at the start index.
+     * Performs error detection and correction of the 24-bit codeword that starts at the start index.  Up to 3 bit
+     * errors are corrected and 4 bit errors are detected.
      *
      * @param message - source message containing startIndex + 24 bits length
      * @param startIndex - start of the 24-bit galois 24 protected bit set
-     * @return - corrected 24-bit galois value
+     * @return 0 = no errors, 1 = errors were corrected, 2 = uncorrectable errors were detected
      */
     public static int checkAndCorrect(CorrectedBinaryMessage message, int startIndex)
     {
-        boolean parityError = message.cardinality() % 2 != 0;
+        int errorPattern = getErrorPattern(message.getInt(startIndex, startIndex + 23));
 
-        int syndrome = getSyndrome(message, startIndex);
-
-        /* No errors */
-        if(syndrome == 0)
+        if(errorPattern == SyndromeDecoder.UNCORRECTABLE)
         {
-            if(parityError)
-            {
-                message.flip(startIndex + 23);
-                message.incrementCorrectedBitCount(1);
-                return 1;
-            }
+            return 2;
+        }
 
+        if(errorPattern == 0)
+        {
             return 0;
         }
 
-        /* Get original message value */
-        int original = message.getInt(0, 22);
-
-        int index = -1;
-        int syndromeWeight = 3;
-        int errors = 0;
+        //Flip only the error bits, where bit 0 of the error pattern is the parity bit at start index + 23
+        int pattern = errorPattern;
 
-        while(index < 23)
+        while(pattern != 0)
         {
-            if(index != -1)
-            {
-                /* restore the previous flipped bit */
-                if(index > 0)
-                {
-                    message.flip(index - 1);
-                }
-
-                message.flip(index);
-
-                syndromeWeight = 2;
-            }
-
-            syndrome = getSyndrome(message, startIndex);
-
-            if(syndrome > 0)
-            {
-                for(int i = 0; i < 23; i++)
-                {
-
-                    errors = Integer.bitCount(syndrome);
-
-                    if(errors <= syndromeWeight)
-                    {
-                        message.xor(12, 11, syndrome);
-
-                        message.rotateRight(i, startIndex, startIndex + 22);
-
-                        if(index >= 0)
-                        {
-                            errors++;
-                        }
+            message.flip(startIndex + 23 - Integer.numberOfTrailingZeros(pattern));
+            pattern &= pattern - 1;
+        }
 
-                        int corrected = message.getInt(0, 22);
+        message.incrementCorrectedBitCount(Integer.bitCount(errorPattern));
 
-                        if(Integer.bitCount(original ^ corrected) > 3)
-                        {
-                            return 2;
-                        }
+        return 1;
+    }
 
-                        return 1;
-                    }
-                    else
-                    {
-                        message.rotateLeft(startIndex, startIndex + 22);
-                        syndrome = getSyndrome(message, startIndex);
-                    }
-                }
+    /**
+     * Error pattern for a packed 24-bit codeword (12 data bits, 11 check bits and an even parity bit).  The
+     * Golay(23,12,7) syndrome table identifies up to 3 bit errors in the first 23 bits and the overall parity
+     * identifies whether the parity bit is also in error.  A correction that would require more than 3 bit flips
+     * indicates 4 bit errors, which are detected but not correctable.
+     *
+     * @param codeword packed 24-bit codeword
+     * @return error pattern to XOR with the codeword, or SyndromeDecoder.UNCORRECTABLE
+     */
+    public static int getErrorPattern(int codeword)
+    {
+        int errorPattern = Golay23.getErrorPattern(codeword >>> 1);
 
-                index++;
-            }
+        if(errorPattern == SyndromeDecoder.UNCORRECTABLE)
+        {
+            return SyndromeDecoder.UNCORRECTABLE;
         }
 
-        return 2;
-    }
+        errorPattern <<= 1;
 
-    private static int getSyndrome(BinaryMessage message, int startIndex)
-    {
-        int calculated = calculateChecksum(message, startIndex);
+        if(Integer.bitCount(codeword ^ errorPattern) % 2 != 0)
+        {
+            errorPattern |= 1;
+        }
 
-        int checksum = message.getInt(startIndex + 12, startIndex + 22);
+        if(Integer.bitCount(errorPattern) > 3)
+        {
+            return SyndromeDecoder.UNCORRECTABLE;
+        }
 
-        return (checksum ^ calculated);
+        return errorPattern;
     }
 
     public static void main(String[] args)
@@ -11,6 +11,14 @@ public class Hamming13
     private static int[] CHECKSUMS = new int[]{0xF, 0xE, 0x7, 0xA, 0x5, 0XB, 0xC, 0x6, 0x3};
     private static int[] ERROR_INDEX = new int[]{-1, 12, 11, 8, 10, 4, 7, 2, 9, -1, 3, 5, 6, -1, 1, 0, -1};
 
+    /**
+     * Lazy holder for the shared syndrome lookup table
+     */
+    private static final class Decoder
+    {
+        private static final SyndromeDecoder INSTANCE = new SyndromeDecoder(CHECKSUMS, 9, 4, 1);
+    }
+
     /**
      * Calculates the bit error index of the Hamming(13,9,3) protected word that is contained in the binary message
      * starting at the specified offset.
@@ -61,69 +69,26 @@ public class Hamming13
     }
 
     /**
-     * Calculates the parity checksum (Parity 8,4,2,1) for data (9 <> 1 ) bits.
+     * Calculates the syndrome as the xor of the calculated checksum and the actual checksum.
      *
-     * @param message containing Hamming(15) protected word
-     * @param offset to the Hamming protected word
-     * @return parity value, 0 - 15
+     * @param message containing a hamming(13,9,3) protected word
+     * @param offset to bit 0 of the hamming protected word
+     * @return syndrome that can be used with the ERROR_INDEX error to find the index of the bit position error
      */
-    private static int calculateChecksum(BinaryMessage message, int offset)
-    {
-        int calculated = 0; //Starting value
-
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(offset); i >= offset && i < offset + 9; i = message.nextSetBit(i + 1))
-        {
-            calculated ^= CHECKSUMS[i - offset];
-        }
-
-        return calculated;
-    }
-
-    private static int calculateChecksum(BinaryMessage message, int[] indices)
-    {
-        int calculated = 0; //Starting value
-
-        for(int x = 0; x < 9; x++)
-        {
-            if(message.get(indices[x]))
-            {
-                calculated ^= CHECKSUMS[x];
-            }
-        }
-
-        return calculated;
-    }
-
-    private static int getSyndrome(BinaryMessage message, int[] indices)
+    private static int getSyndrome(BinaryMessage message, int offset)
     {
-        int calculated = calculateChecksum(message, indices);
-
-        int checksum = 0;
-        for(int x = 9; x < 13; x++)
-        {
-            checksum = Integer.rotateLeft(checksum, 1);
-
-            if(message.get(indices[x]))
-            {
-                checksum++;
-            }
-        }
-
-        return calculated ^ checksum;
+        return Decoder.INSTANCE.getSyndrome(message.getInt(offset, offset + 12));
     }
 
     /**
-     * Calculates the syndrome as the xor of the calculated checksum and the actual checksum.
+     * Calculates the syndrome for the hamming(13,9,3) protected word at the specified indices.
      *
-     * @param message containing a hamming(15,11,3) protected word
-     * @param offset to bit 0 of the hamming protected word
+     * @param message containing a hamming(13,9,3) protected word
+     * @param indices to the bits of the hamming protected word
      * @return syndrome that can be used with the ERROR_INDEX error to find the index of the bit position error
      */
-    private static int getSyndrome(BinaryMessage message, int offset)
+    private static int getSyndrome(BinaryMessage message, int[] indices)
     {
-        int calculated = calculateChecksum(message, offset);
-        int checksum = message.getInt(offset + 9, offset + 12);
-        return (checksum ^ calculated);
+        return Decoder.INSTANCE.getSyndrome(message.getInt(indices));
     }
 }
@@ -9,6 +9,14 @@ public class Hamming16
 {
     private static int[] CHECKSUMS = new int[]{0x13, 0x1A, 0x1F, 0x1C, 0x0E, 0x15, 0x0B, 0x16, 0x19, 0x0D, 0x07};
 
+    /**
+     * Lazy holder for the shared syndrome lookup table
+     */
+    private static final class Decoder
+    {
+        private static final SyndromeDecoder INSTANCE = new SyndromeDecoder(CHECKSUMS, 11, 5, 1);
+    }
+
     /**
      * Performs error detection and correction of any single-bit errors and detection of any double-bit errors (SECDED)
      *
@@ -20,101 +28,29 @@ public class Hamming16
      */
     public static int checkAndCorrect(BinaryMessage frame, int startIndex)
     {
-        int syndrome = getSyndrome(frame, startIndex);
+        int errorPattern = getErrorPattern(frame.getInt(startIndex, startIndex + 15));
 
-        switch(syndrome)
+        if(errorPattern == 0)
         {
-            case 0:
-                return 0;
-            case 1:
-                frame.flip(startIndex + 15); //Parity 1
-                return 1;
-            case 2:
-                frame.flip(startIndex + 14); //Parity 2
-                return 1;
-            case 3:
-                frame.flip(startIndex + 10); //Data 1
-                return 1;
-            case 4:
-                frame.flip(startIndex + 13); //Parity 4
-                return 1;
-            case 5:
-                frame.flip(startIndex + 9); //Data 2
-                return 1;
-            case 6:
-                frame.flip(startIndex + 8); //Data 3
-                return 1;
-            case 7:
-                frame.flip(startIndex + 7); //Data 4
-                return 1;
-            case 8:
-                frame.flip(startIndex + 12); //Parity 8
-                return 1;
-            case 9:
-                frame.flip(startIndex + 6); //Data 5
-                return 1;
-            case 10:
-                frame.flip(startIndex + 5); //Data 6
-                return 1;
-            case 11:
-                frame.flip(startIndex + 4); //Data 7
-                return 1;
-            case 12:
-                frame.flip(startIndex + 3); //Data 8
-                return 1;
-            case 13:
-                frame.flip(startIndex + 2); //Data 9
-                return 1;
-            case 14:
-                frame.flip(startIndex + 1); //Data 10
-                return 1;
-            case 15:
-                frame.flip(startIndex); //Data 11
-                return 1;
-            case 16:
-                frame.flip(startIndex + 11); //Parity 16
-                return 1;
-            default:
-                return 2;
+            return 0;
         }
-    }
-
-    /**
-     * Calculates the checksum (Parity 16,8,4,2,1) for data (11 <> 1 ) bits.
-     *
-     * @param frame - frame containing hamming protected word
-     * @param startIndex - start bit index of the hamming protected word
-     * @return parity value, 0 - 16
-     */
-    private static int calculateChecksum(BinaryMessage frame, int startIndex)
-    {
-        int calculated = 0; //Starting value
-
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = frame.nextSetBit(startIndex);
-            i >= startIndex && i < startIndex + 11;
-            i = frame.nextSetBit(i + 1))
+        else if(errorPattern == SyndromeDecoder.UNCORRECTABLE)
         {
-            calculated ^= CHECKSUMS[i - startIndex];
+            return 2;
         }
 
-        return calculated;
+        frame.flip(startIndex + 15 - Integer.numberOfTrailingZeros(errorPattern));
+        return 1;
     }
 
     /**
-     * Calculates the syndrome - xor of the calculated checksum and the actual
-     * checksum.
+     * Error pattern lookup for a hamming(16,11) codeword packed into an integer, data bits first.
      *
-     * @param frame - binary frame containing a hamming(16,11,5) protected word
-     * @param startIndex - of bit 0 of the hamming protected word
-     * @return - 0 (no errors) or 1 (single bit error corrected)
+     * @param codeword to check
+     * @return single-bit error pattern, 0 for no errors, or SyndromeDecoder.UNCORRECTABLE
      */
-    private static int getSyndrome(BinaryMessage frame, int startIndex)
+    public static int getErrorPattern(int codeword)
     {
-        int calculated = calculateChecksum(frame, startIndex);
-
-        int checksum = frame.getInt(startIndex + 11, startIndex + 15);
-
-        return (checksum ^ calculated);
+        return Decoder.INSTANCE.getErrorPattern(codeword);
     }
 }
@@ -0,0 +1,209 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import java.util.Arrays;
+
+/**
+ * Table-driven syndrome decoder for short systematic binary block codes (e.g. Golay and Hamming) where the codeword
+ * is packed into an integer, most significant bit first, with the data bits followed by the check bits.
+ *
+ * The decoder is built from the checksum (syndrome column) for each data bit.  The check bits use the identity
+ * columns, so a single-bit error in check bit j produces a syndrome with only bit (checkBitLength - 1 - j) set.  Two
+ * lookup tables are built once:
+ *
+ * - checksum for each packed data value, so that the syndrome is a single lookup and XOR
+ * - error pattern for each syndrome, enumerated in order of increasing error weight up to the maximum correctable
+ * error count, so that the lowest weight error pattern wins when syndromes collide.
+ *
+ * Instances are immutable and can be shared across threads.
+ */
+public class SyndromeDecoder
+{
+    /**
+     * Error pattern value for a syndrome that doesn't match a correctable error pattern.
+     */
+    public static final int UNCORRECTABLE = -1;
+
+    private final int mDataBitLength;
+    private final int mCheckBitLength;
+    private final int mCodewordLength;
+    private final int[] mDataChecksums;
+    private final int[] mErrorPatterns;
+
+    /**
+     * Constructs an instance.
+     *
+     * @param dataChecksums checksum for each data bit, where index 0 is the first (most significant) data bit.  Any
+     * entries beyond the data bit length are ignored.
+     * @param dataBitLength number of data bits
+     * @param checkBitLength number of check bits
+     * @param maximumErrors that are correctable
+     */
+    public SyndromeDecoder(int[] dataChecksums, int dataBitLength, int checkBitLength, int maximumErrors)
+    {
+        if(dataBitLength + checkBitLength > 30)
+        {
+            throw new IllegalArgumentException("Codeword length must be 30 bits or less");
+        }
+
+        mDataBitLength = dataBitLength;
+        mCheckBitLength = checkBitLength;
+        mCodewordLength = dataBitLength + checkBitLength;
+
+        //Syndrome column for each codeword bit position
+        int[] columns = new int[mCodewordLength];
+
+        for(int x = 0; x < dataBitLength; x++)
+        {
+            columns[x] = dataChecksums[x];
+        }
+
+        for(int x = 0; x < checkBitLength; x++)
+        {
+            columns[dataBitLength + x] = 1 << (checkBitLength - 1 - x);
+        }
+
+        //Checksum for each packed data value, built from the value with its lowest set bit cleared
+        mDataChecksums = new int[1 << dataBitLength];
+
+        for(int data = 1; data < mDataChecksums.length; data++)
+        {
+            int lowestBit = Integer.numberOfTrailingZeros(data);
+            mDataChecksums[data] = mDataChecksums[data & (data - 1)] ^ columns[dataBitLength - 1 - lowestBit];
+        }
+
+        mErrorPatterns = new int[1 << checkBitLength];
+        Arrays.fill(mErrorPatterns, UNCORRECTABLE);
+        mErrorPatterns[0] = 0;
+
+        for(int weight = 1; weight <= maximumErrors; weight++)
+        {
+            loadErrorPatterns(columns, weight, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Recursively enumerates each error pattern with the specified number of remaining error bits, starting at the
+     * codeword position, and records the pattern for its syndrome when the syndrome is not already claimed.
+     */
+    private void loadErrorPatterns(int[] columns, int remaining, int position, int pattern, int syndrome)
+    {
+        if(remaining == 0)
+        {
+            if(mErrorPatterns[syndrome] == UNCORRECTABLE)
+            {
+                mErrorPatterns[syndrome] = pattern;
+            }
+
+            return;
+        }
+
+        for(int x = position; x <= mCodewordLength - remaining; x++)
+        {
+            loadErrorPatterns(columns, remaining - 1, x + 1, pattern | (1 << (mCodewordLength - 1 - x)),
+                syndrome ^ columns[x]);
+        }
+    }
+
+    /**
+     * Number of bits in the codeword
+     */
+    public int getCodewordLength()
+    {
+        return mCodewordLength;
+    }
+
+    /**
+     * Calculates the checksum for the packed data value.
+     *
+     * @param data value containing the data bits, most significant bit first
+     * @return checksum
+     */
+    public int getChecksum(int data)
+    {
+        return mDataChecksums[data];
+    }
+
+    /**
+     * Calculates the syndrome for the packed codeword.
+     *
+     * @param codeword containing the data bits followed by the check bits
+     * @return syndrome where 0 indicates no detected errors
+     */
+    public int getSyndrome(int codeword)
+    {
+        return mDataChecksums[codeword >>> mCheckBitLength] ^ (codeword & ((1 << mCheckBitLength) - 1));
+    }
+
+    /**
+     * Error pattern for the syndrome.
+     *
+     * @param syndrome value
+     * @return packed codeword error pattern (0 for no errors) or UNCORRECTABLE
+     */
+    public int getErrorPatternForSyndrome(int syndrome)
+    {
+        return mErrorPatterns[syndrome];
+    }
+
+    /**
+     * Error pattern for the packed codeword.  XOR the error pattern with the codeword to correct it.
+     *
+     * @param codeword containing the data bits followed by the check bits
+     * @return packed codeword error pattern (0 for no errors) or UNCORRECTABLE
+     */
+    public int getErrorPattern(int codeword)
+    {
+        return mErrorPatterns[getSyndrome(codeword)];
+    }
+
+    /**
+     * Reads the codeword from the message at the offset.
+     *
+     * @param message containing the codeword
+     * @param offset to the first bit of the codeword
+     * @return packed codeword
+     */
+    public int getCodeword(BinaryMessage message, int offset)
+    {
+        return message.getInt(offset, offset + mCodewordLength - 1);
+    }
+
+    /**
+     * Applies the error pattern to the codeword in the message by flipping only the error bits.
+     *
+     * @param message containing the codeword
+     * @param offset to the first bit of the codeword
+     * @param errorPattern for the codeword
+     */
+    public void correct(BinaryMessage message, int offset, int errorPattern)
+    {
+        int pattern = errorPattern;
+
+        while(pattern != 0)
+        {
+            int lowestBit = Integer.numberOfTrailingZeros(pattern);
+            message.flip(offset + mCodewordLength - 1 - lowestBit);
+            pattern &= pattern - 1;
+        }
+    }
+}
@@ -18,62 +18,86 @@
  */
 package io.github.dsheirer.edac.trellis;
 
-import org.apache.commons.math3.util.FastMath;
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.bits.CorrectedBinaryMessage;
+import java.util.Arrays;
 
+/**
+ * Viterbi decoder for trellis coded modulation (TCM) encoded binary sequences.
+ *
+ * The decoder tracks the accumulated error (path metric) for the surviving path that terminates at each encoder state
+ * in a primitive array and records the preceding state selected for each state at each time instant in a packed
+ * traceback word, so that no per-node or per-path objects are created while decoding.  The decoded message is
+ * recovered by tracing back from the best flushed state.
+ *
+ * When the encoded message carries soft-decision bit confidence values, each branch metric is the sum of the
+ * confidence values of the received bits that disagree with the branch output value, otherwise the branch metric is
+ * the Hamming distance between the received and branch output values.  Hard-decision input and input where every bit
+ * has the same confidence produce the same decoded sequence.
+ *
+ * Decoder instances are shared across decoding threads, so the working arrays are held in a thread local workspace.
+ */
 public abstract class ViterbiDecoder
 {
+    //Hamming error values indicating the number of bits set in each indexed value, 0-15
+    public static final int[] HAMMING_ERROR_COUNT = new int[]{0,1,1,2,1,2,2,3,1,2,2,3,2,3,3,4};
+
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
     private int mInputBitLength;
     private int mInputValueCount;
     private int mOutputBitLength;
     private int mOutputValueCount;
+    private int[] mOutputValues;
+    private int[] mBranchErrors;
+    private ThreadLocal<Workspace> mWorkspace = ThreadLocal.withInitial(Workspace::new);
 
     /**
      * Viterbi decoder for trellis coded modulation (TCM) encoded binary sequences.
      *
      * @param inputBitLength for coding (e.g. 3/4 rate input bit length is 3)
      * @param outputBitLength for coding (e.g. 3/4 rate output bit length is 4)
+     * @param transitionMatrix of expected output values indexed by [preceding state][input value]
      */
-    public ViterbiDecoder(int inputBitLength, int outputBitLength)
+    public ViterbiDecoder(int inputBitLength, int outputBitLength, int[][] transitionMatrix)
     {
         mInputBitLength = inputBitLength;
         mOutputBitLength = outputBitLength;
 
-        mInputValueCount = (int) FastMath.pow(2.0, mInputBitLength);
-        mOutputValueCount = (int)FastMath.pow(2.0, mOutputBitLength);
-    }
+        mInputValueCount = 1 << mInputBitLength;
+        mOutputValueCount = 1 << mOutputBitLength;
 
-    /**
-     * Creates a node that represents an input value and the actual/transmitted output value.
-     *
-     * Note: this method must be implemented by a sub-class since the node requires a specific state transition
-     * table/matrix implementation.
-     *
-     * @param inputValue for the specific trellis node
-     * @param transmittedOutputValue the actual transmitted output value
-     * @return node for decoding
-     */
-    protected abstract Node createNode(int inputValue, int transmittedOutputValue);
+        int branchCount = mInputValueCount * mInputValueCount;
 
-    /**
-     * Creates a flushing or final node that represents an actual/transmitted output value and a flushing input value.
-     *
-     * The final flushing input value is implementation-specific, therefore this will be implemented in any subclass
-     * of this decoder.  A normal flushing input value is zero.
-     *
-     * @param transmittedOutputValue the actual transmitted output value
-     * @return flushing node
-     */
-    protected abstract Node createFlushingNode(int transmittedOutputValue);
+        //Expected output value for each branch (preceding state and input value)
+        mOutputValues = new int[branchCount];
+
+        //Hard-decision branch error for each transmitted output value and branch
+        mBranchErrors = new int[mOutputValueCount * branchCount];
+
+        for(int state = 0; state < mInputValueCount; state++)
+        {
+            for(int input = 0; input < mInputValueCount; input++)
+            {
+                int branch = branch(state, input);
+                mOutputValues[branch] = transitionMatrix[state][input];
+
+                for(int transmitted = 0; transmitted < mOutputValueCount; transmitted++)
+                {
+                    mBranchErrors[transmitted * branchCount + branch] =
+                        HAMMING_ERROR_COUNT[transitionMatrix[state][input] ^ transmitted];
+                }
+            }
+        }
+    }
 
     /**
-     * Creates a starting node that represents a starting state and notional transmitted output value.
-     *
-     * The starting input value is implementation-specific, therefore this will be implemented in any subclass
-     * of this decoder.  A normal starting input value is zero.
-     *
-     * @return starting node
+     * Index of the branch from the preceding state for the input value
      */
-    protected abstract Node createStartingNode();
+    private int branch(int state, int input)
+    {
+        return (state << mInputBitLength) + input;
+    }
 
     /**
      * Size in bits of the input and state values (e.g. 3/4 rate input size is 3)
@@ -116,113 +140,270 @@ public abstract class ViterbiDecoder
     }
 
     /**
-     * Decodes the TCM encoded transmitted output values and returns a path the represents the most likely transmitted
-     * sequence of nodes.
+     * Transmitted output value (symbol) at the symbol index in the encoded message.  Sub-classes can override this
+     * method to apply deinterleaving while extracting symbols.
      *
-     * @param transmittedOutputValues from the encoded message
-     * @return most likely path representing the transmitted values
+     * @param encodedMessage containing the symbols
+     * @param symbolIndex of the symbol to extract
+     * @return symbol value
      */
-    public Path decode(int[] transmittedOutputValues)
+    protected int getSymbol(BinaryMessage encodedMessage, int symbolIndex)
     {
-        Path[] survivingPaths = new Path[getInputValueCount()];
-        survivingPaths[0] = new Path(createStartingNode());
+        int index = symbolIndex * mOutputBitLength;
+        return encodedMessage.getInt(index, index + mOutputBitLength - 1);
+    }
+
+    /**
+     * Index of the bit in the encoded message for the symbol bit.  Sub-classes that override getSymbol(), to apply
+     * deinterleaving, must override this method with the same mapping.
+     *
+     * @param symbolIndex of the symbol
+     * @param bit index within the symbol where 0 is the most significant bit
+     * @return index of the bit in the encoded message
+     */
+    protected int getBitIndex(int symbolIndex, int bit)
+    {
+        return symbolIndex * mOutputBitLength + bit;
+    }
 
-        //Add all but the last transmitted value to the starting path, creating a set of survivors at each iteration.
-        for(int x = 0; x < transmittedOutputValues.length - 1; x++)
+    /**
+     * Loads the soft-decision branch metric for each branch from the confidence values of the received symbol bits.
+     *
+     * @param encodedMessage with bit confidence values
+     * @param symbolIndex of the received symbol
+     * @param transmitted symbol value received
+     * @param workspace containing the branch costs array to load
+     */
+    private void loadSoftBranchCosts(CorrectedBinaryMessage encodedMessage, int symbolIndex, int transmitted,
+                                     Workspace workspace)
+    {
+        int[] symbolCosts = workspace.mSymbolCosts;
+        Arrays.fill(symbolCosts, 0);
+
+        for(int bit = 0; bit < mOutputBitLength; bit++)
         {
-            survivingPaths = add(survivingPaths, transmittedOutputValues[x]);
+            int confidence = encodedMessage.getBitConfidence(getBitIndex(symbolIndex, bit));
+            int mask = 1 << (mOutputBitLength - 1 - bit);
+
+            for(int output = 0; output < mOutputValueCount; output++)
+            {
+                if(((output ^ transmitted) & mask) != 0)
+                {
+                    symbolCosts[output] += confidence;
+                }
+            }
         }
 
-        //Flush the survivors with the final transmitted value and return the lone surviving path
-        return flush(survivingPaths, transmittedOutputValues[transmittedOutputValues.length - 1]);
+        int[] branchCosts = workspace.mSoftBranchCosts;
+
+        for(int branch = 0; branch < branchCosts.length; branch++)
+        {
+            branchCosts[branch] = symbolCosts[mOutputValues[branch]];
+        }
     }
 
     /**
-     * Creates a set of new nodes representing all possible input values and the transmitted output value argument
-     * and iteratively adds the set of nodes to a copy of each of the surviving paths.  A set of surviving paths is
-     * returned that represents each path that terminates at a distinct input/state value that has the least error
-     * value.
+     * Decodes the TCM encoded transmitted output values contained in the encoded message, starting from state zero
+     * and flushing with a final input value of zero, and returns the most likely transmitted input sequence.
      *
-     * @param previousPaths from the previous time instant to evaluate for the next time instant in the trellis
-     * using the transmitted output value.
+     * When two paths have an equal error value, the path from the lower numbered preceding state survives.
      *
-     * @param transmittedOutputValue that will be decoded for this time instant.
+     * @param encodedMessage containing an integral number of transmitted output values (symbols)
+     * @return decoded message with the corrected bit count set to the number of received bits that differ from the
+     * most likely path
+     */
+    protected CorrectedBinaryMessage decodeMessage(BinaryMessage encodedMessage)
+    {
+        //Ensure we have an integral number of transmitted symbols in the message
+        if(encodedMessage.size() % mOutputBitLength != 0)
+        {
+            throw new IllegalArgumentException("Encoded message must contain an integral number of " +
+                mOutputBitLength + "-bit symbols - message size: " + encodedMessage.size());
+        }
+
+        return decodeMessage(encodedMessage, encodedMessage.size() / mOutputBitLength);
+    }
+
+    /**
+     * Decodes the TCM encoded transmitted output values contained in the encoded message, starting from state zero
+     * and flushing with a final input value of zero, and returns the most likely transmitted input sequence.
      *
-     * @return paths that have survived (ie have the lowest error value) after adding nodes for the transmitted
-     * output value
+     * When two paths have an equal error value, the path from the lower numbered preceding state survives.
      *
+     * @param encodedMessage containing the transmitted output values (symbols)
+     * @param symbolCount number of symbols to decode, including the final flushing symbol
+     * @return decoded message with the corrected bit count set to the number of received bits that differ from the
+     * most likely path
      */
-    public Path[] add(Path[] previousPaths, int transmittedOutputValue)
+    protected CorrectedBinaryMessage decodeMessage(BinaryMessage encodedMessage, int symbolCount)
     {
-        Path[] survivorPaths = new Path[getInputValueCount()];
+        if(symbolCount == 0)
+        {
+            throw new IllegalArgumentException("Encoded message must contain at least one symbol");
+        }
+
+        //All symbols except the last are decoded.  The final symbol flushes the encoder back to state zero.
+        int steps = symbolCount - 1;
+        Workspace workspace = mWorkspace.get();
+        workspace.setCapacity(symbolCount);
+        int[] traceback = workspace.mTraceback;
+        int[] symbols = workspace.mSymbols;
+        int[] metrics = workspace.mMetrics;
+        int[] nextMetrics = workspace.mNextMetrics;
+
+        CorrectedBinaryMessage softMessage = null;
+
+        if(encodedMessage instanceof CorrectedBinaryMessage corrected && corrected.hasBitConfidence())
+        {
+            softMessage = corrected;
+        }
 
-        for(int x = 0; x < getInputValueCount(); x++)
+        int branchCount = mInputValueCount * mInputValueCount;
+
+        for(int step = 0; step < symbolCount; step++)
         {
-            //Create a single/unique node for each possible input value combined with the transmitted output value
-            Node node = createNode(x, transmittedOutputValue);
+            symbols[step] = getSymbol(encodedMessage, step);
+        }
 
-            //Evaluate each surviving path by creating a copy and adding the node to it and see if it survives
-            for(Path path: previousPaths)
+        Arrays.fill(metrics, UNREACHABLE);
+        metrics[0] = 0;
+
+        //Add-compare-select for each state at each time instant
+        for(int step = 0; step < steps; step++)
+        {
+            int[] costs;
+            int base;
+
+            if(softMessage != null)
             {
-                if(path != null)
-                {
-                    Path pathToEvaluate = path.copyOf();
+                loadSoftBranchCosts(softMessage, step, symbols[step], workspace);
+                costs = workspace.mSoftBranchCosts;
+                base = 0;
+            }
+            else
+            {
+                costs = mBranchErrors;
+                base = symbols[step] * branchCount;
+            }
 
-                    pathToEvaluate.add(node);
+            int packedPredecessors = 0;
+
+            for(int input = 0; input < mInputValueCount; input++)
+            {
+                int best = UNREACHABLE;
+                int predecessor = 0;
 
-                    if(survivorPaths[node.getInputValue()] != null)
+                for(int state = 0; state < mInputValueCount; state++)
+                {
+                    if(metrics[state] != UNREACHABLE)
                     {
-                        Path survivingPath = survivorPaths[node.getInputValue()];
+                        int candidate = metrics[state] + costs[base + branch(state, input)];
 
-                        //Replace the current survivor path if this evaluate path has a lower error value
-                        if(pathToEvaluate.getError() < survivingPath.getError())
+                        if(candidate < best)
                         {
-                            survivorPaths[node.getInputValue()] = pathToEvaluate;
+                            best = candidate;
+                            predecessor = state;
                         }
                     }
-                    else
-                    {
-                        //No survivor yet -- set this evaluate path as the first survivor
-                        survivorPaths[node.getInputValue()] = pathToEvaluate;
-                    }
                 }
+
+                nextMetrics[input] = best;
+                packedPredecessors |= predecessor << (input * mInputBitLength);
             }
+
+            traceback[step] = packedPredecessors;
+
+            int[] swap = metrics;
+            metrics = nextMetrics;
+            nextMetrics = swap;
         }
 
-        return survivorPaths;
-    }
+        //Flush each survivor with an input value of zero and select the survivor with the lowest error
+        int[] costs;
+        int base;
 
-    /**
-     * Flushes each of the surviving paths with a final/flushing node using the transmitted symbol.  A final flushing
-     * input value or state is implementation-specific, but normally uses a value of zero.  Since all paths will be
-     * evaluated against each other as terminating at the same state, only the path with the lowest error value will
-     * be returned from this method.
-     *
-     * @param survivingPaths to flush with the final flushing node
-     * @param transmittedOutputValue to use for the final flushing node
-     *
-     * @return the single survivor path that remains after adding the flushing node to each of the candidate argument
-     * survivor paths.
-     */
-    public Path flush(Path[] survivingPaths, int transmittedOutputValue)
-    {
-        Node flushingNode = createFlushingNode(transmittedOutputValue);
+        if(softMessage != null)
+        {
+            loadSoftBranchCosts(softMessage, steps, symbols[steps], workspace);
+            costs = workspace.mSoftBranchCosts;
+            base = 0;
+        }
+        else
+        {
+            costs = mBranchErrors;
+            base = symbols[steps] * branchCount;
+        }
 
-        Path bestPath = null;
+        int bestMetric = UNREACHABLE;
+        int bestState = 0;
 
-        for(Path survivingPath: survivingPaths)
+        for(int state = 0; state < mInputValueCount; state++)
         {
-            if(survivingPath != null)
+            if(metrics[state] != UNREACHABLE)
             {
-                survivingPath.add(flushingNode);
+                int error = metrics[state] + costs[base + branch(state, 0)];
+
+                if(error < bestMetric)
+                {
+                    bestMetric = error;
+                    bestState = state;
+                }
+            }
+        }
+
+        //Trace back from the best state, where the state at each time instant is the decoded input value
+        CorrectedBinaryMessage message = new CorrectedBinaryMessage(steps * mInputBitLength);
+        int mask = mInputValueCount - 1;
+        int state = bestState;
+
+        //Count of received bits that differ from the decoded path output values, starting with the flush symbol
+        int correctedBitCount = HAMMING_ERROR_COUNT[symbols[steps] ^ mOutputValues[branch(bestState, 0)]];
+
+        for(int step = steps - 1; step >= 0; step--)
+        {
+            int offset = step * mInputBitLength;
 
-                if(bestPath == null || (survivingPath.getError() < bestPath.getError()))
+            for(int bit = 0; bit < mInputBitLength; bit++)
+            {
+                if((state & (1 << (mInputBitLength - 1 - bit))) != 0)
                 {
-                    bestPath = survivingPath;
+                    message.set(offset + bit);
                 }
             }
+
+            int predecessor = (traceback[step] >>> (state * mInputBitLength)) & mask;
+            correctedBitCount += HAMMING_ERROR_COUNT[symbols[step] ^ mOutputValues[branch(predecessor, state)]];
+            state = predecessor;
         }
 
-        return bestPath;
+        //Transfer the corrected error count to the message
+        message.setCorrectedBitCount(correctedBitCount);
+
+        return message;
+    }
+
+    /**
+     * Reusable per-thread decoding arrays.
+     */
+    private class Workspace
+    {
+        private int[] mMetrics = new int[mInputValueCount];
+        private int[] mNextMetrics = new int[mInputValueCount];
+        private int[] mSymbolCosts = new int[mOutputValueCount];
+        private int[] mSoftBranchCosts = new int[mInputValueCount * mInputValueCount];
+        private int[] mTraceback = new int[0];
+        private int[] mSymbols = new int[0];
+
+        /**
+         * Ensures the traceback and received symbol arrays have capacity for the requested number of symbols.
+         */
+        private void setCapacity(int symbolCount)
+        {
+            if(mSymbols.length < symbolCount)
+            {
+                mTraceback = new int[symbolCount];
+                mSymbols = new int[symbolCount];
+            }
+        }
     }
 }
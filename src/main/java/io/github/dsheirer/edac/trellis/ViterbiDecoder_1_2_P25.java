@@ -21,16 +21,28 @@ package io.github.dsheirer.edac.trellis;
 import io.github.dsheirer.bits.BinaryMessage;
 import io.github.dsheirer.bits.CorrectedBinaryMessage;
 
-import java.util.List;
-
 /**
  * Viterbi decoder for APCO-25 1/2 rate Trellis Coded Modulation (TCM) encoded messages.
  */
 public class ViterbiDecoder_1_2_P25 extends ViterbiDecoder
 {
+    /**
+     * P25 Finite State Machine 1/2 Rate transition matrix.
+     *
+     * Note: these transmitted bit values are translated from TIA-102 BAAA Table 7-2 encoder state
+     * table constellation values.
+     */
+    public static final int[][] TRANSITION_MATRIX = new int[][]
+    {
+        {2,12,1,15},//0,15,12,3
+        {14,0,13,3},//4,11,8,7
+        {9,7,10,4}, //13,2,1,14
+        {5,11,6,8}  //9,6,5,10
+    };
+
     public ViterbiDecoder_1_2_P25()
     {
-        super(2,4);
+        super(2, 4, TRANSITION_MATRIX);
     }
 
     /**
@@ -42,113 +54,6 @@ public class ViterbiDecoder_1_2_P25 extends ViterbiDecoder
      */
     public CorrectedBinaryMessage decode(BinaryMessage encodedMessage)
     {
-        int[] symbols = getSymbols(encodedMessage);
-
-        Path mostLikelyPath = decode(symbols);
-
-        return getMessage(mostLikelyPath);
-    }
-
-    /**
-     * Extracts the decoded/corrected message from the surviving path argument.
-     *
-     * @param path to extract a message from
-     * @return corrected binary message.
-     */
-    private CorrectedBinaryMessage getMessage(Path path)
-    {
-        List<Node> mNodes = path.getNodes();
-
-        //Each node contains an input value excluding the starting(0) and final flushing(0) nodes.
-        CorrectedBinaryMessage message = new CorrectedBinaryMessage((mNodes.size() - 2) * getInputBitLength());
-
-        if(mNodes.size() > 2)
-        {
-            for(int x = 1; x < mNodes.size() - 1; x++)
-            {
-                int inputValue = mNodes.get(x).getInputValue();
-
-                int messageOffset = getInputBitLength() * (x - 1);
-
-                if((inputValue & 2) == 2)
-                {
-                    message.set(messageOffset);
-                }
-
-                if((inputValue & 1) == 1)
-                {
-                    message.set(messageOffset + 1);
-                }
-            }
-        }
-
-        //Transfer the corrected error count to the message
-        message.setCorrectedBitCount(path.getError());
-
-        return message;
-    }
-
-    /**
-     * Extracts (49) four-bit symbols (196 bits / 4) from the deinterleaved P25 binary message
-     *
-     * @param encodedMessage that deinterleaved and contains 196-bits of 1/2 TCM encoding
-     * @return symbols
-     */
-    public int[] getSymbols(BinaryMessage encodedMessage)
-    {
-        //Ensure we have an integral number of transmitted symbols (nibbles) in the message
-        if(encodedMessage.size() % getOutputBitLength() != 0)
-        {
-            throw new  IllegalArgumentException("Encoded message must contain an integral number of 4-bit symbols -" +
-                " message size: " + encodedMessage.size());
-        }
-
-        int[] symbols = new int[encodedMessage.size() / getOutputBitLength()];
-
-        int index = 0;
-        int pointer = 0;
-
-        while(index < encodedMessage.size())
-        {
-            int symbol = encodedMessage.getInt(index, index + (getOutputBitLength() - 1));
-            symbols[pointer++] = symbol;
-            index += getOutputBitLength();
-        }
-
-        return symbols;
-    }
-
-    /**
-     * Creates a P25 node
-     * @param inputValue for the specific trellis node
-     * @param transmittedOutputValue the actual transmitted output value
-     * @return created node
-     */
-    @Override
-    protected Node createNode(int inputValue, int transmittedOutputValue)
-    {
-        return new P25_1_2_Node(inputValue, transmittedOutputValue);
-    }
-
-    /**
-     * Creates a P25 flushing node.  P25 uses an input value of zero to flush the final output value out of the
-     * encoder.
-     *
-     * @param transmittedOutputValue the actual transmitted output value
-     * @return
-     */
-    @Override
-    protected Node createFlushingNode(int transmittedOutputValue)
-    {
-        return new P25_1_2_Node(0, transmittedOutputValue);
-    }
-
-    /**
-     * Creates a P25 starting node.  P25 uses a starting input value of zero for the initial node.
-     */
-    @Override
-    protected Node createStartingNode()
-    {
-        return new P25_1_2_Node(0,0);
+        return decodeMessage(encodedMessage);
     }
 }
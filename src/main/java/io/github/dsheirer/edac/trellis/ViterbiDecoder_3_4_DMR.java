@@ -46,170 +46,101 @@ public class ViterbiDecoder_3_4_DMR extends ViterbiDecoder
         173, 174, 175, 188, 189, 190, 191};
 
     /**
-     * Viterbi decoder for Digital Mobile Radio (DMR) 3/4 rate Trellis Coded Modulation (TCM) encoded messages.
+     * Inverse of the deinterleave indexes: the interleaved message index for each deinterleaved message index.
      */
-    public ViterbiDecoder_3_4_DMR()
-    {
-        super(3, 4);
-    }
+    private static final int[] INTERLEAVE_INDEXES = new int[DEINTERLEAVE_INDEXES.length];
 
-    public static void main(String[] args)
+    static
     {
-        List<Integer> indexes = new ArrayList<>();
-        for(int i : DEINTERLEAVE_DIBITS)
+        for(int x = 0; x < DEINTERLEAVE_INDEXES.length; x++)
         {
-            indexes.add(i * 2);
-            indexes.add(i * 2 + 1);
+            INTERLEAVE_INDEXES[DEINTERLEAVE_INDEXES[x]] = x;
         }
-
-        System.out.println(Joiner.on(",").join(indexes));
-
-        Collections.sort(indexes);
-        System.out.println(Joiner.on(",").join(indexes));
     }
 
     /**
-     * Performs deinterleave of transmitted 3/4 TCM encoded payload
-     * @param interleaved
-     * @return
+     * Transmitted quad-bit value, derived from ETSI TS 102-361-1, Table B.7 Trellis encoder state transition table
+     *
+     * Note: the B.7 table contains constellation point ID numbers that have to be converted into actual bit values
+     * where the bits represent the dibit pair for the constellation point.
      */
-    private static CorrectedBinaryMessage deinterleave(CorrectedBinaryMessage interleaved)
+    public static final int[][] DMR_TRANSITION_MATRIX = new int[][]
     {
-        CorrectedBinaryMessage deinterleaved = new CorrectedBinaryMessage(196);
-
-        for(int x = 0; x < 196; x++)
-        {
-            if(interleaved.get(x))
-            {
-                deinterleaved.set(DEINTERLEAVE_INDEXES[x]);
-            }
-        }
-
-        return deinterleaved;
-    }
-
+        {2,13,14,1,7,8,11,4},
+        {14,1,7,8,11,4,2,13},
+        {10,5,6,9,15,0,3,12},
+        {6,9,15,0,3,12,10,5},
+        {15,0,3,12,10,5,6,9},
+        {3,12,10,5,6,9,15,0},
+        {7,8,11,4,2,13,14,1},
+        {11,4,2,13,14,1,7,8}
+    };
 
     /**
-     * Decodes a 3/4 rate trellis coded modulation (TCM) encoded DMR binary message containing 196 bits that have
-     * already been deinterleaved.
-     *
-     * @param encodedMessage to decode that has already been deinterleaved.
-     * @return decoded message
+     * Viterbi decoder for Digital Mobile Radio (DMR) 3/4 rate Trellis Coded Modulation (TCM) encoded messages.
      */
-    public CorrectedBinaryMessage decode(CorrectedBinaryMessage encodedMessage)
+    public ViterbiDecoder_3_4_DMR()
     {
-        CorrectedBinaryMessage deinterleaved = deinterleave(encodedMessage);
-        int[] symbols = getSymbols(deinterleaved);
-        Path mostLikelyPath = decode(symbols);
-        return getMessage(mostLikelyPath);
+        super(3, 4, DMR_TRANSITION_MATRIX);
     }
 
-    /**
-     * Extracts the decoded/corrected message from the surviving path argument.
-     *
-     * @param path to extract a message from
-     * @return corrected binary message.
-     */
-    private static CorrectedBinaryMessage getMessage(Path path)
+    public static void main(String[] args)
     {
-        List<Node> mNodes = path.getNodes();
-
-        //Each node contains an input value excluding the starting(0) and final flushing(0) nodes.
-        CorrectedBinaryMessage message = new CorrectedBinaryMessage((mNodes.size() - 2) * 3);
-
-        if(mNodes.size() > 2)
+        List<Integer> indexes = new ArrayList<>();
+        for(int i : DEINTERLEAVE_DIBITS)
         {
-            for(int x = 1; x < mNodes.size() - 1; x++)
-            {
-                int inputValue = mNodes.get(x).getInputValue();
-
-                int messageOffset = 3 * (x - 1);
-
-                if((inputValue & 4) == 4)
-                {
-                    message.set(messageOffset);
-                }
-
-                if((inputValue & 2) == 2)
-                {
-                    message.set(messageOffset + 1);
-                }
-
-                if((inputValue & 1) == 1)
-                {
-                    message.set(messageOffset + 2);
-                }
-            }
+            indexes.add(i * 2);
+            indexes.add(i * 2 + 1);
         }
 
-        //Transfer the corrected error count to the message
-        message.setCorrectedBitCount(path.getError());
+        System.out.println(Joiner.on(",").join(indexes));
 
-        return message;
+        Collections.sort(indexes);
+        System.out.println(Joiner.on(",").join(indexes));
     }
 
     /**
-     * Extracts (49) four-bit symbols (196 bits / 4) from the deinterleaved DMR binary message
+     * Extracts the (deinterleaved) four-bit symbol at the symbol index directly from the interleaved message.
      *
-     * @param encodedMessage that deinterleaved and contains 196-bits of 3/4 TCM encoding
-     * @return symbols
+     * @param encodedMessage that is interleaved
+     * @param symbolIndex of the deinterleaved symbol
+     * @return symbol value
      */
-    public int[] getSymbols(BinaryMessage encodedMessage)
+    @Override
+    protected int getSymbol(BinaryMessage encodedMessage, int symbolIndex)
     {
-        //Ensure we have an integral number of transmitted symbols (nibbles) in the message
-        if(encodedMessage.size() % getOutputBitLength() != 0)
-        {
-            throw new IllegalArgumentException("Encoded message must contain an integral number of 4-bit symbols -" +
-                " message size: " + encodedMessage.size());
-        }
-
-        int[] symbols = new int[encodedMessage.size() / getOutputBitLength()];
-
-        int index = 0;
-        int pointer = 0;
+        int symbol = 0;
 
-        while(index < encodedMessage.size())
+        for(int x = 0; x < 4; x++)
         {
-            int symbol = encodedMessage.getInt(index, index + (getOutputBitLength() - 1));
-            symbols[pointer++] = symbol;
-            index += getOutputBitLength();
+            symbol = (symbol << 1) | (encodedMessage.get(getBitIndex(symbolIndex, x)) ? 1 : 0);
         }
 
-        return symbols;
+        return symbol;
     }
 
     /**
-     * Creates a DMR node
+     * Index of the symbol bit in the interleaved message.
      *
-     * @param inputValue for the specific trellis node
-     * @param transmittedOutputValue the actual transmitted output value
-     * @return created node
+     * @param symbolIndex of the deinterleaved symbol
+     * @param bit index within the symbol
+     * @return index of the bit in the interleaved message
      */
     @Override
-    protected Node createNode(int inputValue, int transmittedOutputValue)
+    protected int getBitIndex(int symbolIndex, int bit)
     {
-        return new DMR_3_4_Node(inputValue, transmittedOutputValue);
+        return INTERLEAVE_INDEXES[symbolIndex * 4 + bit];
     }
 
     /**
-     * Creates a DMR flushing node.  DMR uses an input value of zero to flush the final output value out of the
-     * encoder.
+     * Decodes a 3/4 rate trellis coded modulation (TCM) encoded DMR binary message containing 196 interleaved bits.
      *
-     * @param transmittedOutputValue the actual transmitted output value
-     * @return
-     */
-    @Override
-    protected Node createFlushingNode(int transmittedOutputValue)
-    {
-        return new DMR_3_4_Node(0, transmittedOutputValue);
-    }
-
-    /**
-     * Creates a DMR starting node.  DMR uses a starting input value of zero for the initial node.
+     * @param encodedMessage to deinterleave and decode.
+     * @return decoded message
      */
-    @Override
-    protected Node createStartingNode()
+    public CorrectedBinaryMessage decode(CorrectedBinaryMessage encodedMessage)
     {
-        return new DMR_3_4_Node(0, 0);
+        //49 four-bit symbols (196 bits / 4)
+        return decodeMessage(encodedMessage, DEINTERLEAVE_INDEXES.length / 4);
     }
 }
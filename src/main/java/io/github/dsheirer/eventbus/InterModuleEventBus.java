@@ -0,0 +1,471 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.eventbus;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.Subscribe;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Inter-module event bus for communication between the modules of a single processing chain.
+ *
+ * This is a drop-in replacement for the Guava EventBus that uses the same @Subscribe (and @AllowConcurrentEvents)
+ * annotations and the same dispatch semantics: events are delivered synchronously on the posting thread, subscribers
+ * of any super-type or interface of the event receive the event, nested posts from within a subscriber are queued and
+ * delivered once the current event has been delivered to all subscribers, and each registered subscriber method is
+ * invoked serially (synchronized on its registration, not on the subscriber object) unless the method is annotated
+ * with @AllowConcurrentEvents.
+ *
+ * Unlike the Guava EventBus, subscriber methods are discovered once per subscriber class and compiled into direct
+ * invokers, and the subscribers for each event class are resolved once into a dispatch table that is rebuilt only
+ * when subscribers are registered or unregistered.  Posting an event doesn't use reflection or allocate.
+ */
+public class InterModuleEventBus
+{
+    private static final Logger mLog = LoggerFactory.getLogger(InterModuleEventBus.class);
+    private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+
+    /**
+     * Subscriber methods discovered for each subscriber class.
+     */
+    private static final ClassValue<List<SubscriberMethod>> SUBSCRIBER_METHODS = new ClassValue<>()
+    {
+        @Override
+        protected List<SubscriberMethod> computeValue(Class<?> type)
+        {
+            return discoverSubscriberMethods(type);
+        }
+    };
+
+    /**
+     * Flattened type hierarchy (class, super-classes and interfaces) for each event class.
+     */
+    private static final ClassValue<Class<?>[]> EVENT_TYPES = new ClassValue<>()
+    {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type)
+        {
+            Set<Class<?>> types = new LinkedHashSet<>();
+            flatten(type, types);
+            return types.toArray(new Class<?>[0]);
+        }
+    };
+
+    private final String mName;
+    private final Map<Class<?>,List<Subscriber>> mSubscribers = new HashMap<>();
+    private final Map<Class<?>,Subscriber[]> mDispatchTable = new ConcurrentHashMap<>();
+    private final ThreadLocal<PostQueue> mPostQueue = ThreadLocal.withInitial(PostQueue::new);
+
+    /**
+     * Constructs an instance
+     * @param name of the event bus for logging
+     */
+    public InterModuleEventBus(String name)
+    {
+        mName = name;
+    }
+
+    /**
+     * Name of this event bus
+     */
+    public String getName()
+    {
+        return mName;
+    }
+
+    /**
+     * Registers each of the @Subscribe annotated methods of the object to receive events.
+     * @param object to register
+     */
+    public void register(Object object)
+    {
+        List<SubscriberMethod> methods = SUBSCRIBER_METHODS.get(object.getClass());
+
+        if(methods.isEmpty())
+        {
+            return;
+        }
+
+        synchronized(mSubscribers)
+        {
+            for(SubscriberMethod method: methods)
+            {
+                Subscriber subscriber = new Subscriber(object, method);
+                List<Subscriber> subscribers = mSubscribers.computeIfAbsent(method.getEventType(), k -> new ArrayList<>());
+
+                if(!subscribers.contains(subscriber))
+                {
+                    subscribers.add(subscriber);
+                }
+            }
+
+            mDispatchTable.clear();
+        }
+    }
+
+    /**
+     * Unregisters each of the @Subscribe annotated methods of the object from receiving events.  Unregistering an
+     * object that is not registered has no effect.
+     * @param object to unregister
+     */
+    public void unregister(Object object)
+    {
+        List<SubscriberMethod> methods = SUBSCRIBER_METHODS.get(object.getClass());
+
+        if(methods.isEmpty())
+        {
+            return;
+        }
+
+        synchronized(mSubscribers)
+        {
+            for(SubscriberMethod method: methods)
+            {
+                List<Subscriber> subscribers = mSubscribers.get(method.getEventType());
+
+                if(subscribers != null)
+                {
+                    subscribers.remove(new Subscriber(object, method));
+
+                    if(subscribers.isEmpty())
+                    {
+                        mSubscribers.remove(method.getEventType());
+                    }
+                }
+            }
+
+            mDispatchTable.clear();
+        }
+    }
+
+    /**
+     * Posts the event to all registered subscribers of the event's class or any of its super-types.  Events with no
+     * subscribers are ignored.
+     * @param event to post
+     */
+    public void post(Object event)
+    {
+        Subscriber[] subscribers = getSubscribers(event.getClass());
+
+        if(subscribers.length > 0)
+        {
+            mPostQueue.get().post(event, subscribers);
+        }
+    }
+
+    /**
+     * Resolves the subscribers for the event class from the dispatch table, creating a dispatch table entry when
+     * one doesn't exist.
+     * @param eventClass to lookup
+     * @return subscribers (possibly empty)
+     */
+    private Subscriber[] getSubscribers(Class<?> eventClass)
+    {
+        Subscriber[] subscribers = mDispatchTable.get(eventClass);
+
+        if(subscribers == null)
+        {
+            //Resolve and store while holding the lock so that a concurrent registration change can't leave a stale
+            //entry in the dispatch table.
+            synchronized(mSubscribers)
+            {
+                List<Subscriber> resolved = new ArrayList<>();
+
+                for(Class<?> type: EVENT_TYPES.get(eventClass))
+                {
+                    List<Subscriber> typeSubscribers = mSubscribers.get(type);
+
+                    if(typeSubscribers != null)
+                    {
+                        resolved.addAll(typeSubscribers);
+                    }
+                }
+
+                subscribers = resolved.isEmpty() ? NO_SUBSCRIBERS : resolved.toArray(new Subscriber[0]);
+                mDispatchTable.put(eventClass, subscribers);
+            }
+        }
+
+        return subscribers;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Inter-Module Event Bus [" + mName + "]";
+    }
+
+    /**
+     * Adds the type and all of its super-classes and interfaces to the set of types.
+     */
+    private static void flatten(Class<?> type, Set<Class<?>> types)
+    {
+        if(type != null && types.add(type))
+        {
+            flatten(type.getSuperclass(), types);
+
+            for(Class<?> anInterface: type.getInterfaces())
+            {
+                flatten(anInterface, types);
+            }
+        }
+    }
+
+    /**
+     * Discovers the @Subscribe annotated methods declared by the class or any of its super-types.  Overridden methods
+     * are only included once.
+     * @param type of subscriber
+     * @return subscriber methods
+     */
+    private static List<SubscriberMethod> discoverSubscriberMethods(Class<?> type)
+    {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        flatten(type, types);
+
+        Map<String,SubscriberMethod> methods = new HashMap<>();
+
+        for(Class<?> declaringType: types)
+        {
+            for(Method method: declaringType.getDeclaredMethods())
+            {
+                if(method.isAnnotationPresent(Subscribe.class) && !method.isSynthetic())
+                {
+                    if(method.getParameterCount() != 1 || method.getParameterTypes()[0].isPrimitive())
+                    {
+                        throw new IllegalArgumentException("Method [" + method + "] has @Subscribe annotation but " +
+                            "must have exactly one non-primitive parameter");
+                    }
+
+                    String signature = method.getName() + ":" + method.getParameterTypes()[0].getName();
+
+                    if(!methods.containsKey(signature))
+                    {
+                        methods.put(signature, new SubscriberMethod(method));
+                    }
+                }
+            }
+        }
+
+        return methods.isEmpty() ? Collections.emptyList() : List.copyOf(methods.values());
+    }
+
+    /**
+     * Subscriber method compiled into a direct invoker.
+     */
+    private static class SubscriberMethod
+    {
+        private final Class<?> mEventType;
+        private final BiConsumer<Object,Object> mInvoker;
+        private final boolean mConcurrent;
+        private final String mDescription;
+
+        /**
+         * Constructs an instance
+         * @param method annotated with @Subscribe
+         */
+        SubscriberMethod(Method method)
+        {
+            mEventType = method.getParameterTypes()[0];
+            mConcurrent = method.isAnnotationPresent(AllowConcurrentEvents.class);
+            mDescription = method.getDeclaringClass().getName() + "." + method.getName() + "(" +
+                mEventType.getSimpleName() + ")";
+            mInvoker = createInvoker(method);
+        }
+
+        Class<?> getEventType()
+        {
+            return mEventType;
+        }
+
+        /**
+         * Creates a direct invoker for the method.  A generated lambda is preferred since it is invoked like any other
+         * interface call.  When the lambda can't be generated (e.g. inaccessible class) a method handle is used.
+         */
+        private static BiConsumer<Object,Object> createInvoker(Method method)
+        {
+            MethodHandle handle;
+
+            try
+            {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(),
+                    MethodHandles.lookup());
+                handle = lookup.unreflect(method);
+
+                if(!Modifier.isPrivate(method.getModifiers()))
+                {
+                    try
+                    {
+                        CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept",
+                            MethodType.methodType(BiConsumer.class),
+                            MethodType.methodType(void.class, Object.class, Object.class), handle,
+                            MethodType.methodType(void.class, method.getDeclaringClass(), method.getParameterTypes()[0]));
+                        return (BiConsumer<Object,Object>)callSite.getTarget().invoke();
+                    }
+                    catch(Throwable t)
+                    {
+                        mLog.debug("Unable to generate invoker for subscriber method [" + method +
+                            "] - using method handle", t);
+                    }
+                }
+            }
+            catch(IllegalAccessException iae)
+            {
+                throw new IllegalArgumentException("Unable to access subscriber method [" + method + "]", iae);
+            }
+
+            MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+            return (subscriber, event) -> {
+                try
+                {
+                    generic.invokeExact(subscriber, event);
+                }
+                catch(RuntimeException | Error e)
+                {
+                    throw e;
+                }
+                catch(Throwable t)
+                {
+                    throw new RuntimeException(t);
+                }
+            };
+        }
+    }
+
+    /**
+     * Registered subscriber object and subscriber method pair.
+     */
+    private static class Subscriber
+    {
+        private final Object mTarget;
+        private final SubscriberMethod mMethod;
+
+        Subscriber(Object target, SubscriberMethod method)
+        {
+            mTarget = target;
+            mMethod = method;
+        }
+
+        /**
+         * Delivers the event to the subscriber method
+         */
+        void dispatch(Object event)
+        {
+            try
+            {
+                if(mMethod.mConcurrent)
+                {
+                    mMethod.mInvoker.accept(mTarget, event);
+                }
+                else
+                {
+                    //Lock on this registration, like Guava's SynchronizedSubscriber.  Locking on the target object
+                    //would serialize a subscriber that is registered on several buses and invert lock ordering.
+                    synchronized(this)
+                    {
+                        mMethod.mInvoker.accept(mTarget, event);
+                    }
+                }
+            }
+            catch(Throwable t)
+            {
+                mLog.error("Error dispatching event [" + event.getClass().getName() + "] to subscriber method [" +
+                    mMethod.mDescription + "]", t);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return o instanceof Subscriber other && mTarget == other.mTarget && mMethod == other.mMethod;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return System.identityHashCode(mTarget) * 31 + mMethod.hashCode();
+        }
+    }
+
+    /**
+     * Per-thread queue of posted events.  Events posted by a subscriber while an event is being dispatched on the same
+     * thread are queued and dispatched after the current event has been delivered to all of its subscribers.
+     */
+    private static class PostQueue
+    {
+        //Alternating event and subscriber array entries so that queueing doesn't require a wrapper object
+        private final ArrayDeque<Object> mQueue = new ArrayDeque<>();
+        private boolean mDispatching = false;
+
+        void post(Object event, Subscriber[] subscribers)
+        {
+            if(mDispatching)
+            {
+                mQueue.add(event);
+                mQueue.add(subscribers);
+                return;
+            }
+
+            mDispatching = true;
+
+            try
+            {
+                dispatch(event, subscribers);
+
+                while(!mQueue.isEmpty())
+                {
+                    Object queuedEvent = mQueue.poll();
+                    dispatch(queuedEvent, (Subscriber[])mQueue.poll());
+                }
+            }
+            finally
+            {
+                mQueue.clear();
+                mDispatching = false;
+            }
+        }
+
+        private static void dispatch(Object event, Subscriber[] subscribers)
+        {
+            for(Subscriber subscriber: subscribers)
+            {
+                subscriber.dispatch(event);
+            }
+        }
+    }
+}
@@ -18,9 +18,12 @@
  */
 package io.github.dsheirer.gui;
 
+import com.google.common.eventbus.Subscribe;
 import com.jidesoft.plaf.LookAndFeelFactory;
 import com.jidesoft.swing.JideSplitPane;
 import io.github.dsheirer.alias.AliasModel;
+import io.github.dsheirer.audio.AudioSegment;
+import io.github.dsheirer.audio.AudioStorageMode;
 import io.github.dsheirer.audio.DuplicateCallDetector;
 import io.github.dsheirer.audio.broadcast.AudioStreamingManager;
 import io.github.dsheirer.audio.broadcast.BroadcastFormat;
@@ -31,6 +34,7 @@ import io.github.dsheirer.controller.channel.Channel;
 import io.github.dsheirer.controller.channel.ChannelAutoStartFrame;
 import io.github.dsheirer.controller.channel.ChannelException;
 import io.github.dsheirer.controller.channel.ChannelSelectionManager;
+import io.github.dsheirer.dsp.filter.channelizer.ComplexPolyphaseChannelizerM2;
 import io.github.dsheirer.eventbus.MyEventBus;
 import io.github.dsheirer.gui.icon.ViewIconManagerRequest;
 import io.github.dsheirer.gui.playlist.ViewPlaylistRequest;
@@ -45,8 +49,11 @@ import io.github.dsheirer.map.MapService;
 import io.github.dsheirer.module.log.EventLogManager;
 import io.github.dsheirer.monitor.DiagnosticMonitor;
 import io.github.dsheirer.monitor.ResourceMonitor;
+import io.github.dsheirer.monitor.metrics.MetricsHttpServer;
 import io.github.dsheirer.playlist.PlaylistManager;
+import io.github.dsheirer.preference.PreferenceType;
 import io.github.dsheirer.preference.UserPreferences;
+import io.github.dsheirer.preference.source.DispatcherMode;
 import io.github.dsheirer.properties.SystemProperties;
 import io.github.dsheirer.record.AudioRecordingManager;
 import io.github.dsheirer.sample.Listener;
@@ -59,6 +66,7 @@ import io.github.dsheirer.source.tuner.ui.TunerSpectralDisplayManager;
 import io.github.dsheirer.spectrum.DisableSpectrumWaterfallMenuItem;
 import io.github.dsheirer.spectrum.ShowTunerMenuItem;
 import io.github.dsheirer.spectrum.SpectralDisplayPanel;
+import io.github.dsheirer.util.Dispatcher;
 import io.github.dsheirer.util.ThreadPool;
 import io.github.dsheirer.util.TimeStamp;
 import io.github.dsheirer.vector.calibrate.CalibrationManager;
@@ -127,6 +135,7 @@ public class SDRTrunk implements Listener<TunerEvent>
     private BroadcastStatusPanel mBroadcastStatusPanel;
     private ControllerPanel mControllerPanel;
     private DiagnosticMonitor mDiagnosticMonitor;
+    private MetricsHttpServer mMetricsHttpServer;
     private IconModel mIconModel = new IconModel();
     private PlaylistManager mPlaylistManager;
     private SettingsManager mSettingsManager;
@@ -139,6 +148,7 @@ public class SDRTrunk implements Listener<TunerEvent>
     private ApplicationLog mApplicationLog;
     private ResourceMonitor mResourceMonitor;
     private JFXPanel mResourceStatusPanel;
+    private AudioStorageMode mAudioStorageMode;
 
     private String mTitle;
 
@@ -171,12 +181,35 @@ public class SDRTrunk implements Listener<TunerEvent>
 
         ThreadPool.logSettings();
 
+        Dispatcher.setSharedPoolMode(mUserPreferences.getTunerPreference().getDispatcherMode() ==
+            DispatcherMode.SHARED_POOL);
+        mLog.info("Dispatcher processing mode [" + mUserPreferences.getTunerPreference().getDispatcherMode() + "]");
+
+        //The storage mode preference is applied at startup, but the effective mode follows the MP3 preference
+        mAudioStorageMode = mUserPreferences.getApplicationPreference().getAudioStorageMode();
+        updateAudioStorageMode();
+        MyEventBus.getGlobalEventBus().register(this);
+
         //Load properties file
         loadProperties();
 
+        //Channelizer parallel mode thresholds must be set before the tuner manager creates any channelizers
+        SystemProperties properties = SystemProperties.getInstance();
+        ComplexPolyphaseChannelizerM2.setParallelThresholds(
+            properties.get(ComplexPolyphaseChannelizerM2.PROPERTY_PARALLEL_MINIMUM_CHANNEL_COUNT,
+                ComplexPolyphaseChannelizerM2.DEFAULT_PARALLEL_MINIMUM_CHANNEL_COUNT),
+            properties.get(ComplexPolyphaseChannelizerM2.PROPERTY_PARALLEL_MINIMUM_PROCESSOR_COUNT,
+                ComplexPolyphaseChannelizerM2.DEFAULT_PARALLEL_MINIMUM_PROCESSOR_COUNT),
+            properties.get(ComplexPolyphaseChannelizerM2.PROPERTY_PARALLEL_BLOCKS_PER_TASK,
+                ComplexPolyphaseChannelizerM2.DEFAULT_PARALLEL_BLOCKS_PER_TASK));
+
         //Log current properties setting
         SystemProperties.getInstance().logCurrentSettings();
 
+        //Start the (optional) metrics endpoint
+        mMetricsHttpServer = new MetricsHttpServer();
+        mMetricsHttpServer.start();
+
         //Register FontAwesome so we can use the fonts in Swing windows
         IconFontSwing.register(FontAwesome.getIconFont());
 
@@ -627,6 +660,7 @@ public class SDRTrunk implements Listener<TunerEvent>
     {
         mLog.info("Application shutdown started ...");
         mDiagnosticMonitor.stop();
+        mMetricsHttpServer.stop();
         mUserPreferences.getSwingPreference().setLocation(WINDOW_FRAME_IDENTIFIER, mMainGui.getLocation());
         mUserPreferences.getSwingPreference().setDimension(WINDOW_FRAME_IDENTIFIER, mMainGui.getSize());
         mUserPreferences.getSwingPreference().setMaximized(WINDOW_FRAME_IDENTIFIER,
@@ -920,6 +954,42 @@ public class SDRTrunk implements Listener<TunerEvent>
 
     }
 
+    /**
+     * Applies the audio storage mode for new audio segments.  The 16-bit storage modes are only used when the MP3
+     * preference doesn't resample or normalize the audio, so that recordings are identical to float storage.
+     */
+    private void updateAudioStorageMode()
+    {
+        AudioStorageMode mode = mAudioStorageMode.getEffectiveMode(
+            mUserPreferences.getMP3Preference().getAudioSampleRate(),
+            mUserPreferences.getMP3Preference().isNormalizeAudioBeforeEncode());
+
+        AudioSegment.setAudioStorageMode(mode);
+
+        if(mode != mAudioStorageMode)
+        {
+            mLog.info("Audio segment storage mode [" + mode + "] - [" + mAudioStorageMode + "] requires 16-bit 8000 Hz " +
+                "MP3 input audio without normalization");
+        }
+        else
+        {
+            mLog.info("Audio segment storage mode [" + mode + "]");
+        }
+    }
+
+    /**
+     * Guava event bus method to receive notifications when user preferences are updated, so that the audio storage
+     * mode follows changes to the MP3 preference.
+     */
+    @Subscribe
+    public void preferenceUpdated(PreferenceType preferenceType)
+    {
+        if(preferenceType == PreferenceType.MP3)
+        {
+            updateAudioStorageMode();
+        }
+    }
+
     /**
      * Launch the application.
      */
@@ -19,11 +19,13 @@
 
 package io.github.dsheirer.gui.preference.application;
 
+import io.github.dsheirer.audio.AudioStorageMode;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.preference.application.ApplicationPreference;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.Separator;
 import javafx.scene.control.Spinner;
@@ -45,6 +47,7 @@ public class ApplicationPreferenceEditor extends HBox
     private Label mAutoStartTimeoutLabel;
     private Spinner<Integer> mTimeoutSpinner;
     private ToggleSwitch mAutomaticDiagnosticMonitoringToggle;
+    private ChoiceBox<AudioStorageMode> mAudioStorageModeChoiceBox;
 
     /**
      * Constructs an instance
@@ -89,6 +92,18 @@ public class ApplicationPreferenceEditor extends HBox
             mEditorPane.add(getTimeoutSpinner(), 0, ++row);
             mEditorPane.add(new Label("seconds"), 1, row);
 
+            Separator audioSeparator = new Separator(Orientation.HORIZONTAL);
+            GridPane.setHgrow(audioSeparator, Priority.ALWAYS);
+            mEditorPane.add(audioSeparator, 0, ++row, 3, 1);
+
+            mEditorPane.add(new Label("Call Audio Storage (restart required)"), 0, ++row, 2, 1);
+            GridPane.setHalignment(getAudioStorageModeChoiceBox(), HPos.RIGHT);
+            mEditorPane.add(getAudioStorageModeChoiceBox(), 0, ++row);
+            Label audioStorageHelp = new Label("16-bit storage uses half of the memory for calls in progress and is only used with 16-bit " +
+                "8000 Hz (no resample) MP3 input audio and audio normalization disabled");
+            audioStorageHelp.setWrapText(true);
+            mEditorPane.add(audioStorageHelp, 1, row);
+
             ColumnConstraints c1 = new ColumnConstraints();
             c1.setPercentWidth(30);
             ColumnConstraints c2 = new ColumnConstraints();
@@ -124,6 +139,23 @@ public class ApplicationPreferenceEditor extends HBox
         return mTimeoutSpinner;
     }
 
+    /**
+     * Choice box to select the storage mode for call audio.
+     */
+    private ChoiceBox<AudioStorageMode> getAudioStorageModeChoiceBox()
+    {
+        if(mAudioStorageModeChoiceBox == null)
+        {
+            mAudioStorageModeChoiceBox = new ChoiceBox<>();
+            mAudioStorageModeChoiceBox.getItems().addAll(AudioStorageMode.values());
+            mAudioStorageModeChoiceBox.getSelectionModel().select(mApplicationPreference.getAudioStorageMode());
+            mAudioStorageModeChoiceBox.setOnAction(event -> mApplicationPreference
+                .setAudioStorageMode(mAudioStorageModeChoiceBox.getSelectionModel().getSelectedItem()));
+        }
+
+        return mAudioStorageModeChoiceBox;
+    }
+
     /**
      * Toggle switch to enable/disable automatic diagnostic monitoring.
      */
@@ -21,6 +21,7 @@ package io.github.dsheirer.gui.preference.tuner;
 
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.preference.source.ChannelizerType;
+import io.github.dsheirer.preference.source.DispatcherMode;
 import io.github.dsheirer.preference.source.TunerPreference;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
@@ -41,6 +42,10 @@ public class TunerPreferenceEditor extends HBox
 {
     private static final String HELP_TEXT_POLYPHASE = "Processes all channels from tuner.  This " +
         "channelizer is more efficient when decoding 3 or more channels.";
+    private static final String HELP_TEXT_DISPATCHER_MODE = "Dedicated thread mode uses a separate processing thread " +
+        "for each channel and recorder.  Shared pool mode processes all channels and recorders on a work-stealing " +
+        "thread pool sized to the processor core count, which reduces thread count and context switching when " +
+        "decoding a large number of channels.";
     private static final String HELP_TEXT_HETERODYNE = "Processes each channel on-demand.  This " +
         "channelizer may work better for computers with constrained resources when processing a small number of channels.";
 
@@ -54,6 +59,9 @@ public class TunerPreferenceEditor extends HBox
     private Label mHelpTextHeterodyneLabel;
     private ChoiceBox<RspDuoSelectionMode> mRspDuoTunerModeChoiceBox;
     private Label mRspDuoModeLabel;
+    private ChoiceBox<DispatcherMode> mDispatcherModeChoiceBox;
+    private Label mDispatcherModeLabel;
+    private Label mHelpTextDispatcherModeLabel;
 
     public TunerPreferenceEditor(UserPreferences userPreferences)
     {
@@ -83,6 +91,11 @@ public class TunerPreferenceEditor extends HBox
             mEditorPane.add(new Separator(Orientation.HORIZONTAL), 0, row, 2, 1);
             mEditorPane.add(getRspDuoModeLabel(), 0, ++row);
             mEditorPane.add(getRspDuoTunerModeChoiceBox(), 1, row);
+            mEditorPane.add(new Separator(Orientation.HORIZONTAL), 0, ++row, 2, 1);
+            GridPane.setHalignment(getDispatcherModeLabel(), HPos.RIGHT);
+            mEditorPane.add(getDispatcherModeLabel(), 0, ++row);
+            mEditorPane.add(getDispatcherModeChoiceBox(), 1, row);
+            mEditorPane.add(getHelpTextDispatcherModeLabel(), 0, ++row, 2, 3);
         }
 
         return mEditorPane;
@@ -201,4 +214,51 @@ public class TunerPreferenceEditor extends HBox
 
         return mRspDuoModeLabel;
     }
+
+    private ChoiceBox<DispatcherMode> getDispatcherModeChoiceBox()
+    {
+        if(mDispatcherModeChoiceBox == null)
+        {
+            mDispatcherModeChoiceBox = new ChoiceBox<>();
+            mDispatcherModeChoiceBox.getItems().addAll(DispatcherMode.values());
+
+            DispatcherMode current = mTunerPreference.getDispatcherMode();
+            mDispatcherModeChoiceBox.getSelectionModel().select(current);
+
+            mDispatcherModeChoiceBox.setOnAction(event -> {
+                DispatcherMode selected = mDispatcherModeChoiceBox.getSelectionModel().getSelectedItem();
+                mTunerPreference.setDispatcherMode(selected);
+
+                Label label = new Label("Please restart the application for this change to take effect");
+                label.setWrapText(true);
+                Alert alert = new Alert(Alert.AlertType.WARNING);
+                alert.getDialogPane().setContent(label);
+                alert.initOwner(((Node)getDispatcherModeChoiceBox()).getScene().getWindow());
+                alert.show();
+            });
+        }
+
+        return mDispatcherModeChoiceBox;
+    }
+
+    private Label getDispatcherModeLabel()
+    {
+        if(mDispatcherModeLabel == null)
+        {
+            mDispatcherModeLabel = new Label("Processing Thread Mode");
+        }
+
+        return mDispatcherModeLabel;
+    }
+
+    private Label getHelpTextDispatcherModeLabel()
+    {
+        if(mHelpTextDispatcherModeLabel == null)
+        {
+            mHelpTextDispatcherModeLabel = new Label(HELP_TEXT_DISPATCHER_MODE);
+            mHelpTextDispatcherModeLabel.setWrapText(true);
+        }
+
+        return mHelpTextDispatcherModeLabel;
+    }
 }
@@ -19,8 +19,8 @@
 
 package io.github.dsheirer.gui.viewer;
 
-import com.google.common.eventbus.EventBus;
 import io.github.dsheirer.controller.channel.Channel;
+import io.github.dsheirer.eventbus.InterModuleEventBus;
 import io.github.dsheirer.identifier.IdentifierUpdateNotification;
 import io.github.dsheirer.identifier.configuration.FrequencyConfigurationIdentifier;
 import io.github.dsheirer.message.StuffBitsMessage;
@@ -163,7 +163,7 @@ public class P25P1Viewer extends VBox
                 MessagePackager messagePackager = new MessagePackager();
 
                 //Setup a temporary event bus to capture channel start processing requests
-                EventBus eventBus = new EventBus("debug");
+                InterModuleEventBus eventBus = new InterModuleEventBus("debug");
                 eventBus.register(messagePackager);
                 P25TrafficChannelManager trafficChannelManager = new P25TrafficChannelManager(empty);
                 trafficChannelManager.setInterModuleEventBus(eventBus);
@@ -0,0 +1,79 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.identifier.integer;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Interning cache for immutable integer identifiers.  Control channels continuously re-broadcast the same talkgroup,
+ * radio and site identifiers, so handing out a shared instance for a recently seen value avoids creating a new
+ * identifier for every decoded message.
+ *
+ * The cache is direct-mapped and lossy: each value maps to a single slot using the low-order bits of the value and a
+ * value that maps to an occupied slot simply replaces the cached instance.  Memory use is bounded by the slot count
+ * regardless of the size of the identifier address space.  Slots are accessed through an atomic reference array so
+ * that cached instances are safely published across decoder threads without locking.
+ *
+ * Note: only use this cache for identifier classes that are immutable after construction.
+ */
+public class IntegerIdentifierCache<T extends IntegerIdentifier>
+{
+    private final AtomicReferenceArray<T> mCache;
+    private final int mMask;
+    private final IntFunction<T> mFactory;
+
+    /**
+     * Constructs an instance
+     * @param bitSize of the cache slot index, in the range 1 - 16, where the cache has 2^bitSize slots.
+     * @param factory to create a new identifier instance for a value that is not currently cached.
+     */
+    public IntegerIdentifierCache(int bitSize, IntFunction<T> factory)
+    {
+        if(bitSize < 1 || bitSize > 16)
+        {
+            throw new IllegalArgumentException("Cache bit size must be in range 1 - 16: " + bitSize);
+        }
+
+        mCache = new AtomicReferenceArray<>(1 << bitSize);
+        mMask = (1 << bitSize) - 1;
+        mFactory = factory;
+    }
+
+    /**
+     * Access a cached identifier for the value, or create and cache a new identifier.
+     * @param value of the identifier
+     * @return identifier with the value
+     */
+    public T get(int value)
+    {
+        int index = value & mMask;
+        T cached = mCache.get(index);
+
+        if(cached != null && cached.getValue() == value)
+        {
+            return cached;
+        }
+
+        T created = mFactory.apply(value);
+        mCache.set(index, created);
+        return created;
+    }
+}
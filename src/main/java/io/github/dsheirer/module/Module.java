@@ -18,7 +18,7 @@
 
 package io.github.dsheirer.module;
 
-import com.google.common.eventbus.EventBus;
+import io.github.dsheirer.eventbus.InterModuleEventBus;
 
 /**
  * Defines the basic component level class for all processing, demodulation and decoding components that can operate
@@ -50,7 +50,7 @@ public abstract class Module
 	 * Event bus for inter-module communication of processing chain events.  Note: this is an externally provided
 	 * resource, typically provided by the ProcessingChain parent for each module.
 	 */
-	private EventBus mInterModuleEventBus;
+	private InterModuleEventBus mInterModuleEventBus;
 
 	/**
 	 * Constructs an instance
@@ -63,7 +63,7 @@ public abstract class Module
 	 * Sets the event bus to be used for inter-module event broadcasting and subscribing.
 	 * @param interModuleEventBus to use
 	 */
-	public void setInterModuleEventBus(EventBus interModuleEventBus)
+	public void setInterModuleEventBus(InterModuleEventBus interModuleEventBus)
 	{
 		//Unregister from the current event bus (if one exists)
 		if(hasInterModuleEventBus())
@@ -84,7 +84,7 @@ public abstract class Module
 	 * Event bus for inter-module communication.  Note: use hasEventBus() to check that the module is assigned a bus.
 	 * @return event bus or null if one has not been established.
 	 */
-	protected EventBus getInterModuleEventBus()
+	protected InterModuleEventBus getInterModuleEventBus()
 	{
 		return mInterModuleEventBus;
 	}
@@ -18,7 +18,6 @@
  */
 package io.github.dsheirer.module;
 
-import com.google.common.eventbus.EventBus;
 import io.github.dsheirer.alias.AliasModel;
 import io.github.dsheirer.audio.AudioSegment;
 import io.github.dsheirer.audio.AudioSegmentBroadcaster;
@@ -40,6 +39,7 @@ import io.github.dsheirer.controller.channel.ChannelConfigurationChangeNotificat
 import io.github.dsheirer.controller.channel.ChannelEvent;
 import io.github.dsheirer.controller.channel.IChannelEventListener;
 import io.github.dsheirer.controller.channel.IChannelEventProvider;
+import io.github.dsheirer.eventbus.InterModuleEventBus;
 import io.github.dsheirer.identifier.IdentifierUpdateListener;
 import io.github.dsheirer.identifier.IdentifierUpdateNotification;
 import io.github.dsheirer.identifier.IdentifierUpdateProvider;
@@ -47,12 +47,19 @@ import io.github.dsheirer.message.IMessage;
 import io.github.dsheirer.message.IMessageListener;
 import io.github.dsheirer.message.IMessageProvider;
 import io.github.dsheirer.message.MessageHistory;
+import io.github.dsheirer.module.decode.Decoder;
 import io.github.dsheirer.module.decode.event.DecodeEventHistory;
 import io.github.dsheirer.module.decode.event.IDecodeEvent;
 import io.github.dsheirer.module.decode.event.IDecodeEventListener;
 import io.github.dsheirer.module.decode.event.IDecodeEventProvider;
 import io.github.dsheirer.module.decode.traffic.TrafficChannelManager;
+import io.github.dsheirer.protocol.Protocol;
+import io.github.dsheirer.module.demodulate.fm.FMDemodulatorModule;
 import io.github.dsheirer.module.log.EventLogger;
+import io.github.dsheirer.monitor.jfr.DecodedMessageEvent;
+import io.github.dsheirer.monitor.jfr.DemodulatorBatchEvent;
+import io.github.dsheirer.monitor.metrics.Counter;
+import io.github.dsheirer.monitor.metrics.MetricsRegistry;
 import io.github.dsheirer.record.binary.BinaryRecorder;
 import io.github.dsheirer.record.wave.ComplexSamplesWaveRecorder;
 import io.github.dsheirer.sample.Broadcaster;
@@ -72,13 +79,18 @@ import io.github.dsheirer.source.SourceEvent;
 import io.github.dsheirer.source.heartbeat.Heartbeat;
 import io.github.dsheirer.source.heartbeat.IHeartbeatListener;
 import io.github.dsheirer.source.heartbeat.IHeartbeatProvider;
+import io.github.dsheirer.source.tuner.channel.TunerChannelSource;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -103,6 +115,8 @@ import org.slf4j.LoggerFactory;
 public class ProcessingChain implements Listener<ChannelEvent>
 {
     private final static Logger mLog = LoggerFactory.getLogger(ProcessingChain.class);
+    private static final AtomicInteger CHAIN_INSTANCE_COUNT = new AtomicInteger();
+    private static final Map<Protocol,Counter> PROTOCOL_MESSAGE_COUNTERS = new ConcurrentHashMap<>();
 
     private Broadcaster<float[]> mDemodulatedAudioBufferBroadcaster = new Broadcaster();
     private Broadcaster<ComplexSamples> mBasebandComplexSamplesBroadcaster = new Broadcaster<>();
@@ -120,11 +134,16 @@ public class ProcessingChain implements Listener<ChannelEvent>
     private DecodeEventHistory mDecodeEventHistory = new DecodeEventHistory(200);
     private MessageHistory mMessageHistory = new MessageHistory(200);
     private AbstractChannelState mChannelState;
-    private EventBus mEventBus;
+    private InterModuleEventBus mEventBus;
     protected Source mSource;
     //Lock to protect access to the modules list.
     private ReentrantLock mModuleLock = new ReentrantLock();
     private List<Module> mModules = new ArrayList<>();
+    private final String mChannelName;
+    private final String mInstance = String.valueOf(CHAIN_INSTANCE_COUNT.incrementAndGet());
+    private ChainMetrics mChainMetrics;
+    private Map<Module,Listener<ComplexSamples>> mComplexSamplesListeners = new ConcurrentHashMap<>();
+    private Map<Module,Listener<float[]>> mRealBufferListeners = new ConcurrentHashMap<>();
 
 
     /**
@@ -135,7 +154,8 @@ public class ProcessingChain implements Listener<ChannelEvent>
      */
     public ProcessingChain(Channel channel, AliasModel aliasModel)
     {
-        mEventBus = new EventBus("Processing Chain Event Bus - Channel: " + channel.getName());
+        mChannelName = channel.getName();
+        mEventBus = new InterModuleEventBus("Processing Chain Event Bus - Channel: " + channel.getName());
 
         if(channel.getDecodeConfiguration().getTimeslotCount() == 1)
         {
@@ -149,13 +169,15 @@ public class ProcessingChain implements Listener<ChannelEvent>
         addModule(mChannelState);
         addModule(mDecodeEventHistory);
         addModule(mMessageHistory);
+
+        mMessageBroadcaster.addListener(this::recordMessageEvent);
     }
 
     /**
      * Event bus used for inter-module communication.
      * @return event bus
      */
-    public EventBus getEventBus()
+    public InterModuleEventBus getEventBus()
     {
         return mEventBus;
     }
@@ -286,6 +308,11 @@ public class ProcessingChain implements Listener<ChannelEvent>
 
         mSource = source;
 
+        if(mSource instanceof TunerChannelSource tunerChannelSource)
+        {
+            tunerChannelSource.setChannelName(mChannelName);
+        }
+
         addModule(mSource);
     }
 
@@ -449,7 +476,14 @@ public class ProcessingChain implements Listener<ChannelEvent>
 
         if(module instanceof IRealBufferListener)
         {
-            mDemodulatedAudioBufferBroadcaster.addListener(((IRealBufferListener)module).getBufferListener());
+            Listener<float[]> listener = ((IRealBufferListener)module).getBufferListener();
+
+            if(listener != null)
+            {
+                mDemodulatedAudioBufferBroadcaster.addListener(mRealBufferListeners.computeIfAbsent(module,
+                    key -> isDemodulator(key) ? new DemodulatorBatchListener<>(key, listener,
+                        samples -> samples.length) : listener));
+            }
         }
 
         if(module instanceof IByteBufferListener)
@@ -459,7 +493,14 @@ public class ProcessingChain implements Listener<ChannelEvent>
 
         if(module instanceof IComplexSamplesListener)
         {
-            mBasebandComplexSamplesBroadcaster.addListener(((IComplexSamplesListener)module).getComplexSamplesListener());
+            Listener<ComplexSamples> listener = ((IComplexSamplesListener)module).getComplexSamplesListener();
+
+            if(listener != null)
+            {
+                mBasebandComplexSamplesBroadcaster.addListener(mComplexSamplesListeners.computeIfAbsent(module,
+                    key -> isDemodulator(key) ? new DemodulatorBatchListener<>(key, listener,
+                        samples -> samples.i().length) : listener));
+            }
         }
 
         if(module instanceof ISourceEventListener)
@@ -516,7 +557,7 @@ public class ProcessingChain implements Listener<ChannelEvent>
 
         if(module instanceof IRealBufferListener)
         {
-            mDemodulatedAudioBufferBroadcaster.removeListener(((IRealBufferListener)module).getBufferListener());
+            mDemodulatedAudioBufferBroadcaster.removeListener(mRealBufferListeners.remove(module));
         }
 
         if(module instanceof IByteBufferListener)
@@ -526,7 +567,7 @@ public class ProcessingChain implements Listener<ChannelEvent>
 
         if(module instanceof IComplexSamplesListener)
         {
-            mBasebandComplexSamplesBroadcaster.removeListener(((IComplexSamplesListener)module).getComplexSamplesListener());
+            mBasebandComplexSamplesBroadcaster.removeListener(mComplexSamplesListeners.remove(module));
         }
 
         if(module instanceof ISourceEventListener)
@@ -698,6 +739,8 @@ public class ProcessingChain implements Listener<ChannelEvent>
                 //Setup the channel state to monitor source overflow conditions
                 mSource.setOverflowListener(mChannelState);
 
+                mChainMetrics = new ChainMetrics();
+
                 /* Register with the source to receive sample data.  Setup a
                  * timer task to process the buffer queues 50 times a second
                  * (every 20 ms) */
@@ -750,6 +793,12 @@ public class ProcessingChain implements Listener<ChannelEvent>
     {
         if(mRunning.compareAndSet(true, false))
         {
+            if(mChainMetrics != null)
+            {
+                mChainMetrics.dispose();
+                mChainMetrics = null;
+            }
+
             if(mSource != null)
             {
                 removeModule(mSource);
@@ -1009,4 +1058,167 @@ public class ProcessingChain implements Listener<ChannelEvent>
     {
         mIdentifierUpdateNotificationBroadcaster.broadcast(updateNotification);
     }
+
+    /**
+     * Current frequency of the sample source, or zero if there is no source.
+     */
+    private long getSourceFrequency()
+    {
+        Source source = mSource;
+        return source != null ? source.getFrequency() : 0;
+    }
+
+    /**
+     * Records a flight recorder event for each decoded message, when enabled.
+     */
+    private void recordMessageEvent(IMessage message)
+    {
+        DecodedMessageEvent event = new DecodedMessageEvent();
+
+        if(event.shouldCommit())
+        {
+            event.setChannel(mChannelName, getSourceFrequency());
+            event.setProtocol(message.getProtocol() != null ? message.getProtocol().toString() : null);
+            event.setMessageType(message.getClass().getSimpleName());
+            event.setTimeslot(message.getTimeslot());
+            event.setValid(message.isValid());
+            event.commit();
+        }
+    }
+
+    /**
+     * Indicates if the module demodulates or decodes the sample buffers that it receives, as opposed to other sample
+     * consumers like recorders that are not timed with a demodulator batch event.
+     */
+    private static boolean isDemodulator(Module module)
+    {
+        return module instanceof Decoder || module instanceof FMDemodulatorModule;
+    }
+
+    /**
+     * Sample buffer listener wrapper for a demodulator or decoder module that records a flight recorder event for each
+     * buffer processed by the module, when enabled.
+     * @param <T> sample buffer type
+     */
+    private class DemodulatorBatchListener<T> implements Listener<T>
+    {
+        private final String mModuleName;
+        private final Listener<T> mListener;
+        private final ToIntFunction<T> mSampleCounter;
+
+        /**
+         * Constructs an instance
+         * @param module that is consuming the samples
+         * @param listener for the module
+         * @param sampleCounter to count the samples in a buffer
+         */
+        public DemodulatorBatchListener(Module module, Listener<T> listener, ToIntFunction<T> sampleCounter)
+        {
+            mModuleName = module.getClass().getSimpleName();
+            mListener = listener;
+            mSampleCounter = sampleCounter;
+        }
+
+        @Override
+        public void receive(T samples)
+        {
+            DemodulatorBatchEvent event = new DemodulatorBatchEvent();
+            event.begin();
+
+            mListener.receive(samples);
+
+            if(event.shouldCommit())
+            {
+                event.setChannel(mChannelName, getSourceFrequency());
+                event.setModule(mModuleName);
+                event.setSampleCount(mSampleCounter.applyAsInt(samples));
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Module throughput metrics for this processing chain.  Counting listeners are registered with the sample, message,
+     * decode event and audio segment broadcasters while the chain is processing.  Decoded messages are also counted
+     * by protocol across all processing chains.
+     */
+    private class ChainMetrics
+    {
+        private static final String CHANNEL = "channel";
+        private static final String CHAIN = "chain";
+        private final Counter mSampleBufferCounter;
+        private final Counter mSampleCounter;
+        private final Counter mMessageCounter;
+        private final Counter mDecodeEventCounter;
+        private final Counter mAudioSegmentCounter;
+        private final Listener<ComplexSamples> mComplexSamplesListener;
+        private final Listener<float[]> mRealSamplesListener;
+        private final Listener<IMessage> mMessageListener;
+        private final Listener<IDecodeEvent> mDecodeEventListener;
+        private final Listener<AudioSegment> mAudioSegmentListener;
+
+        /**
+         * Constructs an instance and registers the counting listeners with the broadcasters.
+         */
+        public ChainMetrics()
+        {
+            MetricsRegistry registry = MetricsRegistry.getInstance();
+            mSampleBufferCounter = registry.counter("sdrtrunk_channel_sample_buffers_total",
+                "Sample buffers received by the processing chain", CHANNEL, mChannelName, CHAIN, mInstance);
+            mSampleCounter = registry.counter("sdrtrunk_channel_samples_total",
+                "Samples received by the processing chain", CHANNEL, mChannelName, CHAIN, mInstance);
+            mMessageCounter = registry.counter("sdrtrunk_channel_messages_total",
+                "Messages produced by the processing chain decoders", CHANNEL, mChannelName, CHAIN, mInstance);
+            mDecodeEventCounter = registry.counter("sdrtrunk_channel_decode_events_total",
+                "Decode events produced by the processing chain", CHANNEL, mChannelName, CHAIN, mInstance);
+            mAudioSegmentCounter = registry.counter("sdrtrunk_channel_audio_segments_total",
+                "Audio segments produced by the processing chain", CHANNEL, mChannelName, CHAIN, mInstance);
+
+            mComplexSamplesListener = samples -> {
+                mSampleBufferCounter.increment();
+                mSampleCounter.add(samples.i().length);
+            };
+            mRealSamplesListener = samples -> {
+                mSampleBufferCounter.increment();
+                mSampleCounter.add(samples.length);
+            };
+            mMessageListener = message -> {
+                mMessageCounter.increment();
+
+                if(message.getProtocol() != null)
+                {
+                    PROTOCOL_MESSAGE_COUNTERS.computeIfAbsent(message.getProtocol(), protocol -> MetricsRegistry
+                        .getInstance().counter("sdrtrunk_decoder_messages_total",
+                            "Messages produced by decoders, by protocol", "protocol", protocol.toString())).increment();
+                }
+            };
+            mDecodeEventListener = decodeEvent -> mDecodeEventCounter.increment();
+            mAudioSegmentListener = audioSegment -> {
+                mAudioSegmentCounter.increment();
+                //Release the consumer count applied by the audio segment broadcaster
+                audioSegment.decrementConsumerCount();
+            };
+
+            mBasebandComplexSamplesBroadcaster.addListener(mComplexSamplesListener);
+            mDemodulatedAudioBufferBroadcaster.addListener(mRealSamplesListener);
+            mMessageBroadcaster.addListener(mMessageListener);
+            mDecodeEventBroadcaster.addListener(mDecodeEventListener);
+            mAudioSegmentBroadcaster.addListener(mAudioSegmentListener);
+        }
+
+        /**
+         * Unregisters the counting listeners and removes the metrics from the registry.
+         */
+        public void dispose()
+        {
+            mBasebandComplexSamplesBroadcaster.removeListener(mComplexSamplesListener);
+            mDemodulatedAudioBufferBroadcaster.removeListener(mRealSamplesListener);
+            mMessageBroadcaster.removeListener(mMessageListener);
+            mDecodeEventBroadcaster.removeListener(mDecodeEventListener);
+            mAudioSegmentBroadcaster.removeListener(mAudioSegmentListener);
+
+            MetricsRegistry.getInstance().remove(mSampleBufferCounter, mSampleCounter, mMessageCounter,
+                mDecodeEventCounter, mAudioSegmentCounter);
+        }
+    }
 }
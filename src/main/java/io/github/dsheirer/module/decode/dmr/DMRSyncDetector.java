@@ -1,5 +1,6 @@
 package io.github.dsheirer.module.decode.dmr;
 
+import io.github.dsheirer.bits.SyncEngine;
 import io.github.dsheirer.dsp.symbol.Dibit;
 import io.github.dsheirer.dsp.symbol.QPSKCarrierLock;
 import org.apache.commons.lang3.Validate;
@@ -24,12 +25,12 @@ import org.apache.commons.lang3.Validate;
  */
 public class DMRSyncDetector
 {
-    private static long SYNC_MASK = 0xFFFFFFFFFFFFl;
+    private static final int SYNC_PATTERN_LENGTH = 48;
     private static final int MAX_PATTERN_BIT_ERROR_PLL_MISALIGNMENT = 1;
-    private int mMaxStreamBitErrors;
-    private int mMaxExplicitBitErrors;
-    private long mCurrentSyncValue;
-    private long mErrorPattern;
+    private SyncEngine mStreamSyncEngine = new SyncEngine();
+    private SyncEngine mExplicitSyncEngine = new SyncEngine();
+    private DMRSyncPattern[] mEngineSyncPatterns = new DMRSyncPattern[DMRSyncPattern.SYNC_PATTERNS.size() * 3];
+    private QPSKCarrierLock[] mEngineCarrierLocks = new QPSKCarrierLock[DMRSyncPattern.SYNC_PATTERNS.size() * 3];
     private int mPatternMatchBitErrorCount;
     private DMRSyncPattern mSyncPattern = DMRSyncPattern.UNKNOWN;
     private QPSKCarrierLock mCarrierLock = QPSKCarrierLock.NORMAL;
@@ -45,8 +46,33 @@ public class DMRSyncDetector
             "Max (allowable) stream bit errors for sync match must be between 0 and 24");
         Validate.inclusiveBetween(0, 24, maxExplicitBitErrors,
             "Max (allowable) explicit bit errors for sync match must be between 0 and 24");
-        mMaxStreamBitErrors = maxStreamBitErrors;
-        mMaxExplicitBitErrors = maxExplicitBitErrors;
+
+        //Register the patterns with both engines in the same order so that each engine's pattern index maps to the
+        //same sync pattern and carrier lock.  The inverted pattern is the complement of the pattern and is detected
+        //by the engine with the (normal) pattern.  PLL mis-aligned lock patterns use a reduced bit error threshold.
+        for(DMRSyncPattern pattern: DMRSyncPattern.SYNC_PATTERNS)
+        {
+            int index = mStreamSyncEngine.add(pattern.getPattern(), SYNC_PATTERN_LENGTH, maxStreamBitErrors,
+                MAX_PATTERN_BIT_ERROR_PLL_MISALIGNMENT);
+            mExplicitSyncEngine.add(pattern.getPattern(), SYNC_PATTERN_LENGTH, maxExplicitBitErrors,
+                MAX_PATTERN_BIT_ERROR_PLL_MISALIGNMENT);
+            mEngineSyncPatterns[index] = pattern;
+            mEngineCarrierLocks[index] = QPSKCarrierLock.NORMAL;
+
+            index = mStreamSyncEngine.add(pattern.getPlus90Pattern(), SYNC_PATTERN_LENGTH,
+                MAX_PATTERN_BIT_ERROR_PLL_MISALIGNMENT);
+            mExplicitSyncEngine.add(pattern.getPlus90Pattern(), SYNC_PATTERN_LENGTH,
+                MAX_PATTERN_BIT_ERROR_PLL_MISALIGNMENT);
+            mEngineSyncPatterns[index] = pattern;
+            mEngineCarrierLocks[index] = QPSKCarrierLock.PLUS_90;
+
+            index = mStreamSyncEngine.add(pattern.getMinus90Pattern(), SYNC_PATTERN_LENGTH,
+                MAX_PATTERN_BIT_ERROR_PLL_MISALIGNMENT);
+            mExplicitSyncEngine.add(pattern.getMinus90Pattern(), SYNC_PATTERN_LENGTH,
+                MAX_PATTERN_BIT_ERROR_PLL_MISALIGNMENT);
+            mEngineSyncPatterns[index] = pattern;
+            mEngineCarrierLocks[index] = QPSKCarrierLock.MINUS_90;
+        }
     }
 
     /**
@@ -99,10 +125,8 @@ public class DMRSyncDetector
      */
     public void add(Dibit dibit)
     {
-        mCurrentSyncValue = Long.rotateLeft(mCurrentSyncValue, 2);
-        mCurrentSyncValue &= SYNC_MASK;
-        mCurrentSyncValue += dibit.getValue();
-        checkSync(mMaxStreamBitErrors);
+        mStreamSyncEngine.receive(dibit);
+        update(mStreamSyncEngine);
     }
 
     /**
@@ -111,68 +135,28 @@ public class DMRSyncDetector
      */
     public void setCurrentSyncValue(long value)
     {
-        mCurrentSyncValue = value;
-        checkSync(mMaxExplicitBitErrors);
+        mExplicitSyncEngine.setHistory(value);
+        mExplicitSyncEngine.check(value);
+        update(mExplicitSyncEngine);
     }
 
     /**
-     * Checks the current sync value against each of the sync patterns to determine if the value matches a pattern.
+     * Updates the sync pattern, carrier lock and bit error count from the match state of the sync engine.
      */
-    private void checkSync(int maxBitErrors)
+    private void update(SyncEngine engine)
     {
-        for(DMRSyncPattern pattern: DMRSyncPattern.SYNC_PATTERNS)
+        if(engine.hasMatch())
         {
-            mErrorPattern = mCurrentSyncValue ^ pattern.getPattern();
-
-            if(mErrorPattern == 0)
-            {
-                mSyncPattern = pattern;
-                mCarrierLock = QPSKCarrierLock.NORMAL;
-                mPatternMatchBitErrorCount = 0;
-                return;
-            }
-
-            mPatternMatchBitErrorCount = Long.bitCount(mErrorPattern);
-
-            if(mPatternMatchBitErrorCount <= maxBitErrors)
-            {
-                mSyncPattern = pattern;
-                mCarrierLock = QPSKCarrierLock.NORMAL;
-                return;
-            }
-
-
-            //For PLL mis-aligned lock patterns, reduce the pattern bit error match threshold
-            mPatternMatchBitErrorCount = Long.bitCount(mCurrentSyncValue ^ pattern.getPlus90Pattern());
-
-            if(mPatternMatchBitErrorCount <= MAX_PATTERN_BIT_ERROR_PLL_MISALIGNMENT)
-            {
-                mSyncPattern = pattern;
-                mCarrierLock = QPSKCarrierLock.PLUS_90;
-                return;
-            }
-
-            mPatternMatchBitErrorCount = Long.bitCount(mCurrentSyncValue ^ pattern.getMinus90Pattern());
-
-            if(mPatternMatchBitErrorCount <= MAX_PATTERN_BIT_ERROR_PLL_MISALIGNMENT)
-            {
-                mSyncPattern = pattern;
-                mCarrierLock = QPSKCarrierLock.MINUS_90;
-                return;
-            }
-
-            mPatternMatchBitErrorCount = Long.bitCount(mCurrentSyncValue ^ pattern.getInvertedPattern());
-
-            if(mPatternMatchBitErrorCount <= MAX_PATTERN_BIT_ERROR_PLL_MISALIGNMENT)
-            {
-                mSyncPattern = pattern;
-                mCarrierLock = QPSKCarrierLock.INVERTED;
-                return;
-            }
+            mSyncPattern = mEngineSyncPatterns[engine.getMatchIndex()];
+            mCarrierLock = engine.isMatchInverted() ? QPSKCarrierLock.INVERTED :
+                mEngineCarrierLocks[engine.getMatchIndex()];
+            mPatternMatchBitErrorCount = engine.getMatchBitErrors();
+        }
+        else
+        {
+            mSyncPattern = DMRSyncPattern.UNKNOWN;
+            mCarrierLock = QPSKCarrierLock.NORMAL;
+            mPatternMatchBitErrorCount = 0;
         }
-
-        mSyncPattern = DMRSyncPattern.UNKNOWN;
-        mCarrierLock = QPSKCarrierLock.NORMAL;
-        mPatternMatchBitErrorCount = 0;
     }
 }
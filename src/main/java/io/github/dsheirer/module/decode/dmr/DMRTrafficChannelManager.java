@@ -49,6 +49,8 @@ import io.github.dsheirer.module.decode.event.DecodeEventType;
 import io.github.dsheirer.module.decode.event.IDecodeEvent;
 import io.github.dsheirer.module.decode.event.IDecodeEventProvider;
 import io.github.dsheirer.module.decode.traffic.TrafficChannelManager;
+import io.github.dsheirer.monitor.jfr.TrafficChannelAllocationEvent;
+import io.github.dsheirer.protocol.Protocol;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.source.SourceType;
 import io.github.dsheirer.source.config.SourceConfigTuner;
@@ -239,6 +241,7 @@ public class DMRTrafficChannelManager extends TrafficChannelManager implements I
 
                 //Convert current channel to a traffic channel if one is available
                 Channel trafficChannel = mAvailableTrafficChannels.poll();
+                TrafficChannelAllocationEvent.record(mParentChannel, currentFrequency, Protocol.DMR, trafficChannel);
 
                 if(trafficChannel != null)
                 {
@@ -457,6 +460,7 @@ public class DMRTrafficChannelManager extends TrafficChannelManager implements I
                 }
 
                 Channel trafficChannel = mAvailableTrafficChannels.poll();
+                TrafficChannelAllocationEvent.record(mParentChannel, frequency, Protocol.DMR, trafficChannel);
 
                 if(trafficChannel != null)
                 {
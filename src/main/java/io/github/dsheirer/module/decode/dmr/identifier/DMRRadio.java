@@ -23,6 +23,7 @@
 package io.github.dsheirer.module.decode.dmr.identifier;
 
 import io.github.dsheirer.identifier.Role;
+import io.github.dsheirer.identifier.integer.IntegerIdentifierCache;
 import io.github.dsheirer.identifier.radio.RadioIdentifier;
 import io.github.dsheirer.protocol.Protocol;
 
@@ -31,6 +32,14 @@ import io.github.dsheirer.protocol.Protocol;
  */
 public class DMRRadio extends RadioIdentifier
 {
+    private static final int CACHE_BIT_SIZE = 12;
+    private static final IntegerIdentifierCache<DMRRadio> TO_CACHE = new IntegerIdentifierCache<>(CACHE_BIT_SIZE,
+        value -> new DMRRadio(value, Role.TO));
+    private static final IntegerIdentifierCache<DMRRadio> FROM_CACHE = new IntegerIdentifierCache<>(CACHE_BIT_SIZE,
+        value -> new DMRRadio(value, Role.FROM));
+    private static final IntegerIdentifierCache<DMRRadio> ANY_CACHE = new IntegerIdentifierCache<>(CACHE_BIT_SIZE,
+        value -> new DMRRadio(value, Role.ANY));
+
     public DMRRadio(Integer value, Role role)
     {
         super(value, role);
@@ -47,7 +56,7 @@ public class DMRRadio extends RadioIdentifier
      */
     public static RadioIdentifier createTo(int radioId)
     {
-        return new DMRRadio(radioId, Role.TO);
+        return TO_CACHE.get(radioId);
     }
 
     /**
@@ -55,7 +64,7 @@ public class DMRRadio extends RadioIdentifier
      */
     public static RadioIdentifier createFrom(int radioId)
     {
-        return new DMRRadio(radioId, Role.FROM);
+        return FROM_CACHE.get(radioId);
     }
 
     /**
@@ -63,6 +72,6 @@ public class DMRRadio extends RadioIdentifier
      */
     public static RadioIdentifier createAny(int radioId)
     {
-        return new DMRRadio(radioId, Role.ANY);
+        return ANY_CACHE.get(radioId);
     }
 }
@@ -60,6 +60,8 @@ import io.github.dsheirer.module.decode.p25.phase2.enumeration.ScrambleParameter
 import io.github.dsheirer.module.decode.p25.phase2.message.mac.MacOpcode;
 import io.github.dsheirer.module.decode.p25.reference.ServiceOptions;
 import io.github.dsheirer.module.decode.traffic.TrafficChannelManager;
+import io.github.dsheirer.monitor.jfr.TrafficChannelAllocationEvent;
+import io.github.dsheirer.protocol.Protocol;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.source.config.SourceConfigTuner;
 import java.util.ArrayList;
@@ -851,6 +853,7 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
             if(!mAllocatedTrafficChannelMap.containsKey(frequency) && !(mIgnoreDataCalls && isDataChannelGrant))
             {
                 Channel trafficChannel = mAvailablePhase1TrafficChannelQueue.poll();
+                TrafficChannelAllocationEvent.record(mParentChannel, frequency, Protocol.APCO25, trafficChannel);
 
                 if(trafficChannel != null)
                 {
@@ -913,6 +916,7 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
         if(!mAllocatedTrafficChannelMap.containsKey(frequency))
         {
             Channel trafficChannel = mAvailablePhase1TrafficChannelQueue.poll();
+            TrafficChannelAllocationEvent.record(mParentChannel, frequency, Protocol.APCO25, trafficChannel);
 
             if(trafficChannel == null)
             {
@@ -1029,6 +1033,7 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
                 (getCurrentControlFrequency() != frequency))
             {
                 Channel trafficChannel = mAvailablePhase2TrafficChannelQueue.poll();
+                TrafficChannelAllocationEvent.record(mParentChannel, frequency, Protocol.APCO25_PHASE2, trafficChannel);
 
                 if(trafficChannel != null)
                 {
@@ -1095,6 +1100,7 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
         if(!mAllocatedTrafficChannelMap.containsKey(frequency) && frequency != getCurrentControlFrequency())
         {
             Channel trafficChannel = mAvailablePhase2TrafficChannelQueue.poll();
+            TrafficChannelAllocationEvent.record(mParentChannel, frequency, Protocol.APCO25_PHASE2, trafficChannel);
 
             if(trafficChannel == null)
             {
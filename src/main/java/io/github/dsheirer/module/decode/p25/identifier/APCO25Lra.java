@@ -23,10 +23,13 @@ import io.github.dsheirer.identifier.Identifier;
 import io.github.dsheirer.identifier.IdentifierClass;
 import io.github.dsheirer.identifier.Role;
 import io.github.dsheirer.identifier.integer.IntegerIdentifier;
+import io.github.dsheirer.identifier.integer.IntegerIdentifierCache;
 import io.github.dsheirer.protocol.Protocol;
 
 public class APCO25Lra extends IntegerIdentifier
 {
+    private static final IntegerIdentifierCache<APCO25Lra> CACHE = new IntegerIdentifierCache<>(8, APCO25Lra::new);
+
     public APCO25Lra(int value)
     {
         super(value, IdentifierClass.NETWORK, Form.LOCATION_REGISTRATION_AREA, Role.BROADCAST);
@@ -43,7 +46,7 @@ public class APCO25Lra extends IntegerIdentifier
      */
     public static Identifier create(int lra)
     {
-        return new APCO25Lra(lra);
+        return CACHE.get(lra);
     }
 
     @Override
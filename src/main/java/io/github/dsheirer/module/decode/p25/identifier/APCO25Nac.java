@@ -23,10 +23,13 @@ import io.github.dsheirer.identifier.Identifier;
 import io.github.dsheirer.identifier.IdentifierClass;
 import io.github.dsheirer.identifier.Role;
 import io.github.dsheirer.identifier.integer.IntegerIdentifier;
+import io.github.dsheirer.identifier.integer.IntegerIdentifierCache;
 import io.github.dsheirer.protocol.Protocol;
 
 public class APCO25Nac extends IntegerIdentifier
 {
+    private static final IntegerIdentifierCache<APCO25Nac> CACHE = new IntegerIdentifierCache<>(12, APCO25Nac::new);
+
     public APCO25Nac(int value)
     {
         super(value, IdentifierClass.NETWORK, Form.NETWORK_ACCESS_CODE, Role.BROADCAST);
@@ -49,7 +52,7 @@ public class APCO25Nac extends IntegerIdentifier
      */
     public static Identifier create(int nac)
     {
-        return new APCO25Nac(nac);
+        return CACHE.get(nac);
     }
 
     @Override
@@ -23,10 +23,13 @@ import io.github.dsheirer.identifier.Identifier;
 import io.github.dsheirer.identifier.IdentifierClass;
 import io.github.dsheirer.identifier.Role;
 import io.github.dsheirer.identifier.integer.IntegerIdentifier;
+import io.github.dsheirer.identifier.integer.IntegerIdentifierCache;
 import io.github.dsheirer.protocol.Protocol;
 
 public class APCO25Rfss extends IntegerIdentifier
 {
+    private static final IntegerIdentifierCache<APCO25Rfss> CACHE = new IntegerIdentifierCache<>(8, APCO25Rfss::new);
+
     public APCO25Rfss(int value)
     {
         super(value, IdentifierClass.NETWORK, Form.RF_SUBSYSTEM, Role.BROADCAST);
@@ -43,7 +46,7 @@ public class APCO25Rfss extends IntegerIdentifier
      */
     public static Identifier create(int rfss)
     {
-        return new APCO25Rfss(rfss);
+        return CACHE.get(rfss);
     }
 
     @Override
@@ -22,10 +22,13 @@ import io.github.dsheirer.identifier.Form;
 import io.github.dsheirer.identifier.IdentifierClass;
 import io.github.dsheirer.identifier.Role;
 import io.github.dsheirer.identifier.integer.IntegerIdentifier;
+import io.github.dsheirer.identifier.integer.IntegerIdentifierCache;
 import io.github.dsheirer.protocol.Protocol;
 
 public class APCO25Site extends IntegerIdentifier
 {
+    private static final IntegerIdentifierCache<APCO25Site> CACHE = new IntegerIdentifierCache<>(8, APCO25Site::new);
+
     public APCO25Site(int value)
     {
         super(value, IdentifierClass.NETWORK, Form.SITE, Role.BROADCAST);
@@ -42,7 +45,7 @@ public class APCO25Site extends IntegerIdentifier
      */
     public static IntegerIdentifier create(int site)
     {
-        return new APCO25Site(site);
+        return CACHE.get(site);
     }
 
     @Override
@@ -23,10 +23,13 @@ import io.github.dsheirer.identifier.Identifier;
 import io.github.dsheirer.identifier.IdentifierClass;
 import io.github.dsheirer.identifier.Role;
 import io.github.dsheirer.identifier.integer.IntegerIdentifier;
+import io.github.dsheirer.identifier.integer.IntegerIdentifierCache;
 import io.github.dsheirer.protocol.Protocol;
 
 public class APCO25System extends IntegerIdentifier
 {
+    private static final IntegerIdentifierCache<APCO25System> CACHE = new IntegerIdentifierCache<>(12, APCO25System::new);
+
     public APCO25System(int value)
     {
         super(value, IdentifierClass.NETWORK, Form.SYSTEM, Role.BROADCAST);
@@ -42,7 +45,7 @@ public class APCO25System extends IntegerIdentifier
      */
     public static Identifier create(int system)
     {
-        return new APCO25System(system);
+        return CACHE.get(system);
     }
 
     @Override
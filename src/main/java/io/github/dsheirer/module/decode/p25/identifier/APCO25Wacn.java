@@ -23,10 +23,13 @@ import io.github.dsheirer.identifier.Identifier;
 import io.github.dsheirer.identifier.IdentifierClass;
 import io.github.dsheirer.identifier.Role;
 import io.github.dsheirer.identifier.integer.IntegerIdentifier;
+import io.github.dsheirer.identifier.integer.IntegerIdentifierCache;
 import io.github.dsheirer.protocol.Protocol;
 
 public class APCO25Wacn extends IntegerIdentifier
 {
+    private static final IntegerIdentifierCache<APCO25Wacn> CACHE = new IntegerIdentifierCache<>(8, APCO25Wacn::new);
+
     public APCO25Wacn(int value)
     {
         super(value, IdentifierClass.NETWORK, Form.WACN, Role.BROADCAST);
@@ -43,7 +46,7 @@ public class APCO25Wacn extends IntegerIdentifier
      */
     public static Identifier create(int wacn)
     {
-        return new APCO25Wacn(wacn);
+        return CACHE.get(wacn);
     }
 
 
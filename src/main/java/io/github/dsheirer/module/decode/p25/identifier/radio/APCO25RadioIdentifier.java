@@ -23,6 +23,7 @@
 package io.github.dsheirer.module.decode.p25.identifier.radio;
 
 import io.github.dsheirer.identifier.Role;
+import io.github.dsheirer.identifier.integer.IntegerIdentifierCache;
 import io.github.dsheirer.identifier.radio.RadioIdentifier;
 import io.github.dsheirer.protocol.Protocol;
 
@@ -31,6 +32,14 @@ import io.github.dsheirer.protocol.Protocol;
  */
 public class APCO25RadioIdentifier extends RadioIdentifier
 {
+    private static final int CACHE_BIT_SIZE = 12;
+    private static final IntegerIdentifierCache<APCO25RadioIdentifier> TO_CACHE = new IntegerIdentifierCache<>(CACHE_BIT_SIZE,
+        value -> new APCO25RadioIdentifier(value, Role.TO));
+    private static final IntegerIdentifierCache<APCO25RadioIdentifier> FROM_CACHE = new IntegerIdentifierCache<>(CACHE_BIT_SIZE,
+        value -> new APCO25RadioIdentifier(value, Role.FROM));
+    private static final IntegerIdentifierCache<APCO25RadioIdentifier> ANY_CACHE = new IntegerIdentifierCache<>(CACHE_BIT_SIZE,
+        value -> new APCO25RadioIdentifier(value, Role.ANY));
+
     public APCO25RadioIdentifier(Integer value, Role role)
     {
         super(value, role);
@@ -47,7 +56,7 @@ public class APCO25RadioIdentifier extends RadioIdentifier
      */
     public static RadioIdentifier createTo(int radioId)
     {
-        return new APCO25RadioIdentifier(radioId, Role.TO);
+        return TO_CACHE.get(radioId);
     }
 
     /**
@@ -55,7 +64,7 @@ public class APCO25RadioIdentifier extends RadioIdentifier
      */
     public static RadioIdentifier createFrom(int radioId)
     {
-        return new APCO25RadioIdentifier(radioId, Role.FROM);
+        return FROM_CACHE.get(radioId);
     }
 
     /**
@@ -63,6 +72,6 @@ public class APCO25RadioIdentifier extends RadioIdentifier
      */
     public static RadioIdentifier createAny(int radioId)
     {
-        return new APCO25RadioIdentifier(radioId, Role.ANY);
+        return ANY_CACHE.get(radioId);
     }
 }
@@ -23,11 +23,18 @@
 package io.github.dsheirer.module.decode.p25.identifier.talkgroup;
 
 import io.github.dsheirer.identifier.Role;
+import io.github.dsheirer.identifier.integer.IntegerIdentifierCache;
 import io.github.dsheirer.identifier.talkgroup.TalkgroupIdentifier;
 import io.github.dsheirer.protocol.Protocol;
 
 public class APCO25Talkgroup extends TalkgroupIdentifier
 {
+    private static final int CACHE_BIT_SIZE = 12;
+    private static final IntegerIdentifierCache<APCO25Talkgroup> TO_CACHE = new IntegerIdentifierCache<>(CACHE_BIT_SIZE,
+        value -> new APCO25Talkgroup(value, Role.TO));
+    private static final IntegerIdentifierCache<APCO25Talkgroup> ANY_CACHE = new IntegerIdentifierCache<>(CACHE_BIT_SIZE,
+        value -> new APCO25Talkgroup(value, Role.ANY));
+
     public APCO25Talkgroup(Integer value)
     {
         super(value, Role.TO);
@@ -49,7 +56,7 @@ public class APCO25Talkgroup extends TalkgroupIdentifier
      */
     public static TalkgroupIdentifier create(int talkgroup)
     {
-        return new APCO25Talkgroup(talkgroup);
+        return TO_CACHE.get(talkgroup);
     }
 
     /**
@@ -57,6 +64,6 @@ public class APCO25Talkgroup extends TalkgroupIdentifier
      */
     public static TalkgroupIdentifier createAny(int talkgroup)
     {
-        return new APCO25Talkgroup(talkgroup, Role.ANY);
+        return ANY_CACHE.get(talkgroup);
     }
 }
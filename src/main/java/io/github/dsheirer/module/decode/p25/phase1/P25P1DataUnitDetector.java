@@ -18,8 +18,10 @@
  */
 package io.github.dsheirer.module.decode.p25.phase1;
 
+import io.github.dsheirer.bits.CorrectedBinaryMessage;
 import io.github.dsheirer.dsp.psk.pll.IPhaseLockedLoop;
 import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.dsp.symbol.ISoftSymbolListener;
 import io.github.dsheirer.dsp.symbol.ISyncDetectListener;
 import io.github.dsheirer.edac.BCH_63_16_11;
 import io.github.dsheirer.sample.Listener;
@@ -27,7 +29,9 @@ import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListener
+import java.util.Arrays;
+
+public class P25P1DataUnitDetector implements Listener<Dibit>, ISoftSymbolListener<Dibit>, ISyncDetectListener
 {
     private final static Logger mLog = LoggerFactory.getLogger(P25P1DataUnitDetector.class);
     private static final int DATA_UNIT_DIBIT_LENGTH = 57; //56 dibits plus 1 status symbol
@@ -86,6 +90,19 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
 
     @Override
     public void receive(Dibit dibit)
+    {
+        receive(dibit, CorrectedBinaryMessage.MAXIMUM_CONFIDENCE);
+    }
+
+    /**
+     * Processes a dibit with a soft-decision confidence value.  Confidence values are retained with the buffered
+     * dibits so that the NID decoder can use them when hard-decision decoding fails.
+     *
+     * @param dibit to process
+     * @param confidence in the dibit symbol decision
+     */
+    @Override
+    public void receive(Dibit dibit, int confidence)
     {
         mDibitsProcessed++;
 
@@ -101,7 +118,7 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
         //Feed the sync detect with a 32 dibit delay from the data unit buffer so that if/when
         //a sync detect occurs, the data unit buffer is already filled with both the sync dibits
         //and the NID dibits and we can test for a valid NID
-        mSyncDetector.receive(mSyncDelayBuffer.getAndPut(dibit));
+        mSyncDetector.receive(mSyncDelayBuffer.getAndPut(dibit, confidence));
 
         //If the sync detector doesn't fire and we've processed enough dibits for a sync/nid sequence
         //immediately following a valid message, then test for a NID anyway ... maybe the sync was corrupted
@@ -126,11 +143,13 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
     {
         if(bitErrorCount <= MAXIMUM_SYNC_MATCH_BIT_ERRORS)
         {
-            int[] nid = mSyncDelayBuffer.getNID();
+            int[] nid = new int[63];
+            int[] confidence = new int[63];
+            mSyncDelayBuffer.getNID(nid, confidence);
             int[] correctedNid = new int[63];
 
             //If decoder indicates there are no unrecoverable errors ....
-            if(!mNIDDecoder.decode(nid, correctedNid))
+            if(!mNIDDecoder.decode(nid, confidence, correctedNid))
             {
                 mNIDDetectionCount++;
 
@@ -331,6 +350,7 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
     public class DibitDelayBuffer
     {
         protected Dibit[] mBuffer;
+        protected int[] mConfidence;
         protected int mPointer;
 
         /**
@@ -339,12 +359,15 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
         public DibitDelayBuffer(int length)
         {
             mBuffer = new Dibit[length];
+            mConfidence = new int[length];
 
             //Preload the buffer to avoid null pointers
             for(int x = 0; x < length; x++)
             {
                 mBuffer[x] = Dibit.D00_PLUS_1;
             }
+
+            Arrays.fill(mConfidence, CorrectedBinaryMessage.MAXIMUM_CONFIDENCE);
         }
 
         /**
@@ -353,7 +376,19 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
         public int[] getNID()
         {
             int[] nid = new int[63];
+            getNID(nid, null);
+            return nid;
+        }
 
+        /**
+         * Fetches the NID in reverse order format required for the ECC code along with the confidence value for each
+         * NID bit.
+         *
+         * @param nid array of length 63 to receive the NID bits
+         * @param confidence array of length 63 to receive the confidence of each NID bit, or null.
+         */
+        public void getNID(int[] nid, int[] confidence)
+        {
             int nidPointer = 0;
             int bufferPointer = mPointer - 1;
 
@@ -368,6 +403,11 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
                 nid[nidPointer] = 1;
             }
 
+            if(confidence != null)
+            {
+                confidence[nidPointer] = mConfidence[bufferPointer];
+            }
+
             nidPointer++;
 
             bufferPointer--;
@@ -384,6 +424,12 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
                     nid[nidPointer] = 1;
                 }
 
+                if(confidence != null)
+                {
+                    confidence[nidPointer] = mConfidence[bufferPointer];
+                    confidence[nidPointer + 1] = mConfidence[bufferPointer];
+                }
+
                 nidPointer++;
 
                 if(mBuffer[bufferPointer].getBit1())
@@ -407,8 +453,6 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
                     bufferPointer += mBuffer.length;
                 }
             }
-
-            return nid;
         }
 
         public void log()
@@ -489,6 +533,14 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
          * Places the dibit into the internal circular buffer, overwriting the oldest dibit.
          */
         public void put(Dibit dibit)
+        {
+            put(dibit, CorrectedBinaryMessage.MAXIMUM_CONFIDENCE);
+        }
+
+        /**
+         * Places the dibit and its confidence value into the internal circular buffer, overwriting the oldest dibit.
+         */
+        public void put(Dibit dibit, int confidence)
         {
             //Note: this check is necessary where the previous runnable was interrupted and left the buffer
             //pointer pointing past the end of the array length.
@@ -497,6 +549,7 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
                 mPointer = 0;
             }
 
+            mConfidence[mPointer] = confidence;
             mBuffer[mPointer++] = dibit;
 
             if(mPointer >= mBuffer.length)
@@ -510,9 +563,18 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
          * oldest dibit.
          */
         public Dibit getAndPut(Dibit dibit)
+        {
+            return getAndPut(dibit, CorrectedBinaryMessage.MAXIMUM_CONFIDENCE);
+        }
+
+        /**
+         * Places the dibit and its confidence value into the internal circular buffer, overwriting and returning the
+         * oldest dibit.
+         */
+        public Dibit getAndPut(Dibit dibit, int confidence)
         {
             Dibit toReturn = mBuffer[mPointer];
-            put(dibit);
+            put(dibit, confidence);
             return toReturn;
         }
     }
@@ -86,7 +86,7 @@ public class P25P1DecoderC4FMInstrumented extends P25P1DecoderC4FM
         instrumented.setSymbolDecisionDataListener(mSymbolDecisionDataListener);
         instrumented.setSamplesPerSymbolListener(mSamplesPerSymbolListener);
         instrumented.setSymbolListener(getDibitBroadcaster());
-        getDibitBroadcaster().addListener(mMessageFramer);
+        instrumented.setSoftSymbolListener(mMessageFramer);
     }
 
     public void setComplexSymbolListener(Listener<Complex> listener)
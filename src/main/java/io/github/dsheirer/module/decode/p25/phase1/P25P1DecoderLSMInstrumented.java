@@ -87,7 +87,7 @@ public class P25P1DecoderLSMInstrumented extends P25P1DecoderLSM
         instrumented.setSymbolDecisionDataListener(mSymbolDecisionDataListener);
         instrumented.setSamplesPerSymbolListener(mSamplesPerSymbolListener);
         instrumented.setSymbolListener(getDibitBroadcaster());
-        getDibitBroadcaster().addListener(mMessageFramer);
+        instrumented.setSoftSymbolListener(mMessageFramer);
     }
 
     public void setComplexSymbolListener(Listener<Complex> listener)
@@ -121,12 +121,28 @@ public class P25P1Interleave
     /**
      * Deinterleaves the message bits between start and end and returns them in a new message
      * @param pattern to use for deinterleaving
-     * @param interleaved bitset from the original message
+     * @param interleaved bitset from the original message, including any bit confidence values when the bitset is a
+     * corrected binary message
      * @return binary message with length equal to the pattern size
      */
     public static CorrectedBinaryMessage deinterleaveChunk(int[] pattern, BitSet interleaved)
     {
-        CorrectedBinaryMessage deinterleaved = new CorrectedBinaryMessage(pattern.length);
+        return deinterleaveChunk(pattern, interleaved, new CorrectedBinaryMessage(pattern.length));
+    }
+
+    /**
+     * Deinterleaves the interleaved message into a reusable (scratch) message.  The deinterleaved message is reset
+     * before use and must be at least the pattern length in size.
+     *
+     * @param pattern to use for deinterleaving
+     * @param interleaved message
+     * @param deinterleaved message to receive the deinterleaved bits
+     * @return deinterleaved message argument
+     */
+    public static CorrectedBinaryMessage deinterleaveChunk(int[] pattern, BitSet interleaved,
+                                                           CorrectedBinaryMessage deinterleaved)
+    {
+        deinterleaved.reset();
 
         /* Iterate only the set bits in the original message and apply
          * the deinterleave -- we don't have to evaluate the 0 bits */
@@ -137,6 +153,15 @@ public class P25P1Interleave
             deinterleaved.set(pattern[i]);
         }
 
+        //Carry any soft-decision bit confidence values through the deinterleave
+        if(interleaved instanceof CorrectedBinaryMessage corrected && corrected.hasBitConfidence())
+        {
+            for(int i = 0; i < pattern.length; i++)
+            {
+                deinterleaved.setBitConfidence(pattern[i], corrected.getBitConfidence(i));
+            }
+        }
+
         return deinterleaved;
     }
 
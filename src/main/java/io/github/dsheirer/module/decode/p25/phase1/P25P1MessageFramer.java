@@ -28,6 +28,7 @@ import io.github.dsheirer.bits.CorrectedBinaryMessage;
 import io.github.dsheirer.controller.channel.Channel;
 import io.github.dsheirer.dsp.psk.pll.IPhaseLockedLoop;
 import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.dsp.symbol.ISoftSymbolListener;
 import io.github.dsheirer.dsp.symbol.ISyncDetectListener;
 import io.github.dsheirer.message.IMessage;
 import io.github.dsheirer.message.MessageProviderModule;
@@ -66,7 +67,7 @@ import org.slf4j.LoggerFactory;
  * P25 Sync Detector and Message Framer.  Includes capability to detect PLL out-of-phase lock errors
  * and issue phase corrections.
  */
-public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetectListener
+public class P25P1MessageFramer implements Listener<Dibit>, ISoftSymbolListener<Dibit>, IP25P1DataUnitDetectListener
 {
     private final static Logger mLog = LoggerFactory.getLogger(P25P1MessageFramer.class);
 
@@ -163,12 +164,27 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
     }
 
     /**
-     * Primary method for streaming decoded symbol dibits for message framing.
+     * Primary method for streaming decoded symbol dibits for message framing.  Hard-decision dibits are processed
+     * with maximum confidence.
      *
      * @param dibit to process
      */
     @Override
     public void receive(Dibit dibit)
+    {
+        receive(dibit, CorrectedBinaryMessage.MAXIMUM_CONFIDENCE);
+    }
+
+    /**
+     * Primary method for streaming decoded symbol dibits with soft-decision confidence for message framing.  The
+     * confidence is carried into the assembled message for each of the dibit's bits so that the error correction
+     * decoders can weight the bits accordingly.
+     *
+     * @param dibit to process
+     * @param confidence in the dibit symbol decision
+     */
+    @Override
+    public void receive(Dibit dibit, int confidence)
     {
         if(mAssemblingMessage)
         {
@@ -189,8 +205,11 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
 
             try
             {
+                int pointer = mBinaryMessage.pointer();
                 mBinaryMessage.add(dibit.getBit1());
                 mBinaryMessage.add(dibit.getBit2());
+                mBinaryMessage.setBitConfidence(pointer, confidence);
+                mBinaryMessage.setBitConfidence(pointer + 1, confidence);
                 
                 if(mBinaryMessage.isFull())
                 {
@@ -221,7 +240,7 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
                 return;
             }
 
-            mDataUnitDetector.receive(dibit);
+            mDataUnitDetector.receive(dibit, confidence);
         }
     }
 
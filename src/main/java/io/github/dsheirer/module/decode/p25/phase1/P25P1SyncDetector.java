@@ -21,9 +21,7 @@
  */
 package io.github.dsheirer.module.decode.p25.phase1;
 
-import io.github.dsheirer.bits.MultiSyncPatternMatcher;
-import io.github.dsheirer.bits.SoftSyncDetector;
-import io.github.dsheirer.bits.SyncDetector;
+import io.github.dsheirer.bits.SyncEngine;
 import io.github.dsheirer.dsp.psk.pll.IPhaseLockedLoop;
 import io.github.dsheirer.dsp.symbol.Dibit;
 import io.github.dsheirer.dsp.symbol.FrameSync;
@@ -35,6 +33,7 @@ public class P25P1SyncDetector implements Listener<Dibit>
 {
     /* Determines the threshold for sync pattern soft matching */
     private static final int SYNC_MATCH_THRESHOLD = 4;
+    private static final int SYNC_PATTERN_LENGTH = 48;
 
     /* Costas Loop phase lock error correction values.  A phase lock error of
      * 90 degrees requires a correction of 1/4 of the symbol rate (1200Hz).  An
@@ -45,39 +44,39 @@ public class P25P1SyncDetector implements Listener<Dibit>
     public static final double FREQUENCY_PHASE_CORRECTION_90_DEGREES = DEFAULT_SYMBOL_RATE / 4.0;
     public static final double FREQUENCY_PHASE_CORRECTION_180_DEGREES = DEFAULT_SYMBOL_RATE / 2.0;
 
-    private MultiSyncPatternMatcher mMatcher;
-    private SoftSyncDetector mPrimarySyncDetector;
-
-    private PLLPhaseInversionDetector mInversionDetector90CW;
-    private PLLPhaseInversionDetector mInversionDetector90CCW;
-    private PLLPhaseInversionDetector mInversionDetector180;
+    private ISyncDetectListener mSyncDetectListener;
+    private IPhaseLockedLoop mPhaseLockedLoop;
+    private SyncEngine mSyncEngine = new SyncEngine();
+    private int mSyncLossThreshold = P25P1DataUnitID.LOGICAL_LINK_DATA_UNIT_1.getMessageLength();
+    private int mBitCount;
+    private int mPrimaryIndex;
+    private int mInversion90CWIndex = SyncEngine.NO_MATCH;
+    private int mInversion90CCWIndex = SyncEngine.NO_MATCH;
+    private double mPllCorrection90;
+    private double mPllCorrection180;
 
     public P25P1SyncDetector(ISyncDetectListener syncDetectListener, IPhaseLockedLoop phaseLockedLoop)
     {
-        //TODO: since we're only going to feed dibits to find next frame, it makes sense to
-        //TODO: update the sync lost parameter to 48 bits ....
-
         //TODO: only enable the phase inversion detectors when we're in a sync-lost state
-        mMatcher = new MultiSyncPatternMatcher(syncDetectListener, P25P1DataUnitID.LOGICAL_LINK_DATA_UNIT_1.getMessageLength(), 48);
-        mPrimarySyncDetector = new SoftSyncDetector(FrameSync.P25_PHASE1_NORMAL.getSync(), SYNC_MATCH_THRESHOLD, syncDetectListener);
-        mMatcher.add(mPrimarySyncDetector);
+        mSyncDetectListener = syncDetectListener;
+        mPhaseLockedLoop = phaseLockedLoop;
 
         if(phaseLockedLoop != null)
         {
-            //Add additional sync pattern detectors to detect when we get 90/180 degree out of phase sync pattern
-            //detections so that we can apply correction to the phase locked loop
-            mInversionDetector90CW = new PLLPhaseInversionDetector(FrameSync.P25_PHASE1_ERROR_90_CW,
-                phaseLockedLoop, DEFAULT_SAMPLE_RATE, FREQUENCY_PHASE_CORRECTION_90_DEGREES);
-            mMatcher.add(mInversionDetector90CW);
-
-            mInversionDetector90CCW = new PLLPhaseInversionDetector(FrameSync.P25_PHASE1_ERROR_90_CCW,
-                phaseLockedLoop, DEFAULT_SAMPLE_RATE, -FREQUENCY_PHASE_CORRECTION_90_DEGREES);
-            mMatcher.add(mInversionDetector90CCW);
-
-            mInversionDetector180 = new PLLPhaseInversionDetector(FrameSync.P25_PHASE1_ERROR_180,
-                phaseLockedLoop, DEFAULT_SAMPLE_RATE, FREQUENCY_PHASE_CORRECTION_180_DEGREES);
-            mMatcher.add(mInversionDetector180);
+            //Detect the 180 degree out of phase (inverted) sync pattern with the primary pattern and add detectors
+            //for the 90 degree out of phase sync patterns so that we can apply correction to the phase locked loop
+            mPrimaryIndex = mSyncEngine.add(FrameSync.P25_PHASE1_NORMAL.getSync(), SYNC_PATTERN_LENGTH,
+                SYNC_MATCH_THRESHOLD, 0);
+            mInversion90CWIndex = mSyncEngine.add(FrameSync.P25_PHASE1_ERROR_90_CW.getSync(), SYNC_PATTERN_LENGTH, 0);
+            mInversion90CCWIndex = mSyncEngine.add(FrameSync.P25_PHASE1_ERROR_90_CCW.getSync(), SYNC_PATTERN_LENGTH, 0);
         }
+        else
+        {
+            mPrimaryIndex = mSyncEngine.add(FrameSync.P25_PHASE1_NORMAL.getSync(), SYNC_PATTERN_LENGTH,
+                SYNC_MATCH_THRESHOLD);
+        }
+
+        setSampleRate(DEFAULT_SAMPLE_RATE);
     }
 
     /**
@@ -86,85 +85,56 @@ public class P25P1SyncDetector implements Listener<Dibit>
      */
     public int getPrimarySyncMatchErrorCount()
     {
-        return Long.bitCount(mMatcher.getCurrentValue() ^ FrameSync.P25_PHASE1_NORMAL.getSync());
+        return mSyncEngine.getBitErrors(mPrimaryIndex);
     }
 
     @Override
     public void receive(Dibit dibit)
     {
-        mMatcher.receive(dibit.getBit1(), dibit.getBit2());
-    }
-
-    /**
-     * Updates the incoming sample stream sample rate to allow the PLL phase inversion detectors to
-     * recalculate their internal phase correction values.
-     *
-     * @param sampleRate of the incoming sample stream
-     */
-    public void setSampleRate(double sampleRate)
-    {
-        mInversionDetector180.setSampleRate(sampleRate);
-        mInversionDetector90CW.setSampleRate(sampleRate);
-        mInversionDetector90CCW.setSampleRate(sampleRate);
-    }
-
-    /**
-     * Sync pattern detector to listen for costas loop phase lock errors and apply a phase correction to the costas
-     * loop so that we don't miss any messages.
-     *
-     * When the costas loop locks with a +/- 90 degree or 180 degree phase error, the slicer will incorrectly apply
-     * the symbol pattern rotated left or right by the phase error.  However, we can detect these rotated sync patterns
-     * and apply immediate phase correction so that message processing can continue.
-     */
-    public class PLLPhaseInversionDetector extends SyncDetector
-    {
-        private IPhaseLockedLoop mPhaseLockedLoop;
-        private double mSampleRate;
-        private double mFrequencyCorrection;
-        private double mPllCorrection;
+        mBitCount += 2;
 
-        /**
-         * Constructs the PLL phase inversion detector.
-         *
-         * @param frameSync pattern to monitor for detecting phase inversion errors
-         * @param phaseLockedLoop to receive phase correction values
-         * @param sampleRate of the incoming sample stream
-         * @param frequencyCorrection to apply to the PLL.  Examples:
-         *      QPSK +/-90 degree correction: +/-SYMBOL RATE / 4.0
-         *      QPSK 180 degree correction: SYMBOL RATE / 2.0
-         */
-        public PLLPhaseInversionDetector(FrameSync frameSync, IPhaseLockedLoop phaseLockedLoop, double sampleRate,
-                                         double frequencyCorrection)
+        if(mSyncEngine.receive(dibit))
         {
-            super(frameSync.getSync());
-            mPhaseLockedLoop = phaseLockedLoop;
-            mFrequencyCorrection = frequencyCorrection;
-            setSampleRate(sampleRate);
+            mBitCount = 0;
+            int index = mSyncEngine.getMatchIndex();
 
-            setListener(new ISyncDetectListener()
+            if(index == mPrimaryIndex)
             {
-                @Override
-                public void syncDetected(int bitErrors)
+                if(mSyncEngine.isMatchInverted())
                 {
-                    mPhaseLockedLoop.correctInversion(mPllCorrection);
+                    mPhaseLockedLoop.correctInversion(mPllCorrection180);
                 }
-
-                @Override
-                public void syncLost(int bitsProcessed)
+                else
                 {
-                    //no-op
+                    mSyncDetectListener.syncDetected(mSyncEngine.getMatchBitErrors());
                 }
-            });
+            }
+            else if(index == mInversion90CWIndex)
+            {
+                mPhaseLockedLoop.correctInversion(mPllCorrection90);
+            }
+            else if(index == mInversion90CCWIndex)
+            {
+                mPhaseLockedLoop.correctInversion(-mPllCorrection90);
+            }
         }
 
-        /**
-         * Sets or adjusts the sample rate so that the phase inversion correction value can be recalculated.
-         * @param sampleRate
-         */
-        public void setSampleRate(double sampleRate)
+        if(mBitCount > mSyncLossThreshold)
         {
-            mSampleRate = sampleRate;
-            mPllCorrection = 2.0 * FastMath.PI * mFrequencyCorrection / mSampleRate;
+            mSyncDetectListener.syncLost(mBitCount);
+            mBitCount = 0;
         }
     }
+
+    /**
+     * Updates the incoming sample stream sample rate to allow the PLL phase inversion detectors to
+     * recalculate their internal phase correction values.
+     *
+     * @param sampleRate of the incoming sample stream
+     */
+    public void setSampleRate(double sampleRate)
+    {
+        mPllCorrection90 = 2.0 * FastMath.PI * FREQUENCY_PHASE_CORRECTION_90_DEGREES / sampleRate;
+        mPllCorrection180 = 2.0 * FastMath.PI * FREQUENCY_PHASE_CORRECTION_180_DEGREES / sampleRate;
+    }
 }
@@ -72,7 +72,6 @@ import io.github.dsheirer.module.decode.p25.phase1.message.pdu.response.Response
 import io.github.dsheirer.module.decode.p25.phase1.message.pdu.umbtc.isp.UMBTCTelephoneInterconnectRequestExplicitDialing;
 import io.github.dsheirer.module.decode.p25.phase1.message.tsbk.Opcode;
 import io.github.dsheirer.module.decode.p25.reference.PDUFormat;
-import java.util.BitSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -86,11 +85,20 @@ public class PDUMessageFactory
 
     private static final ViterbiDecoder_1_2_P25 VITERBI_HALF_RATE_DECODER = new ViterbiDecoder_1_2_P25();
 
+    /**
+     * Per-thread scratch buffer for the deinterleaved PDU header.  The deinterleaved bits are only needed until the
+     * trellis decoder produces the (new) decoded header, so the buffer is reused across every header decoded by a
+     * thread.  Data blocks retain their deinterleaved message and don't use this buffer.
+     */
+    private static final ThreadLocal<CorrectedBinaryMessage> DEINTERLEAVE_BUFFER =
+        ThreadLocal.withInitial(() -> new CorrectedBinaryMessage(P25P1Interleave.DATA_DEINTERLEAVE.length));
+
     public static PDUSequence createPacketSequence(int nac, long timestamp, CorrectedBinaryMessage correctedBinaryMessage)
     {
         //Get deinterleaved header chunk
-        BitSet interleaved = correctedBinaryMessage.get(PDU0_BEGIN, PDU0_END);
-        CorrectedBinaryMessage deinterleaved = P25P1Interleave.deinterleaveChunk(P25P1Interleave.DATA_DEINTERLEAVE, interleaved);
+        CorrectedBinaryMessage interleaved = correctedBinaryMessage.getSubMessage(PDU0_BEGIN, PDU0_END);
+        CorrectedBinaryMessage deinterleaved = P25P1Interleave.deinterleaveChunk(P25P1Interleave.DATA_DEINTERLEAVE,
+            interleaved, DEINTERLEAVE_BUFFER.get());
 
         //Decode 1/2 rate trellis encoded PDU header
         CorrectedBinaryMessage viterbiDecoded = VITERBI_HALF_RATE_DECODER.decode(deinterleaved);
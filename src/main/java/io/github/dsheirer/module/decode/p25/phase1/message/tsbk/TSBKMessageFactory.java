@@ -135,11 +135,19 @@ public class TSBKMessageFactory
     private final static Logger mLog = LoggerFactory.getLogger(TSBKMessageFactory.class);
     private static final ViterbiDecoder_1_2_P25 VITERBI_HALF_RATE_DECODER = new ViterbiDecoder_1_2_P25();
 
+    /**
+     * Per-thread scratch buffer for the deinterleaved TSBK.  The deinterleaved bits are only needed until the trellis
+     * decoder produces the (new) decoded message, so the buffer is reused across every TSBK decoded by a thread.
+     */
+    private static final ThreadLocal<CorrectedBinaryMessage> DEINTERLEAVE_BUFFER =
+        ThreadLocal.withInitial(() -> new CorrectedBinaryMessage(P25P1Interleave.DATA_DEINTERLEAVE.length));
+
     public static TSBKMessage create(Direction direction, P25P1DataUnitID dataUnitID,
                                      CorrectedBinaryMessage correctedBinaryMessage, int nac, long timestamp)
     {
         //Get deinterleaved header chunk
-        CorrectedBinaryMessage deinterleaved = P25P1Interleave.deinterleaveChunk(P25P1Interleave.DATA_DEINTERLEAVE, correctedBinaryMessage);
+        CorrectedBinaryMessage deinterleaved = P25P1Interleave.deinterleaveChunk(P25P1Interleave.DATA_DEINTERLEAVE,
+            correctedBinaryMessage, DEINTERLEAVE_BUFFER.get());
 
         //Decode 1/2 rate trellis encoded PDU header
         CorrectedBinaryMessage message = VITERBI_HALF_RATE_DECODER.decode(deinterleaved);
@@ -39,6 +39,7 @@ import org.slf4j.LoggerFactory;
 public class FacchTimeslot extends AbstractSignalingTimeslot
 {
     private final static Logger mLog = LoggerFactory.getLogger(FacchTimeslot.class);
+    private static final ReedSolomon_63_35_29_P25 REED_SOLOMON_63_35_29_P25 = new ReedSolomon_63_35_29_P25();
     private static final int MAX_OCTET_INDEX = 144; //156-12 = message length minus CRC-12 checksum.
 
     private static final IntField INFO_1 = IntField.range(2, 7);
@@ -204,13 +205,11 @@ public class FacchTimeslot extends AbstractSignalingTimeslot
 //            input[61] = 0; //Shortened
 //            input[62] = 0; //Shortened
 
-            ReedSolomon_63_35_29_P25 reedSolomon_63_35_29 = new ReedSolomon_63_35_29_P25();
-
             boolean irrecoverableErrors;
 
             try
             {
-                irrecoverableErrors = reedSolomon_63_35_29.decode(input, output);
+                irrecoverableErrors = REED_SOLOMON_63_35_29_P25.decode(input, output);
             }
             catch(Exception e)
             {
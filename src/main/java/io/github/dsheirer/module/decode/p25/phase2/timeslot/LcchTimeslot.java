@@ -37,6 +37,7 @@ import org.slf4j.LoggerFactory;
 public class LcchTimeslot extends AbstractSignalingTimeslot
 {
     private final static Logger mLog = LoggerFactory.getLogger(LcchTimeslot.class);
+    private static final ReedSolomon_63_35_29_P25 REED_SOLOMON_63_35_29_P25 = new ReedSolomon_63_35_29_P25();
     private static final int MAX_OCTET_INDEX = 152; //180-16-12 = message length minus CRC-16 checksum minus 12-bit NAC.
 
     private static final IntField INFO_1 = IntField.range(2, 7);
@@ -191,13 +192,11 @@ public class LcchTimeslot extends AbstractSignalingTimeslot
 //            input[61] = 0; //Shortened
 //            input[62] = 0; //Shortened
 
-            ReedSolomon_63_35_29_P25 reedSolomon_63_35_29 = new ReedSolomon_63_35_29_P25();
-
             boolean irrecoverableErrors;
 
             try
             {
-                irrecoverableErrors = reedSolomon_63_35_29.decode(input, output);
+                irrecoverableErrors = REED_SOLOMON_63_35_29_P25.decode(input, output);
             }
             catch(Exception e)
             {
@@ -36,6 +36,7 @@ import java.util.List;
 public class SacchTimeslot extends AbstractSignalingTimeslot
 {
     private static final int MAX_OCTET_INDEX = 168; //180-12 = message length minus CRC-12 checksum.
+    private static final ReedSolomon_63_35_29_P25 REED_SOLOMON_63_35_29_P25 = new ReedSolomon_63_35_29_P25();
 
     private static final IntField INFO_1 = IntField.range(2, 7);
     private static final IntField INFO_2 = IntField.range(8, 13);
@@ -214,13 +215,11 @@ public class SacchTimeslot extends AbstractSignalingTimeslot
 //            input[61] = 0; //Shortened
 //            input[62] = 0; //Shortened
 
-            ReedSolomon_63_35_29_P25 reedSolomon_63_35_29 = new ReedSolomon_63_35_29_P25();
-
             boolean irrecoverableErrors;
 
             try
             {
-                irrecoverableErrors = reedSolomon_63_35_29.decode(input, output);
+                irrecoverableErrors = REED_SOLOMON_63_35_29_P25.decode(input, output);
             }
             catch(Exception e)
             {
@@ -23,6 +23,7 @@ import io.github.dsheirer.controller.channel.ChannelProcessingManager;
 import io.github.dsheirer.log.LoggingSuppressor;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.source.tuner.manager.TunerManager;
+import io.github.dsheirer.util.Dispatcher;
 import io.github.dsheirer.util.ThreadPool;
 import io.github.dsheirer.util.TimeStamp;
 import java.io.IOException;
@@ -188,6 +189,8 @@ public class DiagnosticMonitor
         sb.append(DIVIDER);
         sb.append(mChannelProcessingManager.getChannelMetadataModel().getDiagnosticInformation());
         sb.append(DIVIDER);
+        sb.append(OverloadGovernor.getInstance().getDiagnosticReport());
+        sb.append(DIVIDER);
         sb.append(getThreadDumpReport());
         sb.append(DIVIDER);
 
@@ -266,6 +269,10 @@ public class DiagnosticMonitor
         sb.append("\nHost Free Memory:      " + FileUtils.byteCountToDisplaySize(Runtime.getRuntime().freeMemory()));
         sb.append("\nHost Used Memory:      " + FileUtils.byteCountToDisplaySize(Runtime.getRuntime().totalMemory() -
                 Runtime.getRuntime().freeMemory()));
+        sb.append("\nHost Live Threads:     " + ManagementFactory.getThreadMXBean().getThreadCount());
+        sb.append("\nOverload Shed Level:   " + OverloadGovernor.getInstance().getShedLevel());
+        sb.append("\nDispatcher Mode:       " + (Dispatcher.isSharedPoolMode() ? "Shared Pool - Dispatchers: " +
+                Dispatcher.getSharedPoolDispatcherCount() + " " + ThreadPool.DSP : "Dedicated Thread"));
         sb.append("\nStorage Directories:");
         sb.append("\n Application Root: " + mUserPreferences.getDirectoryPreference().getDirectoryApplicationRoot());
         sb.append("\n Application Log:  " + mUserPreferences.getDirectoryPreference().getDirectoryApplicationLog());
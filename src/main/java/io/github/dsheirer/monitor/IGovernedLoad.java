@@ -0,0 +1,53 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor;
+
+/**
+ * Processing load that is monitored by the overload governor and that can be shed or throttled while the host is
+ * overloaded.
+ */
+public interface IGovernedLoad
+{
+    /**
+     * Name of the load for diagnostic reporting
+     */
+    String getName();
+
+    /**
+     * Current processing role.  The role can change over time (e.g. a traffic channel that starts a priority call).
+     */
+    ProcessingRole getProcessingRole();
+
+    /**
+     * Queue utilization as a fraction of the maximum queue size (0.0 to 1.0).
+     */
+    float getQueueUtilization();
+
+    /**
+     * Total number of elements discarded due to a queue overflow.
+     */
+    long getOverflowCount();
+
+    /**
+     * Sets the load shedding state.  While shedding, the load should discard or throttle its processing.
+     * @param shedding true to shed load.
+     */
+    void setLoadShedding(boolean shedding);
+}
@@ -0,0 +1,385 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor;
+
+import io.github.dsheirer.util.ThreadPool;
+import io.github.dsheirer.util.TimeStamp;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Global CPU overload governor.  Periodically evaluates the queue depths and queue overflow counts of all registered
+ * processing loads, along with the process CPU load, and sheds processing load by role when the application is
+ * overloaded.
+ *
+ * Roles are shed one level at a time, starting with the least important role (spectral display, then traffic
+ * channels, then priority traffic channels) so that control and conventional channels retain processing capacity.
+ * Control channels are never shed.  Once the application has been calm for a recovery period, shedding is reduced
+ * one level at a time.
+ *
+ * CPU load is measured for this process only, so that load from other applications on the host doesn't cause
+ * shedding.  High CPU load alone escalates shedding only after several consecutive high readings that coincide with
+ * rising queue utilization, indicating that the processing queues are actually falling behind.
+ *
+ * Overload indicators are ignored for loads that are currently being shed, since those queues are discarding input.
+ */
+public class OverloadGovernor
+{
+    private static final Logger mLog = LoggerFactory.getLogger(OverloadGovernor.class);
+    private static final OverloadGovernor INSTANCE = new OverloadGovernor(ThreadPool.SCHEDULED, getProcessCpuLoad());
+
+    /**
+     * Evaluation interval in milliseconds
+     */
+    private static final long EVALUATION_INTERVAL_MS = 1000;
+
+    /**
+     * Queue utilization at or above this value indicates an overload.
+     */
+    static final float QUEUE_UTILIZATION_HIGH = 0.5f;
+
+    /**
+     * Queue utilization must be at or below this value for all (un-shed) loads to consider the host calm.
+     */
+    static final float QUEUE_UTILIZATION_LOW = 0.2f;
+
+    /**
+     * Process CPU load at or above this value indicates a potential overload and must be at or below the low value to
+     * be calm.
+     */
+    static final double CPU_LOAD_HIGH = 0.95;
+    static final double CPU_LOAD_LOW = 0.80;
+
+    /**
+     * Number of consecutive high CPU load intervals with rising queue utilization before escalating on CPU load.
+     */
+    static final int CPU_LOAD_HIGH_INTERVALS = 3;
+
+    /**
+     * Number of consecutive calm evaluation intervals before reducing the shedding level.
+     */
+    static final int RECOVERY_INTERVALS = 10;
+
+    /**
+     * Maximum shedding level sheds every role except control.
+     */
+    static final int MAXIMUM_SHED_LEVEL = ProcessingRole.values().length - 1;
+
+    private final List<IGovernedLoad> mLoads = new CopyOnWriteArrayList<>();
+    private final Map<IGovernedLoad,Long> mOverflowCounts = new HashMap<>();
+    private final ScheduledExecutorService mScheduler;
+    private final DoubleSupplier mCpuLoad;
+    private ScheduledFuture<?> mEvaluationFuture;
+    private volatile int mShedLevel = 0;
+    private int mCalmIntervals = 0;
+    private int mCpuLoadHighIntervals = 0;
+    private float mLastMaximumUtilization = 0.0f;
+    private long mEscalationCount = 0;
+    private long mRecoveryCount = 0;
+    private long mLastChangeTimestamp = 0;
+    private volatile double mLastCpuLoad = -1.0;
+    private volatile String mLastOverloadReason = "None";
+
+    /**
+     * Constructs an instance.  Use the getInstance() method to access the singleton instance.
+     * @param scheduler to run the periodic load evaluation
+     * @param cpuLoad supplier of the process CPU load (0.0 - 1.0), or a negative value if the CPU load is unavailable
+     */
+    OverloadGovernor(ScheduledExecutorService scheduler, DoubleSupplier cpuLoad)
+    {
+        mScheduler = scheduler;
+        mCpuLoad = cpuLoad;
+    }
+
+    /**
+     * Singleton instance
+     */
+    public static OverloadGovernor getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the processing load for monitoring and load shedding.  Starts the governor when the first load is
+     * registered.  The load is immediately placed into the current shedding state for its role.
+     * @param load to register
+     */
+    public synchronized void register(IGovernedLoad load)
+    {
+        if(load != null && !mLoads.contains(load))
+        {
+            mLoads.add(load);
+            load.setLoadShedding(isShed(load.getProcessingRole()));
+
+            if(mEvaluationFuture == null)
+            {
+                mEvaluationFuture = mScheduler.scheduleAtFixedRate(this::evaluate, EVALUATION_INTERVAL_MS,
+                    EVALUATION_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Unregisters the processing load and clears its shedding state.  Stops the governor and resets the shedding
+     * level once the last load is unregistered.
+     * @param load to unregister
+     */
+    public synchronized void unregister(IGovernedLoad load)
+    {
+        if(load != null && mLoads.remove(load))
+        {
+            mOverflowCounts.remove(load);
+            load.setLoadShedding(false);
+
+            if(mLoads.isEmpty())
+            {
+                if(mEvaluationFuture != null)
+                {
+                    mEvaluationFuture.cancel(false);
+                    mEvaluationFuture = null;
+                }
+
+                mShedLevel = 0;
+                mCalmIntervals = 0;
+                mCpuLoadHighIntervals = 0;
+                mLastMaximumUtilization = 0.0f;
+            }
+        }
+    }
+
+    /**
+     * Current shedding level, where zero indicates no shedding and each successive level sheds one more role.
+     */
+    public int getShedLevel()
+    {
+        return mShedLevel;
+    }
+
+    /**
+     * Indicates if the role is shed at the current shedding level.
+     */
+    public boolean isShed(ProcessingRole role)
+    {
+        return role.isSheddable() && role.ordinal() >= ProcessingRole.values().length - mShedLevel;
+    }
+
+    /**
+     * Supplier of the CPU load of this process (0.0 - 1.0) across all host processors, which supplies a negative value
+     * if the CPU load is not available.
+     */
+    private static DoubleSupplier getProcessCpuLoad()
+    {
+        try
+        {
+            if(ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean bean)
+            {
+                return bean::getProcessCpuLoad;
+            }
+        }
+        catch(Exception e)
+        {
+            mLog.error("Error accessing operating system MX bean to monitor CPU load", e);
+        }
+
+        return () -> -1.0;
+    }
+
+    /**
+     * Evaluates all registered loads and the process CPU load to adjust the shedding level and applies the shedding
+     * state to each load.
+     */
+    synchronized void evaluate()
+    {
+        try
+        {
+            String overloadReason = null;
+            boolean calm = true;
+            float maximumUtilization = 0.0f;
+
+            for(IGovernedLoad load: mLoads)
+            {
+                ProcessingRole role = load.getProcessingRole();
+                long overflowCount = load.getOverflowCount();
+                Long previousOverflowCount = mOverflowCounts.put(load, overflowCount);
+
+                if(isShed(role))
+                {
+                    continue;
+                }
+
+                float utilization = load.getQueueUtilization();
+                maximumUtilization = Math.max(maximumUtilization, utilization);
+
+                if(overloadReason == null)
+                {
+                    if(previousOverflowCount != null && overflowCount > previousOverflowCount)
+                    {
+                        overloadReason = "Queue overflow - " + role + " [" + load.getName() + "]";
+                    }
+                    else if(utilization >= QUEUE_UTILIZATION_HIGH)
+                    {
+                        overloadReason = "Queue utilization " + Math.round(utilization * 100) + "% - " + role +
+                            " [" + load.getName() + "]";
+                    }
+                }
+
+                if(utilization > QUEUE_UTILIZATION_LOW)
+                {
+                    calm = false;
+                }
+            }
+
+            double cpuLoad = mCpuLoad.getAsDouble();
+            mLastCpuLoad = cpuLoad;
+
+            //Only escalate on CPU load when it is sustained and the queues are falling behind
+            if(cpuLoad >= CPU_LOAD_HIGH && maximumUtilization > mLastMaximumUtilization)
+            {
+                mCpuLoadHighIntervals++;
+            }
+            else
+            {
+                mCpuLoadHighIntervals = 0;
+            }
+
+            mLastMaximumUtilization = maximumUtilization;
+
+            if(overloadReason == null && mCpuLoadHighIntervals >= CPU_LOAD_HIGH_INTERVALS)
+            {
+                overloadReason = "Process CPU load " + Math.round(cpuLoad * 100) + "% with rising queue utilization";
+                mCpuLoadHighIntervals = 0;
+            }
+
+            if(cpuLoad > CPU_LOAD_LOW)
+            {
+                calm = false;
+            }
+
+            if(overloadReason != null)
+            {
+                mCalmIntervals = 0;
+                mLastOverloadReason = overloadReason;
+
+                if(mShedLevel < MAXIMUM_SHED_LEVEL)
+                {
+                    mShedLevel++;
+                    mEscalationCount++;
+                    mLastChangeTimestamp = System.currentTimeMillis();
+                    mLog.warn("Processing overload detected [" + overloadReason + "] - shedding load: " +
+                        getShedDescription());
+                }
+            }
+            else if(calm && mShedLevel > 0)
+            {
+                mCalmIntervals++;
+
+                if(mCalmIntervals >= RECOVERY_INTERVALS)
+                {
+                    mCalmIntervals = 0;
+                    mShedLevel--;
+                    mRecoveryCount++;
+                    mLastChangeTimestamp = System.currentTimeMillis();
+                    mLog.info("Processing overload reduced - shedding load: " + getShedDescription());
+                }
+            }
+            else
+            {
+                mCalmIntervals = 0;
+            }
+
+            for(IGovernedLoad load: mLoads)
+            {
+                load.setLoadShedding(isShed(load.getProcessingRole()));
+            }
+        }
+        catch(Throwable t)
+        {
+            mLog.error("Error while evaluating processing load", t);
+        }
+    }
+
+    /**
+     * Description of the roles that are currently shed.
+     */
+    private String getShedDescription()
+    {
+        List<ProcessingRole> shed = new ArrayList<>();
+
+        for(ProcessingRole role: ProcessingRole.values())
+        {
+            if(isShed(role))
+            {
+                shed.add(role);
+            }
+        }
+
+        return shed.isEmpty() ? "None" : shed.toString();
+    }
+
+    /**
+     * Generates a diagnostic report of the governor state and the registered loads.
+     */
+    public synchronized String getDiagnosticReport()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Overload Governor Report\n");
+        sb.append("\nShed Level:            ").append(mShedLevel).append(" of ").append(MAXIMUM_SHED_LEVEL);
+        sb.append("\nShed Roles:            ").append(getShedDescription());
+        sb.append("\nProcess CPU Load:      ").append(mLastCpuLoad < 0 ? "Unavailable" :
+            Math.round(mLastCpuLoad * 100) + "%");
+        sb.append("\nEscalations:           ").append(mEscalationCount);
+        sb.append("\nRecoveries:            ").append(mRecoveryCount);
+        sb.append("\nLast Level Change:     ").append(mLastChangeTimestamp > 0 ?
+            TimeStamp.getFormattedDateTime(mLastChangeTimestamp) : "Never");
+        sb.append("\nLast Overload Reason:  ").append(mLastOverloadReason);
+
+        Map<ProcessingRole,Integer> roleCounts = new EnumMap<>(ProcessingRole.class);
+
+        for(IGovernedLoad load: mLoads)
+        {
+            roleCounts.merge(load.getProcessingRole(), 1, Integer::sum);
+        }
+
+        sb.append("\nRegistered Loads:      ").append(roleCounts);
+
+        for(IGovernedLoad load: mLoads)
+        {
+            ProcessingRole role = load.getProcessingRole();
+            sb.append("\n\t").append(role).append(" [").append(load.getName()).append("]");
+            sb.append(" Queue:").append(Math.round(load.getQueueUtilization() * 100)).append("%");
+            sb.append(" Overflows:").append(load.getOverflowCount());
+            sb.append(isShed(role) ? " SHED" : "");
+        }
+
+        sb.append("\n");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor;
+
+/**
+ * Processing roles ranked from most important to least important.  During a host overload, the overload governor
+ * sheds processing load starting with the least important role.  Control channels are never shed.
+ */
+public enum ProcessingRole
+{
+    CONTROL("Control/Conventional Channel"),
+    PRIORITY_TRAFFIC("Priority Traffic Channel"),
+    TRAFFIC("Traffic Channel"),
+    SPECTRUM_DISPLAY("Spectral Display");
+
+    private String mLabel;
+
+    ProcessingRole(String label)
+    {
+        mLabel = label;
+    }
+
+    /**
+     * Indicates if this role can be shed during an overload.
+     */
+    public boolean isSheddable()
+    {
+        return this != CONTROL;
+    }
+
+    @Override
+    public String toString()
+    {
+        return mLabel;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.jfr;
+
+import io.github.dsheirer.identifier.Form;
+import io.github.dsheirer.identifier.Identifier;
+import io.github.dsheirer.identifier.IdentifierClass;
+import io.github.dsheirer.identifier.IdentifierCollection;
+import io.github.dsheirer.identifier.Role;
+import io.github.dsheirer.identifier.configuration.ChannelNameConfigurationIdentifier;
+import io.github.dsheirer.identifier.configuration.FrequencyConfigurationIdentifier;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Base JDK Flight Recorder event that identifies the channel name and frequency associated with the event.
+ *
+ * Events are cheap to create when recording is disabled.  Callers should create the event, invoke begin() for timed
+ * events, and only populate the event fields after shouldCommit() returns true, so that no work is performed on the
+ * processing path unless the event type is enabled in the active recording.
+ */
+public abstract class AbstractChannelEvent extends Event
+{
+    //Note: fields must be protected (not private) so that flight recorder includes them in sub-class event types
+    @Name("channel")
+    @Label("Channel")
+    protected String mChannel;
+
+    @Name("frequency")
+    @Label("Frequency")
+    @Description("Channel frequency in Hertz")
+    protected long mFrequency;
+
+    /**
+     * Sets the channel name and frequency for this event.
+     * @param channel name
+     * @param frequency in Hertz
+     */
+    public void setChannel(String channel, long frequency)
+    {
+        mChannel = channel;
+        mFrequency = frequency;
+    }
+
+    /**
+     * Sets the channel name and frequency for this event from the configuration identifiers in the collection.
+     * @param identifierCollection containing channel name and/or frequency configuration identifiers, can be null.
+     */
+    public void setChannel(IdentifierCollection identifierCollection)
+    {
+        if(identifierCollection != null)
+        {
+            Identifier channel = identifierCollection.getIdentifier(IdentifierClass.CONFIGURATION, Form.CHANNEL, Role.ANY);
+
+            if(channel instanceof ChannelNameConfigurationIdentifier channelName)
+            {
+                mChannel = channelName.getValue();
+            }
+
+            Identifier frequency = identifierCollection.getIdentifier(IdentifierClass.CONFIGURATION,
+                Form.CHANNEL_FREQUENCY, Role.ANY);
+
+            if(frequency instanceof FrequencyConfigurationIdentifier frequencyIdentifier)
+            {
+                mFrequency = frequencyIdentifier.getValue();
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Encoding of an audio segment to a recording file.
+ */
+@Name("sdrtrunk.AudioEncode")
+@Label("Audio Segment Encode")
+@Category({"SDRTrunk", "Audio"})
+@Description("Encoding of an audio segment to a recording file")
+public class AudioEncodeEvent extends AbstractChannelEvent
+{
+    @Name("format")
+    @Label("Format")
+    private String mFormat;
+
+    @Name("sampleCount")
+    @Label("Sample Count")
+    private int mSampleCount;
+
+    @Name("outputSize")
+    @Label("Output Size")
+    @DataAmount
+    private long mOutputSize;
+
+    public void setFormat(String format)
+    {
+        mFormat = format;
+    }
+
+    public void setSampleCount(int sampleCount)
+    {
+        mSampleCount = sampleCount;
+    }
+
+    public void setOutputSize(long outputSize)
+    {
+        mOutputSize = outputSize;
+    }
+}
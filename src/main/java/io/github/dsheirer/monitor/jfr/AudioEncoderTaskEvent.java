@@ -0,0 +1,58 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Execution of an audio encode task on the MP3 encoder pool.  The event duration is the encode latency and the queue
+ * time is the delay between submitting the task and a worker starting it.
+ */
+@Name("sdrtrunk.AudioEncoderTask")
+@Label("Audio Encoder Pool Task")
+@Category({"SDRTrunk", "Audio"})
+@Description("Execution of an audio encode task on the MP3 encoder pool")
+public class AudioEncoderTaskEvent extends Event
+{
+    @Name("queueTime")
+    @Label("Queue Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long mQueueTime;
+
+    @Name("queueDepth")
+    @Label("Queue Depth")
+    @Description("Number of encode tasks waiting for a worker when this task started")
+    private int mQueueDepth;
+
+    public void setQueueTime(long queueTime)
+    {
+        mQueueTime = queueTime;
+    }
+
+    public void setQueueDepth(int queueDepth)
+    {
+        mQueueDepth = queueDepth;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Upload of an audio recording to a streaming/broadcast service.  The event begins when the upload request is sent
+ * and ends when the final upload response is received.
+ */
+@Name("sdrtrunk.AudioUpload")
+@Label("Audio Recording Upload")
+@Category({"SDRTrunk", "Audio"})
+@Description("Upload of an audio recording to a broadcast service")
+public class AudioUploadEvent extends AbstractChannelEvent
+{
+    @Name("broadcaster")
+    @Label("Broadcaster")
+    private String mBroadcaster;
+
+    @Name("serverType")
+    @Label("Server Type")
+    private String mServerType;
+
+    @Name("size")
+    @Label("Size")
+    @DataAmount
+    private long mSize;
+
+    @Name("success")
+    @Label("Success")
+    private boolean mSuccess;
+
+    public void setBroadcaster(String broadcaster)
+    {
+        mBroadcaster = broadcaster;
+    }
+
+    public void setServerType(String serverType)
+    {
+        mServerType = serverType;
+    }
+
+    public void setSize(long size)
+    {
+        mSize = size;
+    }
+
+    public void setSuccess(boolean success)
+    {
+        mSuccess = success;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Delivery of a channelized sample buffer from a polyphase channel source to the channel's processing chain.  The
+ * event duration includes all downstream (demodulation and decoding) processing of the buffer.
+ */
+@Name("sdrtrunk.ChannelOutput")
+@Label("Polyphase Channel Output")
+@Category({"SDRTrunk", "DSP"})
+@Description("Delivery of a channelized sample buffer to the channel processing chain")
+public class ChannelOutputEvent extends AbstractChannelEvent
+{
+    @Name("sampleCount")
+    @Label("Sample Count")
+    private int mSampleCount;
+
+    @Name("sampleRate")
+    @Label("Sample Rate")
+    private double mSampleRate;
+
+    public void setSampleCount(int sampleCount)
+    {
+        mSampleCount = sampleCount;
+    }
+
+    public void setSampleRate(double sampleRate)
+    {
+        mSampleRate = sampleRate;
+    }
+}
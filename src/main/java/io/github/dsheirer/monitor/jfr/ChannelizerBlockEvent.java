@@ -0,0 +1,64 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Polyphase channelizer processing of one tuner sample buffer.  The channel is the channelizer and the frequency is
+ * the tuner center frequency.
+ */
+@Name("sdrtrunk.ChannelizerBlock")
+@Label("Channelizer Block")
+@Category({"SDRTrunk", "DSP"})
+@Description("Polyphase channelizer processing of a tuner sample buffer")
+public class ChannelizerBlockEvent extends AbstractChannelEvent
+{
+    @Name("blockCount")
+    @Label("Block Count")
+    private int mBlockCount;
+
+    @Name("sampleCount")
+    @Label("Sample Count")
+    private int mSampleCount;
+
+    @Name("channelCount")
+    @Label("Channel Count")
+    @Description("Number of channel sources fed by the channelizer")
+    private int mChannelCount;
+
+    public void setBlockCount(int blockCount)
+    {
+        mBlockCount = blockCount;
+    }
+
+    public void setSampleCount(int sampleCount)
+    {
+        mSampleCount = sampleCount;
+    }
+
+    public void setChannelCount(int channelCount)
+    {
+        mChannelCount = channelCount;
+    }
+}
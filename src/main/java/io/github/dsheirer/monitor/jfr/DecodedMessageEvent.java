@@ -0,0 +1,74 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Message produced by a decoder and the message valid flag.  The valid flag is the decoder's overall assessment of the
+ * message and doesn't distinguish between CRC, error correction or other (e.g. sync or field) checks, or indicate how
+ * many bits were corrected.
+ */
+@Name("sdrtrunk.DecodedMessage")
+@Label("Decoded Message")
+@Category({"SDRTrunk", "Decoder"})
+@Description("Message produced by a decoder and whether the decoder flagged the message as valid")
+public class DecodedMessageEvent extends AbstractChannelEvent
+{
+    @Name("protocol")
+    @Label("Protocol")
+    private String mProtocol;
+
+    @Name("messageType")
+    @Label("Message Type")
+    private String mMessageType;
+
+    @Name("timeslot")
+    @Label("Timeslot")
+    private int mTimeslot;
+
+    @Name("valid")
+    @Label("Valid")
+    @Description("Decoder flagged the message as valid")
+    private boolean mValid;
+
+    public void setProtocol(String protocol)
+    {
+        mProtocol = protocol;
+    }
+
+    public void setMessageType(String messageType)
+    {
+        mMessageType = messageType;
+    }
+
+    public void setTimeslot(int timeslot)
+    {
+        mTimeslot = timeslot;
+    }
+
+    public void setValid(boolean valid)
+    {
+        mValid = valid;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Processing of one sample buffer by a demodulator or decoder module in a processing chain.
+ */
+@Name("sdrtrunk.DemodulatorBatch")
+@Label("Demodulator Batch")
+@Category({"SDRTrunk", "Decoder"})
+@Description("Processing of a sample buffer by a demodulator or decoder module")
+public class DemodulatorBatchEvent extends AbstractChannelEvent
+{
+    @Name("module")
+    @Label("Module")
+    private String mModule;
+
+    @Name("sampleCount")
+    @Label("Sample Count")
+    private int mSampleCount;
+
+    public void setModule(String module)
+    {
+        mModule = module;
+    }
+
+    public void setSampleCount(int sampleCount)
+    {
+        mSampleCount = sampleCount;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.jfr;
+
+import io.github.dsheirer.controller.channel.Channel;
+import io.github.dsheirer.protocol.Protocol;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Traffic channel allocation attempt by a trunking traffic channel manager.  The channel is the control channel and
+ * the frequency is the traffic channel frequency.
+ */
+@Name("sdrtrunk.TrafficChannelAllocation")
+@Label("Traffic Channel Allocation")
+@Category({"SDRTrunk", "Traffic"})
+@Description("Traffic channel allocation for a channel grant")
+public class TrafficChannelAllocationEvent extends AbstractChannelEvent
+{
+    @Name("protocol")
+    @Label("Protocol")
+    private String mProtocol;
+
+    @Name("trafficChannel")
+    @Label("Traffic Channel")
+    private String mTrafficChannel;
+
+    @Name("allocated")
+    @Label("Allocated")
+    @Description("Traffic channel was available and allocated")
+    private boolean mAllocated;
+
+    /**
+     * Records a traffic channel allocation attempt.
+     * @param parentChannel for the control channel
+     * @param frequency of the traffic channel
+     * @param protocol for the traffic channel
+     * @param trafficChannel that was allocated, or null if no traffic channels were available
+     */
+    public static void record(Channel parentChannel, long frequency, Protocol protocol, Channel trafficChannel)
+    {
+        TrafficChannelAllocationEvent event = new TrafficChannelAllocationEvent();
+
+        if(event.shouldCommit())
+        {
+            event.setChannel(parentChannel != null ? parentChannel.getName() : null, frequency);
+            event.mProtocol = protocol != null ? protocol.toString() : null;
+            event.mTrafficChannel = trafficChannel != null ? trafficChannel.getName() : null;
+            event.mAllocated = trafficChannel != null;
+            event.commit();
+        }
+    }
+}
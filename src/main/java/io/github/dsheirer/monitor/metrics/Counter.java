@@ -0,0 +1,78 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing counter.  Uses a striped long adder so that concurrent producer threads (e.g. tuner
+ * transfer threads and dispatcher threads) can increment the counter without contending on a single memory location.
+ */
+public class Counter extends Metric
+{
+    private final LongAdder mCount = new LongAdder();
+
+    /**
+     * Constructs an instance
+     * @param name of the metric family
+     * @param labels formatted label set
+     */
+    Counter(String name, String labels)
+    {
+        super(name, labels);
+    }
+
+    /**
+     * Increments the counter by one.
+     */
+    public void increment()
+    {
+        mCount.increment();
+    }
+
+    /**
+     * Increments the counter by the specified amount.
+     * @param amount to add
+     */
+    public void add(long amount)
+    {
+        mCount.add(amount);
+    }
+
+    /**
+     * Current count
+     */
+    public long get()
+    {
+        return mCount.sum();
+    }
+
+    @Override
+    public MetricType getType()
+    {
+        return MetricType.COUNTER;
+    }
+
+    @Override
+    public void write(StringBuilder sb)
+    {
+        writeSample(sb, getName(), getLabels(), get());
+    }
+}
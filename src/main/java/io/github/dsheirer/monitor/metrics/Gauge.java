@@ -0,0 +1,66 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Metric whose value is sampled from a supplier each time the metrics are scraped.  Used for values that are already
+ * tracked elsewhere, like queue depths and tuner sample rates, so that there is no cost on the processing path.
+ */
+public class Gauge extends Metric
+{
+    private final MetricType mType;
+    private final DoubleSupplier mSupplier;
+
+    /**
+     * Constructs an instance
+     * @param name of the metric family
+     * @param labels formatted label set
+     * @param type of metric, either GAUGE or COUNTER for a supplier that provides a monotonically increasing count.
+     * @param supplier of the metric value
+     */
+    Gauge(String name, String labels, MetricType type, DoubleSupplier supplier)
+    {
+        super(name, labels);
+        mType = type;
+        mSupplier = supplier;
+    }
+
+    /**
+     * Current value
+     */
+    public double get()
+    {
+        return mSupplier.getAsDouble();
+    }
+
+    @Override
+    public MetricType getType()
+    {
+        return mType;
+    }
+
+    @Override
+    public void write(StringBuilder sb)
+    {
+        writeSample(sb, getName(), getLabels(), get());
+    }
+}
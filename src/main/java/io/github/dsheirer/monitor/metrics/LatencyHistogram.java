@@ -0,0 +1,240 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HDR-style latency histogram with log-linear buckets.  Values below 32 nanoseconds are counted in exact buckets and
+ * larger values are counted in buckets where each power-of-two range is divided into 16 linear sub-buckets, giving a
+ * worst case relative error of 6.25% across the full range of 1 nanosecond to roughly 18 minutes.
+ *
+ * Recording is lock-free and allocation-free: a bucket index calculation from the leading zero count and a single
+ * atomic increment.  The histogram is exported as a Prometheus summary with quantiles calculated over all values
+ * recorded since the histogram was created, along with the sum and count of the recorded values in seconds.
+ */
+public class LatencyHistogram extends Metric
+{
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKET_COUNT = SUB_BUCKET_COUNT * 2;
+    private static final long MAXIMUM_VALUE = (1L << 40) - 1;
+    private static final int BUCKET_COUNT = getIndex(MAXIMUM_VALUE) + 1;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANOSECONDS_PER_SECOND = 1E9;
+
+    private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder mCount = new LongAdder();
+    private final LongAdder mSum = new LongAdder();
+
+    /**
+     * Constructs an instance
+     * @param name of the metric family
+     * @param labels formatted label set
+     */
+    LatencyHistogram(String name, String labels)
+    {
+        super(name, labels);
+    }
+
+    /**
+     * Records a latency value.
+     * @param nanoseconds of latency.  Negative values are recorded as zero and values larger than the maximum
+     * trackable value are recorded as the maximum value.
+     */
+    public void recordNanos(long nanoseconds)
+    {
+        long value = Math.max(0, Math.min(nanoseconds, MAXIMUM_VALUE));
+        mBuckets.incrementAndGet(getIndex(value));
+        mCount.increment();
+        mSum.add(value);
+    }
+
+    /**
+     * Records the elapsed time from the start timestamp until now.
+     * @param startNanos timestamp from System.nanoTime() at the start of the measured operation.
+     */
+    public void recordSince(long startNanos)
+    {
+        recordNanos(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Number of recorded values
+     */
+    public long getCount()
+    {
+        return mCount.sum();
+    }
+
+    /**
+     * Calculates the value at the specified quantile.
+     * @param quantile in the range 0.0 to 1.0
+     * @return value in nanoseconds at the quantile, or NaN if no values have been recorded.
+     */
+    public double getValueAtQuantile(double quantile)
+    {
+        long[] snapshot = snapshot();
+        return getValueAtQuantile(snapshot, total(snapshot), quantile);
+    }
+
+    @Override
+    public MetricType getType()
+    {
+        return MetricType.SUMMARY;
+    }
+
+    @Override
+    public void write(StringBuilder sb)
+    {
+        long[] snapshot = snapshot();
+        long total = total(snapshot);
+
+        for(double quantile: QUANTILES)
+        {
+            writeSample(sb, getName(), getLabels(quantile),
+                getValueAtQuantile(snapshot, total, quantile) / NANOSECONDS_PER_SECOND);
+        }
+
+        writeSample(sb, getName() + "_sum", getLabels(), mSum.sum() / NANOSECONDS_PER_SECOND);
+        writeSample(sb, getName() + "_count", getLabels(), total);
+    }
+
+    /**
+     * Label set for the quantile sample, merged with the labels for this metric.
+     */
+    private String getLabels(double quantile)
+    {
+        String labels = getLabels();
+        String quantileLabel = "quantile=\"" + quantile + "\"}";
+
+        if(labels.isEmpty())
+        {
+            return "{" + quantileLabel;
+        }
+
+        return labels.substring(0, labels.length() - 1) + "," + quantileLabel;
+    }
+
+    /**
+     * Copy of the current bucket counts.
+     */
+    private long[] snapshot()
+    {
+        long[] snapshot = new long[BUCKET_COUNT];
+
+        for(int x = 0; x < BUCKET_COUNT; x++)
+        {
+            snapshot[x] = mBuckets.get(x);
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Sum of the bucket counts.  This is used instead of the count adder so that quantile calculations are consistent
+     * with the bucket snapshot.
+     */
+    private static long total(long[] snapshot)
+    {
+        long total = 0;
+
+        for(long count: snapshot)
+        {
+            total += count;
+        }
+
+        return total;
+    }
+
+    /**
+     * Calculates the value at the quantile from the bucket snapshot.
+     * @return midpoint value of the bucket containing the quantile, or NaN if the snapshot is empty.
+     */
+    private static double getValueAtQuantile(long[] snapshot, long total, double quantile)
+    {
+        if(total == 0)
+        {
+            return Double.NaN;
+        }
+
+        long threshold = Math.max(1, (long)Math.ceil(quantile * total));
+        long cumulative = 0;
+
+        for(int x = 0; x < snapshot.length; x++)
+        {
+            cumulative += snapshot[x];
+
+            if(cumulative >= threshold)
+            {
+                return (getLowestValue(x) + getHighestValue(x)) / 2.0;
+            }
+        }
+
+        return getHighestValue(snapshot.length - 1);
+    }
+
+    /**
+     * Calculates the bucket index for the value.
+     * @param value in the range 0 to MAXIMUM_VALUE
+     * @return bucket index
+     */
+    static int getIndex(long value)
+    {
+        if(value < LINEAR_BUCKET_COUNT)
+        {
+            return (int)value;
+        }
+
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int)(value >>> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT * (shift + 1) + subBucket;
+    }
+
+    /**
+     * Lowest value counted in the bucket.
+     */
+    static long getLowestValue(int index)
+    {
+        if(index < LINEAR_BUCKET_COUNT)
+        {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long mantissa = SUB_BUCKET_COUNT + (index % SUB_BUCKET_COUNT);
+        return mantissa << shift;
+    }
+
+    /**
+     * Highest value counted in the bucket.
+     */
+    static long getHighestValue(int index)
+    {
+        if(index < LINEAR_BUCKET_COUNT)
+        {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        return getLowestValue(index) + (1L << shift) - 1;
+    }
+}
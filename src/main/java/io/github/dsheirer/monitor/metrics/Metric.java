@@ -0,0 +1,98 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.metrics;
+
+/**
+ * Base metric.  Each metric is a single time series identified by the metric family name and a set of labels.
+ */
+public abstract class Metric
+{
+    private final String mName;
+    private final String mLabels;
+
+    /**
+     * Constructs an instance
+     * @param name of the metric family
+     * @param labels formatted as a Prometheus label set (e.g. {channel="Site 1"}) or an empty string
+     */
+    protected Metric(String name, String labels)
+    {
+        mName = name;
+        mLabels = labels;
+    }
+
+    /**
+     * Metric family name
+     */
+    public String getName()
+    {
+        return mName;
+    }
+
+    /**
+     * Formatted label set for this metric, or an empty string when the metric has no labels.
+     */
+    public String getLabels()
+    {
+        return mLabels;
+    }
+
+    /**
+     * Metric family type
+     */
+    public abstract MetricType getType();
+
+    /**
+     * Writes the sample line(s) for this metric in Prometheus text exposition format.
+     * @param sb to write to
+     */
+    public abstract void write(StringBuilder sb);
+
+    /**
+     * Writes a single sample line.
+     * @param sb to write to
+     * @param name of the sample
+     * @param labels for the sample
+     * @param value of the sample
+     */
+    protected static void writeSample(StringBuilder sb, String name, String labels, double value)
+    {
+        sb.append(name).append(labels).append(' ');
+
+        if(Double.isNaN(value))
+        {
+            sb.append("NaN");
+        }
+        else if(Double.isInfinite(value))
+        {
+            sb.append(value > 0 ? "+Inf" : "-Inf");
+        }
+        else if(value == (long)value)
+        {
+            sb.append((long)value);
+        }
+        else
+        {
+            sb.append(value);
+        }
+
+        sb.append('\n');
+    }
+}
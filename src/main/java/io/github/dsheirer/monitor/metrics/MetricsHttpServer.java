@@ -0,0 +1,163 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.metrics;
+
+import io.github.dsheirer.properties.SystemProperties;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import org.apache.mina.core.buffer.IoBuffer;
+import org.apache.mina.core.service.IoHandlerAdapter;
+import org.apache.mina.core.session.IoSession;
+import org.apache.mina.http.HttpServerCodec;
+import org.apache.mina.http.api.HttpRequest;
+import org.apache.mina.transport.socket.nio.NioSocketAcceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local HTTP endpoint that serves the metrics registry in Prometheus text exposition format at /metrics.
+ *
+ * The endpoint is disabled by default and is configured from the SDRTrunk.properties file:
+ *
+ * metrics.http.enabled - true to enable the endpoint
+ * metrics.http.address - address to bind to, defaults to the loopback address 127.0.0.1
+ * metrics.http.port - port to bind to, defaults to 9464
+ */
+public class MetricsHttpServer
+{
+    private static final Logger mLog = LoggerFactory.getLogger(MetricsHttpServer.class);
+    public static final String PROPERTY_ENABLED = "metrics.http.enabled";
+    public static final String PROPERTY_ADDRESS = "metrics.http.address";
+    public static final String PROPERTY_PORT = "metrics.http.port";
+    private static final String DEFAULT_ADDRESS = "127.0.0.1";
+    private static final int DEFAULT_PORT = 9464;
+    private static final String METRICS_PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private NioSocketAcceptor mAcceptor;
+
+    /**
+     * Constructs an instance
+     */
+    public MetricsHttpServer()
+    {
+    }
+
+    /**
+     * Starts the endpoint when it is enabled in the system properties.
+     */
+    public void start()
+    {
+        SystemProperties properties = SystemProperties.getInstance();
+
+        if(!properties.get(PROPERTY_ENABLED, false))
+        {
+            mLog.info("Metrics HTTP endpoint is disabled - set [" + PROPERTY_ENABLED + "=true] in the properties file to enable");
+            return;
+        }
+
+        if(mAcceptor == null)
+        {
+            String address = properties.get(PROPERTY_ADDRESS, DEFAULT_ADDRESS);
+            int port = properties.get(PROPERTY_PORT, DEFAULT_PORT);
+
+            mAcceptor = new NioSocketAcceptor();
+            mAcceptor.setReuseAddress(true);
+            mAcceptor.getFilterChain().addLast("codec", new HttpServerCodec());
+            mAcceptor.setHandler(new MetricsRequestHandler());
+
+            try
+            {
+                mAcceptor.bind(new InetSocketAddress(address, port));
+                mLog.info("Metrics HTTP endpoint started at http://" + address + ":" + port + METRICS_PATH);
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Unable to start metrics HTTP endpoint on [" + address + ":" + port + "]", ioe);
+                mAcceptor.dispose();
+                mAcceptor = null;
+            }
+        }
+    }
+
+    /**
+     * Stops the endpoint
+     */
+    public void stop()
+    {
+        if(mAcceptor != null)
+        {
+            mAcceptor.unbind();
+            mAcceptor.dispose();
+            mAcceptor = null;
+        }
+    }
+
+    /**
+     * Handles HTTP requests for the metrics path.  Each response is fully encoded here and written as a single buffer,
+     * which the codec filter passes through unchanged, and the connection is closed once the response is flushed.
+     */
+    public class MetricsRequestHandler extends IoHandlerAdapter
+    {
+        @Override
+        public void messageReceived(IoSession session, Object message)
+        {
+            if(message instanceof HttpRequest request)
+            {
+                String path = request.getRequestPath();
+
+                if(METRICS_PATH.equals(path) || "/".equals(path))
+                {
+                    respond(session, "200 OK", MetricsRegistry.getInstance().getPrometheusText());
+                }
+                else
+                {
+                    respond(session, "404 Not Found", "Not Found\n");
+                }
+            }
+        }
+
+        @Override
+        public void exceptionCaught(IoSession session, Throwable cause)
+        {
+            session.closeNow();
+        }
+
+        /**
+         * Writes the response and closes the session once the response is flushed.
+         */
+        private void respond(IoSession session, String status, String body)
+        {
+            byte[] content = body.getBytes(StandardCharsets.UTF_8);
+            String header = "HTTP/1.1 " + status + "\r\n" +
+                "Content-Type: " + CONTENT_TYPE + "\r\n" +
+                "Content-Length: " + content.length + "\r\n" +
+                "Connection: close\r\n\r\n";
+            byte[] headerBytes = header.getBytes(StandardCharsets.US_ASCII);
+
+            IoBuffer buffer = IoBuffer.allocate(headerBytes.length + content.length);
+            buffer.put(headerBytes);
+            buffer.put(content);
+            buffer.flip();
+            session.write(buffer);
+            session.closeOnFlush();
+        }
+    }
+}
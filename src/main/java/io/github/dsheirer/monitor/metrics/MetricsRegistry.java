@@ -0,0 +1,279 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Application-wide metrics registry.  Metrics are grouped into families by name, and each metric in a family is
+ * identified by its label set.  Requesting a counter or latency histogram that already exists returns the existing
+ * instance, so producers can safely lookup their metrics without coordinating with each other.
+ *
+ * Metrics that are tied to the lifecycle of a processing component (channels, tuners, dispatchers) should be removed
+ * when the component is stopped so that the registry doesn't retain references to the component.
+ *
+ * Label arguments are specified as alternating label name and label value strings.
+ */
+public class MetricsRegistry
+{
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    private final Map<String,Family> mFamilies = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an instance.  Use getInstance() to access the singleton registry.
+     */
+    MetricsRegistry()
+    {
+    }
+
+    /**
+     * Access the singleton metrics registry
+     */
+    public static MetricsRegistry getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets or creates a counter.
+     * @param name of the metric family
+     * @param help text describing the metric family
+     * @param labels alternating label names and values
+     * @return counter
+     */
+    public Counter counter(String name, String help, String... labels)
+    {
+        Family family = getFamily(name, help, MetricType.COUNTER);
+        String labelSet = format(labels);
+        return (Counter)family.mMetrics.computeIfAbsent(labelSet, key -> new Counter(name, labelSet));
+    }
+
+    /**
+     * Creates a counter whose value is sampled from the supplier when metrics are scraped.  The supplier must provide
+     * a monotonically increasing count.  Replaces any existing metric with the same name and labels.
+     * @param name of the metric family
+     * @param help text describing the metric family
+     * @param supplier of the count
+     * @param labels alternating label names and values
+     * @return counter
+     */
+    public Gauge functionCounter(String name, String help, DoubleSupplier supplier, String... labels)
+    {
+        return register(getFamily(name, help, MetricType.COUNTER), new Gauge(name, format(labels),
+            MetricType.COUNTER, supplier));
+    }
+
+    /**
+     * Creates a gauge whose value is sampled from the supplier when metrics are scraped.  Replaces any existing
+     * metric with the same name and labels.
+     * @param name of the metric family
+     * @param help text describing the metric family
+     * @param supplier of the gauge value
+     * @param labels alternating label names and values
+     * @return gauge
+     */
+    public Gauge gauge(String name, String help, DoubleSupplier supplier, String... labels)
+    {
+        return register(getFamily(name, help, MetricType.GAUGE), new Gauge(name, format(labels),
+            MetricType.GAUGE, supplier));
+    }
+
+    /**
+     * Gets or creates a latency histogram.
+     * @param name of the metric family, normally ending with _seconds since latencies are exported in seconds.
+     * @param help text describing the metric family
+     * @param labels alternating label names and values
+     * @return histogram
+     */
+    public LatencyHistogram histogram(String name, String help, String... labels)
+    {
+        Family family = getFamily(name, help, MetricType.SUMMARY);
+        String labelSet = format(labels);
+        return (LatencyHistogram)family.mMetrics.computeIfAbsent(labelSet, key -> new LatencyHistogram(name, labelSet));
+    }
+
+    /**
+     * Removes the metric from the registry.  Has no effect if the metric was already removed or was replaced by
+     * another metric with the same name and labels.
+     * @param metric to remove
+     */
+    public void remove(Metric metric)
+    {
+        if(metric != null)
+        {
+            Family family = mFamilies.get(metric.getName());
+
+            if(family != null)
+            {
+                family.mMetrics.remove(metric.getLabels(), metric);
+            }
+        }
+    }
+
+    /**
+     * Removes each of the metrics from the registry.
+     * @param metrics to remove
+     */
+    public void remove(Metric... metrics)
+    {
+        for(Metric metric: metrics)
+        {
+            remove(metric);
+        }
+    }
+
+    /**
+     * Formats all registered metrics in Prometheus text exposition format (version 0.0.4).
+     */
+    public String getPrometheusText()
+    {
+        List<String> names = new ArrayList<>(mFamilies.keySet());
+        Collections.sort(names);
+
+        StringBuilder sb = new StringBuilder();
+
+        for(String name: names)
+        {
+            Family family = mFamilies.get(name);
+
+            if(family != null && !family.mMetrics.isEmpty())
+            {
+                sb.append("# HELP ").append(name).append(' ').append(escapeHelp(family.mHelp)).append('\n');
+                sb.append("# TYPE ").append(name).append(' ').append(family.mType.getLabel()).append('\n');
+
+                List<String> labelSets = new ArrayList<>(family.mMetrics.keySet());
+                Collections.sort(labelSets);
+
+                for(String labelSet: labelSets)
+                {
+                    Metric metric = family.mMetrics.get(labelSet);
+
+                    if(metric != null)
+                    {
+                        metric.write(sb);
+                    }
+                }
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Registers the metric, replacing any existing metric with the same label set.
+     */
+    private Gauge register(Family family, Gauge gauge)
+    {
+        family.mMetrics.put(gauge.getLabels(), gauge);
+        return gauge;
+    }
+
+    /**
+     * Gets or creates the metric family
+     * @throws IllegalArgumentException if the family exists with a different metric type
+     */
+    private Family getFamily(String name, String help, MetricType type)
+    {
+        Family family = mFamilies.computeIfAbsent(name, key -> new Family(help, type));
+
+        if(family.mType != type)
+        {
+            throw new IllegalArgumentException("Metric [" + name + "] is already registered as type [" +
+                family.mType + "] - can't register as type [" + type + "]");
+        }
+
+        return family;
+    }
+
+    /**
+     * Formats the alternating label names and values as a Prometheus label set.
+     * @return formatted label set or an empty string if there are no labels
+     */
+    private static String format(String... labels)
+    {
+        if(labels == null || labels.length == 0)
+        {
+            return "";
+        }
+
+        if(labels.length % 2 != 0)
+        {
+            throw new IllegalArgumentException("Labels must be specified as name and value pairs");
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+
+        for(int x = 0; x < labels.length; x += 2)
+        {
+            if(x > 0)
+            {
+                sb.append(',');
+            }
+
+            sb.append(labels[x]).append("=\"").append(escapeLabelValue(labels[x + 1])).append('"');
+        }
+
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Escapes backslash, double-quote and line feed characters in a label value.
+     */
+    private static String escapeLabelValue(String value)
+    {
+        if(value == null)
+        {
+            return "";
+        }
+
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Escapes backslash and line feed characters in help text.
+     */
+    private static String escapeHelp(String help)
+    {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    /**
+     * Metric family with a shared name, help text and type.
+     */
+    private static class Family
+    {
+        private final String mHelp;
+        private final MetricType mType;
+        private final Map<String,Metric> mMetrics = new ConcurrentHashMap<>();
+
+        public Family(String help, MetricType type)
+        {
+            mHelp = help;
+            mType = type;
+        }
+    }
+}
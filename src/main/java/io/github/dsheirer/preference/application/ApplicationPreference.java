@@ -19,6 +19,7 @@
 
 package io.github.dsheirer.preference.application;
 
+import io.github.dsheirer.audio.AudioStorageMode;
 import io.github.dsheirer.preference.Preference;
 import io.github.dsheirer.preference.PreferenceType;
 import io.github.dsheirer.sample.Listener;
@@ -33,11 +34,13 @@ public class ApplicationPreference extends Preference
 {
     private static final String PREFERENCE_KEY_CHANNEL_AUTO_DIAGNOSTIC_MONITORING = "automatic.diagnostic.monitoring";
     private static final String PREFERENCE_KEY_CHANNEL_AUTO_START_TIMEOUT = "channel.auto.start.timeout";
+    private static final String PREFERENCE_KEY_AUDIO_STORAGE_MODE = "audio.storage.mode";
 
     private final static Logger mLog = LoggerFactory.getLogger(ApplicationPreference.class);
     private Preferences mPreferences = Preferences.userNodeForPackage(ApplicationPreference.class);
     private Integer mChannelAutoStartTimeout;
     private Boolean mAutomaticDiagnosticMonitoring;
+    private AudioStorageMode mAudioStorageMode;
 
     /**
      * Constructs an instance
@@ -104,4 +107,30 @@ public class ApplicationPreference extends Preference
         mPreferences.putBoolean(PREFERENCE_KEY_CHANNEL_AUTO_DIAGNOSTIC_MONITORING, enabled);
         notifyPreferenceUpdated();
     }
+
+    /**
+     * Storage mode for the audio of calls (audio segments) that are held in memory until recorded and streamed.
+     * @return mode or a default value of FLOAT
+     */
+    public AudioStorageMode getAudioStorageMode()
+    {
+        if(mAudioStorageMode == null)
+        {
+            String mode = mPreferences.get(PREFERENCE_KEY_AUDIO_STORAGE_MODE, AudioStorageMode.FLOAT.name());
+            mAudioStorageMode = AudioStorageMode.fromValue(mode);
+        }
+
+        return mAudioStorageMode;
+    }
+
+    /**
+     * Sets the storage mode for call audio
+     * @param mode to use
+     */
+    public void setAudioStorageMode(AudioStorageMode mode)
+    {
+        mAudioStorageMode = mode;
+        mPreferences.put(PREFERENCE_KEY_AUDIO_STORAGE_MODE, mAudioStorageMode.name());
+        notifyPreferenceUpdated();
+    }
 }
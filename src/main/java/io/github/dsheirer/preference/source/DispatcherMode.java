@@ -0,0 +1,62 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.preference.source;
+
+/**
+ * Dispatcher execution mode - identifies how sample buffer dispatchers (channel output processors, recorders, etc.)
+ * are scheduled for processing.
+ */
+public enum DispatcherMode
+{
+    DEDICATED_THREAD("Dedicated Thread Per Dispatcher"),
+    SHARED_POOL("Shared Work-Stealing Pool");
+
+    private String mLabel;
+
+    DispatcherMode(String label)
+    {
+        mLabel = label;
+    }
+
+    @Override
+    public String toString()
+    {
+        return mLabel;
+    }
+
+    /**
+     * Lookup the enum entry from the value.
+     * @param value to match
+     * @return matched value or (default) DEDICATED_THREAD if the value couldn't be matched.
+     */
+    public static DispatcherMode fromValue(String value)
+    {
+        try
+        {
+            return DispatcherMode.valueOf(value);
+        }
+        catch(Exception e)
+        {
+            //Do nothing
+        }
+
+        return DEDICATED_THREAD;
+    }
+}
@@ -36,8 +36,10 @@ public class TunerPreference extends Preference
     private Preferences mPreferences = Preferences.userNodeForPackage(TunerPreference.class);
     private static final String PREFERENCE_KEY_CHANNELIZER_TYPE = "channelizer.type";
     private static final String PREFERENCE_KEY_RSP_DUO_TUNER_MODE = "rsp.duo.tuner.mode";
+    private static final String PREFERENCE_KEY_DISPATCHER_MODE = "dispatcher.mode";
 
     private ChannelizerType mChannelizerType;
+    private DispatcherMode mDispatcherMode;
     private RspDuoSelectionMode mRspDuoSelectionMode;
 
     /**
@@ -122,4 +124,30 @@ public class TunerPreference extends Preference
         mPreferences.put(PREFERENCE_KEY_RSP_DUO_TUNER_MODE, mRspDuoSelectionMode.name());
         notifyPreferenceUpdated();
     }
+
+    /**
+     * Execution mode for sample buffer dispatchers (channel output processors, recorders, etc.)
+     * @return mode or a default value of DEDICATED_THREAD
+     */
+    public DispatcherMode getDispatcherMode()
+    {
+        if(mDispatcherMode == null)
+        {
+            String mode = mPreferences.get(PREFERENCE_KEY_DISPATCHER_MODE, DispatcherMode.DEDICATED_THREAD.name());
+            mDispatcherMode = DispatcherMode.fromValue(mode);
+        }
+
+        return mDispatcherMode;
+    }
+
+    /**
+     * Sets the execution mode for sample buffer dispatchers
+     * @param mode to use
+     */
+    public void setDispatcherMode(DispatcherMode mode)
+    {
+        mDispatcherMode = mode;
+        mPreferences.put(PREFERENCE_KEY_DISPATCHER_MODE, mDispatcherMode.name());
+        notifyPreferenceUpdated();
+    }
 }
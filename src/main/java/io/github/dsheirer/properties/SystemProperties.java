@@ -226,6 +226,30 @@ public class SystemProperties
         return mApplicationName;
     }
 
+    /**
+     * Application version from the release jar manifest.  Nightly builds include the build timestamp.
+     * @return version or null if we're not running from a release jar.
+     */
+    public String getApplicationVersion()
+    {
+        Manifest manifest = getManifest(SDRTrunk.class);
+
+        if(manifest != null)
+        {
+            String version = manifest.getMainAttributes().getValue(MANIFEST_VERSION);
+            String timestamp = manifest.getMainAttributes().getValue(BUILD_TIMESTAMP);
+
+            if(version != null && version.contains("nightly") && timestamp != null)
+            {
+                return version + "-" + timestamp;
+            }
+
+            return version;
+        }
+
+        return null;
+    }
+
     /**
      * Returns the value of the property, or null if the property doesn't exist
      */
@@ -38,6 +38,8 @@ import io.github.dsheirer.util.TimeStamp;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -47,12 +49,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Monitors audio segments and upon completion records any audio segments that have been flagged as recordable
+ * Monitors audio segments and upon completion records any audio segments that have been flagged as recordable.
+ * Recording filenames are assigned in completion order and the recordings are encoded in parallel on the MP3 encoder
+ * pool.  MP3 recordings use the shared encoder from the encoded audio cache, so that audio that was already encoded
+ * for streaming is not encoded again.
  */
 public class AudioRecordingManager implements Listener<AudioSegment>
 {
     private final static Logger mLog = LoggerFactory.getLogger(AudioRecordingManager.class);
     private LinkedTransferQueue<AudioSegment> mCompletedAudioSegmentQueue = new LinkedTransferQueue<>();
+    private Map<AudioSegment,IncrementalMP3Encoder> mEncoderMap = new ConcurrentHashMap<>();
     private ScheduledFuture<?> mQueueProcessorHandle;
     private UserPreferences mUserPreferences;
     private int mUnknownAudioRecordingIndex = 1;
@@ -91,6 +97,13 @@ public class AudioRecordingManager implements Listener<AudioSegment>
             processAudioSegments();
             mQueueProcessorHandle = null;
         }
+
+        for(IncrementalMP3Encoder encoder: mEncoderMap.values())
+        {
+            EncodedAudioCache.getInstance().release(encoder);
+        }
+
+        mEncoderMap.clear();
     }
 
     /**
@@ -99,9 +112,30 @@ public class AudioRecordingManager implements Listener<AudioSegment>
     @Override
     public void receive(AudioSegment audioSegment)
     {
+        //Register with the encoded audio cache so that MP3 audio encoded for streaming can be reused for recording
+        if(mUserPreferences.getRecordPreference().getAudioRecordFormat() == RecordFormat.MP3 &&
+            IncrementalMP3Encoder.isSupported(mUserPreferences))
+        {
+            mEncoderMap.put(audioSegment, EncodedAudioCache.getInstance().acquire(audioSegment, mUserPreferences));
+        }
+
         audioSegment.completeProperty().addListener(new AudioSegmentCompletionMonitor(audioSegment));
     }
 
+    /**
+     * Removes the encoder for the audio segment and releases it back to the encoded audio cache.
+     * @param audioSegment for the encoder
+     */
+    private void releaseEncoder(AudioSegment audioSegment)
+    {
+        IncrementalMP3Encoder encoder = mEncoderMap.remove(audioSegment);
+
+        if(encoder != null)
+        {
+            EncodedAudioCache.getInstance().release(encoder);
+        }
+    }
+
     /**
      * Processes audio segments that have been flagged as complete.
      * @param audioSegment
@@ -127,6 +161,7 @@ public class AudioRecordingManager implements Listener<AudioSegment>
         }
         else
         {
+            releaseEncoder(audioSegment);
             audioSegment.decrementConsumerCount();
         }
     }
@@ -143,22 +178,42 @@ public class AudioRecordingManager implements Listener<AudioSegment>
         {
             if(audioSegment.isDuplicate() && mUserPreferences.getDuplicateCallDetectionPreference().isDuplicateRecordingSuppressionEnabled())
             {
+                releaseEncoder(audioSegment);
                 audioSegment.decrementConsumerCount();
             }
             else
             {
                 Path path = getAudioRecordingPath(audioSegment.getIdentifierCollection(), recordFormat);
+                AudioSegment segmentToRecord = audioSegment;
+                IncrementalMP3Encoder encoder = mEncoderMap.remove(audioSegment);
 
-                try
-                {
-                    AudioSegmentRecorder.record(audioSegment, path, recordFormat, mUserPreferences);
-                }
-                catch(IOException ioe)
-                {
-                    mLog.error("Error recording audio segment to [" + path.toString() + "]");
-                }
+                //Encode the recording on the encoder pool so that recordings are encoded in parallel
+                MP3EncoderPool.getInstance().submit(() -> {
+                    try
+                    {
+                        if(encoder != null && recordFormat == RecordFormat.MP3)
+                        {
+                            AudioSegmentRecorder.record(encoder, path, segmentToRecord.getIdentifierCollection());
+                        }
+                        else
+                        {
+                            AudioSegmentRecorder.record(segmentToRecord, path, recordFormat, mUserPreferences);
+                        }
+                    }
+                    catch(IOException ioe)
+                    {
+                        mLog.error("Error recording audio segment to [" + path.toString() + "]");
+                    }
+                    finally
+                    {
+                        if(encoder != null)
+                        {
+                            EncodedAudioCache.getInstance().release(encoder);
+                        }
 
-                audioSegment.decrementConsumerCount();
+                        segmentToRecord.decrementConsumerCount();
+                    }
+                });
             }
 
             //Grab the next one to record
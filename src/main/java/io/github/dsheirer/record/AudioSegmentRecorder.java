@@ -25,6 +25,7 @@ import io.github.dsheirer.audio.convert.InputAudioFormat;
 import io.github.dsheirer.audio.convert.MP3AudioConverter;
 import io.github.dsheirer.audio.convert.MP3Setting;
 import io.github.dsheirer.identifier.IdentifierCollection;
+import io.github.dsheirer.monitor.jfr.AudioEncodeEvent;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.record.wave.AudioMetadata;
 import io.github.dsheirer.record.wave.AudioMetadataUtils;
@@ -34,6 +35,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
@@ -74,6 +76,9 @@ public class AudioSegmentRecorder
     public static void record(AudioSegment audioSegment, Path path, RecordFormat recordFormat,
                               UserPreferences userPreferences, IdentifierCollection identifierCollection) throws IOException
     {
+        AudioEncodeEvent event = new AudioEncodeEvent();
+        event.begin();
+
         switch(recordFormat)
         {
             case MP3:
@@ -85,6 +90,61 @@ public class AudioSegmentRecorder
             default:
                 throw new IllegalArgumentException("Unrecognized recording format [" + recordFormat.name() + "]");
         }
+
+        if(event.shouldCommit())
+        {
+            event.setChannel(identifierCollection);
+            event.setFormat(recordFormat.name());
+
+            event.setSampleCount((int)audioSegment.getSampleCount());
+            event.setOutputSize(Files.exists(path) ? Files.size(path) : 0);
+            event.commit();
+        }
+    }
+
+    /**
+     * Records the audio from a shared incremental encoder as an MP3 file to the specified path.  Any audio from the
+     * (now complete) audio segment that has not yet been encoded by another consumer is encoded first.
+     * @param encoder for the audio segment
+     * @param path for the recording
+     * @param identifierCollection to use for the recording metadata
+     * @throws IOException on any errors
+     */
+    public static void record(IncrementalMP3Encoder encoder, Path path, IdentifierCollection identifierCollection)
+        throws IOException
+    {
+        encoder.update();
+        byte[] recording = recordMP3(encoder, identifierCollection);
+
+        if(recording.length > 0)
+        {
+            Files.write(path, recording);
+        }
+    }
+
+    /**
+     * Creates an MP3 recording from the audio that was incrementally encoded from a (now complete) audio segment.
+     * @param encoder containing the encoded audio
+     * @param identifierCollection to use for the recording metadata
+     * @return MP3 recording bytes
+     */
+    public static byte[] recordMP3(IncrementalMP3Encoder encoder, IdentifierCollection identifierCollection)
+    {
+        AudioEncodeEvent event = new AudioEncodeEvent();
+        event.begin();
+
+        byte[] recording = encoder.getRecording(identifierCollection);
+
+        if(event.shouldCommit())
+        {
+            event.setChannel(identifierCollection);
+            event.setFormat(RecordFormat.MP3.name());
+            event.setSampleCount((int)encoder.getSampleCount());
+            event.setOutputSize(recording.length);
+            event.commit();
+        }
+
+        return recording;
     }
 
     /**
@@ -0,0 +1,121 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.record;
+
+import io.github.dsheirer.audio.AudioSegment;
+import io.github.dsheirer.audio.convert.InputAudioFormat;
+import io.github.dsheirer.audio.convert.MP3Setting;
+import io.github.dsheirer.preference.UserPreferences;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared cache of incrementally encoded MP3 audio, keyed by audio segment and MP3 encoding format, so that an audio
+ * segment is only encoded once for all consumers (ie streaming and local recording).
+ *
+ * Each consumer acquires the shared encoder for an audio segment and releases it when finished.  The encoder is
+ * removed from the cache when the last consumer releases it.  Consumers should acquire the encoder as soon as the
+ * audio segment is received, so that the encoded audio remains available until every consumer has processed the
+ * completed audio segment.
+ */
+public class EncodedAudioCache
+{
+    private static EncodedAudioCache sInstance;
+    private final Map<EncoderKey,IncrementalMP3Encoder> mEncoders = new HashMap<>();
+
+    /**
+     * Constructs an instance
+     */
+    public EncodedAudioCache()
+    {
+    }
+
+    /**
+     * Singleton instance
+     */
+    public static synchronized EncodedAudioCache getInstance()
+    {
+        if(sInstance == null)
+        {
+            sInstance = new EncodedAudioCache();
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Acquires the shared encoder for the audio segment and the current MP3 preferences, creating the encoder if
+     * necessary.  Each acquire must be matched with a release.
+     * @param audioSegment to encode
+     * @param userPreferences for MP3 encoder settings
+     * @return shared encoder
+     */
+    public synchronized IncrementalMP3Encoder acquire(AudioSegment audioSegment, UserPreferences userPreferences)
+    {
+        return acquire(audioSegment, userPreferences.getMP3Preference().getAudioSampleRate(),
+            userPreferences.getMP3Preference().getMP3Setting());
+    }
+
+    /**
+     * Acquires the shared encoder for the audio segment and MP3 encoding format, creating the encoder if necessary.
+     * Each acquire must be matched with a release.
+     * @param audioSegment to encode
+     * @param inputAudioFormat for the MP3 encoder
+     * @param mp3Setting for the MP3 encoder
+     * @return shared encoder
+     */
+    synchronized IncrementalMP3Encoder acquire(AudioSegment audioSegment, InputAudioFormat inputAudioFormat,
+                                               MP3Setting mp3Setting)
+    {
+        IncrementalMP3Encoder encoder = mEncoders.computeIfAbsent(new EncoderKey(audioSegment, inputAudioFormat,
+            mp3Setting), key -> new IncrementalMP3Encoder(audioSegment, inputAudioFormat, mp3Setting));
+        encoder.mReferenceCount++;
+        return encoder;
+    }
+
+    /**
+     * Releases a previously acquired encoder and removes the encoder from the cache when no consumers remain.  The
+     * encoder's MP3 converter is released when the last consumer releases the encoder before the audio segment is
+     * complete.
+     * @param encoder to release
+     */
+    public synchronized void release(IncrementalMP3Encoder encoder)
+    {
+        if(--encoder.mReferenceCount <= 0)
+        {
+            encoder.dispose();
+            mEncoders.remove(new EncoderKey(encoder.getAudioSegment(), encoder.getInputAudioFormat(),
+                encoder.getMP3Setting()));
+        }
+    }
+
+    /**
+     * Number of audio segment encoders currently in the cache.
+     */
+    public synchronized int size()
+    {
+        return mEncoders.size();
+    }
+
+    /**
+     * Cache key.  Audio segments use identity equality.
+     */
+    private record EncoderKey(AudioSegment audioSegment, InputAudioFormat inputAudioFormat, MP3Setting setting) {}
+}
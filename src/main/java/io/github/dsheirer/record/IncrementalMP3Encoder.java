@@ -0,0 +1,243 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.record;
+
+import io.github.dsheirer.audio.AudioSegment;
+import io.github.dsheirer.audio.convert.InputAudioFormat;
+import io.github.dsheirer.audio.convert.MP3AudioConverter;
+import io.github.dsheirer.audio.convert.MP3Setting;
+import io.github.dsheirer.identifier.IdentifierCollection;
+import io.github.dsheirer.preference.UserPreferences;
+import io.github.dsheirer.record.wave.AudioMetadata;
+import io.github.dsheirer.record.wave.AudioMetadataUtils;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental MP3 encoder for an audio segment that is still in progress.  The consumer invokes update() periodically
+ * while the segment is live to encode any audio buffers that were added since the last update, so that only the final
+ * buffer and the encoder flush remain once the segment completes.
+ *
+ * The most recently added audio buffer is held back until the segment completes so that the final buffer can be
+ * flagged as the last batch for the resampler, producing the same audio as encoding the completed segment.
+ *
+ * Identifiers continue to accumulate throughout the life-cycle of the segment, so the ID3 metadata is only created when
+ * the recording is created after the segment completes.  Multiple recordings can be created from the encoded audio,
+ * with different identifier collections.
+ *
+ * The MP3 audio converter is created on the first update and is released once the audio segment is complete, or when
+ * the encoder is disposed by the encoded audio cache before the audio segment is complete.
+ * Encoders are shared by all consumers of an audio segment via the encoded audio cache and may be updated from multiple
+ * threads.
+ *
+ * Note: audio normalization requires the complete segment and is not supported.  Use isSupported() to determine if the
+ * current user preferences allow incremental encoding.
+ */
+public class IncrementalMP3Encoder
+{
+    private AudioSegment mAudioSegment;
+    private InputAudioFormat mInputAudioFormat;
+    private MP3Setting mMP3Setting;
+    private MP3AudioConverter mConverter;
+    private byte[] mEncodedAudio = new byte[0];
+    private int mEncodedLength;
+    private int mBufferPointer;
+    private long mSampleCount;
+    private boolean mComplete;
+    private boolean mDisposed;
+    int mReferenceCount; //Managed by the encoded audio cache
+
+    /**
+     * Constructs an instance
+     * @param audioSegment to encode
+     * @param inputAudioFormat for the MP3 encoder
+     * @param mp3Setting for the MP3 encoder
+     */
+    public IncrementalMP3Encoder(AudioSegment audioSegment, InputAudioFormat inputAudioFormat, MP3Setting mp3Setting)
+    {
+        mAudioSegment = audioSegment;
+        mInputAudioFormat = inputAudioFormat;
+        mMP3Setting = mp3Setting;
+    }
+
+    /**
+     * Audio segment that is encoded by this encoder
+     */
+    public AudioSegment getAudioSegment()
+    {
+        return mAudioSegment;
+    }
+
+    /**
+     * Input audio format for the MP3 encoder
+     */
+    public InputAudioFormat getInputAudioFormat()
+    {
+        return mInputAudioFormat;
+    }
+
+    /**
+     * MP3 setting for the MP3 encoder
+     */
+    public MP3Setting getMP3Setting()
+    {
+        return mMP3Setting;
+    }
+
+    /**
+     * Indicates if the user preferences allow incremental encoding.
+     * @param userPreferences to check
+     * @return true if audio normalization is disabled.
+     */
+    public static boolean isSupported(UserPreferences userPreferences)
+    {
+        return !userPreferences.getMP3Preference().isNormalizeAudioBeforeEncode();
+    }
+
+    /**
+     * Encodes any audio buffers that were added to the audio segment since the previous update.  Once the audio
+     * segment is complete, encodes the remaining buffers and flushes the encoder.
+     */
+    public synchronized void update()
+    {
+        if(mComplete || mDisposed)
+        {
+            return;
+        }
+
+        if(mConverter == null)
+        {
+            mConverter = new MP3AudioConverter(mInputAudioFormat, mMP3Setting, false);
+        }
+
+        //Check complete status before the buffer count - the producer adds all audio before setting complete.
+        boolean complete = mAudioSegment.isComplete();
+        int bufferCount = mAudioSegment.getAudioBufferCount();
+        int encodeCount = complete ? bufferCount : bufferCount - 1;
+
+        while(mBufferPointer < encodeCount)
+        {
+            float[] audioBuffer = mAudioSegment.getAudioBuffer(mBufferPointer++);
+            mSampleCount += audioBuffer.length;
+            write(mConverter.convert(audioBuffer, complete && mBufferPointer == bufferCount));
+        }
+
+        if(complete)
+        {
+            if(hasAudio())
+            {
+                write(mConverter.flush());
+            }
+
+            mConverter = null;
+            mComplete = true;
+        }
+    }
+
+    /**
+     * Appends the encoded frames to the encoded audio.
+     */
+    private void write(List<byte[]> frames)
+    {
+        for(byte[] frame: frames)
+        {
+            if(mEncodedLength + frame.length > mEncodedAudio.length)
+            {
+                mEncodedAudio = Arrays.copyOf(mEncodedAudio, Math.max(mEncodedAudio.length * 2,
+                    mEncodedLength + frame.length));
+            }
+
+            System.arraycopy(frame, 0, mEncodedAudio, mEncodedLength, frame.length);
+            mEncodedLength += frame.length;
+        }
+    }
+
+    /**
+     * Releases the MP3 audio converter when the encoder is discarded before the audio segment is complete.  Any
+     * subsequent update, such as an update that was queued before the last consumer released the encoder, is ignored.
+     * Managed by the encoded audio cache.
+     */
+    synchronized void dispose()
+    {
+        mConverter = null;
+        mDisposed = true;
+    }
+
+    /**
+     * Indicates if the audio segment is complete and all audio has been encoded.
+     */
+    public synchronized boolean isComplete()
+    {
+        return mComplete;
+    }
+
+    /**
+     * Indicates if any audio has been encoded.
+     */
+    public synchronized boolean hasAudio()
+    {
+        return mSampleCount > 0;
+    }
+
+    /**
+     * Duration of the encoded audio.
+     * @return duration in milliseconds
+     */
+    public synchronized long getDuration()
+    {
+        return mSampleCount / 8; //Sample rate is 8000 samples per second, or 8 samples per millisecond.
+    }
+
+    /**
+     * Number of 8 kHz audio samples that have been encoded.
+     */
+    public synchronized long getSampleCount()
+    {
+        return mSampleCount;
+    }
+
+    /**
+     * Creates the MP3 recording containing the ID3 metadata and the encoded audio.  Invoke after the encoder is
+     * complete.
+     * @param identifierCollection for the ID3 metadata
+     * @return recording bytes, or an empty array if the audio segment has no audio.
+     */
+    public synchronized byte[] getRecording(IdentifierCollection identifierCollection)
+    {
+        if(!mComplete)
+        {
+            throw new IllegalStateException("Can't create incremental MP3 recording before the audio segment is complete");
+        }
+
+        if(!hasAudio())
+        {
+            return new byte[0];
+        }
+
+        Map<AudioMetadata,String> metadataMap = AudioMetadataUtils.getMetadataMap(identifierCollection,
+            mAudioSegment.getAliasList());
+        byte[] id3 = AudioMetadataUtils.getMP3ID3(metadataMap);
+
+        byte[] recording = Arrays.copyOf(id3, id3.length + mEncodedLength);
+        System.arraycopy(mEncodedAudio, 0, recording, id3.length, mEncodedLength);
+        return recording;
+    }
+}
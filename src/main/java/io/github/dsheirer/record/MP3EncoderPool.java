@@ -0,0 +1,110 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.record;
+
+import io.github.dsheirer.monitor.jfr.AudioEncoderTaskEvent;
+import io.github.dsheirer.util.ThreadPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * MP3 encoder pool that encodes audio segments in parallel on the shared audio encoder thread pool.
+ *
+ * Each encode task reports the queue time, queue depth and encode latency via the AudioEncoderTaskEvent flight
+ * recorder event.
+ */
+public class MP3EncoderPool
+{
+    private final static Logger mLog = LoggerFactory.getLogger(MP3EncoderPool.class);
+    private static MP3EncoderPool sInstance;
+    private final ThreadPoolExecutor mExecutor;
+
+    /**
+     * Constructs an instance
+     * @param executor to run the encode tasks
+     */
+    public MP3EncoderPool(ThreadPoolExecutor executor)
+    {
+        mExecutor = executor;
+    }
+
+    /**
+     * Singleton instance that uses the application audio encoder thread pool.
+     */
+    public static synchronized MP3EncoderPool getInstance()
+    {
+        if(sInstance == null)
+        {
+            sInstance = new MP3EncoderPool(ThreadPool.AUDIO_ENCODER);
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Submits the encode task to run on the encoder thread pool.
+     * @param task to run
+     * @return future for the task
+     */
+    public Future<?> submit(Runnable task)
+    {
+        long submitted = System.nanoTime();
+        return mExecutor.submit(() -> run(task, submitted));
+    }
+
+    /**
+     * Number of encode tasks waiting for an encoder thread.
+     */
+    public int getQueueDepth()
+    {
+        return mExecutor.getQueue().size();
+    }
+
+    /**
+     * Runs the encode task and records the encoder task event.
+     * @param task to run
+     * @param submitted timestamp in nanoseconds
+     */
+    private void run(Runnable task, long submitted)
+    {
+        AudioEncoderTaskEvent event = new AudioEncoderTaskEvent();
+        long queueTime = System.nanoTime() - submitted;
+        int queueDepth = getQueueDepth();
+        event.begin();
+
+        try
+        {
+            task.run();
+        }
+        catch(Throwable t)
+        {
+            mLog.error("Error while encoding audio", t);
+        }
+
+        if(event.shouldCommit())
+        {
+            event.setQueueTime(queueTime);
+            event.setQueueDepth(queueDepth);
+            event.commit();
+        }
+    }
+}
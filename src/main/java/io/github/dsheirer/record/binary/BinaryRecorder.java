@@ -71,6 +71,7 @@ public class BinaryRecorder extends Module implements IByteBufferListener
         mBaseRecordingPath = baseRecordingPath;
         mRecordingIdentifier = recordingIdentifier;
         mBufferProcessor.setListener(mBinaryWriter);
+        mBufferProcessor.setDedicatedThread(true);
         mProtocol = protocol;
         mFrequency = frequency;
     }
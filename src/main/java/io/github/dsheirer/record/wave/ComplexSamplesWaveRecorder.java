@@ -54,6 +54,7 @@ public class ComplexSamplesWaveRecorder extends Module implements IComplexSample
     public ComplexSamplesWaveRecorder(float sampleRate, String filePrefix)
     {
         mFilePrefix = filePrefix;
+        mBufferProcessor.setDedicatedThread(true);
         setSampleRate(sampleRate);
     }
 
@@ -63,6 +63,8 @@ public class NativeBufferWaveRecorder extends Module implements Listener<INative
     {
         mFilePrefix = filePrefix;
         mStatusListener = statusListener;
+        mBufferProcessor.setDiscardListener(INativeBuffer::decrementUserCount);
+        mBufferProcessor.setDedicatedThread(true);
         setSampleRate(sampleRate);
     }
 
@@ -185,6 +187,10 @@ public class NativeBufferWaveRecorder extends Module implements Listener<INative
             //Queue the buffer with the buffer processor so that recording occurs on the buffer processor thread
             mBufferProcessor.receive(nativeBuffer);
         }
+        else
+        {
+            nativeBuffer.decrementUserCount();
+        }
     }
 
     public Listener<INativeBuffer> getReusableComplexBufferListener()
@@ -223,6 +229,22 @@ public class NativeBufferWaveRecorder extends Module implements Listener<INative
 
         @Override
         public void receive(INativeBuffer nativeBuffer)
+        {
+            try
+            {
+                write(nativeBuffer);
+            }
+            finally
+            {
+                nativeBuffer.decrementUserCount();
+            }
+        }
+
+        /**
+         * Writes the native buffer samples to the wave file.
+         * @param nativeBuffer to write
+         */
+        private void write(INativeBuffer nativeBuffer)
         {
             boolean error = false;
 
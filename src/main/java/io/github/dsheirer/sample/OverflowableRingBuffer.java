@@ -0,0 +1,398 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.sample;
+
+import io.github.dsheirer.source.Source;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free multi-producer/single-consumer (MPSC) ring buffer with the same overflow and reset threshold
+ * semantics as the OverflowableTransferQueue.  When the queue size exceeds the maximum size (overflow), all inbound
+ * elements are ignored until the consumer reduces the queue size to or below the reset threshold.
+ *
+ * Unlike the linked transfer queue, the ring buffer does not allocate a node for each element.  Producers claim a slot
+ * with a compare-and-set on the tail index and then publish the element into the slot with an ordered write.  The
+ * consumer treats an empty slot below the tail index as a claimed, but not yet published, element and stops the
+ * current batch at that slot.  The producers cache the last observed consumer head index to avoid reading the shared
+ * index on every operation.  Null elements are not supported.
+ *
+ * Thread safety: the offer() method can be invoked by any number of producer threads concurrently.  The consumer
+ * methods (poll, drain, clear) synchronize on this buffer to allow the queue to be cleared from a control thread
+ * while the consumer is active.  The drain() method only holds the lock while it removes a batch of elements and
+ * delivers the batch to the listener after releasing the lock, so that a control thread is never blocked behind the
+ * listener's processing of the batch.
+ */
+public class OverflowableRingBuffer<E>
+{
+    private final AtomicReferenceArray<E> mBuffer;
+    private final int mMask;
+    private final int mMaximumSize;
+    private final int mResetThreshold;
+    private final AtomicLong mTail = new AtomicLong();
+    private final AtomicLong mHead = new AtomicLong();
+    private final AtomicLong mOverflowCount = new AtomicLong();
+    private final AtomicBoolean mOverflow = new AtomicBoolean();
+    private IOverflowListener mOverflowListener;
+    private Source mSourceOverflowListener;
+
+    //Producer-side cached copy of the consumer's head index.  Producers may race to update the cached value, but a
+    //stale value is always less than or equal to the actual head index and only causes an extra read of the head.
+    private volatile long mCachedHead;
+    //Consumer-side cached copy of the producer's tail index
+    private long mCachedTail;
+    //Reusable array for removing a batch of elements in drain(), guarded by this buffer's lock
+    private Object[] mBatch;
+
+    /**
+     * Constructs an instance.  The ring buffer capacity is the smallest power of two that can hold one more than the
+     * maximum size elements.
+     *
+     * @param maximumSize of the queue.  Overflow state will occur once queue size exceeds this value.
+     * @param resetThreshold for resetting overflow state to normal, once queue size is at or below this value.
+     */
+    public OverflowableRingBuffer(int maximumSize, int resetThreshold)
+    {
+        if(maximumSize < 1 || resetThreshold < 0 || resetThreshold >= maximumSize)
+        {
+            throw new IllegalArgumentException("Maximum size [" + maximumSize + "] must be positive and reset " +
+                "threshold [" + resetThreshold + "] must be in range 0 to maximum size - 1");
+        }
+
+        int capacity = Integer.highestOneBit(maximumSize) << 1;
+        mBuffer = new AtomicReferenceArray<>(capacity);
+        mMask = capacity - 1;
+        mMaximumSize = maximumSize;
+        mResetThreshold = resetThreshold;
+    }
+
+    /**
+     * Clears the queue and removes the overflow listeners.
+     */
+    public void dispose()
+    {
+        clear();
+        mOverflowListener = null;
+        mSourceOverflowListener = null;
+    }
+
+    /**
+     * Adds the element to the queue if able to do so without exceeding maximum queue size.  Otherwise, ignores
+     * the element.  This method is safe for concurrent use by multiple producer threads.
+     *
+     * @param e element to add
+     * @return true if the element was added or false if the element was ignored due to an overflow state.
+     * @throws IllegalArgumentException if the element is null
+     */
+    public boolean offer(E e)
+    {
+        if(e == null)
+        {
+            throw new IllegalArgumentException("Null elements are not supported");
+        }
+
+        long tail;
+
+        do
+        {
+            if(mOverflow.get())
+            {
+                mOverflowCount.incrementAndGet();
+                overflow(e);
+                return false;
+            }
+
+            tail = mTail.get();
+
+            if(tail - mCachedHead >= mMaximumSize)
+            {
+                long head = mHead.get();
+                mCachedHead = head;
+
+                if(tail - head >= mMaximumSize)
+                {
+                    setOverflow(true);
+                    mOverflowCount.incrementAndGet();
+                    overflow(e);
+                    return false;
+                }
+            }
+        }
+        while(!mTail.compareAndSet(tail, tail + 1));
+
+        mBuffer.lazySet((int)tail & mMask, e);
+        return true;
+    }
+
+    /**
+     * Invoked when the buffer is in an overflow state.  The element argument is thrown away.  Override this method
+     * in subclasses to perform any necessary cleanup action(s).
+     *
+     * @param e element that is being thrown away due to an overflow condition
+     */
+    protected void overflow(E e)
+    {
+        //No-op.  Override in subclass to perform any cleanup actions during overflow
+    }
+
+    /**
+     * Removes and returns a single element from the head of the queue or null if the queue is empty
+     */
+    public synchronized E poll()
+    {
+        long head = mHead.get();
+
+        if(head >= mCachedTail)
+        {
+            mCachedTail = mTail.get();
+
+            if(head >= mCachedTail)
+            {
+                return null;
+            }
+        }
+
+        int index = (int)head & mMask;
+        E element = mBuffer.get(index);
+
+        //The slot is claimed by a producer that hasn't published the element yet
+        if(element == null)
+        {
+            return null;
+        }
+
+        mBuffer.lazySet(index, null);
+        mHead.lazySet(head + 1);
+        checkReset(head + 1);
+        return element;
+    }
+
+    /**
+     * Delivers queued elements to the listener, up to the maximum number of elements, without allocating an
+     * intermediate collection.  The batch of elements is removed and the head index is published while holding the
+     * consumer lock, and the batch is delivered to the listener after releasing the lock.
+     *
+     * @param listener to receive each element
+     * @param maxElements to deliver
+     * @return number of elements delivered
+     */
+    public int drain(Listener<E> listener, int maxElements)
+    {
+        Object[] batch = null;
+        int count = 0;
+
+        synchronized(this)
+        {
+            long head = mHead.get();
+            mCachedTail = mTail.get();
+            int available = (int)Math.min(mCachedTail - head, maxElements);
+
+            if(available > 0)
+            {
+                //A re-entrant or concurrent drain uses its own batch array
+                batch = mBatch != null ? mBatch : new Object[mBuffer.length()];
+                mBatch = null;
+
+                while(count < available)
+                {
+                    int index = (int)(head + count) & mMask;
+                    E element = mBuffer.get(index);
+
+                    //Stop at a slot that is claimed by a producer that hasn't published the element yet
+                    if(element == null)
+                    {
+                        break;
+                    }
+
+                    batch[count++] = element;
+                    mBuffer.lazySet(index, null);
+                }
+
+                if(count > 0)
+                {
+                    mHead.lazySet(head + count);
+                }
+            }
+
+            //Always check for reset, even when nothing was drained.  A producer can set the overflow state from a
+            //stale cached head after the consumer has emptied the queue, and no further elements will arrive to
+            //trigger a reset.
+            checkReset(head + count);
+        }
+
+        if(batch != null)
+        {
+            try
+            {
+                for(int x = 0; x < count; x++)
+                {
+                    @SuppressWarnings("unchecked")
+                    E element = (E)batch[x];
+                    listener.receive(element);
+                }
+            }
+            finally
+            {
+                Arrays.fill(batch, 0, count, null);
+
+                synchronized(this)
+                {
+                    mBatch = batch;
+                }
+            }
+        }
+
+        return count;
+    }
+    /**
+     * Retrieves elements from the queue into the collection up to the maximum number of elements specified
+     */
+    public int drainTo(Collection<? super E> collection, int maxElements)
+    {
+        return drain(collection::add, maxElements);
+    }
+
+    /**
+     * Retrieves all currently queued elements from the queue into the collection
+     */
+    public int drainTo(Collection<? super E> collection)
+    {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Current number of queued elements
+     */
+    public int size()
+    {
+        return (int)Math.max(0, mTail.get() - mHead.get());
+    }
+
+    /**
+     * Indicates if the queue is currently empty
+     */
+    public boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    /**
+     * Maximum number of elements that can be queued before the queue enters an overflow state.
+     */
+    public int getMaximumSize()
+    {
+        return mMaximumSize;
+    }
+
+    /**
+     * Indicates if the queue is in an overflow state and ignoring inbound elements.
+     */
+    public boolean isOverflow()
+    {
+        return mOverflow.get();
+    }
+
+    /**
+     * Number of elements that have been thrown away due to an overflow state.
+     */
+    public long getOverflowCount()
+    {
+        return mOverflowCount.get();
+    }
+
+    /**
+     * Sets a listener to receive overflow state change events.
+     */
+    public void setOverflowListener(IOverflowListener listener)
+    {
+        mOverflowListener = listener;
+    }
+
+    /**
+     * Sets the source to receive overflow state change events (in addition to an IOverflow listener)
+     */
+    public void setSourceOverflowListener(Source source)
+    {
+        mSourceOverflowListener = source;
+    }
+
+    /**
+     * Clears the overflow state once the consumer has reduced the queue size to or below the reset threshold.
+     * @param head index after consuming elements
+     */
+    private void checkReset(long head)
+    {
+        if(mOverflow.get() && (mTail.get() - head) <= mResetThreshold)
+        {
+            setOverflow(false);
+        }
+    }
+
+    /**
+     * Toggles the overflow state and broadcast state change to listener
+     */
+    private void setOverflow(boolean overflow)
+    {
+        if(mOverflow.compareAndSet(!overflow, overflow))
+        {
+            if(mOverflowListener != null)
+            {
+                mOverflowListener.sourceOverflow(overflow);
+            }
+
+            if(mSourceOverflowListener != null)
+            {
+                mSourceOverflowListener.broadcastOverflowState(overflow);
+            }
+        }
+    }
+
+    /**
+     * Clears all elements from the queue and resets the overflow state.  This is a consumer-side operation that
+     * discards the queued elements by advancing the head index.  Slots that are claimed by a producer, but not yet
+     * published, are left in the queue so that the element is not written into a slot that the consumer already
+     * considers empty.
+     */
+    public synchronized void clear()
+    {
+        long head = mHead.get();
+        long tail = mTail.get();
+
+        while(head < tail)
+        {
+            int index = (int)head & mMask;
+
+            if(mBuffer.get(index) == null)
+            {
+                break;
+            }
+
+            mBuffer.lazySet(index, null);
+            head++;
+        }
+
+        mCachedTail = tail;
+        mHead.lazySet(head);
+        setOverflow(false);
+    }
+}
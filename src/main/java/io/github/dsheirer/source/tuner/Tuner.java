@@ -18,6 +18,9 @@
  */
 package io.github.dsheirer.source.tuner;
 
+import io.github.dsheirer.monitor.metrics.Counter;
+import io.github.dsheirer.monitor.metrics.Gauge;
+import io.github.dsheirer.monitor.metrics.MetricsRegistry;
 import io.github.dsheirer.preference.source.ChannelizerType;
 import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
@@ -46,6 +49,8 @@ public abstract class Tuner implements ISourceEventProcessor, ITunerErrorListene
     private TunerFrequencyErrorMonitor mTunerFrequencyErrorMonitor;
     private ITunerErrorListener mTunerErrorListener;
     private AtomicBoolean mRunning = new AtomicBoolean();
+    private Counter mSampleCounter;
+    private Gauge mSampleRateGauge;
 
     public Tuner(TunerController tunerController, ITunerErrorListener tunerErrorListener)
     {
@@ -92,6 +97,7 @@ public abstract class Tuner implements ISourceEventProcessor, ITunerErrorListene
             try
             {
                 getTunerController().start();
+                registerMetrics();
             }
             catch(SourceException se)
             {
@@ -125,6 +131,7 @@ public abstract class Tuner implements ISourceEventProcessor, ITunerErrorListene
                 mChannelSourceManager = null;
             }
 
+            unregisterMetrics();
             getTunerController().stop();
             getTunerController().dispose();
 
@@ -134,6 +141,31 @@ public abstract class Tuner implements ISourceEventProcessor, ITunerErrorListene
         }
     }
 
+    /**
+     * Registers the sample throughput counter and sample rate gauge for this tuner with the metrics registry.
+     */
+    private void registerMetrics()
+    {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        String name = getPreferredName();
+        mSampleCounter = registry.counter("sdrtrunk_tuner_samples_total",
+            "Complex samples produced by the tuner", "tuner", name);
+        mSampleRateGauge = registry.gauge("sdrtrunk_tuner_sample_rate_hertz",
+            "Configured tuner sample rate", () -> getTunerController().getSampleRate(), "tuner", name);
+        getTunerController().setSampleCounter(mSampleCounter);
+    }
+
+    /**
+     * Removes the metrics for this tuner from the metrics registry.
+     */
+    private void unregisterMetrics()
+    {
+        getTunerController().setSampleCounter(null);
+        MetricsRegistry.getInstance().remove(mSampleCounter, mSampleRateGauge);
+        mSampleCounter = null;
+        mSampleRateGauge = null;
+    }
+
     /**
      * Sets an unrecoverable error state for this tuner and propagates the error to an external listener
      * @param errorMessage to set
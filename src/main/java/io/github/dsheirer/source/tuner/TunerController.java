@@ -20,6 +20,8 @@ package io.github.dsheirer.source.tuner;
 
 import io.github.dsheirer.buffer.INativeBuffer;
 import io.github.dsheirer.buffer.INativeBufferProvider;
+import io.github.dsheirer.buffer.NativeArrayPool;
+import io.github.dsheirer.monitor.metrics.Counter;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.record.RecorderFactory;
 import io.github.dsheirer.record.wave.IRecordingStatusListener;
@@ -54,6 +56,7 @@ public abstract class TunerController implements Tunable, ISourceEventProcessor,
     private ReentrantLock mBufferListenerLock = new ReentrantLock();
     private ReentrantLock mLock = new ReentrantLock();
     protected Broadcaster<INativeBuffer> mNativeBufferBroadcaster = new Broadcaster();
+    private volatile Counter mSampleCounter;
     protected FrequencyController mFrequencyController;
     private int mMiddleUnusableHalfBandwidth;
     private int mMeasuredFrequencyError;
@@ -677,12 +680,48 @@ public abstract class TunerController implements Tunable, ISourceEventProcessor,
     }
 
     /**
-     * Broadcasts the buffer to any registered listeners
+     * Broadcasts the buffer to any registered listeners.  The buffer user count is incremented for each listener
+     * prior to delivery so that pooled buffers are only recycled once every listener has released the buffer.
      */
     protected void broadcast(INativeBuffer complexSamples)
     {
+        //Hold a reference while distributing so that a fast listener can't release the buffer before delivery to the
+        //remaining listeners completes.
+        complexSamples.incrementUserCount();
+
+        Counter sampleCounter = mSampleCounter;
+
+        if(sampleCounter != null)
+        {
+            sampleCounter.add(complexSamples.sampleCount());
+        }
+
         //Note: unprotected access to the broadcaster ... the broadcaster uses thread-save internal list
-        mNativeBufferBroadcaster.broadcast(complexSamples);
+        for(Listener<INativeBuffer> listener: mNativeBufferBroadcaster.getListeners())
+        {
+            complexSamples.incrementUserCount();
+            listener.receive(complexSamples);
+        }
+
+        complexSamples.decrementUserCount();
+    }
+
+    /**
+     * Sets the metrics counter that tracks the number of complex samples broadcast by this tuner controller.
+     * @param counter to increment or null to stop counting.
+     */
+    public void setSampleCounter(Counter counter)
+    {
+        mSampleCounter = counter;
+    }
+
+    /**
+     * Optional pool of reusable native buffer sample arrays used by this tuner controller.
+     * @return pool or null if this controller doesn't pool native buffer sample arrays.
+     */
+    public NativeArrayPool<?> getNativeBufferPool()
+    {
+        return null;
     }
 
     /**
@@ -78,6 +78,8 @@ public class HalfBandTunerChannelSource<T extends INativeBuffer> extends TunerCh
         //Set dispatcher to process 1/10 of estimated sample arrival rate, 20 times per second (up to 200% per interval)
         mBufferDispatcher = new Dispatcher(threadName, 50, getHeartbeatManager());
         mBufferDispatcher.setListener(new NativeBufferProcessor());
+        mBufferDispatcher.setOverflowListener(this::broadcastOverflowState);
+        mBufferDispatcher.setDiscardListener(INativeBuffer::decrementUserCount);
 
         //Setup the frequency mixer to the current source frequency
         mChannelSampleRate = sampleRate / (double)decimation;
@@ -105,6 +107,24 @@ public class HalfBandTunerChannelSource<T extends INativeBuffer> extends TunerCh
     {
     }
 
+    @Override
+    public void setLoadShedding(boolean shedding)
+    {
+        mBufferDispatcher.setLoadShedding(shedding);
+    }
+
+    @Override
+    public float getQueueUtilization()
+    {
+        return mBufferDispatcher.getQueueUtilization();
+    }
+
+    @Override
+    public long getOverflowCount()
+    {
+        return mBufferDispatcher.getOverflowCount();
+    }
+
     /**
      * Primary interface for receiving incoming complex sample buffers to be frequency translated and decimated.
      */
@@ -174,12 +194,25 @@ public class HalfBandTunerChannelSource<T extends INativeBuffer> extends TunerCh
     }
 
     /**
-     * Processes native buffers received from the dispatcher and sends to the registered listener
+     * Processes native buffers received from the dispatcher and sends to the registered listener.  Releases each
+     * native buffer once it is processed.
      */
     public class NativeBufferProcessor implements Listener<T>
     {
         @Override
         public void receive(T nativeBuffer)
+        {
+            try
+            {
+                process(nativeBuffer);
+            }
+            finally
+            {
+                nativeBuffer.decrementUserCount();
+            }
+        }
+
+        private void process(T nativeBuffer)
         {
             if(mSamplesListener != null)
             {
@@ -119,6 +119,7 @@ public class MultiFrequencyTunerChannelSource extends TunerChannelSource
             if(source instanceof TunerChannelSource)
             {
                 mTunerChannelSource = (TunerChannelSource)source;
+                mTunerChannelSource.setChannelName(getChannelName());
                 mTunerChannelSource.setSourceEventListener(mConsumerSourceEventAdapter);
                 mTunerChannelSource.setListener(mComplexSamplesListener);
                 mTunerChannelSource.addHeartbeatListener(mHeartbeatListener);
@@ -283,6 +284,17 @@ public class MultiFrequencyTunerChannelSource extends TunerChannelSource
         }
     }
 
+    @Override
+    public void setChannelName(String channelName)
+    {
+        super.setChannelName(channelName);
+
+        if(mTunerChannelSource != null)
+        {
+            mTunerChannelSource.setChannelName(channelName);
+        }
+    }
+
     @Override
     public double getSampleRate()
     {
@@ -57,6 +57,8 @@ public class PassThroughChannelSource extends TunerChannelSource implements ISou
         mTunerController = tunerController;
         mBufferDispatcher = new Dispatcher<>(threadName, 50, getHeartbeatManager());
         mBufferDispatcher.setListener(new BufferProcessor());
+        mBufferDispatcher.setOverflowListener(this::broadcastOverflowState);
+        mBufferDispatcher.setDiscardListener(INativeBuffer::decrementUserCount);
     }
 
     @Override
@@ -97,6 +99,24 @@ public class PassThroughChannelSource extends TunerChannelSource implements ISou
         return mTunerController.getSampleRate();
     }
 
+    @Override
+    public void setLoadShedding(boolean shedding)
+    {
+        mBufferDispatcher.setLoadShedding(shedding);
+    }
+
+    @Override
+    public float getQueueUtilization()
+    {
+        return mBufferDispatcher.getQueueUtilization();
+    }
+
+    @Override
+    public long getOverflowCount()
+    {
+        return mBufferDispatcher.getOverflowCount();
+    }
+
     @Override
     public void receive(INativeBuffer buffer)
     {
@@ -124,6 +144,8 @@ public class PassThroughChannelSource extends TunerChannelSource implements ISou
                     }
                 }
             }
+
+            nativeBuffer.decrementUserCount();
         }
     }
 }
@@ -37,6 +37,7 @@ public abstract class TunerChannelSource extends ComplexSource implements ISourc
     private Listener<SourceEvent> mProducerSourceEventListener;
     private Listener<SourceEvent> mConsumerSourceEventListener;
     protected String mThreadName;
+    private String mChannelName;
 
     /**
      * Tuner Channel Source is a Digital Drop Channel (DDC) abstract class that defines the minimum functionality
@@ -96,6 +97,25 @@ public abstract class TunerChannelSource extends ComplexSource implements ISourc
         return mTunerChannel;
     }
 
+    /**
+     * Name of the channel that is consuming samples from this source, used to identify the channel in diagnostic
+     * (flight recorder) events.
+     * @return channel name or null if the consuming channel has not been identified
+     */
+    public String getChannelName()
+    {
+        return mChannelName;
+    }
+
+    /**
+     * Sets the name of the channel that is consuming samples from this source.
+     * @param channelName for the consuming channel
+     */
+    public void setChannelName(String channelName)
+    {
+        mChannelName = channelName;
+    }
+
     /**
      * Starts this tuner channel source producing sample stream.
      */
@@ -121,6 +141,33 @@ public abstract class TunerChannelSource extends ComplexSource implements ISourc
         //Reset is not valid for a tuner channel source - ignored
     }
 
+    /**
+     * Sets the load shedding state for this source.  While shedding, the source discards incoming sample buffers
+     * instead of processing them, to reduce processing load while the host is overloaded.  Sub-classes that queue
+     * sample buffers should override this method.
+     * @param shedding true to discard incoming sample buffers.
+     */
+    public void setLoadShedding(boolean shedding)
+    {
+        //No-op - override in sub-class
+    }
+
+    /**
+     * Sample buffer queue utilization as a fraction of the maximum queue size (0.0 to 1.0).
+     */
+    public float getQueueUtilization()
+    {
+        return 0.0f;
+    }
+
+    /**
+     * Number of sample buffers discarded by this source due to a queue overflow.
+     */
+    public long getOverflowCount()
+    {
+        return 0;
+    }
+
     /**
      * This method is invoked after the buffer processor is completely shutdown so that this instance can perform any
      * cleanup operations needed to dispose of this instance.
@@ -81,6 +81,11 @@ public abstract class DiscoveredTuner implements ITunerErrorListener
             sb.append("\n\tError:").append(getErrorMessage());
             sb.append("\n\tChannel Manager Class:").append(getTuner().getChannelSourceManager().getClass());
             sb.append("\n\tChannel Manager:").append(getTuner().getChannelSourceManager().getStateDescription());
+
+            if(getTuner().getTunerController().getNativeBufferPool() != null)
+            {
+                sb.append("\n\tNative Buffer Pool:").append(getTuner().getTunerController().getNativeBufferPool());
+            }
         }
         else
         {
@@ -20,6 +20,7 @@ package io.github.dsheirer.source.tuner.usb;
 
 import io.github.dsheirer.buffer.INativeBuffer;
 import io.github.dsheirer.buffer.INativeBufferFactory;
+import io.github.dsheirer.buffer.NativeArrayPool;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.source.SourceException;
 import io.github.dsheirer.source.tuner.ITunerErrorListener;
@@ -115,6 +116,13 @@ public abstract class USBTunerController extends TunerController
      */
     protected abstract INativeBufferFactory getNativeBufferFactory();
 
+    @Override
+    public NativeArrayPool<?> getNativeBufferPool()
+    {
+        INativeBufferFactory factory = getNativeBufferFactory();
+        return factory != null ? factory.getBufferPool() : null;
+    }
+
     /**
      * Sub-class definition of transfer buffer sizes to use for the tuner.  Note: this should be a power-of-two
      * value for compatibility with downstream (SIMD) operations (e.g. 65,536, 131072, 262144, etc.)
@@ -751,7 +759,7 @@ public abstract class USBTunerController extends TunerController
             //Pass the transfer's byte buffer so the native buffer factory can make a copy of the byte array contents
             //and package it as a native buffer.
             INativeBuffer nativeBuffer = getNativeBufferFactory().getBuffer(transfer.buffer(), System.currentTimeMillis());
-            mNativeBufferBroadcaster.broadcast(nativeBuffer);
+            broadcast(nativeBuffer);
         }
     }
 
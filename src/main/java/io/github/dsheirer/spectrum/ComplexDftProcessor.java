@@ -22,6 +22,9 @@ import io.github.dsheirer.buffer.INativeBuffer;
 import io.github.dsheirer.controller.NamingThreadFactory;
 import io.github.dsheirer.dsp.window.WindowFactory;
 import io.github.dsheirer.dsp.window.WindowType;
+import io.github.dsheirer.monitor.IGovernedLoad;
+import io.github.dsheirer.monitor.OverloadGovernor;
+import io.github.dsheirer.monitor.ProcessingRole;
 import io.github.dsheirer.properties.SystemProperties;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.spectrum.converter.DFTResultsConverter;
@@ -39,12 +42,19 @@ import org.slf4j.LoggerFactory;
 /**
  * Processes both complex samples or float samples and dispatches a float array of DFT results, using configurable fft
  * size and output dispatch timelines.
+ *
+ * While running, this processor is registered with the overload governor as a spectral display load and throttles
+ * the DFT calculation rate when the governor sheds spectral display processing.
  */
-public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>, IDFTWidthChangeProcessor
+public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>, IDFTWidthChangeProcessor,
+    IGovernedLoad
 {
     private static final Logger mLog = LoggerFactory.getLogger(ComplexDftProcessor.class);
     private static final String FRAME_RATE_PROPERTY = "spectral.display.frame.rate";
 
+    //While load shedding, only calculate one of every N display frames
+    private static final int THROTTLED_FRAME_INTERVAL = 4;
+
     //The Cosine and Hann windows seem to offer the best spectral display with minimal bin leakage/smearing
     private WindowType mWindowType = WindowType.BLACKMAN_HARRIS_7;
     private float[] mWindow;
@@ -58,6 +68,8 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
     private CopyOnWriteArrayList<DFTResultsConverter> mListeners = new CopyOnWriteArrayList<>();
     private NativeBufferManager mDftBufferManager = new NativeBufferManager(mDFTSize.getSize() * 2);
     private float[] mPreviousSamples = new float[mDFTSize.getSize() * 2];
+    private volatile boolean mLoadShedding;
+    private int mThrottledFrameCounter = 0;
 
     public ComplexDftProcessor()
     {
@@ -132,6 +144,7 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
 
             mProcessorTaskHandle = mExecutorService.scheduleAtFixedRate(new DFTCalculationTask(), initialDelay, period,
                 TimeUnit.MILLISECONDS);
+            OverloadGovernor.getInstance().register(this);
         }
     }
 
@@ -142,9 +155,40 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
         {
             mProcessorTaskHandle.cancel(false);
             mProcessorTaskHandle = null;
+            OverloadGovernor.getInstance().unregister(this);
         }
     }
 
+    @Override
+    public String getName()
+    {
+        return "DFT Processor";
+    }
+
+    @Override
+    public ProcessingRole getProcessingRole()
+    {
+        return ProcessingRole.SPECTRUM_DISPLAY;
+    }
+
+    @Override
+    public float getQueueUtilization()
+    {
+        return 0.0f;
+    }
+
+    @Override
+    public long getOverflowCount()
+    {
+        return 0;
+    }
+
+    @Override
+    public void setLoadShedding(boolean shedding)
+    {
+        mLoadShedding = shedding;
+    }
+
     public boolean isRunning()
     {
         return mProcessorTaskHandle != null;
@@ -172,6 +216,13 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
         //the screen rendering.
         dispatch(mPreviousSamples);
 
+        //While shedding load, skip the calculation for all but one of every N frames.  The previously calculated
+        //samples are redisplayed for the skipped frames.
+        if(mLoadShedding && (mThrottledFrameCounter++ % THROTTLED_FRAME_INTERVAL) != 0)
+        {
+            return;
+        }
+
         try
         {
             //If this throws an IO exception, the buffer queue is (temporarily) empty and we return from the method
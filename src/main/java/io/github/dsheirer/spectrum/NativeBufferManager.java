@@ -61,7 +61,7 @@ public class NativeBufferManager<T extends INativeBuffer>
         mRequestSize = estimatedRequestSize;
     }
     /**
-     * Adds the buffer to this manager if it's needed.
+     * Adds the buffer to this manager if it's needed, otherwise the buffer is released.
      * @param nativeBuffer to add
      */
     public void add(T nativeBuffer)
@@ -80,16 +80,36 @@ public class NativeBufferManager<T extends INativeBuffer>
             mProducerQueue.add(nativeBuffer);
             mProducerAvailable += nativeBuffer.sampleCount();
         }
+        else
+        {
+            nativeBuffer.decrementUserCount();
+        }
     }
 
     /**
-     * Clears/removes all queued native buffers
+     * Clears/removes and releases all queued native buffers
      */
     public void clear()
     {
-        mTransferQueue.clear();
-        mProducerQueue.clear();
-        mConsumerQueue.clear();
+        List<T> drained = new ArrayList<>();
+        mTransferQueue.drainTo(drained);
+        release(drained);
+        release(mProducerQueue);
+        release(mConsumerQueue);
+    }
+
+    /**
+     * Releases each of the buffers and clears the list.
+     * @param buffers to release
+     */
+    private void release(List<T> buffers)
+    {
+        for(T buffer: buffers)
+        {
+            buffer.decrementUserCount();
+        }
+
+        buffers.clear();
     }
 
     /**
@@ -144,7 +164,7 @@ public class NativeBufferManager<T extends INativeBuffer>
             }
         }
 
-        mConsumerQueue.clear();
+        release(mConsumerQueue);
         return samples;
     }
 }
@@ -20,7 +20,7 @@ package io.github.dsheirer.spectrum;
 
 
 import io.github.dsheirer.buffer.INativeBuffer;
-import io.github.dsheirer.sample.OverflowableTransferQueue;
+import io.github.dsheirer.sample.OverflowableRingBuffer;
 import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,7 +30,7 @@ import java.nio.FloatBuffer;
 import java.util.Iterator;
 import java.util.LinkedList;
 
-public class OverflowableBufferStream<T extends INativeBuffer> extends OverflowableTransferQueue<T>
+public class OverflowableBufferStream<T extends INativeBuffer> extends OverflowableRingBuffer<T>
 {
     private static final Logger mLog = LoggerFactory.getLogger(OverflowableBufferStream.class);
 
@@ -44,7 +44,7 @@ public class OverflowableBufferStream<T extends INativeBuffer> extends Overflowa
 
     /**
      * Stream for receiving reusable buffers from a producer thread and providing access to a consumer thread to read
-     * the sample data.  Extends the overflowable transfer queue to define maximum and reset thresholds to ensure the
+     * the sample data.  Extends the overflowable ring buffer to define maximum and reset thresholds to ensure the
      * queue doesn't grow too large.
      *
      * This stream is designed for consistent sample size requests each time the get() samples method is invoked, such
@@ -223,18 +223,4 @@ public class OverflowableBufferStream<T extends INativeBuffer> extends Overflowa
             throw new IOException("Buffer queue is empty");
         }
     }
-
-    /**
-     * Clears all elements from the queue and resets the internal counter to 0
-     */
-    @Override
-    public void clear()
-    {
-        synchronized(mQueue)
-        {
-            mQueue.clear();
-            mCounter.set(0);
-            mOverflow.set(false);
-        }
-    }
 }
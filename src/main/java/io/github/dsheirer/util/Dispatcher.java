@@ -19,16 +19,19 @@
 package io.github.dsheirer.util;
 
 import io.github.dsheirer.controller.NamingThreadFactory;
+import io.github.dsheirer.monitor.metrics.Gauge;
+import io.github.dsheirer.monitor.metrics.MetricsRegistry;
+import io.github.dsheirer.sample.IOverflowListener;
 import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.OverflowableRingBuffer;
 import io.github.dsheirer.source.heartbeat.HeartbeatManager;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,11 +40,32 @@ import org.slf4j.LoggerFactory;
  * registered listener on this consumer/dispatcher thread.  Internally uses a single-thread thread pool to effect a
  * timer-based interval for processing to avoid excessive context switching inherent in a blocking queue.  Sizes the
  * thread pool to a single thread to ensure Garbage Collector can efficiently clean objects created on the thread.
+ *
+ * Elements are queued in a bounded multi-producer/single-consumer ring buffer, so the receive() method can be invoked
+ * by any number of producer threads concurrently.  When the queue exceeds the maximum size, inbound elements are
+ * discarded until the queue is reduced to the reset threshold.  Register a discard listener to release any resources
+ * held by discarded elements and an overflow listener to receive overflow state changes.
+ *
+ * Shared pool mode: when enabled (see setSharedPoolMode()) the dispatcher does not create a dedicated thread.  Instead,
+ * a shared timer triggers each processing interval and the processing task is executed on the shared work-stealing
+ * DSP thread pool.  A dispatcher task never runs concurrently with itself, so listeners continue to receive elements
+ * sequentially, although not always on the same thread.  For fairness across dispatchers, each task execution is
+ * limited to a batch of elements and the task is resubmitted to the back of the pool when elements remain queued.
+ * Dispatchers whose listener performs blocking IO (eg recorders) must opt out via setDedicatedThread() so that a slow
+ * disk can't stall the DSP pool workers.
  */
 public class Dispatcher<E> implements Listener<E>
 {
     private final static Logger mLog = LoggerFactory.getLogger(Dispatcher.class);
-    private final LinkedTransferQueue<E> mQueue = new LinkedTransferQueue<>();
+    private static final int SHARED_POOL_MAX_BATCH_SIZE = 16;
+    private static volatile boolean SHARED_POOL_MODE = false;
+    private static final AtomicInteger SHARED_POOL_DISPATCHER_COUNT = new AtomicInteger();
+    private static final AtomicInteger DISPATCHER_INSTANCE_COUNT = new AtomicInteger();
+    private static final int DEFAULT_MAXIMUM_SIZE = 1024;
+    private static final int DEFAULT_RESET_THRESHOLD = 512;
+    private final OverflowableRingBuffer<E> mQueue;
+    private Listener<E> mDiscardListener;
+    private IOverflowListener mOverflowListener;
     private Listener<E> mListener;
     private final AtomicBoolean mRunning = new AtomicBoolean();
     private String mThreadName;
@@ -49,6 +73,14 @@ public class Dispatcher<E> implements Listener<E>
     private ScheduledFuture<?> mScheduledFuture;
     private final long mInterval;
     private HeartbeatManager mHeartbeatManager;
+    private SharedPoolTask mSharedPoolTask;
+    private volatile boolean mSharedPoolActive;
+    private boolean mDedicatedThread;
+    private volatile boolean mLoadShedding;
+    private final AtomicLong mShedCount = new AtomicLong();
+    private final String mInstance = String.valueOf(DISPATCHER_INSTANCE_COUNT.incrementAndGet());
+    private Gauge mQueueDepthGauge;
+    private Gauge mOverflowCounter;
 
     /**
      * Constructs an instance of a Dispatcher with integrated heartbeat support.
@@ -58,8 +90,7 @@ public class Dispatcher<E> implements Listener<E>
      */
     public Dispatcher(String threadName, long interval, HeartbeatManager heartbeatManager)
     {
-        this(threadName, interval);
-        mHeartbeatManager = heartbeatManager;
+        this(threadName, interval, DEFAULT_MAXIMUM_SIZE, DEFAULT_RESET_THRESHOLD, heartbeatManager);
     }
 
     /**
@@ -68,9 +99,79 @@ public class Dispatcher<E> implements Listener<E>
      * @param interval for processing each batch in milliseconds.
      */
     public Dispatcher(String threadName, long interval)
+    {
+        this(threadName, interval, DEFAULT_MAXIMUM_SIZE, DEFAULT_RESET_THRESHOLD, null);
+    }
+
+    /**
+     * Constructs an instance with a custom queue size.
+     * @param threadName to name the dispatcher thread
+     * @param interval for processing each batch in milliseconds.
+     * @param maximumSize of the queue.  Overflow state will occur once queue size exceeds this value.
+     * @param resetThreshold for resetting overflow state to normal, once queue size is at or below this value.
+     * @param heartbeatManager (optional) to receive a heartbeat command at each processing interval.
+     */
+    public Dispatcher(String threadName, long interval, int maximumSize, int resetThreshold,
+                      HeartbeatManager heartbeatManager)
     {
         mThreadName = threadName;
         mInterval = interval;
+        mHeartbeatManager = heartbeatManager;
+        mQueue = new OverflowableRingBuffer<>(maximumSize, resetThreshold)
+        {
+            @Override
+            protected void overflow(E e)
+            {
+                Listener<E> discardListener = mDiscardListener;
+
+                if(discardListener != null)
+                {
+                    discardListener.receive(e);
+                }
+            }
+        };
+        mQueue.setOverflowListener(overflow -> {
+            if(overflow)
+            {
+                mLog.warn("Dispatcher [" + mThreadName + "] queue overflow - discarding elements until the queue " +
+                    "is reduced to the reset threshold");
+            }
+
+            IOverflowListener overflowListener = mOverflowListener;
+
+            if(overflowListener != null)
+            {
+                overflowListener.sourceOverflow(overflow);
+            }
+        });
+    }
+
+    /**
+     * Sets the execution mode for all dispatchers.  This should be set once at application startup, before any
+     * dispatchers are started.  Dispatchers that are already started continue to use the mode that was in effect when
+     * they were started.
+     * @param sharedPoolMode true to process dispatchers on the shared DSP pool or false to use a dedicated thread for
+     * each dispatcher.
+     */
+    public static void setSharedPoolMode(boolean sharedPoolMode)
+    {
+        SHARED_POOL_MODE = sharedPoolMode;
+    }
+
+    /**
+     * Indicates if newly started dispatchers are processed on the shared DSP pool.
+     */
+    public static boolean isSharedPoolMode()
+    {
+        return SHARED_POOL_MODE;
+    }
+
+    /**
+     * Number of currently started dispatchers that are running on the shared DSP pool.
+     */
+    public static int getSharedPoolDispatcherCount()
+    {
+        return SHARED_POOL_DISPATCHER_COUNT.get();
     }
 
     /**
@@ -82,6 +183,17 @@ public class Dispatcher<E> implements Listener<E>
         mThreadName = threadName;
     }
 
+    /**
+     * Requires this dispatcher to use a dedicated thread, even when shared pool mode is enabled.  Use this for
+     * listeners that perform blocking IO, which would otherwise block a shared DSP pool worker.  If this dispatcher is
+     * already started, this has no effect until it is restarted.
+     * @param dedicatedThread true to always use a dedicated thread.
+     */
+    public void setDedicatedThread(boolean dedicatedThread)
+    {
+        mDedicatedThread = dedicatedThread;
+    }
+
     /**
      * Sets or changes the listener to receive buffers from this processor.
      * @param listener to receive buffers
@@ -91,18 +203,96 @@ public class Dispatcher<E> implements Listener<E>
         mListener = listener;
     }
 
+    /**
+     * Sets the listener to receive elements that are discarded due to a queue overflow state, that arrive while this
+     * dispatcher is stopped, or that are cleared from the queue when this dispatcher is started or stopped, so that any
+     * resources held by the element can be released.
+     * Note: this listener is invoked on the producer thread for overflow and on the calling thread for start/stop.
+     * @param listener to receive discarded elements
+     */
+    public void setDiscardListener(Listener<E> listener)
+    {
+        mDiscardListener = listener;
+    }
+
+    /**
+     * Sets the listener to receive queue overflow state changes.
+     * @param listener to receive overflow state changes
+     */
+    public void setOverflowListener(IOverflowListener listener)
+    {
+        mOverflowListener = listener;
+    }
+
+    /**
+     * Number of elements discarded by this dispatcher due to queue overflow.
+     */
+    public long getOverflowCount()
+    {
+        return mQueue.getOverflowCount();
+    }
+
+    /**
+     * Queue utilization as a fraction of the maximum queue size.
+     * @return utilization in range 0.0 to 1.0
+     */
+    public float getQueueUtilization()
+    {
+        return Math.min(1.0f, mQueue.size() / (float)mQueue.getMaximumSize());
+    }
+
+    /**
+     * Sets the load shedding state.  While shedding, incoming elements are discarded (delivered to the discard
+     * listener) instead of being queued, to reduce processing load during a host CPU overload.
+     * @param shedding true to discard incoming elements.
+     */
+    public void setLoadShedding(boolean shedding)
+    {
+        mLoadShedding = shedding;
+    }
+
+    /**
+     * Indicates if this dispatcher is discarding incoming elements to shed processing load.
+     */
+    public boolean isLoadShedding()
+    {
+        return mLoadShedding;
+    }
+
+    /**
+     * Number of elements discarded by this dispatcher due to load shedding.
+     */
+    public long getShedCount()
+    {
+        return mShedCount.get();
+    }
+
     /**
      * Primary input method for adding buffers to this processor.  Note: incoming buffers will be ignored if this
-     * processor is in a stopped state.  You must invoke start() to allow incoming buffers and initiate buffer
-     * processing.
+     * processor is in a stopped state or is shedding load.  You must invoke start() to allow incoming buffers and initiate buffer
+     * processing.  This method is safe for concurrent use by multiple producer threads.
      *
      * @param e to enqueue for distribution to a registered listener
      */
     public void receive(E e)
     {
-        if(mRunning.get())
+        if(mRunning.get() && !mLoadShedding)
         {
-            mQueue.add(e);
+            mQueue.offer(e);
+        }
+        else
+        {
+            if(mLoadShedding)
+            {
+                mShedCount.incrementAndGet();
+            }
+
+            Listener<E> discardListener = mDiscardListener;
+
+            if(discardListener != null)
+            {
+                discardListener.receive(e);
+            }
         }
     }
 
@@ -126,11 +316,33 @@ public class Dispatcher<E> implements Listener<E>
                 mExecutorService = null;
             }
 
-            mQueue.clear();
-            mExecutorService = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(mThreadName));
+            clearQueue();
 
-            Runnable r = (mHeartbeatManager != null ? new ProcessorWithHeartbeat() : new Processor());
-            mScheduledFuture = mExecutorService.scheduleAtFixedRate(r, 0, mInterval, TimeUnit.MILLISECONDS);
+            if(SHARED_POOL_MODE && !mDedicatedThread)
+            {
+                //Reuse the shared pool task across restarts so that a task that is still queued from a previous run
+                //prevents concurrent execution of this dispatcher.
+                if(mSharedPoolTask == null)
+                {
+                    mSharedPoolTask = new SharedPoolTask();
+                }
+
+                mSharedPoolTask.setProcessor(mHeartbeatManager != null ? new ProcessorWithHeartbeat() : new Processor());
+                mSharedPoolActive = true;
+                SHARED_POOL_DISPATCHER_COUNT.incrementAndGet();
+                mScheduledFuture = ThreadPool.DISPATCHER_TIMER.scheduleAtFixedRate(() -> mSharedPoolTask.trigger(), 0,
+                    mInterval, TimeUnit.MILLISECONDS);
+            }
+            else
+            {
+                mSharedPoolActive = false;
+                mExecutorService = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(mThreadName));
+
+                Runnable r = (mHeartbeatManager != null ? new ProcessorWithHeartbeat() : new Processor());
+                mScheduledFuture = mExecutorService.scheduleAtFixedRate(r, 0, mInterval, TimeUnit.MILLISECONDS);
+            }
+
+            registerMetrics();
         }
     }
 
@@ -141,13 +353,20 @@ public class Dispatcher<E> implements Listener<E>
     {
         if(mRunning.compareAndSet(true, false))
         {
+            unregisterMetrics();
+
             if(mScheduledFuture != null)
             {
                 //Note: this has to be false because downstream implementations may have acquired locks and they must
                 //be able to release those locks or we'll get a deadlock situation.
                 mScheduledFuture.cancel(false);
                 mScheduledFuture = null;
-                mQueue.clear();
+                clearQueue();
+
+                if(mSharedPoolActive)
+                {
+                    SHARED_POOL_DISPATCHER_COUNT.decrementAndGet();
+                }
             }
 
             if(mExecutorService != null)
@@ -158,6 +377,46 @@ public class Dispatcher<E> implements Listener<E>
         }
     }
 
+    /**
+     * Registers queue depth and overflow metrics for this dispatcher.  Each dispatcher instance is labeled with a
+     * unique instance number since thread names are shared across dispatchers of the same kind.
+     */
+    private void registerMetrics()
+    {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        mQueueDepthGauge = registry.gauge("sdrtrunk_dispatcher_queue_depth", "Elements queued for dispatch",
+            mQueue::size, "dispatcher", mThreadName, "instance", mInstance);
+        mOverflowCounter = registry.functionCounter("sdrtrunk_dispatcher_overflow_total",
+            "Elements discarded due to queue overflow", mQueue::getOverflowCount, "dispatcher", mThreadName,
+            "instance", mInstance);
+    }
+
+    /**
+     * Removes the metrics for this dispatcher.
+     */
+    private void unregisterMetrics()
+    {
+        MetricsRegistry.getInstance().remove(mQueueDepthGauge, mOverflowCounter);
+        mQueueDepthGauge = null;
+        mOverflowCounter = null;
+    }
+
+    /**
+     * Clears the queue.  Queued elements are delivered to the discard listener, when registered, so that any resources
+     * held by the elements can be released.
+     */
+    private void clearQueue()
+    {
+        Listener<E> discardListener = mDiscardListener;
+
+        if(discardListener != null)
+        {
+            mQueue.drain(discardListener, Integer.MAX_VALUE);
+        }
+
+        mQueue.clear();
+    }
+
     /**
      * Indicates if this processor is currently running
      */
@@ -171,23 +430,36 @@ public class Dispatcher<E> implements Listener<E>
      */
     private void process()
     {
-        List<E> elements = new ArrayList<>();
+        //Limit the batch size in shared pool mode for fairness across dispatchers
+        mQueue.drain(this::dispatch, mSharedPoolActive ? SHARED_POOL_MAX_BATCH_SIZE : Integer.MAX_VALUE);
+    }
 
-        mQueue.drainTo(elements);
+    /**
+     * Dispatches the element to the registered listener.  Note: this should only be invoked on the Processor thread.
+     */
+    private void dispatch(E element)
+    {
+        Listener<E> listener = mListener;
 
-        for(E element: elements)
+        if(mRunning.get() && listener != null)
         {
-            if(mRunning.get() && mListener != null)
+            try
             {
-                try
-                {
-                    mListener.receive(element);
-                }
-                catch(Throwable t)
-                {
-                    mLog.error("Error while dispatching element [" + element.getClass() + "] to listener [" +
-                            mListener.getClass() + "]", t);
-                }
+                listener.receive(element);
+            }
+            catch(Throwable t)
+            {
+                mLog.error("Error while dispatching element [" + element.getClass() + "] to listener [" +
+                        listener.getClass() + "]", t);
+            }
+        }
+        else
+        {
+            Listener<E> discardListener = mDiscardListener;
+
+            if(discardListener != null)
+            {
+                discardListener.receive(element);
             }
         }
     }
@@ -238,4 +510,56 @@ public class Dispatcher<E> implements Listener<E>
             }
         }
     }
+
+    /**
+     * Shared pool task that is triggered by the shared dispatcher timer at each processing interval and executes the
+     * processor on the shared DSP pool.  Ensures that the processor is never queued or executed concurrently and
+     * resubmits itself when elements remain in the queue after processing a batch.
+     */
+    class SharedPoolTask implements Runnable
+    {
+        private final AtomicBoolean mQueued = new AtomicBoolean();
+        private volatile Runnable mProcessor;
+
+        /**
+         * Sets the processor to execute for each interval
+         */
+        public void setProcessor(Runnable processor)
+        {
+            mProcessor = processor;
+        }
+
+        /**
+         * Submits this task to the shared pool, unless the task is already queued or executing.
+         */
+        public void trigger()
+        {
+            if(mQueued.compareAndSet(false, true))
+            {
+                ThreadPool.DSP.execute(this);
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                if(mRunning.get())
+                {
+                    mProcessor.run();
+                }
+            }
+            finally
+            {
+                mQueued.set(false);
+            }
+
+            //Resubmit to the back of the pool when there are unprocessed elements remaining from this interval
+            if(mRunning.get() && !mQueue.isEmpty())
+            {
+                trigger();
+            }
+        }
+    }
 }
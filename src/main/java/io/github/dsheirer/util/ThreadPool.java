@@ -22,9 +22,14 @@ import io.github.dsheirer.controller.NamingThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class ThreadPool
 {
@@ -34,6 +39,41 @@ public class ThreadPool
     public static ExecutorService CACHED =
             Executors.newCachedThreadPool(new NamingThreadFactory("sdrtrunk cached"));
 
+    /**
+     * Bounded fork-join pool for splitting polyphase channelizer sample blocks and IFFT batches across the available
+     * processor cores.  Sized to leave one core free for the tuner USB transfer and dispatcher threads.
+     */
+    public static ForkJoinPool CHANNELIZER = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("sdrtrunk channelizer thread " + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+
+    /**
+     * Work-stealing pool for running Dispatcher processing tasks when the shared dispatcher pool mode is enabled.
+     * Configured for asynchronous (FIFO) mode since the dispatcher tasks are event-style tasks that are never joined.
+     */
+    public static ForkJoinPool DSP = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("sdrtrunk dsp thread " + thread.getPoolIndex());
+                return thread;
+            }, null, true);
+
+    /**
+     * Bounded pool for encoding audio segments to MP3 in parallel, sized to the available processor cores.  When the
+     * task queue is full, the submitting thread encodes the audio itself so that the backlog can't grow without limit.
+     * Worker threads are released when the pool is idle.
+     */
+    public static ThreadPoolExecutor AUDIO_ENCODER = createAudioEncoderPool(Runtime.getRuntime().availableProcessors(), 64);
+
+    /**
+     * Single-thread timer for triggering Dispatcher processing intervals in the shared DSP pool.
+     */
+    public static ScheduledExecutorService DISPATCHER_TIMER =
+            Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory("sdrtrunk dispatcher timer"));
+
     /**
      * Application-wide shared thread pools and scheduled executor service.
      */
@@ -41,8 +81,24 @@ public class ThreadPool
     {
     }
 
+    /**
+     * Creates the bounded audio encoder pool.
+     * @param workerCount number of encoder threads
+     * @param queueCapacity maximum number of queued encode tasks
+     */
+    private static ThreadPoolExecutor createAudioEncoderPool(int workerCount, int queueCapacity)
+    {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workerCount, workerCount, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new NamingThreadFactory("sdrtrunk audio encoder"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     public static void logSettings()
     {
-        mLog.info("Application thread pool created SCHEDULED and CACHED executors threads");
+        mLog.info("Application thread pool created SCHEDULED and CACHED executors threads and CHANNELIZER fork-join pool " +
+            "with parallelism [" + CHANNELIZER.getParallelism() + "] and DSP fork-join pool with parallelism [" +
+            DSP.getParallelism() + "] and AUDIO_ENCODER pool with [" + AUDIO_ENCODER.getMaximumPoolSize() + "] threads");
     }
 }
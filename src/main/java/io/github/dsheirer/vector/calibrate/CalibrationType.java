@@ -49,6 +49,7 @@ public enum CalibrationType
     MAGNITUDE("Magnitude", 1),
     MIXER_COMPLEX("Complex Mixer", 1),
     OSCILLATOR_REAL("Real Oscillator", 1),
+    POLYPHASE_CHANNELIZER("Polyphase Channelizer", 1),
     SQUELCHING_FM_DEMODULATOR("Squelching FM Demodulator", 1),
     WINDOW("Window", 1);
 
@@ -0,0 +1,229 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.vector.calibrate.filter;
+
+import io.github.dsheirer.dsp.filter.channelizer.kernel.PolyphaseFilterKernel;
+import io.github.dsheirer.dsp.filter.channelizer.kernel.ScalarPolyphaseFilterKernel;
+import io.github.dsheirer.dsp.filter.channelizer.kernel.VectorPolyphaseFilterKernel128Bit;
+import io.github.dsheirer.dsp.filter.channelizer.kernel.VectorPolyphaseFilterKernel256Bit;
+import io.github.dsheirer.dsp.filter.channelizer.kernel.VectorPolyphaseFilterKernel512Bit;
+import io.github.dsheirer.dsp.filter.channelizer.kernel.VectorPolyphaseFilterKernel64Bit;
+import io.github.dsheirer.vector.calibrate.Calibration;
+import io.github.dsheirer.vector.calibrate.CalibrationException;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+import org.apache.commons.math3.stat.descriptive.moment.Mean;
+
+/**
+ * Calibrates the polyphase channelizer filter-bank top block kernel implementations to determine the optimal instance.
+ */
+public class PolyphaseChannelizerCalibration extends Calibration
+{
+    private static final VectorSpecies<Float> VECTOR_SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int CHANNEL_COUNT = 400; //10 MHz tuner with 25 kHz channels
+    private static final int TAPS_PER_CHANNEL = 9;
+    private static final int BLOCK_COUNT = 64;
+    private static final int ITERATION_DURATION_MS = 1000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int TEST_ITERATIONS = 5;
+
+    private PolyphaseFilterKernel mScalar;
+    private PolyphaseFilterKernel mVector512;
+    private PolyphaseFilterKernel mVector256;
+    private PolyphaseFilterKernel mVector128;
+    private PolyphaseFilterKernel mVector64;
+
+    /**
+     * Constructs an instance
+     */
+    public PolyphaseChannelizerCalibration()
+    {
+        super(CalibrationType.POLYPHASE_CHANNELIZER);
+
+        int subChannelCount = CHANNEL_COUNT * 2;
+        float[] filter = getFloatSamples(subChannelCount * TAPS_PER_CHANNEL);
+
+        //Reverse index maps are sufficient for timing purposes
+        int[] topBlockMap = new int[subChannelCount];
+        int[] middleBlockMap = new int[subChannelCount];
+
+        for(int x = 0; x < subChannelCount; x++)
+        {
+            topBlockMap[x] = subChannelCount - x - 1;
+            middleBlockMap[x] = (x + CHANNEL_COUNT) % subChannelCount;
+        }
+
+        mScalar = new ScalarPolyphaseFilterKernel(filter, CHANNEL_COUNT, TAPS_PER_CHANNEL, topBlockMap, middleBlockMap);
+        mVector512 = new VectorPolyphaseFilterKernel512Bit(filter, CHANNEL_COUNT, TAPS_PER_CHANNEL, topBlockMap,
+            middleBlockMap);
+        mVector256 = new VectorPolyphaseFilterKernel256Bit(filter, CHANNEL_COUNT, TAPS_PER_CHANNEL, topBlockMap,
+            middleBlockMap);
+        mVector128 = new VectorPolyphaseFilterKernel128Bit(filter, CHANNEL_COUNT, TAPS_PER_CHANNEL, topBlockMap,
+            middleBlockMap);
+        mVector64 = new VectorPolyphaseFilterKernel64Bit(filter, CHANNEL_COUNT, TAPS_PER_CHANNEL, topBlockMap,
+            middleBlockMap);
+    }
+
+    /**
+     * Performs calibration to determine optimal (Scalar vs Vector) operation type.
+     * @throws CalibrationException
+     */
+    @Override public void calibrate() throws CalibrationException
+    {
+        float[] samples = getFloatSamples(mScalar.getHistoryLength() + (BLOCK_COUNT * CHANNEL_COUNT));
+
+        //Warmup
+        Mean scalarMean = test(mScalar, samples, WARMUP_ITERATIONS);
+        mLog.info("POLYPHASE CHANNELIZER WARMUP - SCALAR: " + DECIMAL_FORMAT.format(scalarMean.getResult()));
+
+        if(VECTOR_SPECIES.length() >= 16)
+        {
+            Mean mean = test(mVector512, samples, WARMUP_ITERATIONS);
+            mLog.info("POLYPHASE CHANNELIZER WARMUP - VECTOR 512: " + DECIMAL_FORMAT.format(mean.getResult()));
+        }
+
+        if(VECTOR_SPECIES.length() >= 8)
+        {
+            Mean mean = test(mVector256, samples, WARMUP_ITERATIONS);
+            mLog.info("POLYPHASE CHANNELIZER WARMUP - VECTOR 256: " + DECIMAL_FORMAT.format(mean.getResult()));
+        }
+
+        if(VECTOR_SPECIES.length() >= 4)
+        {
+            Mean mean = test(mVector128, samples, WARMUP_ITERATIONS);
+            mLog.info("POLYPHASE CHANNELIZER WARMUP - VECTOR 128: " + DECIMAL_FORMAT.format(mean.getResult()));
+        }
+
+        if(VECTOR_SPECIES.length() >= 2)
+        {
+            Mean mean = test(mVector64, samples, WARMUP_ITERATIONS);
+            mLog.info("POLYPHASE CHANNELIZER WARMUP - VECTOR 64: " + DECIMAL_FORMAT.format(mean.getResult()));
+        }
+
+        //Test starts ...
+        scalarMean = test(mScalar, samples, TEST_ITERATIONS);
+        mLog.info("POLYPHASE CHANNELIZER - SCALAR: " + DECIMAL_FORMAT.format(scalarMean.getResult()));
+
+        double bestScore = scalarMean.getResult();
+        setImplementation(Implementation.SCALAR);
+
+        if(VECTOR_SPECIES.length() >= 16)
+        {
+            Mean mean = test(mVector512, samples, TEST_ITERATIONS);
+            mLog.info("POLYPHASE CHANNELIZER - VECTOR 512: " + DECIMAL_FORMAT.format(mean.getResult()));
+
+            if(mean.getResult() > bestScore)
+            {
+                bestScore = mean.getResult();
+                setImplementation(Implementation.VECTOR_SIMD_512);
+            }
+        }
+
+        if(VECTOR_SPECIES.length() >= 8)
+        {
+            Mean mean = test(mVector256, samples, TEST_ITERATIONS);
+            mLog.info("POLYPHASE CHANNELIZER - VECTOR 256: " + DECIMAL_FORMAT.format(mean.getResult()));
+
+            if(mean.getResult() > bestScore)
+            {
+                bestScore = mean.getResult();
+                setImplementation(Implementation.VECTOR_SIMD_256);
+            }
+        }
+
+        if(VECTOR_SPECIES.length() >= 4)
+        {
+            Mean mean = test(mVector128, samples, TEST_ITERATIONS);
+            mLog.info("POLYPHASE CHANNELIZER - VECTOR 128: " + DECIMAL_FORMAT.format(mean.getResult()));
+
+            if(mean.getResult() > bestScore)
+            {
+                bestScore = mean.getResult();
+                setImplementation(Implementation.VECTOR_SIMD_128);
+            }
+        }
+
+        if(VECTOR_SPECIES.length() >= 2)
+        {
+            Mean mean = test(mVector64, samples, TEST_ITERATIONS);
+            mLog.info("POLYPHASE CHANNELIZER - VECTOR 64: " + DECIMAL_FORMAT.format(mean.getResult()));
+
+            if(mean.getResult() > bestScore)
+            {
+                setImplementation(Implementation.VECTOR_SIMD_64);
+            }
+        }
+
+        mLog.info("POLYPHASE CHANNELIZER - SET OPTIMAL IMPLEMENTATION TO: " + getImplementation());
+    }
+
+    /**
+     * Tests the kernel for the specified number of iterations.
+     * @param kernel to test
+     * @param samples to process
+     * @param iterations count
+     * @return mean score across the iterations.
+     */
+    private Mean test(PolyphaseFilterKernel kernel, float[] samples, int iterations)
+    {
+        Mean mean = new Mean();
+
+        for(int x = 0; x < iterations; x++)
+        {
+            mean.increment(test(kernel, samples));
+        }
+
+        return mean;
+    }
+
+    /**
+     * Tests the kernel for the iteration duration.
+     * @param kernel to test
+     * @param samples to process
+     * @return number of sample block sets processed within the iteration duration.
+     */
+    private long test(PolyphaseFilterKernel kernel, float[] samples)
+    {
+        double accumulator = 0.0;
+        long count = 0;
+        int historyLength = kernel.getHistoryLength();
+        float[] filterAccumulator = new float[kernel.getSubChannelCount()];
+        float[] processed = new float[kernel.getSubChannelCount() * BLOCK_COUNT];
+
+        long start = System.currentTimeMillis();
+
+        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        {
+            for(int block = 0; block < BLOCK_COUNT; block++)
+            {
+                kernel.process(samples, historyLength + (block * CHANNEL_COUNT), block % 2 == 0, filterAccumulator,
+                    processed, block * kernel.getSubChannelCount());
+            }
+
+            accumulator += processed[0];
+
+            count++;
+        }
+
+        return count + (long)(accumulator * 0);
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.dsheirer.audio;
+
+import io.github.dsheirer.audio.convert.InputAudioFormat;
+import io.github.dsheirer.sample.ConversionUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the audio buffer stores for each storage mode: buffer contents and ordering, snapshot isolation from later
+ * adds and clears, and that the 16-bit stores produce the same 16-bit samples as the original float audio.
+ */
+public class AudioBufferStoreTest
+{
+    /**
+     * Random audio buffer with a mix of buffer lengths, including buffers larger than an off-heap sample block, and
+     * samples slightly outside of the nominal range to exercise clipping.
+     */
+    private static float[] randomBuffer(Random random)
+    {
+        int length = switch(random.nextInt(4))
+        {
+            case 0 -> 0;
+            case 1 -> 1 + random.nextInt(20000);
+            default -> 1 + random.nextInt(400);
+        };
+
+        float[] buffer = new float[length];
+
+        for(int x = 0; x < length; x++)
+        {
+            buffer[x] = (random.nextFloat() * 2.2f) - 1.1f;
+        }
+
+        return buffer;
+    }
+
+    private static List<float[]> fill(AudioBufferStore store, Random random, int count)
+    {
+        List<float[]> buffers = new ArrayList<>();
+
+        for(int x = 0; x < count; x++)
+        {
+            float[] buffer = randomBuffer(random);
+            buffers.add(buffer);
+            store.add(buffer);
+        }
+
+        return buffers;
+    }
+
+    /**
+     * Asserts that the stored buffer converts to the same 16-bit samples as the original buffer.
+     */
+    private static void assertSame16Bit(float[] expected, float[] actual)
+    {
+        Assertions.assertArrayEquals(ConversionUtils.convertToSigned16BitSamples(expected).array(),
+            ConversionUtils.convertToSigned16BitSamples(actual).array());
+    }
+
+    private static void assertContents(AudioStorageMode mode, List<float[]> expected, AudioBufferStore store)
+    {
+        Assertions.assertEquals(expected.size(), store.size());
+
+        for(int x = 0; x < expected.size(); x++)
+        {
+            if(mode == AudioStorageMode.FLOAT)
+            {
+                Assertions.assertSame(expected.get(x), store.get(x));
+            }
+            else
+            {
+                assertSame16Bit(expected.get(x), store.get(x));
+            }
+        }
+    }
+
+    @Test
+    void storesPreserveBufferContentsAndOrder()
+    {
+        for(AudioStorageMode mode : AudioStorageMode.values())
+        {
+            Random random = new Random(0);
+            AudioBufferStore store = AudioBufferStore.create(mode);
+            Assertions.assertTrue(store.isEmpty());
+
+            //Enough buffers to grow the chunk directory several times
+            List<float[]> expected = fill(store, random, 1000);
+            assertContents(mode, expected, store);
+
+            List<float[]> snapshot = store.snapshot();
+            Assertions.assertEquals(expected.size(), snapshot.size());
+
+            for(int x = 0; x < expected.size(); x++)
+            {
+                Assertions.assertArrayEquals(store.get(x), snapshot.get(x));
+            }
+        }
+    }
+
+    @Test
+    void invalidIndexThrows()
+    {
+        for(AudioStorageMode mode : AudioStorageMode.values())
+        {
+            AudioBufferStore store = AudioBufferStore.create(mode);
+            store.add(new float[]{0.5f});
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> store.get(1));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> store.get(-1));
+        }
+    }
+
+    @Test
+    void snapshotIsNotAffectedByAddOrClear()
+    {
+        for(AudioStorageMode mode : AudioStorageMode.values())
+        {
+            Random random = new Random(1);
+            AudioBufferStore store = AudioBufferStore.create(mode);
+            List<float[]> expected = fill(store, random, 100);
+            List<float[]> snapshot = store.snapshot();
+
+            fill(store, random, 100);
+            Assertions.assertEquals(100, snapshot.size());
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.add(new float[0]));
+
+            store.clear();
+            Assertions.assertTrue(store.isEmpty());
+            Assertions.assertEquals(100, snapshot.size());
+
+            for(int x = 0; x < expected.size(); x++)
+            {
+                if(mode == AudioStorageMode.FLOAT)
+                {
+                    Assertions.assertSame(expected.get(x), snapshot.get(x));
+                }
+                else
+                {
+                    assertSame16Bit(expected.get(x), snapshot.get(x));
+                }
+            }
+
+            //The store is reusable after a clear
+            List<float[]> refill = fill(store, random, 50);
+            assertContents(mode, refill, store);
+        }
+    }
+
+    @Test
+    void pcm16SamplesRoundTrip()
+    {
+        for(int sample = -Short.MAX_VALUE; sample <= Short.MAX_VALUE; sample++)
+        {
+            float restored = PCM16AudioBufferStore.toFloat((short)sample);
+            Assertions.assertEquals(sample, PCM16AudioBufferStore.toPCM16(restored));
+            Assertions.assertEquals(sample, ConversionUtils.convertToSigned16BitSamples(new float[]{restored})
+                .getShort(0));
+        }
+
+        Random random = new Random(2);
+
+        for(int x = 0; x < 1000000; x++)
+        {
+            float sample = (random.nextFloat() * 2.2f) - 1.1f;
+            Assertions.assertEquals(ConversionUtils.convertToSigned16BitSamples(new float[]{sample}).getShort(0),
+                PCM16AudioBufferStore.toPCM16(sample));
+        }
+    }
+
+    @Test
+    void pcm16ModesRequireUnprocessed8kHz16BitAudio()
+    {
+        for(AudioStorageMode mode : AudioStorageMode.values())
+        {
+            for(InputAudioFormat format : InputAudioFormat.values())
+            {
+                boolean lossless = format == InputAudioFormat.SR_8000;
+                Assertions.assertEquals(lossless ? mode : AudioStorageMode.FLOAT, mode.getEffectiveMode(format, false),
+                    mode + " " + format);
+                Assertions.assertEquals(mode.isPCM16() ? AudioStorageMode.FLOAT : mode,
+                    mode.getEffectiveMode(format, true), mode + " " + format + " normalized");
+            }
+        }
+    }
+}
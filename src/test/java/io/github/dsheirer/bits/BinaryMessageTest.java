@@ -0,0 +1,307 @@
+package io.github.dsheirer.bits;
+
+import java.util.BitSet;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the cached word-packed snapshot used for field extraction is discarded by every mutator, by comparing the
+ * field accessors against a per-bit BitSet reference after each mutation.
+ */
+public class BinaryMessageTest
+{
+    private static final int SIZE = 300;
+    private static final int ITERATIONS = 5000;
+    private static final int READS = 20;
+
+    /**
+     * Reference field value: each index contributes one bit, with the first index as the MSB.
+     */
+    private static long reference(BitSet bits, int[] indices)
+    {
+        long value = 0;
+
+        for(int index : indices)
+        {
+            value = (value << 1) | (bits.get(index) ? 1 : 0);
+        }
+
+        return value;
+    }
+
+    private static int[] contiguous(int start, int width)
+    {
+        int[] indices = new int[width];
+
+        for(int x = 0; x < width; x++)
+        {
+            indices[x] = start + x;
+        }
+
+        return indices;
+    }
+
+    /**
+     * Random field indices that mix contiguous runs with out of order and repeated indices.
+     */
+    private static int[] fragmented(Random random, int width, int maximumIndex)
+    {
+        int[] indices = new int[width];
+        int index = random.nextInt(maximumIndex);
+
+        for(int x = 0; x < width; x++)
+        {
+            index = random.nextInt(4) == 0 ? random.nextInt(maximumIndex) : Math.min(index + 1, maximumIndex - 1);
+            indices[x] = index;
+        }
+
+        return indices;
+    }
+
+    private static BitSet randomBitSet(Random random, int size)
+    {
+        BitSet bits = new BitSet();
+
+        for(int x = 0; x < size; x++)
+        {
+            if(random.nextBoolean())
+            {
+                bits.set(x);
+            }
+        }
+
+        return bits;
+    }
+
+    /**
+     * Compares each of the field accessors for random fields against the reference.
+     */
+    private static void assertFieldsMatch(Random random, BinaryMessage message, BitSet reference)
+    {
+        for(int x = 0; x < READS; x++)
+        {
+            int width = 1 + random.nextInt(32);
+            int start = random.nextInt(SIZE - width);
+            int offset = random.nextInt(SIZE - width - start + 1);
+            int[] indices = contiguous(start, width);
+            int[] offsetIndices = contiguous(start + offset, width);
+
+            IntField intField = IntField.range(start, start + width - 1);
+            Assertions.assertEquals((int)reference(reference, indices), message.getInt(intField));
+            Assertions.assertEquals((int)reference(reference, offsetIndices), message.getInt(intField, offset));
+            Assertions.assertEquals(reference(reference, indices) != 0, message.hasInt(intField));
+            Assertions.assertEquals((int)reference(reference, indices), message.getInt(start, start + width - 1));
+            Assertions.assertEquals((int)reference(reference, indices), message.getInt(indices));
+            Assertions.assertEquals((int)reference(reference, offsetIndices), message.getInt(indices, offset));
+
+            int[] fragmentedIndices = fragmented(random, width, SIZE - offset);
+            int[] fragmentedOffsetIndices = new int[width];
+
+            for(int y = 0; y < width; y++)
+            {
+                fragmentedOffsetIndices[y] = fragmentedIndices[y] + offset;
+            }
+
+            FragmentedIntField fragmentedField = FragmentedIntField.of(fragmentedIndices);
+            Assertions.assertEquals((int)reference(reference, fragmentedIndices), message.getInt(fragmentedField));
+            Assertions.assertEquals((int)reference(reference, fragmentedOffsetIndices),
+                message.getInt(fragmentedField, offset));
+            Assertions.assertEquals(reference(reference, fragmentedOffsetIndices) != 0,
+                message.hasInt(fragmentedField, offset));
+
+            int longWidth = 1 + random.nextInt(64);
+            int longStart = random.nextInt(SIZE - longWidth);
+            int longOffset = random.nextInt(SIZE - longWidth - longStart + 1);
+            int[] longIndices = contiguous(longStart, longWidth);
+            LongField longField = LongField.range(longStart, longStart + longWidth - 1);
+            Assertions.assertEquals(reference(reference, longIndices), message.getLong(longField));
+            Assertions.assertEquals(reference(reference, contiguous(longStart + longOffset, longWidth)),
+                message.getLong(longField, longOffset));
+            Assertions.assertEquals(reference(reference, longIndices), message.getLong(longStart,
+                longStart + longWidth - 1));
+            Assertions.assertEquals(reference(reference, longIndices), message.getLong(longIndices));
+        }
+    }
+
+    /**
+     * Applies a random mutation to both the message and the reference.
+     */
+    private static void mutate(Random random, BinaryMessage message, BitSet reference)
+    {
+        int index = random.nextInt(SIZE);
+        int from = random.nextInt(SIZE);
+        int to = from + random.nextInt(SIZE - from + 1);
+        boolean value = random.nextBoolean();
+
+        switch(random.nextInt(16))
+        {
+            case 0 ->
+            {
+                message.set(index);
+                reference.set(index);
+            }
+            case 1 ->
+            {
+                message.set(index, value);
+                reference.set(index, value);
+            }
+            case 2 ->
+            {
+                message.set(from, to);
+                reference.set(from, to);
+            }
+            case 3 ->
+            {
+                message.set(from, to, value);
+                reference.set(from, to, value);
+            }
+            case 4 ->
+            {
+                message.clear(index);
+                reference.clear(index);
+            }
+            case 5 ->
+            {
+                message.clear(from, to);
+                reference.clear(from, to);
+            }
+            case 6 ->
+            {
+                message.flip(index);
+                reference.flip(index);
+            }
+            case 7 ->
+            {
+                message.flip(from, to);
+                reference.flip(from, to);
+            }
+            case 8 ->
+            {
+                BitSet bits = randomBitSet(random, SIZE);
+                message.and(bits);
+                reference.and(bits);
+            }
+            case 9 ->
+            {
+                BitSet bits = randomBitSet(random, SIZE);
+                message.or(bits);
+                reference.or(bits);
+            }
+            case 10 ->
+            {
+                BitSet bits = randomBitSet(random, SIZE);
+                message.xor(bits);
+                reference.xor(bits);
+            }
+            case 11 ->
+            {
+                BitSet bits = randomBitSet(random, SIZE);
+                message.andNot(bits);
+                reference.andNot(bits);
+            }
+            case 12 ->
+            {
+                int width = 1 + random.nextInt(64);
+                int offset = random.nextInt(SIZE - width + 1);
+                long fill = random.nextLong();
+                message.load(offset, width, fill);
+
+                for(int x = 0; x < width; x++)
+                {
+                    reference.set(offset + x, ((fill >>> (width - 1 - x)) & 1) == 1);
+                }
+            }
+            case 13 ->
+            {
+                int width = 1 + random.nextInt(SIZE / 2);
+                int offset = random.nextInt(SIZE - width + 1);
+                BitSet bits = randomBitSet(random, width);
+                message.load(offset, new BinaryMessage(bits, width));
+
+                for(int x = 0; x < width; x++)
+                {
+                    reference.set(offset + x, bits.get(x));
+                }
+            }
+            case 14 ->
+            {
+                int width = 1 + random.nextInt(32);
+                int offset = random.nextInt(SIZE - width + 1);
+                int mask = random.nextInt();
+                message.xor(offset, width, mask);
+
+                for(int x = 0; x < width; x++)
+                {
+                    if(((mask >>> (width - 1 - x)) & 1) == 1)
+                    {
+                        reference.flip(offset + x);
+                    }
+                }
+            }
+            default ->
+            {
+                message.clear();
+                reference.clear();
+            }
+        }
+    }
+
+    @Test
+    void fieldsMatchReferenceAfterEachMutation()
+    {
+        Random random = new Random(0);
+        BitSet reference = randomBitSet(random, SIZE);
+        BinaryMessage message = new BinaryMessage(reference, SIZE);
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            //Read first so that each mutation has a cached snapshot to discard
+            assertFieldsMatch(random, message, reference);
+            mutate(random, message, reference);
+            assertFieldsMatch(random, message, reference);
+        }
+    }
+
+    @Test
+    void addAfterReadIsVisible() throws BitSetFullException
+    {
+        Random random = new Random(1);
+        BinaryMessage message = new BinaryMessage(SIZE);
+        BitSet reference = new BitSet();
+
+        while(!message.isFull())
+        {
+            boolean value = random.nextBoolean();
+            reference.set(message.pointer(), value);
+            message.add(value);
+            assertFieldsMatch(random, message, reference);
+        }
+    }
+
+    @Test
+    void copiesDoNotShareMutations()
+    {
+        Random random = new Random(2);
+        BitSet reference = randomBitSet(random, SIZE);
+        BinaryMessage message = new BinaryMessage(reference, SIZE);
+
+        for(int x = 0; x < 200; x++)
+        {
+            //Populate the snapshot before copying so that the copy and clone start out sharing it
+            assertFieldsMatch(random, message, reference);
+
+            BinaryMessage copy = message.copy();
+            BitSet copyReference = (BitSet)reference.clone();
+            mutate(random, copy, copyReference);
+
+            BinaryMessage clone = (BinaryMessage)message.clone();
+            BitSet cloneReference = (BitSet)reference.clone();
+            mutate(random, clone, cloneReference);
+
+            assertFieldsMatch(random, copy, copyReference);
+            assertFieldsMatch(random, clone, cloneReference);
+            assertFieldsMatch(random, message, reference);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.dsheirer.buffer;
+
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.complex.ComplexSamples;
+import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the sample delay buffer balances native buffer user counts: every reference that it hands to a listener
+ * or retains in the delay queue is released, so that pooled buffers are recycled once all listeners are finished.
+ */
+public class NativeSampleDelayBufferTest
+{
+    private static final int DELAY_SIZE = 10;
+    private static final long BUFFER_DURATION = 10;
+
+    /**
+     * Native buffer that tracks its user count.
+     */
+    private static class CountingBuffer implements INativeBuffer
+    {
+        private final long mTimestamp;
+        private int mUserCount;
+
+        CountingBuffer(long timestamp)
+        {
+            mTimestamp = timestamp;
+        }
+
+        @Override
+        public Iterator<ComplexSamples> iterator()
+        {
+            return Collections.emptyIterator();
+        }
+
+        @Override
+        public Iterator<InterleavedComplexSamples> iteratorInterleaved()
+        {
+            return Collections.emptyIterator();
+        }
+
+        @Override
+        public int sampleCount()
+        {
+            return 0;
+        }
+
+        @Override
+        public long getTimestamp()
+        {
+            return mTimestamp;
+        }
+
+        @Override
+        public void incrementUserCount()
+        {
+            mUserCount++;
+        }
+
+        @Override
+        public void decrementUserCount()
+        {
+            Assertions.assertTrue(mUserCount > 0, "Buffer released more times than it was referenced");
+            mUserCount--;
+        }
+    }
+
+    /**
+     * Delivers the buffer the same way as the tuner controller broadcast, holding a reference during delivery.
+     */
+    private static void broadcast(NativeSampleDelayBuffer delayBuffer, CountingBuffer buffer)
+    {
+        buffer.incrementUserCount();
+        buffer.incrementUserCount();
+        delayBuffer.receive(buffer);
+        buffer.decrementUserCount();
+    }
+
+    @Test
+    void allReferencesAreReleased()
+    {
+        Random random = new Random(0);
+        NativeSampleDelayBuffer delayBuffer = new NativeSampleDelayBuffer(DELAY_SIZE, BUFFER_DURATION);
+        List<CountingBuffer> buffers = new ArrayList<>();
+        List<Listener<INativeBuffer>> listeners = new ArrayList<>();
+        int[] received = new int[1];
+
+        for(int x = 0; x < 500; x++)
+        {
+            if(random.nextInt(20) == 0)
+            {
+                Listener<INativeBuffer> listener = buffer -> {
+                    received[0]++;
+                    buffer.decrementUserCount();
+                };
+                listeners.add(listener);
+                delayBuffer.addListener(listener, (x - random.nextInt(DELAY_SIZE)) * BUFFER_DURATION);
+            }
+            else if(!listeners.isEmpty() && random.nextInt(30) == 0)
+            {
+                delayBuffer.removeListener(listeners.remove(random.nextInt(listeners.size())));
+            }
+            else if(random.nextInt(100) == 0)
+            {
+                delayBuffer.clear();
+            }
+
+            CountingBuffer buffer = new CountingBuffer(x * BUFFER_DURATION);
+            buffers.add(buffer);
+            broadcast(delayBuffer, buffer);
+
+            //Buffers older than the delay queue must be fully released
+            if(buffers.size() > DELAY_SIZE)
+            {
+                Assertions.assertEquals(0, buffers.get(buffers.size() - DELAY_SIZE - 1).mUserCount);
+            }
+        }
+
+        Assertions.assertTrue(received[0] > 0, "Listeners should receive buffers");
+
+        delayBuffer.dispose();
+
+        for(CountingBuffer buffer : buffers)
+        {
+            Assertions.assertEquals(0, buffer.mUserCount);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package io.github.dsheirer.dsp.filter.channelizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the reference counting of the channel results buffers: a buffer returns to the pool exactly once, when the
+ * last consumer releases it, including when consumers release the buffer concurrently, and pooled buffers are reset
+ * for reuse.
+ */
+public class ChannelResultsBufferPoolTest
+{
+    private static final int SUB_CHANNEL_COUNT = 64;
+    private static final int CAPACITY = 10;
+
+    @Test
+    void bufferReturnsToPoolWhenLastUserReleases()
+    {
+        ChannelResultsBufferPool pool = new ChannelResultsBufferPool(SUB_CHANNEL_COUNT, CAPACITY);
+        ChannelResultsBuffer buffer = pool.getBuffer();
+        Assertions.assertEquals(1, pool.getMissCount());
+        Assertions.assertEquals(SUB_CHANNEL_COUNT * CAPACITY, buffer.getSamples().length);
+
+        buffer.addBlocks(4);
+
+        for(int x = 0; x < 3; x++)
+        {
+            buffer.incrementUserCount();
+        }
+
+        buffer.decrementUserCount();
+        buffer.decrementUserCount();
+        Assertions.assertEquals(0, pool.getPooledCount());
+
+        buffer.decrementUserCount();
+        Assertions.assertEquals(1, pool.getPooledCount());
+
+        //The pooled buffer is reused and reset
+        ChannelResultsBuffer reused = pool.getBuffer();
+        Assertions.assertSame(buffer, reused);
+        Assertions.assertEquals(1, pool.getHitCount());
+        Assertions.assertEquals(0, pool.getPooledCount());
+        Assertions.assertEquals(0, reused.getBlockCount());
+        Assertions.assertEquals(CAPACITY, reused.getRemaining());
+
+        //The user count is reset, so a single user releases the reused buffer
+        reused.incrementUserCount();
+        reused.decrementUserCount();
+        Assertions.assertEquals(1, pool.getPooledCount());
+    }
+
+    @Test
+    void undispatchedBufferIsRecycled()
+    {
+        ChannelResultsBufferPool pool = new ChannelResultsBufferPool(SUB_CHANNEL_COUNT, CAPACITY);
+        ChannelResultsBuffer buffer = pool.getBuffer();
+        buffer.recycle();
+        Assertions.assertEquals(1, pool.getPooledCount());
+        Assertions.assertSame(buffer, pool.getBuffer());
+    }
+
+    @Test
+    void releasingTooManyTimesDoesNotRecycleAgain()
+    {
+        ChannelResultsBufferPool pool = new ChannelResultsBufferPool(SUB_CHANNEL_COUNT, CAPACITY);
+        ChannelResultsBuffer buffer = pool.getBuffer();
+        buffer.incrementUserCount();
+        buffer.decrementUserCount();
+        buffer.decrementUserCount();
+        Assertions.assertEquals(1, pool.getPooledCount());
+
+        Assertions.assertSame(buffer, pool.getBuffer());
+        Assertions.assertEquals(0, pool.getPooledCount());
+    }
+
+    @Test
+    void poolSizeIsBounded()
+    {
+        ChannelResultsBufferPool pool = new ChannelResultsBufferPool(SUB_CHANNEL_COUNT, CAPACITY);
+        List<ChannelResultsBuffer> buffers = new ArrayList<>();
+
+        for(int x = 0; x < 20; x++)
+        {
+            buffers.add(pool.getBuffer());
+        }
+
+        for(ChannelResultsBuffer buffer : buffers)
+        {
+            buffer.incrementUserCount();
+            buffer.decrementUserCount();
+        }
+
+        Assertions.assertEquals(ChannelResultsBufferPool.MAXIMUM_POOLED_BUFFERS, pool.getPooledCount());
+        Assertions.assertEquals(20, pool.getMissCount());
+    }
+
+    @Test
+    void blockAccounting()
+    {
+        ChannelResultsBufferPool pool = new ChannelResultsBufferPool(SUB_CHANNEL_COUNT, CAPACITY);
+        ChannelResultsBuffer buffer = pool.getBuffer();
+        Assertions.assertEquals(SUB_CHANNEL_COUNT, buffer.getSubChannelCount());
+        Assertions.assertEquals(CAPACITY, buffer.getCapacity());
+        Assertions.assertFalse(buffer.isFull());
+
+        buffer.addBlocks(3);
+        Assertions.assertEquals(3, buffer.getBlockCount());
+        Assertions.assertEquals(CAPACITY - 3, buffer.getRemaining());
+        Assertions.assertEquals(3 * SUB_CHANNEL_COUNT, buffer.getOffset(3));
+
+        buffer.addBlocks(CAPACITY - 3);
+        Assertions.assertTrue(buffer.isFull());
+        Assertions.assertEquals(0, buffer.getRemaining());
+    }
+
+    @Test
+    void concurrentReleaseRecyclesExactlyOnce() throws InterruptedException
+    {
+        ChannelResultsBufferPool pool = new ChannelResultsBufferPool(SUB_CHANNEL_COUNT, CAPACITY);
+        int consumerCount = 4;
+
+        for(int iteration = 0; iteration < 500; iteration++)
+        {
+            ChannelResultsBuffer buffer = pool.getBuffer();
+
+            for(int x = 0; x < consumerCount; x++)
+            {
+                buffer.incrementUserCount();
+            }
+
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> consumers = new ArrayList<>();
+
+            for(int x = 0; x < consumerCount; x++)
+            {
+                Thread consumer = new Thread(() -> {
+                    try
+                    {
+                        start.await();
+                        buffer.decrementUserCount();
+                    }
+                    catch(InterruptedException ie)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                consumers.add(consumer);
+                consumer.start();
+            }
+
+            start.countDown();
+
+            for(Thread consumer : consumers)
+            {
+                consumer.join();
+            }
+
+            Assertions.assertEquals(1, pool.getPooledCount(), "Iteration " + iteration);
+        }
+
+        Assertions.assertEquals(1, pool.getMissCount());
+        Assertions.assertEquals(499, pool.getHitCount());
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.dsheirer.dsp.filter.channelizer;
+
+import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests that the parallel processing mode produces channel results that are identical to the single-threaded mode,
+ * for both the full IFFT and the selective inverse DFT, using the same randomly sized sample buffers for each mode.
+ */
+public class ComplexPolyphaseChannelizerM2Test
+{
+    private static final int CHANNEL_COUNT = 32;
+    private static final int TAPS_PER_CHANNEL = 9;
+    private static final int SAMPLE_RATE = CHANNEL_COUNT * 25000;
+    private static final int RESULTS_BUFFER_COUNT = 6;
+
+    /**
+     * Channelizer that captures a copy of each transformed channel results buffer instead of dispatching it to the
+     * channel output processors.
+     */
+    private static class CapturingChannelizer extends ComplexPolyphaseChannelizerM2
+    {
+        private final List<PolyphaseChannelSource> mChannels;
+        private final List<float[]> mResults = Collections.synchronizedList(new ArrayList<>());
+
+        CapturingChannelizer(float[] taps, List<PolyphaseChannelSource> channels)
+        {
+            super(taps, SAMPLE_RATE, CHANNEL_COUNT);
+            mChannels = channels;
+        }
+
+        @Override
+        protected List<PolyphaseChannelSource> getChannels()
+        {
+            return mChannels;
+        }
+
+        @Override
+        protected void dispatch(ChannelResultsBuffer buffer, List<PolyphaseChannelSource> channels,
+                                boolean applyPendingUpdates)
+        {
+            mResults.add(Arrays.copyOf(buffer.getSamples(), buffer.getBlockCount() * buffer.getSubChannelCount()));
+
+            //Returns the buffer to the pool
+            super.dispatch(buffer, Collections.emptyList(), applyPendingUpdates);
+        }
+    }
+
+    private static PolyphaseChannelSource createChannel(List<Integer> indexes)
+    {
+        PolyphaseChannelSource channel = Mockito.mock(PolyphaseChannelSource.class);
+        Mockito.when(channel.getOutputProcessorIndexes()).thenReturn(indexes);
+        return channel;
+    }
+
+    private static float[] randomArray(Random random, int length)
+    {
+        float[] array = new float[length];
+
+        for(int x = 0; x < length; x++)
+        {
+            array[x] = (random.nextFloat() * 2.0f) - 1.0f;
+        }
+
+        return array;
+    }
+
+    /**
+     * Creates randomly sized sample buffers that contain enough samples to fill the results buffer count.
+     */
+    private static List<InterleavedComplexSamples> createSampleBuffers(Random random)
+    {
+        List<InterleavedComplexSamples> buffers = new ArrayList<>();
+        int required = (RESULTS_BUFFER_COUNT * 1024 + TAPS_PER_CHANNEL * 2) * CHANNEL_COUNT;
+        int total = 0;
+        long timestamp = 0;
+
+        while(total < required)
+        {
+            //Even lengths (I/Q pairs), including buffers smaller than a single filter block
+            int length = random.nextInt(4) == 0 ? 2 * (1 + random.nextInt(CHANNEL_COUNT)) :
+                2 * (1 + random.nextInt(4000));
+            buffers.add(new InterleavedComplexSamples(randomArray(random, length), timestamp++));
+            total += length;
+        }
+
+        return buffers;
+    }
+
+    private static List<float[]> process(float[] taps, List<InterleavedComplexSamples> buffers, List<Integer> indexes,
+                                         boolean parallel, boolean selective) throws InterruptedException
+    {
+        if(parallel)
+        {
+            //Small tasks so that every batch is split across several workers
+            ComplexPolyphaseChannelizerM2.setParallelThresholds(CHANNEL_COUNT, 1, 3);
+        }
+        else
+        {
+            ComplexPolyphaseChannelizerM2.setParallelThresholds(Integer.MAX_VALUE, 1, 3);
+        }
+
+        CapturingChannelizer channelizer;
+
+        try
+        {
+            channelizer = new CapturingChannelizer(taps, List.of(createChannel(indexes)));
+        }
+        finally
+        {
+            ComplexPolyphaseChannelizerM2.setParallelThresholds(
+                ComplexPolyphaseChannelizerM2.DEFAULT_PARALLEL_MINIMUM_CHANNEL_COUNT,
+                ComplexPolyphaseChannelizerM2.DEFAULT_PARALLEL_MINIMUM_PROCESSOR_COUNT,
+                ComplexPolyphaseChannelizerM2.DEFAULT_PARALLEL_BLOCKS_PER_TASK);
+        }
+
+        Assertions.assertEquals(parallel, channelizer.isParallel());
+        channelizer.start();
+
+        for(InterleavedComplexSamples buffer : buffers)
+        {
+            channelizer.receive(buffer);
+        }
+
+        long timeout = System.currentTimeMillis() + 10000;
+
+        while(channelizer.mResults.size() < RESULTS_BUFFER_COUNT && System.currentTimeMillis() < timeout)
+        {
+            Thread.sleep(10);
+        }
+
+        channelizer.stop();
+
+        Assertions.assertEquals(RESULTS_BUFFER_COUNT, channelizer.mResults.size());
+        Assertions.assertEquals(selective, channelizer.isSelectiveIFFT());
+        return channelizer.mResults;
+    }
+
+    private static void assertParallelMatchesSerial(long seed, List<Integer> indexes, boolean selective)
+        throws InterruptedException
+    {
+        Random random = new Random(seed);
+        float[] taps = randomArray(random, CHANNEL_COUNT * TAPS_PER_CHANNEL);
+        List<InterleavedComplexSamples> buffers = createSampleBuffers(random);
+
+        List<float[]> serial = process(taps, buffers, indexes, false, selective);
+        List<float[]> parallel = process(taps, buffers, indexes, true, selective);
+
+        for(int x = 0; x < RESULTS_BUFFER_COUNT; x++)
+        {
+            Assertions.assertArrayEquals(serial.get(x), parallel.get(x), "Channel results buffer " + x);
+        }
+    }
+
+    @Test
+    void parallelMatchesSerialWithFullIFFT() throws InterruptedException
+    {
+        List<Integer> indexes = new ArrayList<>();
+
+        for(int x = 0; x < CHANNEL_COUNT; x++)
+        {
+            indexes.add(x);
+        }
+
+        assertParallelMatchesSerial(0, indexes, false);
+    }
+
+    @Test
+    void parallelMatchesSerialWithSelectiveIFFT() throws InterruptedException
+    {
+        assertParallelMatchesSerial(1, List.of(3, 4), true);
+    }
+}
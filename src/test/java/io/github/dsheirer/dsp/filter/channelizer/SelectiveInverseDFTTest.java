@@ -0,0 +1,124 @@
+package io.github.dsheirer.dsp.filter.channelizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.jtransforms.fft.FloatFFT_1D;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the selective inverse DFT against the full (scaled) JTransforms IFFT for each active output bin, using
+ * random bin selections and multiple DFT blocks per array, and tests the cost model that selects between them.
+ */
+public class SelectiveInverseDFTTest
+{
+    private static final int[] SIZES = {2, 4, 8, 16, 32, 64, 128, 256, 512};
+    private static final int BLOCK_COUNT = 4;
+    private static final float TOLERANCE = 1e-4f;
+
+    private static float[] randomArray(Random random, int length)
+    {
+        float[] array = new float[length];
+
+        for(int x = 0; x < length; x++)
+        {
+            array[x] = (random.nextFloat() * 2.0f) - 1.0f;
+        }
+
+        return array;
+    }
+
+    /**
+     * Random selection of distinct bins in random order
+     */
+    private static int[] randomBins(Random random, int size, int count)
+    {
+        List<Integer> bins = new ArrayList<>();
+
+        for(int x = 0; x < size; x++)
+        {
+            bins.add(x);
+        }
+
+        Collections.shuffle(bins, random);
+        return bins.subList(0, count).stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void activeBinsMatchFullIFFT()
+    {
+        Random random = new Random(0);
+
+        for(int size : SIZES)
+        {
+            SelectiveInverseDFT dft = new SelectiveInverseDFT(size);
+            FloatFFT_1D fft = new FloatFFT_1D(size);
+            Assertions.assertEquals(size, dft.getSize());
+
+            for(int iteration = 0; iteration < 20; iteration++)
+            {
+                //Include bin counts beyond the cost model maximum, up to every bin
+                int count = iteration == 0 ? size : 1 + random.nextInt(Math.min(size, dft.getMaximumBinCount() + 4));
+                int[] bins = randomBins(random, size, count);
+                float[] scratch = new float[2 * bins.length];
+
+                float[] input = randomArray(random, 2 * size * BLOCK_COUNT);
+                float[] expected = input.clone();
+                float[] actual = input.clone();
+
+                for(int block = 0; block < BLOCK_COUNT; block++)
+                {
+                    int offset = block * 2 * size;
+                    fft.complexInverse(expected, offset, true);
+                    dft.inverse(actual, offset, bins, scratch);
+
+                    boolean[] active = new boolean[size];
+
+                    for(int bin : bins)
+                    {
+                        active[bin] = true;
+                        Assertions.assertEquals(expected[offset + 2 * bin], actual[offset + 2 * bin], TOLERANCE,
+                            "Size:" + size + " Bin:" + bin + " I");
+                        Assertions.assertEquals(expected[offset + 2 * bin + 1], actual[offset + 2 * bin + 1],
+                            TOLERANCE, "Size:" + size + " Bin:" + bin + " Q");
+                    }
+
+                    //Inactive bins retain the input values
+                    for(int bin = 0; bin < size; bin++)
+                    {
+                        if(!active[bin])
+                        {
+                            Assertions.assertEquals(input[offset + 2 * bin], actual[offset + 2 * bin]);
+                            Assertions.assertEquals(input[offset + 2 * bin + 1], actual[offset + 2 * bin + 1]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void costModelPrefersSelectiveDFTForFewBins()
+    {
+        for(int size : SIZES)
+        {
+            SelectiveInverseDFT dft = new SelectiveInverseDFT(size);
+            int maximum = dft.getMaximumBinCount();
+            double fftCostPerBin = 5.0 * Integer.numberOfTrailingZeros(size);
+
+            //A direct DFT costs 8 operations per input bin for each output bin versus 5 x log2(N) per bin for the FFT
+            Assertions.assertTrue(8.0 * maximum <= fftCostPerBin + 1e-6, "Size:" + size);
+            Assertions.assertTrue(8.0 * (maximum + 1) > fftCostPerBin - 1e-6, "Size:" + size);
+            Assertions.assertFalse(dft.isPreferred(0));
+            Assertions.assertFalse(dft.isPreferred(maximum + 1));
+
+            if(maximum > 0)
+            {
+                Assertions.assertTrue(dft.isPreferred(1));
+                Assertions.assertTrue(dft.isPreferred(maximum));
+            }
+        }
+    }
+}
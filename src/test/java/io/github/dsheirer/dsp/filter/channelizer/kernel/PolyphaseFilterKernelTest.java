@@ -0,0 +1,173 @@
+package io.github.dsheirer.dsp.filter.channelizer.kernel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares each of the Vector API polyphase filter kernels against the scalar kernel, for channel counts that fill the
+ * SIMD lanes and channel counts that leave residual sub-channels for scalar processing, using random filters, random
+ * top and middle block maps, and random samples.
+ *
+ * The vector kernels accumulate each sub-channel across the taps in the same order as the scalar kernel but use fused
+ * multiply-add, so the results are compared with a small tolerance.
+ */
+public class PolyphaseFilterKernelTest
+{
+    private static final int[] CHANNEL_COUNTS = {2, 4, 6, 8, 10, 16, 18, 24, 32, 34, 48, 64, 66, 100, 128};
+    private static final int BLOCK_COUNT = 8;
+    private static final float TOLERANCE = 1e-5f;
+
+    private interface KernelConstructor
+    {
+        PolyphaseFilterKernel create(float[] filter, int channelCount, int tapsPerChannel, int[] topBlockMap,
+                                     int[] middleBlockMap);
+    }
+
+    private static float[] randomArray(Random random, int length)
+    {
+        float[] array = new float[length];
+
+        for(int x = 0; x < length; x++)
+        {
+            array[x] = (random.nextFloat() * 2.0f) - 1.0f;
+        }
+
+        return array;
+    }
+
+    private static int[] randomMap(Random random, int length)
+    {
+        List<Integer> indexes = new ArrayList<>();
+
+        for(int x = 0; x < length; x++)
+        {
+            indexes.add(x);
+        }
+
+        Collections.shuffle(indexes, random);
+        return indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void assertMatchesScalar(long seed, KernelConstructor constructor)
+    {
+        Random random = new Random(seed);
+
+        for(int channelCount : CHANNEL_COUNTS)
+        {
+            int tapsPerChannel = 1 + random.nextInt(16);
+            float[] filter = randomArray(random, channelCount * 2 * tapsPerChannel);
+            int[] topBlockMap = randomMap(random, channelCount * 2);
+            int[] middleBlockMap = randomMap(random, channelCount * 2);
+
+            PolyphaseFilterKernel scalar = new ScalarPolyphaseFilterKernel(filter, channelCount, tapsPerChannel,
+                topBlockMap, middleBlockMap);
+            PolyphaseFilterKernel vector = constructor.create(filter, channelCount, tapsPerChannel, topBlockMap,
+                middleBlockMap);
+            Assertions.assertEquals(scalar.getHistoryLength(), vector.getHistoryLength());
+            Assertions.assertEquals(scalar.getSubChannelCount(), vector.getSubChannelCount());
+
+            int history = scalar.getHistoryLength();
+            float[] samples = randomArray(random, history + BLOCK_COUNT * channelCount);
+            int outputOffset = random.nextInt(10);
+            float[] expected = new float[outputOffset + scalar.getSubChannelCount()];
+            float[] actual = new float[expected.length];
+
+            //Accumulator contents are overwritten by the kernels
+            float[] scalarAccumulator = randomArray(random, scalar.getSubChannelCount());
+            float[] vectorAccumulator = randomArray(random, vector.getSubChannelCount());
+
+            for(int block = 0; block < BLOCK_COUNT; block++)
+            {
+                boolean topBlock = block % 2 == 0;
+                int blockOffset = history + block * channelCount;
+
+                scalar.process(samples, blockOffset, topBlock, scalarAccumulator, expected, outputOffset);
+                vector.process(samples, blockOffset, topBlock, vectorAccumulator, actual, outputOffset);
+
+                for(int x = 0; x < expected.length; x++)
+                {
+                    Assertions.assertEquals(expected[x], actual[x], TOLERANCE, vector.getClass().getSimpleName() +
+                        " channels:" + channelCount + " taps:" + tapsPerChannel + " block:" + block + " index:" + x);
+                }
+            }
+        }
+    }
+
+    @Test
+    void scalarKernelMatchesDirectComputation()
+    {
+        Random random = new Random(0);
+        int channelCount = 16;
+        int tapsPerChannel = 5;
+        int subChannelCount = channelCount * 2;
+        float[] filter = randomArray(random, subChannelCount * tapsPerChannel);
+        int[] topBlockMap = randomMap(random, subChannelCount);
+        int[] middleBlockMap = randomMap(random, subChannelCount);
+        PolyphaseFilterKernel kernel = new ScalarPolyphaseFilterKernel(filter, channelCount, tapsPerChannel,
+            topBlockMap, middleBlockMap);
+
+        float[] samples = randomArray(random, kernel.getHistoryLength() + channelCount);
+        int blockOffset = kernel.getHistoryLength();
+        float[] accumulator = new float[subChannelCount];
+        float[] output = new float[subChannelCount];
+
+        for(boolean topBlock : new boolean[]{true, false})
+        {
+            kernel.process(samples, blockOffset, topBlock, accumulator, output, 0);
+            int[] map = topBlock ? topBlockMap : middleBlockMap;
+
+            //Sub-channel x uses the filter coefficient at each tap against the sample that is (tap * sub-channel count)
+            //behind it, where the second half of the sub-channels is offset one further sample block into the past
+            float[] direct = new float[subChannelCount];
+
+            for(int x = 0; x < subChannelCount; x++)
+            {
+                int sampleIndex = blockOffset + x - (x < channelCount ? 0 : subChannelCount);
+
+                for(int tap = 0; tap < tapsPerChannel; tap++)
+                {
+                    direct[x] += samples[sampleIndex - tap * subChannelCount] * filter[tap * subChannelCount + x];
+                }
+            }
+
+            for(int x = 0; x < subChannelCount; x++)
+            {
+                Assertions.assertEquals(direct[map[x]], output[x], TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    void preferredVectorKernelMatchesScalar()
+    {
+        assertMatchesScalar(1, VectorPolyphaseFilterKernelDefaultBit::new);
+    }
+
+    @Test
+    void vector64BitKernelMatchesScalar()
+    {
+        assertMatchesScalar(2, VectorPolyphaseFilterKernel64Bit::new);
+    }
+
+    @Test
+    void vector128BitKernelMatchesScalar()
+    {
+        assertMatchesScalar(3, VectorPolyphaseFilterKernel128Bit::new);
+    }
+
+    @Test
+    void vector256BitKernelMatchesScalar()
+    {
+        assertMatchesScalar(4, VectorPolyphaseFilterKernel256Bit::new);
+    }
+
+    @Test
+    void vector512BitKernelMatchesScalar()
+    {
+        assertMatchesScalar(5, VectorPolyphaseFilterKernel512Bit::new);
+    }
+}
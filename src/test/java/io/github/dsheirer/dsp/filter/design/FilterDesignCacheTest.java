@@ -0,0 +1,207 @@
+package io.github.dsheirer.dsp.filter.design;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the filter design cache: filters are designed once and served from memory, persisted across instances with
+ * the same application version, and invalidated when the application version changes or when a cached file is
+ * unreadable or belongs to a different key.
+ */
+public class FilterDesignCacheTest
+{
+    private static final String KEY_A = "remez:taps=63:passband=0.1:stopband=0.15";
+    private static final String KEY_B = "sinc-m2:channels=32:taps=9";
+
+    @TempDir
+    Path mDirectory;
+
+    /**
+     * Designer that counts the number of designs and produces the same random filter for each design.
+     */
+    private static class CountingDesigner implements FilterDesignCache.IFilterDesigner
+    {
+        private final AtomicInteger mDesignCount = new AtomicInteger();
+        private final long mSeed;
+
+        CountingDesigner(long seed)
+        {
+            mSeed = seed;
+        }
+
+        @Override
+        public float[] design()
+        {
+            mDesignCount.incrementAndGet();
+            Random random = new Random(mSeed);
+            float[] filter = new float[1 + random.nextInt(500)];
+
+            for(int x = 0; x < filter.length; x++)
+            {
+                filter[x] = random.nextFloat();
+            }
+
+            return filter;
+        }
+
+        int getDesignCount()
+        {
+            return mDesignCount.get();
+        }
+    }
+
+    /**
+     * Designer for filters that must be served from the cache.
+     */
+    private static float[] failDesign() throws FilterDesignException
+    {
+        throw new FilterDesignException("Filter should have been served from the cache");
+    }
+
+    private List<Path> getFilterFiles() throws IOException
+    {
+        try(Stream<Path> stream = Files.list(mDirectory))
+        {
+            return stream.filter(path -> path.toString().endsWith(".filter")).toList();
+        }
+    }
+
+    /**
+     * Waits for the background writes of the cached filter files.
+     */
+    private List<Path> awaitFilterFiles(int count) throws Exception
+    {
+        long timeout = System.currentTimeMillis() + 10000;
+
+        while(getFilterFiles().size() < count && System.currentTimeMillis() < timeout)
+        {
+            Thread.sleep(10);
+        }
+
+        List<Path> files = getFilterFiles();
+        Assertions.assertEquals(count, files.size());
+        return files;
+    }
+
+    @Test
+    void designsOnceAndReturnsCopies() throws Exception
+    {
+        FilterDesignCache cache = new FilterDesignCache(null, null);
+        CountingDesigner designer = new CountingDesigner(0);
+
+        float[] first = cache.getFilter(KEY_A, designer);
+        first[0] = Float.NaN;
+        float[] second = cache.getFilter(KEY_A, designer);
+
+        Assertions.assertArrayEquals(new CountingDesigner(0).design(), second);
+        Assertions.assertEquals(1, designer.getDesignCount());
+        Assertions.assertEquals(1, cache.getMissCount());
+        Assertions.assertEquals(1, cache.getMemoryHitCount());
+        Assertions.assertEquals(0, cache.getDiskHitCount());
+        Assertions.assertTrue(getFilterFiles().isEmpty(), "Memory-only cache must not write files");
+    }
+
+    @Test
+    void nullDesignIsNotCached() throws Exception
+    {
+        FilterDesignCache cache = new FilterDesignCache(null, null);
+        AtomicInteger designCount = new AtomicInteger();
+        FilterDesignCache.IFilterDesigner designer = () -> {
+            designCount.incrementAndGet();
+            return null;
+        };
+
+        Assertions.assertNull(cache.getFilter(KEY_A, designer));
+        Assertions.assertNull(cache.getFilter(KEY_A, designer));
+        Assertions.assertEquals(2, designCount.get());
+    }
+
+    @Test
+    void filtersPersistForTheSameVersion() throws Exception
+    {
+        CountingDesigner designerA = new CountingDesigner(1);
+        CountingDesigner designerB = new CountingDesigner(2);
+        FilterDesignCache cache = new FilterDesignCache("1.0.0", mDirectory);
+        float[] filterA = cache.getFilter(KEY_A, designerA);
+        float[] filterB = cache.getFilter(KEY_B, designerB);
+        awaitFilterFiles(2);
+
+        FilterDesignCache reloaded = new FilterDesignCache("1.0.0", mDirectory);
+        Assertions.assertArrayEquals(filterA, reloaded.getFilter(KEY_A, FilterDesignCacheTest::failDesign));
+        Assertions.assertArrayEquals(filterB, reloaded.getFilter(KEY_B, FilterDesignCacheTest::failDesign));
+        Assertions.assertArrayEquals(filterA, reloaded.getFilter(KEY_A, FilterDesignCacheTest::failDesign));
+        Assertions.assertEquals(2, reloaded.getDiskHitCount());
+        Assertions.assertEquals(1, reloaded.getMemoryHitCount());
+        Assertions.assertEquals(0, reloaded.getMissCount());
+        Assertions.assertEquals(1, designerA.getDesignCount());
+        Assertions.assertEquals(1, designerB.getDesignCount());
+    }
+
+    @Test
+    void versionChangeClearsCache() throws Exception
+    {
+        CountingDesigner designer = new CountingDesigner(3);
+        new FilterDesignCache("1.0.0", mDirectory).getFilter(KEY_A, designer);
+        new FilterDesignCache("1.0.0", mDirectory).getFilter(KEY_B, new CountingDesigner(4));
+        awaitFilterFiles(2);
+
+        FilterDesignCache upgraded = new FilterDesignCache("1.0.1", mDirectory);
+        Assertions.assertTrue(getFilterFiles().isEmpty(), "Filter files from the previous version must be deleted");
+
+        float[] filter = upgraded.getFilter(KEY_A, designer);
+        Assertions.assertArrayEquals(designer.design(), filter);
+        Assertions.assertEquals(1, upgraded.getMissCount());
+        Assertions.assertEquals(0, upgraded.getDiskHitCount());
+        awaitFilterFiles(1);
+
+        //The new version's files are retained when reloaded with the same version
+        FilterDesignCache reloaded = new FilterDesignCache("1.0.1", mDirectory);
+        Assertions.assertArrayEquals(filter, reloaded.getFilter(KEY_A, FilterDesignCacheTest::failDesign));
+        Assertions.assertEquals(1, reloaded.getDiskHitCount());
+    }
+
+    @Test
+    void unreadableFileIsRedesigned() throws Exception
+    {
+        CountingDesigner designer = new CountingDesigner(5);
+        new FilterDesignCache("1.0.0", mDirectory).getFilter(KEY_A, designer);
+        Path file = awaitFilterFiles(1).get(0);
+        byte[] contents = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(contents, contents.length / 2));
+
+        FilterDesignCache reloaded = new FilterDesignCache("1.0.0", mDirectory);
+        Assertions.assertArrayEquals(designer.design(), reloaded.getFilter(KEY_A, designer));
+        Assertions.assertEquals(1, reloaded.getMissCount());
+        Assertions.assertEquals(0, reloaded.getDiskHitCount());
+    }
+
+    /**
+     * A file that is found at the path for a key, but that contains a different key (ie a hash collision), is a miss.
+     */
+    @Test
+    void fileForDifferentKeyIsRedesigned() throws Exception
+    {
+        new FilterDesignCache("1.0.0", mDirectory).getFilter(KEY_A, new CountingDesigner(6));
+        Path file = awaitFilterFiles(1).get(0);
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(KEY_B.getBytes(StandardCharsets.UTF_8));
+        Files.move(file, mDirectory.resolve(HexFormat.of().formatHex(hash) + ".filter"));
+
+        CountingDesigner designer = new CountingDesigner(7);
+        FilterDesignCache reloaded = new FilterDesignCache("1.0.0", mDirectory);
+        Assertions.assertArrayEquals(designer.design(), reloaded.getFilter(KEY_B, designer));
+        Assertions.assertEquals(1, reloaded.getMissCount());
+        Assertions.assertEquals(0, reloaded.getDiskHitCount());
+    }
+}
@@ -0,0 +1,227 @@
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.CorrectedBinaryMessage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the BCH(63,16,23) NID decoder: hard-decision correction up to the correction capability, soft-decision (Chase)
+ * recovery beyond it, and the rate at which soft decoding miscorrects received codewords or accepts random noise.
+ */
+public class BCH_63_16_11Test
+{
+    private static final int LENGTH = 63;
+    private static final int ITERATIONS = 3000;
+
+    /**
+     * Creates valid codewords by collecting the binary codewords that random vectors decode to.  The code is linear, so
+     * sums of these codewords are also valid codewords.
+     */
+    private static List<int[]> createCodewords(Random random, BCH_63_16_11 decoder)
+    {
+        List<int[]> codewords = new ArrayList<>();
+
+        while(codewords.size() < 64)
+        {
+            int[] decoded = new int[LENGTH];
+
+            if(!decoder.decode(randomBits(random), decoded) && isBinary(decoded))
+            {
+                codewords.add(decoded);
+            }
+        }
+
+        return codewords;
+    }
+
+    private static int[] randomBits(Random random)
+    {
+        int[] bits = new int[LENGTH];
+
+        for(int x = 0; x < LENGTH; x++)
+        {
+            bits[x] = random.nextInt(2);
+        }
+
+        return bits;
+    }
+
+    private static boolean isBinary(int[] bits)
+    {
+        return Arrays.stream(bits).allMatch(bit -> bit == 0 || bit == 1);
+    }
+
+    private static int[] randomCodeword(Random random, List<int[]> codewords)
+    {
+        int[] codeword = new int[LENGTH];
+
+        for(int x = 0; x < 8; x++)
+        {
+            int[] other = codewords.get(random.nextInt(codewords.size()));
+
+            for(int y = 0; y < LENGTH; y++)
+            {
+                codeword[y] ^= other[y];
+            }
+        }
+
+        return codeword;
+    }
+
+    private static int getDifferenceCount(int[] a, int[] b)
+    {
+        int count = 0;
+
+        for(int x = 0; x < LENGTH; x++)
+        {
+            if(a[x] != b[x])
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    @Test
+    void correctsErrorsWithinCapability()
+    {
+        Random random = new Random(0);
+        BCH_63_16_11 decoder = new BCH_63_16_11();
+        List<int[]> codewords = createCodewords(random, decoder);
+        int[] maximumConfidence = new int[LENGTH];
+        Arrays.fill(maximumConfidence, CorrectedBinaryMessage.MAXIMUM_CONFIDENCE);
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            int[] codeword = randomCodeword(random, codewords);
+            int[] received = codeword.clone();
+            int errors = random.nextInt(decoder.TT + 1);
+
+            while(getDifferenceCount(codeword, received) < errors)
+            {
+                received[random.nextInt(LENGTH)] ^= 1;
+            }
+
+            int[] confidence = new int[LENGTH];
+
+            for(int y = 0; y < LENGTH; y++)
+            {
+                confidence[y] = random.nextInt(CorrectedBinaryMessage.MAXIMUM_CONFIDENCE + 1);
+            }
+
+            int[] output = new int[LENGTH];
+            Assertions.assertFalse(decoder.decode(received, output));
+            Assertions.assertArrayEquals(codeword, output);
+
+            Assertions.assertFalse(decoder.decode(received, maximumConfidence, output));
+            Assertions.assertArrayEquals(codeword, output);
+
+            Assertions.assertFalse(decoder.decode(received, confidence, output));
+            Assertions.assertArrayEquals(codeword, output);
+        }
+    }
+
+    /**
+     * Simulated BPSK over AWGN with the confidence scaled from the sample magnitude.  Soft decoding must recover every
+     * codeword that the hard-decision decoder recovers, plus additional codewords beyond the correction capability,
+     * while rarely decoding to the wrong codeword.
+     */
+    @Test
+    void softDecodingRecoversMoreWithBoundedMiscorrection()
+    {
+        Random random = new Random(1);
+        BCH_63_16_11 decoder = new BCH_63_16_11();
+        List<int[]> codewords = createCodewords(random, decoder);
+        int hardCorrect = 0;
+        int softCorrect = 0;
+        int softWrong = 0;
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            int[] codeword = randomCodeword(random, codewords);
+            int[] received = new int[LENGTH];
+            int[] confidence = new int[LENGTH];
+
+            for(int y = 0; y < LENGTH; y++)
+            {
+                double sample = (codeword[y] == 1 ? 1.0 : -1.0) + random.nextGaussian() * 0.9;
+                received[y] = sample > 0 ? 1 : 0;
+                confidence[y] = (int)Math.min(CorrectedBinaryMessage.MAXIMUM_CONFIDENCE,
+                    Math.abs(sample) * CorrectedBinaryMessage.MAXIMUM_CONFIDENCE);
+            }
+
+            int[] output = new int[LENGTH];
+            boolean hardDecoded = !decoder.decode(received, output) && Arrays.equals(codeword, output);
+
+            if(hardDecoded)
+            {
+                hardCorrect++;
+            }
+
+            if(!decoder.decode(received, confidence, output))
+            {
+                if(Arrays.equals(codeword, output))
+                {
+                    softCorrect++;
+                }
+                else
+                {
+                    Assertions.assertFalse(hardDecoded, "Soft decoding must not change a hard-decision decode");
+                    softWrong++;
+                }
+            }
+        }
+
+        Assertions.assertTrue(softCorrect > hardCorrect + ITERATIONS / 50, "Soft: " + softCorrect + " Hard: " +
+            hardCorrect);
+        Assertions.assertTrue(softWrong <= ITERATIONS / 200, "Miscorrected: " + softWrong);
+    }
+
+    /**
+     * Random noise vectors that soft decoding accepts must decode to binary codewords within the allowed number of
+     * corrections, and the acceptance rate must stay close to the rate of the hard-decision decoder.
+     */
+    @Test
+    void randomNoiseAcceptanceIsBounded()
+    {
+        Random random = new Random(2);
+        BCH_63_16_11 decoder = new BCH_63_16_11();
+        int iterations = ITERATIONS * 2;
+        int hardAccepted = 0;
+        int softAccepted = 0;
+
+        for(int x = 0; x < iterations; x++)
+        {
+            int[] received = randomBits(random);
+            int[] confidence = new int[LENGTH];
+
+            for(int y = 0; y < LENGTH; y++)
+            {
+                confidence[y] = random.nextInt(CorrectedBinaryMessage.MAXIMUM_CONFIDENCE + 1);
+            }
+
+            int[] output = new int[LENGTH];
+
+            if(!decoder.decode(received, output) && isBinary(output))
+            {
+                hardAccepted++;
+            }
+
+            if(!decoder.decode(received, confidence, output))
+            {
+                softAccepted++;
+                Assertions.assertTrue(isBinary(output));
+                Assertions.assertTrue(getDifferenceCount(received, output) <= decoder.TT + 2);
+            }
+        }
+
+        //Measured at 0.5% hard and 3% soft
+        Assertions.assertTrue(hardAccepted <= iterations / 100, "Hard accepted: " + hardAccepted);
+        Assertions.assertTrue(softAccepted <= iterations / 25, "Soft accepted: " + softAccepted);
+    }
+}
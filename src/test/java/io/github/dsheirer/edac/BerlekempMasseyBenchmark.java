@@ -0,0 +1,134 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.edac;
+
+import java.util.Random;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark for the Berlekemp Massey Reed-Solomon and BCH decoders that measures the average decode time for error
+ * free codewords (zero syndrome) and for codewords with the maximum correctable number of symbol errors.
+ */
+public class BerlekempMasseyBenchmark
+{
+    private static final Logger mLog = LoggerFactory.getLogger(BerlekempMasseyBenchmark.class);
+    private static final int CODEWORD_COUNT = 256;
+    private static final int REPETITIONS = 200;
+    private static final int ITERATIONS = 5;
+
+    /**
+     * Creates codewords for the (shortened) code with random message symbols and the requested number of symbol errors.
+     * Binary (BCH) codewords use the all zero codeword since the RS encoder doesn't produce binary parity symbols.
+     * @param decoder for the code
+     * @param length of the shortened codeword in symbols
+     * @param errors to apply to each codeword
+     * @param binary to restrict symbol values to 0 or 1 (BCH)
+     * @return codewords
+     */
+    private static int[][] getCodewords(BerlekempMassey decoder, int length, int errors, boolean binary)
+    {
+        Random random = new Random(0);
+        int order = decoder.getGaloisField().getOrder();
+        int[][] codewords = new int[CODEWORD_COUNT][];
+
+        for(int x = 0; x < CODEWORD_COUNT; x++)
+        {
+            int[] message = new int[decoder.getMessageLength()];
+
+            if(!binary)
+            {
+                for(int y = 0; y < length - (decoder.getCodewordLength() - decoder.getMessageLength()); y++)
+                {
+                    message[y] = random.nextInt(order + 1);
+                }
+            }
+
+            int[] codeword = new int[decoder.getCodewordLength()];
+            decoder.encode(message, codeword);
+
+            //Error positions are distinct and limited to the shortened codeword
+            for(int y = 0; y < errors; y++)
+            {
+                codeword[y * (length / errors)] ^= binary ? 1 : 1 + random.nextInt(order);
+            }
+
+            codewords[x] = codeword;
+        }
+
+        return codewords;
+    }
+
+    /**
+     * Average decode time in nanoseconds for the set of codewords.
+     */
+    private static double time(BerlekempMassey decoder, int[][] codewords)
+    {
+        int[] output = new int[decoder.getCodewordLength()];
+        int failed = 0;
+
+        long start = System.nanoTime();
+        for(int repetition = 0; repetition < REPETITIONS; repetition++)
+        {
+            for(int[] codeword : codewords)
+            {
+                if(decoder.decode(codeword, output))
+                {
+                    failed++;
+                }
+            }
+        }
+
+        if(failed > 0)
+        {
+            mLog.warn("Decoder failed for " + failed + " codewords");
+        }
+
+        return (System.nanoTime() - start) / (double)(REPETITIONS * codewords.length);
+    }
+
+    /**
+     * Benchmarks the error free and maximum correctable error decode time for a code.
+     * @param label for the code
+     * @param decoder for the code
+     * @param length of the shortened codeword in symbols
+     * @param binary to restrict symbols to 0 or 1 (BCH)
+     */
+    private static void run(String label, BerlekempMassey decoder, int length, boolean binary)
+    {
+        double clean = time(decoder, getCodewords(decoder, length, 0, binary));
+        double errors = time(decoder, getCodewords(decoder, length, decoder.TT, binary));
+        mLog.info(String.format("%-14s No Errors: %8.1f ns   %2d Errors: %8.1f ns", label, clean, decoder.TT, errors));
+    }
+
+    public static void main(String[] args)
+    {
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            run("RS(24,12,13)", new ReedSolomon_24_12_13_P25(), 24, false);
+            run("RS(24,16,9)", new ReedSolomon_24_16_9_P25(), 24, false);
+            run("RS(36,20,17)", new ReedSolomon_63_47_17_P25(), 36, false);
+            run("RS(44,16,29)", new ReedSolomon_44_16_29_P25(), 44, false);
+            run("RS(63,35,29)", new ReedSolomon_63_35_29_P25(), 63, false);
+            run("RS(12,9,4)", new ReedSolomon_12_9_4_DMR(), 12, false);
+            run("BCH(63,16,23)", new BCH_63_16_11(), 63, true);
+        }
+    }
+}
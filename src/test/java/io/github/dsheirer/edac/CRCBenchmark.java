@@ -0,0 +1,159 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import java.util.Random;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark that compares the bit-at-a-time CRC calculation (XOR the table entry for each set message bit) and the
+ * linear syndrome search against the table-driven CRC engine with octet lookup tables and the syndrome hash.
+ */
+public class CRCBenchmark
+{
+    private static final Logger mLog = LoggerFactory.getLogger(CRCBenchmark.class);
+    private static final int MESSAGE_COUNT = 1024;
+    private static final int REPETITIONS = 2_000;
+    private static final int ITERATIONS = 5;
+
+    /**
+     * Bit-at-a-time checksum calculation.
+     */
+    private static long bitwise(BinaryMessage message, int offset, int length, long[] checksums)
+    {
+        long calculated = 0;
+
+        for(int i = message.nextSetBit(offset); i >= offset && i < offset + length; i = message.nextSetBit(i + 1))
+        {
+            calculated ^= checksums[i - offset];
+        }
+
+        return calculated;
+    }
+
+    /**
+     * Linear search for the single bit error position.
+     */
+    private static int linear(long syndrome, long[] checksums)
+    {
+        for(int x = 0; x < checksums.length; x++)
+        {
+            if(checksums[x] == syndrome)
+            {
+                return x;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Benchmarks the checksum calculation and syndrome lookup for one checksum table.
+     * @param label for the checksum table
+     * @param checksums per-bit checksum table
+     * @param length of the message in bits
+     */
+    private static void run(String label, long[] checksums, int length)
+    {
+        Random random = new Random(0);
+        BinaryMessage[] messages = new BinaryMessage[MESSAGE_COUNT];
+        long[] syndromes = new long[MESSAGE_COUNT];
+
+        for(int x = 0; x < MESSAGE_COUNT; x++)
+        {
+            messages[x] = new BinaryMessage(checksums.length);
+
+            for(int y = 0; y < checksums.length; y++)
+            {
+                if(random.nextBoolean())
+                {
+                    messages[x].set(y);
+                }
+            }
+
+            syndromes[x] = checksums[random.nextInt(checksums.length)];
+        }
+
+        CRCEngine engine = new CRCEngine(checksums);
+        long check = 0;
+
+        long start = System.nanoTime();
+        for(int repetition = 0; repetition < REPETITIONS; repetition++)
+        {
+            for(BinaryMessage message : messages)
+            {
+                check += bitwise(message, 0, length, checksums);
+            }
+        }
+        double bitwise = (System.nanoTime() - start) / (double)(REPETITIONS * MESSAGE_COUNT);
+
+        start = System.nanoTime();
+        for(int repetition = 0; repetition < REPETITIONS; repetition++)
+        {
+            for(BinaryMessage message : messages)
+            {
+                check -= engine.calculate(message, 0, length);
+            }
+        }
+        double table = (System.nanoTime() - start) / (double)(REPETITIONS * MESSAGE_COUNT);
+
+        start = System.nanoTime();
+        for(int repetition = 0; repetition < REPETITIONS; repetition++)
+        {
+            for(long syndrome : syndromes)
+            {
+                check += linear(syndrome, checksums);
+            }
+        }
+        double linear = (System.nanoTime() - start) / (double)(REPETITIONS * MESSAGE_COUNT);
+
+        start = System.nanoTime();
+        for(int repetition = 0; repetition < REPETITIONS; repetition++)
+        {
+            for(long syndrome : syndromes)
+            {
+                check -= engine.getBitError(syndrome);
+            }
+        }
+        double hashed = (System.nanoTime() - start) / (double)(REPETITIONS * MESSAGE_COUNT);
+
+        mLog.info(String.format("%-12s Checksum bitwise: %6.1f ns  table: %6.1f ns   Syndrome linear: %6.1f ns  " +
+            "hashed: %6.1f ns %s", label, bitwise, table, linear, hashed, (check == 0 ? "" : "MISMATCH")));
+    }
+
+    public static void main(String[] args)
+    {
+        long[] ccitt80 = new long[CRCP25.CCITT_80_CHECKSUMS.length];
+
+        for(int x = 0; x < ccitt80.length; x++)
+        {
+            ccitt80[x] = CRCP25.CCITT_80_CHECKSUMS[x];
+        }
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            run("CCITT-80", ccitt80, 80);
+            run("PDU1 CRC-32", CRCP25.PDU1_CHECKSUMS, 64);
+            run("PDU3 CRC-32", CRCP25.PDU3_CHECKSUMS, 256);
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.bits.CorrectedBinaryMessage;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Equivalence tests for the table-driven CRC engine against the original bit-at-a-time CRC calculations.
+ */
+public class CRCEngineTest
+{
+    private static final int ITERATIONS = 2000;
+
+    /**
+     * Original bit-at-a-time checksum calculation: XOR the table entry for each set message bit.
+     */
+    private static long bitwise(BitSet message, int offset, int length, long[] checksums)
+    {
+        long calculated = 0;
+
+        for(int i = message.nextSetBit(offset); i >= offset && i < offset + length; i = message.nextSetBit(i + 1))
+        {
+            calculated ^= checksums[i - offset];
+        }
+
+        return calculated;
+    }
+
+    /**
+     * Original table generation by binary long division of a single bit message.
+     */
+    private static long[] generateByDivision(int messageSize, int crcSize, long polynomial, long initialFill,
+                                             boolean includeCRCBitErrors)
+    {
+        long[] table = new long[messageSize + (includeCRCBitErrors ? crcSize : 0)];
+
+        for(int x = 0; x < messageSize; x++)
+        {
+            boolean[] bits = new boolean[messageSize + crcSize];
+            bits[x] = true;
+
+            for(int y = 0; y < crcSize; y++)
+            {
+                bits[messageSize + y] = ((initialFill >>> (crcSize - 1 - y)) & 1) == 1;
+            }
+
+            for(int i = 0; i < messageSize; i++)
+            {
+                if(bits[i])
+                {
+                    for(int j = 0; j <= crcSize; j++)
+                    {
+                        bits[i + j] ^= ((polynomial >>> (crcSize - j)) & 1) == 1;
+                    }
+                }
+            }
+
+            long checksum = 0;
+
+            for(int y = 0; y < crcSize; y++)
+            {
+                checksum = (checksum << 1) | (bits[messageSize + y] ? 1 : 0);
+            }
+
+            table[x] = checksum;
+        }
+
+        for(int x = 0; includeCRCBitErrors && x < crcSize; x++)
+        {
+            table[messageSize + x] = Long.rotateLeft(1, x);
+        }
+
+        return table;
+    }
+
+    /**
+     * Original DMR CRC-8 bit-at-a-time implementation.
+     */
+    private static int crc8Bitwise(BinaryMessage bits, int len)
+    {
+        int crc = 0;
+        final int K = 8;
+        final boolean[] poly = new boolean[]{true, false, false, false, false, false, true, true, true};
+        boolean[] buf = new boolean[256];
+
+        if(len + K > 256)
+        {
+            return 0;
+        }
+
+        for(int i = 0; i < len; i++)
+        {
+            buf[i] = bits.get(i);
+        }
+
+        for(int i = 0; i < len; i++)
+        {
+            if(buf[i])
+            {
+                for(int j = 0; j < K + 1; j++)
+                {
+                    buf[i + j] ^= poly[j];
+                }
+            }
+        }
+
+        for(int i = 0; i < K; i++)
+        {
+            crc = (crc << 1) + (buf[len + i] ? 1 : 0);
+        }
+
+        return crc;
+    }
+
+    private static long[] widen(int[] values)
+    {
+        return Arrays.stream(values).asLongStream().toArray();
+    }
+
+    private static BinaryMessage random(Random random, int size)
+    {
+        BinaryMessage message = new BinaryMessage(size);
+
+        for(int x = 0; x < size; x++)
+        {
+            if(random.nextBoolean())
+            {
+                message.set(x);
+            }
+        }
+
+        return message;
+    }
+
+    /**
+     * Writes the checksum value into the message so that the message passes the CRC check.
+     */
+    private static void writeChecksum(BinaryMessage message, int crcStart, int crcSize, long checksum)
+    {
+        message.load(crcStart, crcSize, checksum);
+    }
+
+    @Test
+    void generateMatchesLongDivision()
+    {
+        Assertions.assertArrayEquals(generateByDivision(80, 16, 0x11021l, 0xFFFFl, true),
+            CRCUtil.generate(80, 16, 0x11021l, 0xFFFFl, true));
+        Assertions.assertArrayEquals(generateByDivision(135, 9, 0x259l, 0x1FFl, false),
+            CRCUtil.generate(135, 9, 0x259l, 0x1FFl, false));
+        Assertions.assertArrayEquals(generateByDivision(144, 12, 0x1897l, 0x0l, false),
+            CRCUtil.generate(144, 12, 0x1897l, 0x0l, false));
+        Assertions.assertArrayEquals(generateByDivision(256, 32, 0x104C11DB7l, 0xFFFFFFFFl, true),
+            CRCUtil.generate(256, 32, 0x104C11DB7l, 0xFFFFFFFFl, true));
+        Assertions.assertArrayEquals(generateByDivision(12, 11, 0xC75l, 0x0l, true),
+            CRCUtil.generate(12, 11, 0xC75l, 0x0l, true));
+    }
+
+    @Test
+    void generateMatchesPublishedTables()
+    {
+        Assertions.assertArrayEquals(widen(CRCP25.CCITT_80_CHECKSUMS), CRCUtil.generate(80, 16, 0x11021l, 0xFFFFl, true));
+        Assertions.assertArrayEquals(CRCP25.PDU1_CHECKSUMS, CRCUtil.generate(64, 32, 0x104C11DB7l, 0xFFFFFFFFl, true));
+        Assertions.assertArrayEquals(CRCP25.PDU2_CHECKSUMS, CRCUtil.generate(160, 32, 0x104C11DB7l, 0xFFFFFFFFl, true));
+        Assertions.assertArrayEquals(CRCP25.PDU3_CHECKSUMS, CRCUtil.generate(256, 32, 0x104C11DB7l, 0xFFFFFFFFl, true));
+    }
+
+    @Test
+    void engineMatchesBitwise()
+    {
+        Random random = new Random(0);
+        long[][] tables = new long[][]{widen(CRCP25.CCITT_80_CHECKSUMS), widen(CRCP25.CRC9_CHECKSUMS),
+            widen(CRCDMR.CCITT_80_CHECKSUMS), widen(CRCDMR.CRC9_CHECKSUMS), CRCP25.PDU1_CHECKSUMS,
+            CRCP25.PDU2_CHECKSUMS, CRCP25.PDU3_CHECKSUMS, widen(Golay24.CHECKSUMS)};
+
+        for(long[] table : tables)
+        {
+            CRCEngine engine = new CRCEngine(table);
+
+            for(int x = 0; x < ITERATIONS; x++)
+            {
+                int offset = random.nextInt(20);
+                int length = 1 + random.nextInt(table.length);
+                BinaryMessage message = random(random, offset + table.length + random.nextInt(20));
+                long expected = bitwise(message, offset, length, table);
+                Assertions.assertEquals(expected, engine.calculate(message, offset, length));
+
+                //Plain BitSet path
+                Assertions.assertEquals(expected, engine.calculate((BitSet)message.clone(), offset, length));
+                BitSet bitSet = new BitSet();
+                bitSet.or(message);
+                Assertions.assertEquals(expected, engine.calculate(bitSet, offset, length));
+            }
+        }
+    }
+
+    @Test
+    void syndromeLookupMatchesLinearSearch()
+    {
+        Random random = new Random(1);
+        long[][] tables = new long[][]{widen(CRCP25.CCITT_80_CHECKSUMS), widen(CRCDMR.CCITT_80_CHECKSUMS),
+            CRCP25.PDU1_CHECKSUMS, CRCP25.PDU2_CHECKSUMS, CRCP25.PDU3_CHECKSUMS};
+
+        for(long[] table : tables)
+        {
+            CRCEngine engine = new CRCEngine(table);
+
+            for(long checksum : table)
+            {
+                Assertions.assertEquals(CRCP25.getBitError(checksum, table), engine.getBitError(checksum));
+            }
+
+            for(int x = 0; x < ITERATIONS; x++)
+            {
+                long syndrome = random.nextLong() & 0xFFFFFFFFl;
+                Assertions.assertEquals(CRCP25.getBitError(syndrome, table), engine.getBitError(syndrome));
+            }
+        }
+    }
+
+    @Test
+    void singleBitCorrectionCCITT80()
+    {
+        Random random = new Random(2);
+        long[] table = widen(CRCP25.CCITT_80_CHECKSUMS);
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            CorrectedBinaryMessage message = new CorrectedBinaryMessage(random(random, 96));
+            writeChecksum(message, 80, 16, bitwise(message, 0, 80, table) ^ 0xFFFF);
+            BinaryMessage original = message.copy();
+
+            Assertions.assertEquals(0, CRCP25.correctCCITT80(message, 0, 80));
+
+            //Note: the checksum bit entries in the table are ordered LSB first, so only message bit errors round-trip
+            int errorBit = random.nextInt(80);
+            message.flip(errorBit);
+            Assertions.assertEquals(1, CRCP25.correctCCITT80(message, 0, 80));
+            Assertions.assertEquals(original, message);
+
+            //The BinaryMessage variant uses an initial fill of zero
+            BinaryMessage legacy = original.copy();
+            writeChecksum(legacy, 80, 16, bitwise(legacy, 0, 80, table));
+            BinaryMessage legacyOriginal = legacy.copy();
+            CRCP25.correctCCITT80(legacy, 0, 80);
+            Assertions.assertEquals(CRC.PASSED, legacy.getCRC());
+            legacy.flip(errorBit);
+            CRCP25.correctCCITT80(legacy, 0, 80);
+            Assertions.assertEquals(CRC.CORRECTED, legacy.getCRC());
+            Assertions.assertEquals(legacyOriginal, legacy);
+        }
+    }
+
+    @Test
+    void singleBitCorrectionDMR()
+    {
+        Random random = new Random(3);
+        long[] table = widen(CRCDMR.CCITT_80_CHECKSUMS);
+        int mask = 0xA5A5;
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            CorrectedBinaryMessage message = new CorrectedBinaryMessage(random(random, 96));
+            writeChecksum(message, 80, 16, bitwise(message, 0, 80, table) ^ mask);
+            BinaryMessage original = message.copy();
+
+            Assertions.assertEquals(mask, CRCDMR.calculateResidual(message, 0, 80));
+            Assertions.assertEquals(0, CRCDMR.correctCCITT80(message, 0, 80, mask));
+
+            message.flip(random.nextInt(80));
+            Assertions.assertEquals(1, CRCDMR.correctCCITT80(message, 0, 80, mask));
+            Assertions.assertEquals(original, message);
+        }
+    }
+
+    @Test
+    void singleBitCorrectionPDU()
+    {
+        Random random = new Random(4);
+
+        for(int x = 0; x < 200; x++)
+        {
+            BinaryMessage message = random(random, 256);
+            writeChecksum(message, 224, 32, bitwise(message, 160, 64, CRCP25.PDU1_CHECKSUMS));
+            BinaryMessage original = message.copy();
+
+            Assertions.assertEquals(CRC.PASSED, CRCP25.correctPDU1(message).getCRC());
+
+            message.flip(160 + random.nextInt(64));
+            Assertions.assertEquals(CRC.CORRECTED, CRCP25.correctPDU1(message).getCRC());
+            Assertions.assertEquals(original, message);
+        }
+    }
+
+    @Test
+    void crc9MatchesBitwise()
+    {
+        Random random = new Random(5);
+        long[] table = widen(CRCP25.CRC9_CHECKSUMS);
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            BinaryMessage message = random(random, 144);
+            long calculated = bitwise(message, 0, 7, table);
+
+            for(int i = message.nextSetBit(16); i >= 0 && i < 144; i = message.nextSetBit(i + 1))
+            {
+                calculated ^= table[i - 9];
+            }
+
+            if(random.nextBoolean())
+            {
+                writeChecksum(message, 7, 9, calculated);
+            }
+
+            long residual = calculated ^ message.getInt(7, 15);
+            CRC expected = (residual == 0 || residual == 0x1FF) ? CRC.PASSED : CRC.FAILED_CRC;
+            Assertions.assertEquals(expected, CRCP25.checkCRC9(message, 0));
+            Assertions.assertEquals(expected, CRCDMR.checkCRC9(message, 0));
+        }
+    }
+
+    @Test
+    void crc8MatchesBitwise()
+    {
+        Random random = new Random(6);
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            BinaryMessage message = random(random, 260);
+            int length = random.nextInt(252);
+            Assertions.assertEquals(crc8Bitwise(message, length), CRCDMR.crc8(message, length));
+        }
+    }
+
+    @Test
+    void fleetsyncSingleBitCorrection()
+    {
+        Random random = new Random(7);
+
+        for(int x = 0; x < 20; x++)
+        {
+            BinaryMessage message = random(random, 64);
+            message.clear(48, 64);
+
+            //Search the 15-bit checksum space for the checksum that passes
+            for(int checksum = 0; checksum < 0x8000; checksum++)
+            {
+                message.load(48, 15, checksum);
+                message.clear(63);
+                message.set(63, message.cardinality() % 2 == 1);
+
+                if(CRCFleetsync.check(message) == CRC.PASSED)
+                {
+                    break;
+                }
+            }
+
+            Assertions.assertEquals(CRC.PASSED, CRCFleetsync.check(message));
+
+            BinaryMessage original = message.copy();
+            int errorBit = random.nextInt(64);
+            message.flip(errorBit);
+            int[] errors = CRCFleetsync.findBitErrors(message);
+            Assertions.assertNotNull(errors);
+            Assertions.assertEquals(errorBit, errors[0]);
+        }
+    }
+}
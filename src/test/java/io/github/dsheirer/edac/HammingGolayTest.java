@@ -0,0 +1,355 @@
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import io.github.dsheirer.bits.CorrectedBinaryMessage;
+import java.util.Random;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Exhaustive bit error injection tests for the syndrome table Hamming(16,11) and Hamming(17,12) decoders and the
+ * Golay(24,12) decoder.  Each codeword is embedded at a random offset within random surrounding bits so that the
+ * tests also verify that correction never touches bits outside of the codeword.
+ */
+public class HammingGolayTest
+{
+    private static final int CODEWORDS = 50;
+    private static final int MAXIMUM_OFFSET = 20;
+    private static final int TRAILING_BITS = 20;
+
+    /**
+     * Data bit checksums, most significant data bit first, copied from the Hamming16 and Hamming17 encoders.
+     */
+    private static final int[] HAMMING16_CHECKSUMS = new int[]{0x13, 0x1A, 0x1F, 0x1C, 0x0E, 0x15, 0x0B, 0x16, 0x19,
+        0x0D, 0x07};
+    private static final int[] HAMMING17_CHECKSUMS = new int[]{0x1B, 0x1F, 0x1D, 0x1C, 0x0E, 0x07, 0x11, 0x1A, 0x0D,
+        0x14, 0x0A, 0x05};
+
+    /**
+     * Function under test: corrects the codeword at the offset and returns the decoder return code.
+     */
+    private interface Decoder
+    {
+        int checkAndCorrect(CorrectedBinaryMessage message, int offset);
+    }
+
+    /**
+     * Encodes the data value by appending the XOR of the checksum for each set data bit.
+     */
+    private static int encode(int data, int dataBitLength, int checkBitLength, int[] checksums)
+    {
+        int checksum = 0;
+
+        for(int x = 0; x < dataBitLength; x++)
+        {
+            if(((data >>> (dataBitLength - 1 - x)) & 1) == 1)
+            {
+                checksum ^= checksums[x];
+            }
+        }
+
+        return (data << checkBitLength) | checksum;
+    }
+
+    /**
+     * Encodes a Golay(24,12) codeword: 12 data bits, 11 Golay(23,12) check bits and an even parity bit.
+     */
+    private static int encodeGolay24(int data)
+    {
+        int codeword = encode(data, 12, 11, Golay24.CHECKSUMS) << 1;
+        return codeword | (Integer.bitCount(codeword) & 1);
+    }
+
+    /**
+     * Creates a message with the codeword at a random offset and random bits before and after the codeword.
+     */
+    private static CorrectedBinaryMessage embed(Random random, int codeword, int length, int offset)
+    {
+        CorrectedBinaryMessage message = new CorrectedBinaryMessage(offset + length + TRAILING_BITS);
+
+        for(int x = 0; x < message.size(); x++)
+        {
+            if(random.nextBoolean())
+            {
+                message.set(x);
+            }
+        }
+
+        message.load(offset, length, codeword);
+        return message;
+    }
+
+    /**
+     * Flips each set bit of the error pattern (MSB is the first codeword bit) in the codeword at the offset.
+     */
+    private static void inject(BinaryMessage message, int offset, int length, int errorPattern)
+    {
+        for(int x = 0; x < length; x++)
+        {
+            if(((errorPattern >>> (length - 1 - x)) & 1) == 1)
+            {
+                message.flip(offset + x);
+            }
+        }
+    }
+
+    /**
+     * Verifies that the bits outside of the codeword match the original message.
+     */
+    private static void assertSurroundingBitsUntouched(BinaryMessage original, BinaryMessage message, int offset,
+                                                       int length)
+    {
+        for(int x = 0; x < message.size(); x++)
+        {
+            if(x < offset || x >= offset + length)
+            {
+                Assertions.assertEquals(original.get(x), message.get(x), "Bit outside of codeword changed: " + x);
+            }
+        }
+    }
+
+    /**
+     * Injects every error pattern of the specified weight into the codeword and verifies that the decoder corrects
+     * the error, restores the original message and reports the expected corrected bit count.
+     */
+    private static void assertCorrected(Random random, Decoder decoder, int codeword, int length, int weight,
+                                        int expectedCorrectedBits)
+    {
+        forEachPattern(length, weight, errorPattern -> {
+            int offset = random.nextInt(MAXIMUM_OFFSET);
+            CorrectedBinaryMessage message = embed(random, codeword, length, offset);
+            BinaryMessage original = message.copy();
+            inject(message, offset, length, errorPattern);
+
+            Assertions.assertEquals(1, decoder.checkAndCorrect(message, offset), "Error pattern not corrected: " +
+                Integer.toHexString(errorPattern));
+            Assertions.assertEquals(original, message, "Codeword not restored for error pattern: " +
+                Integer.toHexString(errorPattern));
+            Assertions.assertEquals(expectedCorrectedBits, message.getCorrectedBitCount());
+        });
+    }
+
+    /**
+     * Injects every error pattern of the specified weight into the codeword and verifies that the decoder rejects the
+     * codeword without changing the message.
+     */
+    private static void assertRejected(Random random, Decoder decoder, int codeword, int length, int weight)
+    {
+        forEachPattern(length, weight, errorPattern -> {
+            int offset = random.nextInt(MAXIMUM_OFFSET);
+            CorrectedBinaryMessage message = embed(random, codeword, length, offset);
+            inject(message, offset, length, errorPattern);
+            BinaryMessage errored = message.copy();
+
+            Assertions.assertEquals(2, decoder.checkAndCorrect(message, offset), "Error pattern not rejected: " +
+                Integer.toHexString(errorPattern));
+            Assertions.assertEquals(errored, message, "Rejected codeword was modified for error pattern: " +
+                Integer.toHexString(errorPattern));
+            Assertions.assertEquals(0, message.getCorrectedBitCount());
+        });
+    }
+
+    /**
+     * Injects every error pattern of the specified weight, beyond the correction capability of a single error
+     * correcting code, and verifies that the errors are always detected and that the decoder either rejects the
+     * codeword without changing it, or flips exactly one codeword bit to reach a valid codeword.
+     */
+    private static void assertDetected(Random random, Decoder decoder, IntPredicate checker, int codeword,
+                                       int length, int weight)
+    {
+        forEachPattern(length, weight, errorPattern -> {
+            int offset = random.nextInt(MAXIMUM_OFFSET);
+            CorrectedBinaryMessage message = embed(random, codeword, length, offset);
+            inject(message, offset, length, errorPattern);
+            BinaryMessage errored = message.copy();
+            int result = decoder.checkAndCorrect(message, offset);
+            int changed = errored.getInt(offset, offset + length - 1) ^ message.getInt(offset, offset + length - 1);
+
+            if(result == 2)
+            {
+                Assertions.assertEquals(errored, message, "Rejected codeword was modified for error pattern: " +
+                    Integer.toHexString(errorPattern));
+            }
+            else
+            {
+                Assertions.assertEquals(1, result, "Error pattern not detected: " + Integer.toHexString(errorPattern));
+                Assertions.assertEquals(1, Integer.bitCount(changed));
+                Assertions.assertTrue(checker.test(message.getInt(offset, offset + length - 1)));
+            }
+
+            assertSurroundingBitsUntouched(errored, message, offset, length);
+        });
+    }
+
+    /**
+     * Invokes the consumer for every error pattern of the specified weight within the codeword length.
+     */
+    private static void forEachPattern(int length, int weight, IntConsumer consumer)
+    {
+        forEachPattern(length, weight, 0, 0, consumer);
+    }
+
+    private static void forEachPattern(int length, int remaining, int position, int pattern, IntConsumer consumer)
+    {
+        if(remaining == 0)
+        {
+            consumer.accept(pattern);
+            return;
+        }
+
+        for(int x = position; x <= length - remaining; x++)
+        {
+            forEachPattern(length, remaining - 1, x + 1, pattern | (1 << x), consumer);
+        }
+    }
+
+    @Test
+    void hamming16NoErrors()
+    {
+        Random random = new Random(0);
+
+        for(int data = 0; data < (1 << 11); data++)
+        {
+            int codeword = encode(data, 11, 5, HAMMING16_CHECKSUMS);
+            int offset = random.nextInt(MAXIMUM_OFFSET);
+            CorrectedBinaryMessage message = embed(random, codeword, 16, offset);
+            BinaryMessage original = message.copy();
+            Assertions.assertEquals(0, Hamming16.checkAndCorrect(message, offset));
+            Assertions.assertEquals(original, message);
+        }
+    }
+
+    @Test
+    void hamming16SingleBitErrors()
+    {
+        Random random = new Random(1);
+
+        for(int x = 0; x < CODEWORDS; x++)
+        {
+            int codeword = encode(random.nextInt(1 << 11), 11, 5, HAMMING16_CHECKSUMS);
+            //Note: the Hamming decoders don't track the corrected bit count
+            assertCorrected(random, Hamming16::checkAndCorrect, codeword, 16, 1, 0);
+        }
+    }
+
+    @Test
+    void hamming16MultipleBitErrors()
+    {
+        Random random = new Random(2);
+        IntPredicate checker = codeword -> Hamming16.getErrorPattern(codeword) == 0;
+
+        for(int x = 0; x < CODEWORDS; x++)
+        {
+            int codeword = encode(random.nextInt(1 << 11), 11, 5, HAMMING16_CHECKSUMS);
+
+            //Every check column has odd weight (SECDED), so all double-bit errors are detected and not corrected
+            assertRejected(random, Hamming16::checkAndCorrect, codeword, 16, 2);
+            assertDetected(random, Hamming16::checkAndCorrect, checker, codeword, 16, 3);
+        }
+    }
+
+    @Test
+    void hamming17NoErrors()
+    {
+        Random random = new Random(3);
+
+        for(int data = 0; data < (1 << 12); data++)
+        {
+            int codeword = encode(data, 12, 5, HAMMING17_CHECKSUMS);
+            int offset = random.nextInt(MAXIMUM_OFFSET);
+            CorrectedBinaryMessage message = embed(random, codeword, 17, offset);
+            BinaryMessage original = message.copy();
+            Assertions.assertEquals(0, Hamming17.checkAndCorrect(message, offset));
+            Assertions.assertEquals(original, message);
+        }
+    }
+
+    @Test
+    void hamming17SingleBitErrors()
+    {
+        Random random = new Random(4);
+
+        for(int x = 0; x < CODEWORDS; x++)
+        {
+            int codeword = encode(random.nextInt(1 << 12), 12, 5, HAMMING17_CHECKSUMS);
+            assertCorrected(random, Hamming17::checkAndCorrect, codeword, 17, 1, 0);
+        }
+    }
+
+    @Test
+    void hamming17MultipleBitErrors()
+    {
+        Random random = new Random(5);
+        IntPredicate checker = codeword -> Hamming17.getErrorPattern(codeword) == 0;
+
+        for(int x = 0; x < CODEWORDS; x++)
+        {
+            int codeword = encode(random.nextInt(1 << 12), 12, 5, HAMMING17_CHECKSUMS);
+
+            //Minimum distance 3: double-bit errors are always detected, but may be mis-corrected
+            assertDetected(random, Hamming17::checkAndCorrect, checker, codeword, 17, 2);
+
+            //Triple-bit errors can produce another valid codeword, so only verify the decoder behaves consistently
+            forEachPattern(17, 3, errorPattern -> {
+                int offset = random.nextInt(MAXIMUM_OFFSET);
+                CorrectedBinaryMessage message = embed(random, codeword, 17, offset);
+                inject(message, offset, 17, errorPattern);
+                BinaryMessage errored = message.copy();
+                int result = Hamming17.checkAndCorrect(message, offset);
+
+                if(result == 0 || result == 2)
+                {
+                    Assertions.assertEquals(errored, message);
+                }
+
+                Assertions.assertTrue(result == 2 || checker.test(message.getInt(offset, offset + 16)));
+                assertSurroundingBitsUntouched(errored, message, offset, 17);
+            });
+        }
+    }
+
+    @Test
+    void golay24NoErrors()
+    {
+        Random random = new Random(6);
+
+        for(int data = 0; data < (1 << 12); data++)
+        {
+            int offset = random.nextInt(MAXIMUM_OFFSET);
+            CorrectedBinaryMessage message = embed(random, encodeGolay24(data), 24, offset);
+            BinaryMessage original = message.copy();
+            Assertions.assertEquals(0, Golay24.checkAndCorrect(message, offset));
+            Assertions.assertEquals(original, message);
+            Assertions.assertEquals(0, message.getCorrectedBitCount());
+        }
+    }
+
+    @Test
+    void golay24CorrectsUpToThreeBitErrors()
+    {
+        Random random = new Random(7);
+
+        for(int x = 0; x < CODEWORDS; x++)
+        {
+            int codeword = encodeGolay24(random.nextInt(1 << 12));
+
+            for(int weight = 1; weight <= 3; weight++)
+            {
+                assertCorrected(random, Golay24::checkAndCorrect, codeword, 24, weight, weight);
+            }
+        }
+    }
+
+    @Test
+    void golay24RejectsFourBitErrors()
+    {
+        Random random = new Random(8);
+
+        for(int x = 0; x < 5; x++)
+        {
+            assertRejected(random, Golay24::checkAndCorrect, encodeGolay24(random.nextInt(1 << 12)), 24, 4);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package io.github.dsheirer.edac.trellis;
+
+import io.github.dsheirer.bits.CorrectedBinaryMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the primitive array Viterbi decoders bit for bit against a reference copy of the previous node/path object
+ * implementation, using error injected codewords and random vectors, with and without erased bits.
+ *
+ * The reference implementation copies each surviving path at every time instant and keeps the first path (ie lowest
+ * preceding state) on an equal error, exactly as the previous implementation did.  Erased bits are excluded from the
+ * reference path error, which matches soft-decision decoding where erased bits have zero confidence and every other
+ * bit has the same confidence.
+ */
+public class ViterbiDecoderTest
+{
+    private static final int MESSAGE_BITS = 196;
+    private static final int SYMBOL_COUNT = MESSAGE_BITS / 4;
+    private static final int ITERATIONS = 5000;
+
+    private static final int[][] P25_1_2_TRANSITION_MATRIX = new int[][]
+    {
+        {2,12,1,15},
+        {14,0,13,3},
+        {9,7,10,4},
+        {5,11,6,8}
+    };
+
+    private static final int[][] TRANSITION_MATRIX_3_4 = new int[][]
+    {
+        {2,13,14,1,7,8,11,4},
+        {14,1,7,8,11,4,2,13},
+        {10,5,6,9,15,0,3,12},
+        {6,9,15,0,3,12,10,5},
+        {15,0,3,12,10,5,6,9},
+        {3,12,10,5,6,9,15,0},
+        {7,8,11,4,2,13,14,1},
+        {11,4,2,13,14,1,7,8}
+    };
+
+    private static final int[] DMR_DEINTERLEAVE_INDEXES = new int[]{0, 1, 2, 3, 16, 17, 18, 19, 32, 33, 34, 35, 48, 49,
+        50, 51, 64, 65, 66, 67, 80, 81, 82, 83, 96, 97, 98, 99, 112, 113, 114, 115, 128, 129, 130, 131, 144, 145, 146,
+        147, 160, 161, 162, 163, 176, 177, 178, 179, 192, 193, 194, 195, 4, 5, 6, 7, 20, 21, 22, 23, 36, 37, 38, 39, 52,
+        53, 54, 55, 68, 69, 70, 71, 84, 85, 86, 87, 100, 101, 102, 103, 116, 117, 118, 119, 132, 133, 134, 135, 148,
+        149, 150, 151, 164, 165, 166, 167, 180, 181, 182, 183, 8, 9, 10, 11, 24, 25, 26, 27, 40, 41, 42, 43, 56, 57, 58,
+        59, 72, 73, 74, 75, 88, 89, 90, 91, 104, 105, 106, 107, 120, 121, 122, 123, 136, 137, 138, 139, 152, 153, 154,
+        155, 168, 169, 170, 171, 184, 185, 186, 187, 12, 13, 14, 15, 28, 29, 30, 31, 44, 45, 46, 47, 60, 61, 62, 63, 76,
+        77, 78, 79, 92, 93, 94, 95, 108, 109, 110, 111, 124, 125, 126, 127, 140, 141, 142, 143, 156, 157, 158, 159, 172,
+        173, 174, 175, 188, 189, 190, 191};
+
+    private static final int[] HAMMING_ERROR_COUNT = new int[]{0,1,1,2,1,2,2,3,1,2,2,3,2,3,3,4};
+
+    /**
+     * Reference path: the input value at each time instant, excluding the starting node, and the accumulated error.
+     */
+    private record ReferencePath(List<Integer> inputs, int error)
+    {
+        ReferencePath add(int input, int error)
+        {
+            List<Integer> inputs = new ArrayList<>(inputs());
+            inputs.add(input);
+            return new ReferencePath(inputs, error() + error);
+        }
+
+        int last()
+        {
+            return inputs.isEmpty() ? 0 : inputs.get(inputs.size() - 1);
+        }
+    }
+
+    /**
+     * Reference decode of the deinterleaved symbols.  Returns the decoded input values followed by the corrected bit
+     * count (received bits that differ from the decoded path, including erased bits).
+     *
+     * @param matrix transition matrix
+     * @param symbols received symbols
+     * @param erasures mask of erased bits for each symbol
+     */
+    private static ReferencePath referenceDecode(int[][] matrix, int[] symbols, int[] erasures)
+    {
+        int stateCount = matrix.length;
+        ReferencePath[] survivors = new ReferencePath[stateCount];
+        survivors[0] = new ReferencePath(new ArrayList<>(), 0);
+
+        for(int x = 0; x < symbols.length - 1; x++)
+        {
+            ReferencePath[] next = new ReferencePath[stateCount];
+
+            for(int input = 0; input < stateCount; input++)
+            {
+                for(ReferencePath path : survivors)
+                {
+                    if(path != null)
+                    {
+                        int error = HAMMING_ERROR_COUNT[(matrix[path.last()][input] ^ symbols[x]) & ~erasures[x]];
+                        ReferencePath candidate = path.add(input, error);
+
+                        if(next[input] == null || candidate.error() < next[input].error())
+                        {
+                            next[input] = candidate;
+                        }
+                    }
+                }
+            }
+
+            survivors = next;
+        }
+
+        int last = symbols.length - 1;
+        ReferencePath best = null;
+
+        for(ReferencePath path : survivors)
+        {
+            if(path != null)
+            {
+                int error = HAMMING_ERROR_COUNT[(matrix[path.last()][0] ^ symbols[last]) & ~erasures[last]];
+                ReferencePath flushed = path.add(0, error);
+
+                if(best == null || flushed.error() < best.error())
+                {
+                    best = flushed;
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Reference decoded message, with the corrected bit count counting every received bit that differs from the
+     * output values of the decoded path.
+     */
+    private static CorrectedBinaryMessage referenceMessage(int[][] matrix, int inputBitLength, int[] symbols,
+                                                          int[] erasures)
+    {
+        ReferencePath path = referenceDecode(matrix, symbols, erasures);
+        List<Integer> inputs = path.inputs();
+        CorrectedBinaryMessage message = new CorrectedBinaryMessage((inputs.size() - 1) * inputBitLength);
+        int corrected = 0;
+        int state = 0;
+
+        for(int x = 0; x < inputs.size(); x++)
+        {
+            int input = inputs.get(x);
+            corrected += HAMMING_ERROR_COUNT[matrix[state][input] ^ symbols[x]];
+            state = input;
+
+            if(x < inputs.size() - 1)
+            {
+                for(int bit = 0; bit < inputBitLength; bit++)
+                {
+                    if((input & (1 << (inputBitLength - 1 - bit))) != 0)
+                    {
+                        message.set(x * inputBitLength + bit);
+                    }
+                }
+            }
+        }
+
+        message.setCorrectedBitCount(corrected);
+        return message;
+    }
+
+    /**
+     * Creates symbols for the test case: either a random vector or a valid codeword with injected bit errors.
+     */
+    private static int[] createSymbols(Random random, int[][] matrix)
+    {
+        int[] symbols = new int[SYMBOL_COUNT];
+
+        if(random.nextInt(4) == 0)
+        {
+            for(int x = 0; x < SYMBOL_COUNT; x++)
+            {
+                symbols[x] = random.nextInt(16);
+            }
+
+            return symbols;
+        }
+
+        int state = 0;
+
+        for(int x = 0; x < SYMBOL_COUNT; x++)
+        {
+            int input = x == SYMBOL_COUNT - 1 ? 0 : random.nextInt(matrix.length);
+            symbols[x] = matrix[state][input];
+            state = input;
+        }
+
+        int errors = random.nextInt(12);
+
+        for(int x = 0; x < errors; x++)
+        {
+            symbols[random.nextInt(SYMBOL_COUNT)] ^= 1 << random.nextInt(4);
+        }
+
+        return symbols;
+    }
+
+    /**
+     * Random erasure masks for each symbol, or no erasures.
+     */
+    private static int[] createErasures(Random random, boolean erase)
+    {
+        int[] erasures = new int[SYMBOL_COUNT];
+
+        if(erase)
+        {
+            int count = random.nextInt(16);
+
+            for(int x = 0; x < count; x++)
+            {
+                erasures[random.nextInt(SYMBOL_COUNT)] |= 1 << random.nextInt(4);
+            }
+        }
+
+        return erasures;
+    }
+
+    /**
+     * Creates the encoded message, where deinterleaved bit index is mapped to the (possibly interleaved) message index
+     * by the index map.  Erased bits are marked with zero confidence when erasures are enabled.
+     */
+    private static CorrectedBinaryMessage createMessage(int[] symbols, int[] erasures, boolean soft, int[] indexMap)
+    {
+        CorrectedBinaryMessage message = new CorrectedBinaryMessage(MESSAGE_BITS);
+
+        for(int x = 0; x < MESSAGE_BITS; x++)
+        {
+            int mask = 1 << (3 - (x % 4));
+            int index = indexMap != null ? indexMap[x] : x;
+
+            if((symbols[x / 4] & mask) != 0)
+            {
+                message.set(index);
+            }
+
+            if(soft)
+            {
+                message.setBitConfidence(index, (erasures[x / 4] & mask) != 0 ? 0 : 7);
+            }
+        }
+
+        return message;
+    }
+
+    private static void assertSameDecode(CorrectedBinaryMessage expected, CorrectedBinaryMessage actual)
+    {
+        Assertions.assertEquals(expected.size(), actual.size());
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(expected.getCorrectedBitCount(), actual.getCorrectedBitCount());
+    }
+
+    /**
+     * DMR interleaved message index for each deinterleaved bit index.
+     */
+    private static int[] dmrInterleaveMap()
+    {
+        int[] map = new int[MESSAGE_BITS];
+
+        for(int x = 0; x < MESSAGE_BITS; x++)
+        {
+            map[DMR_DEINTERLEAVE_INDEXES[x]] = x;
+        }
+
+        return map;
+    }
+
+    @Test
+    void p25HalfRateMatchesReference()
+    {
+        Random random = new Random(0);
+        ViterbiDecoder_1_2_P25 decoder = new ViterbiDecoder_1_2_P25();
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            boolean soft = random.nextBoolean();
+            int[] symbols = createSymbols(random, P25_1_2_TRANSITION_MATRIX);
+            int[] erasures = createErasures(random, soft);
+            CorrectedBinaryMessage expected = referenceMessage(P25_1_2_TRANSITION_MATRIX, 2, symbols, erasures);
+            assertSameDecode(expected, decoder.decode(createMessage(symbols, erasures, soft, null)));
+        }
+    }
+
+    @Test
+    void p25ThreeQuarterRateMatchesReference()
+    {
+        Random random = new Random(1);
+        ViterbiDecoder_3_4_P25 decoder = new ViterbiDecoder_3_4_P25();
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            boolean soft = random.nextBoolean();
+            int[] symbols = createSymbols(random, TRANSITION_MATRIX_3_4);
+            int[] erasures = createErasures(random, soft);
+            CorrectedBinaryMessage expected = referenceMessage(TRANSITION_MATRIX_3_4, 3, symbols, erasures);
+            assertSameDecode(expected, decoder.decode(createMessage(symbols, erasures, soft, null)));
+        }
+    }
+
+    @Test
+    void dmrThreeQuarterRateMatchesReference()
+    {
+        Random random = new Random(2);
+        ViterbiDecoder_3_4_DMR decoder = new ViterbiDecoder_3_4_DMR();
+        int[] interleave = dmrInterleaveMap();
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            boolean soft = random.nextBoolean();
+            int[] symbols = createSymbols(random, TRANSITION_MATRIX_3_4);
+            int[] erasures = createErasures(random, soft);
+            CorrectedBinaryMessage expected = referenceMessage(TRANSITION_MATRIX_3_4, 3, symbols, erasures);
+            assertSameDecode(expected, decoder.decode(createMessage(symbols, erasures, soft, interleave)));
+        }
+    }
+
+    @Test
+    void uniformConfidenceMatchesHardDecision()
+    {
+        Random random = new Random(3);
+        ViterbiDecoder_3_4_P25 decoder = new ViterbiDecoder_3_4_P25();
+        int[] noErasures = new int[SYMBOL_COUNT];
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            int[] symbols = createSymbols(random, TRANSITION_MATRIX_3_4);
+            assertSameDecode(decoder.decode(createMessage(symbols, noErasures, false, null)),
+                decoder.decode(createMessage(symbols, noErasures, true, null)));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.eventbus;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark that compares post throughput and heap allocation of the Guava EventBus against the inter-module event
+ * bus, using a subscriber set that resembles a processing chain: several modules with subscriber methods for a few
+ * event types, a monitor that subscribes to a common super-type of those events, and a share of posted events that
+ * have no subscribers.
+ *
+ * Events are preallocated so that the measured allocation is only the allocation caused by the event bus itself.
+ */
+public class InterModuleEventBusBenchmark
+{
+    private static final Logger mLog = LoggerFactory.getLogger(InterModuleEventBusBenchmark.class);
+    private static final int POST_COUNT = 10_000_000;
+    private static final int ITERATIONS = 5;
+    private static final int MODULE_COUNT = 8;
+
+    public interface Request {}
+    public static class HistoryRequest implements Request {}
+    public static class LockRequest implements Request {}
+    public static class UnsubscribedNotification {}
+
+    /**
+     * Module stand-in with subscriber methods for the benchmark event types
+     */
+    public static class TestModule
+    {
+        private long mCount;
+
+        @Subscribe
+        public void process(HistoryRequest request)
+        {
+            mCount++;
+        }
+
+        @Subscribe
+        public void process(LockRequest request)
+        {
+            mCount++;
+        }
+
+        public long getCount()
+        {
+            return mCount;
+        }
+    }
+
+    /**
+     * Module stand-in with a subscriber method for a super-type of the benchmark event types
+     */
+    public static class TestMonitor
+    {
+        private long mCount;
+
+        @Subscribe
+        public void process(Request request)
+        {
+            mCount++;
+        }
+
+        public long getCount()
+        {
+            return mCount;
+        }
+    }
+
+    /**
+     * Executes a single benchmark run.
+     * @param label for the bus type
+     * @param poster that posts the event to the bus under test
+     * @param events to post
+     */
+    private static void run(String label, Consumer<Object> poster, Object[] events)
+    {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocationStart = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        for(Object event: events)
+        {
+            poster.accept(event);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1E9;
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocationStart;
+
+        mLog.info(String.format("%-24s Posts: %,d  Throughput: %,.0f posts/sec  Allocated: %,d bytes " +
+            "(%.1f bytes/post)", label, events.length, events.length / seconds, allocated,
+            (double)allocated / events.length));
+    }
+
+    public static void main(String[] args)
+    {
+        Object[] events = new Object[POST_COUNT];
+        Object[] types = new Object[]{new HistoryRequest(), new LockRequest(), new UnsubscribedNotification()};
+
+        for(int x = 0; x < events.length; x++)
+        {
+            events[x] = types[x % types.length];
+        }
+
+        EventBus guavaEventBus = new EventBus("benchmark");
+        InterModuleEventBus interModuleEventBus = new InterModuleEventBus("benchmark");
+        TestMonitor guavaMonitor = new TestMonitor();
+        TestMonitor interModuleMonitor = new TestMonitor();
+        guavaEventBus.register(guavaMonitor);
+        interModuleEventBus.register(interModuleMonitor);
+
+        for(int x = 0; x < MODULE_COUNT; x++)
+        {
+            guavaEventBus.register(new TestModule());
+            interModuleEventBus.register(new TestModule());
+        }
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            run("Guava Event Bus", guavaEventBus::post, events);
+            run("Inter-Module Event Bus", interModuleEventBus::post, events);
+        }
+
+        mLog.info("Delivered - Guava: " + guavaMonitor.getCount() + " Inter-Module: " + interModuleMonitor.getCount());
+    }
+}
@@ -0,0 +1,154 @@
+package io.github.dsheirer.identifier.integer;
+
+import io.github.dsheirer.identifier.Role;
+import io.github.dsheirer.identifier.radio.RadioIdentifier;
+import io.github.dsheirer.identifier.talkgroup.TalkgroupIdentifier;
+import io.github.dsheirer.module.decode.p25.identifier.APCO25Nac;
+import io.github.dsheirer.module.decode.p25.identifier.radio.APCO25RadioIdentifier;
+import io.github.dsheirer.module.decode.p25.identifier.talkgroup.APCO25Talkgroup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the integer identifier interning cache: every lookup returns an identifier with the requested value, repeated
+ * values share an instance until a colliding value replaces the slot, and the cached identifier factories keep a
+ * separate cache for each role.
+ */
+public class IntegerIdentifierCacheTest
+{
+    /**
+     * NAC identifier cache that counts the number of identifiers created by the factory.
+     */
+    private static IntegerIdentifierCache<APCO25Nac> createCache(int bitSize, AtomicInteger createCount)
+    {
+        return new IntegerIdentifierCache<>(bitSize, value -> {
+            createCount.incrementAndGet();
+            return new APCO25Nac(value);
+        });
+    }
+
+    @Test
+    void repeatedValuesShareAnInstance()
+    {
+        AtomicInteger createCount = new AtomicInteger();
+        IntegerIdentifierCache<APCO25Nac> cache = createCache(4, createCount);
+        List<APCO25Nac> identifiers = new ArrayList<>();
+
+        for(int value = 0; value < 16; value++)
+        {
+            identifiers.add(cache.get(value));
+        }
+
+        for(int value = 0; value < 16; value++)
+        {
+            Assertions.assertSame(identifiers.get(value), cache.get(value));
+            Assertions.assertEquals(value, cache.get(value).getValue().intValue());
+        }
+
+        Assertions.assertEquals(16, createCount.get());
+    }
+
+    @Test
+    void collidingValuesReplaceTheSlot()
+    {
+        AtomicInteger createCount = new AtomicInteger();
+        IntegerIdentifierCache<APCO25Nac> cache = createCache(4, createCount);
+
+        APCO25Nac first = cache.get(0x3);
+        APCO25Nac colliding = cache.get(0x13);
+        Assertions.assertEquals(0x3, first.getValue().intValue());
+        Assertions.assertEquals(0x13, colliding.getValue().intValue());
+
+        //The colliding value replaced the slot, so the original value is created again
+        APCO25Nac replacement = cache.get(0x3);
+        Assertions.assertNotSame(first, replacement);
+        Assertions.assertEquals(first, replacement);
+        Assertions.assertSame(replacement, cache.get(0x3));
+        Assertions.assertEquals(3, createCount.get());
+
+        //Negative values map by their low-order bits
+        APCO25Nac negative = cache.get(-13);
+        Assertions.assertEquals(-13, negative.getValue().intValue());
+        Assertions.assertNotSame(replacement, cache.get(0x3));
+    }
+
+    @Test
+    void lookupsAlwaysReturnTheRequestedValue()
+    {
+        Random random = new Random(0);
+        IntegerIdentifierCache<APCO25Nac> cache = createCache(6, new AtomicInteger());
+
+        for(int x = 0; x < 100000; x++)
+        {
+            int value = random.nextBoolean() ? random.nextInt(256) : random.nextInt();
+            APCO25Nac identifier = cache.get(value);
+            Assertions.assertEquals(value, identifier.getValue().intValue());
+            Assertions.assertEquals(new APCO25Nac(value), identifier);
+        }
+    }
+
+    @Test
+    void concurrentLookupsReturnTheRequestedValue() throws InterruptedException
+    {
+        IntegerIdentifierCache<APCO25Nac> cache = createCache(3, new AtomicInteger());
+        AtomicInteger errorCount = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+
+        for(int x = 0; x < 4; x++)
+        {
+            Random random = new Random(x);
+            Thread thread = new Thread(() -> {
+                for(int y = 0; y < 100000; y++)
+                {
+                    int value = random.nextInt(64);
+
+                    if(cache.get(value).getValue() != value)
+                    {
+                        errorCount.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for(Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        Assertions.assertEquals(0, errorCount.get());
+    }
+
+    @Test
+    void invalidBitSizeThrows()
+    {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> createCache(0, new AtomicInteger()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> createCache(17, new AtomicInteger()));
+    }
+
+    @Test
+    void eachRoleHasASeparateCache()
+    {
+        TalkgroupIdentifier to = APCO25Talkgroup.create(1234);
+        TalkgroupIdentifier any = APCO25Talkgroup.createAny(1234);
+        Assertions.assertEquals(Role.TO, to.getRole());
+        Assertions.assertEquals(Role.ANY, any.getRole());
+        Assertions.assertNotEquals(to, any);
+        Assertions.assertSame(to, APCO25Talkgroup.create(1234));
+        Assertions.assertSame(any, APCO25Talkgroup.createAny(1234));
+
+        RadioIdentifier radioTo = APCO25RadioIdentifier.createTo(5678);
+        RadioIdentifier radioFrom = APCO25RadioIdentifier.createFrom(5678);
+        RadioIdentifier radioAny = APCO25RadioIdentifier.createAny(5678);
+        Assertions.assertEquals(Role.TO, radioTo.getRole());
+        Assertions.assertEquals(Role.FROM, radioFrom.getRole());
+        Assertions.assertEquals(Role.ANY, radioAny.getRole());
+        Assertions.assertSame(radioFrom, APCO25RadioIdentifier.createFrom(5678));
+        Assertions.assertEquals(5678, radioAny.getValue().intValue());
+    }
+}
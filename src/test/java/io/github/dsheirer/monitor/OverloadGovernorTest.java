@@ -0,0 +1,296 @@
+package io.github.dsheirer.monitor;
+
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests the overload governor thresholds: escalation on queue utilization, queue overflow and sustained process CPU
+ * load with rising queue utilization, the order in which roles are shed, and recovery after the calm period.  The
+ * governor is evaluated directly instead of on the scheduler, with a controlled CPU load.
+ */
+public class OverloadGovernorTest
+{
+    private double mCpuLoad = 0.1;
+
+    /**
+     * Governed load with a controlled queue utilization and overflow count that tracks its shedding state.
+     */
+    private static class TestLoad implements IGovernedLoad
+    {
+        private final ProcessingRole mRole;
+        private float mUtilization;
+        private long mOverflowCount;
+        private boolean mShedding;
+
+        TestLoad(ProcessingRole role)
+        {
+            mRole = role;
+        }
+
+        @Override
+        public String getName()
+        {
+            return mRole.name();
+        }
+
+        @Override
+        public ProcessingRole getProcessingRole()
+        {
+            return mRole;
+        }
+
+        @Override
+        public float getQueueUtilization()
+        {
+            return mUtilization;
+        }
+
+        @Override
+        public long getOverflowCount()
+        {
+            return mOverflowCount;
+        }
+
+        @Override
+        public void setLoadShedding(boolean shedding)
+        {
+            mShedding = shedding;
+        }
+    }
+
+    private OverloadGovernor createGovernor()
+    {
+        return new OverloadGovernor(Mockito.mock(ScheduledExecutorService.class), () -> mCpuLoad);
+    }
+
+    private static TestLoad[] register(OverloadGovernor governor)
+    {
+        TestLoad[] loads = new TestLoad[ProcessingRole.values().length];
+
+        for(ProcessingRole role : ProcessingRole.values())
+        {
+            loads[role.ordinal()] = new TestLoad(role);
+            governor.register(loads[role.ordinal()]);
+        }
+
+        return loads;
+    }
+
+    /**
+     * Asserts that exactly the least important roles are shed for the shed level.
+     */
+    private static void assertShedLevel(int level, OverloadGovernor governor, TestLoad[] loads)
+    {
+        Assertions.assertEquals(level, governor.getShedLevel());
+
+        for(TestLoad load : loads)
+        {
+            boolean expected = load.mRole.ordinal() >= ProcessingRole.values().length - level;
+            Assertions.assertEquals(expected, load.mShedding, load.mRole + " at shed level " + level);
+            Assertions.assertEquals(expected, governor.isShed(load.mRole));
+        }
+    }
+
+    @Test
+    void queueUtilizationShedsOneRolePerInterval()
+    {
+        OverloadGovernor governor = createGovernor();
+        TestLoad[] loads = register(governor);
+        TestLoad control = loads[ProcessingRole.CONTROL.ordinal()];
+
+        control.mUtilization = OverloadGovernor.QUEUE_UTILIZATION_HIGH - 0.01f;
+        governor.evaluate();
+        assertShedLevel(0, governor, loads);
+
+        control.mUtilization = OverloadGovernor.QUEUE_UTILIZATION_HIGH;
+
+        for(int level = 1; level <= OverloadGovernor.MAXIMUM_SHED_LEVEL; level++)
+        {
+            governor.evaluate();
+            assertShedLevel(level, governor, loads);
+        }
+
+        //Control channels are never shed
+        governor.evaluate();
+        assertShedLevel(OverloadGovernor.MAXIMUM_SHED_LEVEL, governor, loads);
+        Assertions.assertEquals(ProcessingRole.values().length - 1, OverloadGovernor.MAXIMUM_SHED_LEVEL);
+    }
+
+    @Test
+    void shedLoadsAreIgnored()
+    {
+        OverloadGovernor governor = createGovernor();
+        TestLoad[] loads = register(governor);
+        TestLoad spectrum = loads[ProcessingRole.SPECTRUM_DISPLAY.ordinal()];
+
+        spectrum.mUtilization = 1.0f;
+        governor.evaluate();
+        assertShedLevel(1, governor, loads);
+
+        //The shed spectral display queue keeps overflowing and is full, but doesn't escalate or prevent recovery
+        for(int x = 0; x < OverloadGovernor.RECOVERY_INTERVALS; x++)
+        {
+            spectrum.mOverflowCount += 100;
+            governor.evaluate();
+        }
+
+        assertShedLevel(0, governor, loads);
+    }
+
+    @Test
+    void queueOverflowEscalates()
+    {
+        OverloadGovernor governor = createGovernor();
+        TestLoad[] loads = register(governor);
+        TestLoad traffic = loads[ProcessingRole.TRAFFIC.ordinal()];
+
+        //The first evaluation establishes the overflow count baseline
+        traffic.mOverflowCount = 50;
+        governor.evaluate();
+        assertShedLevel(0, governor, loads);
+
+        governor.evaluate();
+        assertShedLevel(0, governor, loads);
+
+        traffic.mOverflowCount++;
+        governor.evaluate();
+        assertShedLevel(1, governor, loads);
+
+        traffic.mOverflowCount++;
+        governor.evaluate();
+        assertShedLevel(2, governor, loads);
+
+        //Overflows of the shed traffic channel are ignored
+        traffic.mOverflowCount++;
+        governor.evaluate();
+        assertShedLevel(2, governor, loads);
+
+        loads[ProcessingRole.PRIORITY_TRAFFIC.ordinal()].mOverflowCount++;
+        governor.evaluate();
+        assertShedLevel(3, governor, loads);
+    }
+
+    @Test
+    void sustainedCpuLoadWithRisingUtilizationEscalates()
+    {
+        OverloadGovernor governor = createGovernor();
+        TestLoad[] loads = register(governor);
+        TestLoad control = loads[ProcessingRole.CONTROL.ordinal()];
+        mCpuLoad = OverloadGovernor.CPU_LOAD_HIGH;
+
+        //High CPU load with flat queue utilization doesn't escalate
+        control.mUtilization = 0.1f;
+
+        for(int x = 0; x < OverloadGovernor.CPU_LOAD_HIGH_INTERVALS * 3; x++)
+        {
+            governor.evaluate();
+        }
+
+        assertShedLevel(0, governor, loads);
+
+        //Rising queue utilization must coincide with high CPU load for consecutive intervals
+        for(int x = 0; x < OverloadGovernor.CPU_LOAD_HIGH_INTERVALS - 1; x++)
+        {
+            control.mUtilization += 0.05f;
+            governor.evaluate();
+        }
+
+        mCpuLoad = OverloadGovernor.CPU_LOAD_HIGH - 0.01;
+        control.mUtilization += 0.05f;
+        governor.evaluate();
+        assertShedLevel(0, governor, loads);
+
+        mCpuLoad = OverloadGovernor.CPU_LOAD_HIGH;
+
+        for(int x = 0; x < OverloadGovernor.CPU_LOAD_HIGH_INTERVALS - 1; x++)
+        {
+            control.mUtilization += 0.01f;
+            governor.evaluate();
+            assertShedLevel(0, governor, loads);
+        }
+
+        control.mUtilization += 0.01f;
+        governor.evaluate();
+        assertShedLevel(1, governor, loads);
+        Assertions.assertTrue(control.mUtilization < OverloadGovernor.QUEUE_UTILIZATION_HIGH);
+    }
+
+    @Test
+    void recoversOneLevelAfterCalmIntervals()
+    {
+        OverloadGovernor governor = createGovernor();
+        TestLoad[] loads = register(governor);
+        TestLoad control = loads[ProcessingRole.CONTROL.ordinal()];
+
+        control.mUtilization = OverloadGovernor.QUEUE_UTILIZATION_HIGH;
+        governor.evaluate();
+        governor.evaluate();
+        assertShedLevel(2, governor, loads);
+
+        //Utilization between the low and high thresholds is neither overloaded nor calm and resets the calm period
+        control.mUtilization = OverloadGovernor.QUEUE_UTILIZATION_LOW;
+
+        for(int x = 0; x < OverloadGovernor.RECOVERY_INTERVALS - 1; x++)
+        {
+            governor.evaluate();
+        }
+
+        control.mUtilization = OverloadGovernor.QUEUE_UTILIZATION_LOW + 0.01f;
+        governor.evaluate();
+        assertShedLevel(2, governor, loads);
+
+        //CPU load above the low threshold isn't calm
+        control.mUtilization = OverloadGovernor.QUEUE_UTILIZATION_LOW;
+        mCpuLoad = OverloadGovernor.CPU_LOAD_LOW + 0.01;
+
+        for(int x = 0; x < OverloadGovernor.RECOVERY_INTERVALS * 2; x++)
+        {
+            governor.evaluate();
+        }
+
+        assertShedLevel(2, governor, loads);
+
+        mCpuLoad = OverloadGovernor.CPU_LOAD_LOW;
+
+        for(int level = 1; level >= 0; level--)
+        {
+            for(int x = 0; x < OverloadGovernor.RECOVERY_INTERVALS - 1; x++)
+            {
+                governor.evaluate();
+                assertShedLevel(level + 1, governor, loads);
+            }
+
+            governor.evaluate();
+            assertShedLevel(level, governor, loads);
+        }
+    }
+
+    @Test
+    void unregisteringLastLoadResetsShedding()
+    {
+        OverloadGovernor governor = createGovernor();
+        TestLoad[] loads = register(governor);
+
+        loads[ProcessingRole.CONTROL.ordinal()].mUtilization = 1.0f;
+        governor.evaluate();
+        assertShedLevel(1, governor, loads);
+
+        //Newly registered loads are placed into the current shedding state
+        TestLoad spectrum = new TestLoad(ProcessingRole.SPECTRUM_DISPLAY);
+        governor.register(spectrum);
+        Assertions.assertTrue(spectrum.mShedding);
+
+        governor.unregister(spectrum);
+        Assertions.assertFalse(spectrum.mShedding);
+
+        for(TestLoad load : loads)
+        {
+            governor.unregister(load);
+            Assertions.assertFalse(load.mShedding);
+        }
+
+        Assertions.assertEquals(0, governor.getShedLevel());
+    }
+}
@@ -0,0 +1,256 @@
+package io.github.dsheirer.monitor.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the metrics registry: counters and histograms are shared per name and label set, sampled metrics replace
+ * existing metrics, removed metrics are no longer exported, the latency histogram buckets and quantiles are within the
+ * documented error, and the registry formats metrics in the Prometheus text exposition format.
+ */
+public class MetricsRegistryTest
+{
+    @Test
+    void countersAreSharedPerNameAndLabels()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("test_total", "Test", "channel", "one");
+        Assertions.assertSame(counter, registry.counter("test_total", "Test", "channel", "one"));
+        Assertions.assertNotSame(counter, registry.counter("test_total", "Test", "channel", "two"));
+        Assertions.assertNotSame(counter, registry.counter("test_total", "Test"));
+
+        counter.increment();
+        counter.add(41);
+        Assertions.assertEquals(42, registry.counter("test_total", "Test", "channel", "one").get());
+        Assertions.assertEquals(MetricType.COUNTER, counter.getType());
+    }
+
+    @Test
+    void concurrentIncrementsAreCounted() throws InterruptedException
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        List<Thread> threads = new ArrayList<>();
+
+        for(int x = 0; x < 4; x++)
+        {
+            Thread thread = new Thread(() -> {
+                for(int y = 0; y < 100000; y++)
+                {
+                    registry.counter("test_total", "Test").increment();
+                    registry.histogram("test_seconds", "Test").recordNanos(y);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for(Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        Assertions.assertEquals(400000, registry.counter("test_total", "Test").get());
+        Assertions.assertEquals(400000, registry.histogram("test_seconds", "Test").getCount());
+    }
+
+    @Test
+    void gaugesSampleTheSupplierAndReplaceExistingMetrics()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        AtomicLong value = new AtomicLong(5);
+        Gauge gauge = registry.gauge("test_depth", "Test", value::get, "queue", "a");
+        Assertions.assertEquals(5.0, gauge.get());
+        value.set(7);
+        Assertions.assertEquals(7.0, gauge.get());
+        Assertions.assertEquals(MetricType.GAUGE, gauge.getType());
+
+        Gauge replacement = registry.gauge("test_depth", "Test", () -> 1.0, "queue", "a");
+        Assertions.assertNotSame(gauge, replacement);
+        Assertions.assertEquals("test_depth{queue=\"a\"} 1\n", getSamples(registry));
+
+        //Removing the replaced gauge has no effect
+        registry.remove(gauge);
+        Assertions.assertEquals("test_depth{queue=\"a\"} 1\n", getSamples(registry));
+
+        Gauge counter = registry.functionCounter("test_samples_total", "Test", () -> 3.0);
+        Assertions.assertEquals(MetricType.COUNTER, counter.getType());
+    }
+
+    @Test
+    void removedMetricsAreNotExported()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("test_total", "Test", "channel", "one");
+        Gauge gauge = registry.gauge("test_depth", "Test", () -> 2.0);
+        LatencyHistogram histogram = registry.histogram("test_seconds", "Test");
+
+        registry.remove(counter, gauge, histogram);
+        registry.remove((Metric)null);
+        Assertions.assertEquals("", registry.getPrometheusText());
+
+        //A removed counter is recreated on the next request
+        Assertions.assertNotSame(counter, registry.counter("test_total", "Test", "channel", "one"));
+    }
+
+    @Test
+    void invalidRegistrationsThrow()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("test_total", "Test");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.gauge("test_total", "Test", () -> 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.histogram("test_total", "Test"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.counter("other_total", "Test", "a"));
+    }
+
+    @Test
+    void prometheusTextFormat()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("b_total", "B help", "channel", "two").add(3);
+        registry.counter("b_total", "B help", "channel", "one").increment();
+        registry.gauge("a_value", "A help\\with\nlines", () -> 1.5);
+        registry.gauge("c_value", "C help", () -> Double.NaN, "name", "quote\" slash\\ line\n");
+        registry.functionCounter("d_total", "D help", () -> Double.POSITIVE_INFINITY);
+
+        String expected =
+            "# HELP a_value A help\\\\with\\nlines\n" +
+            "# TYPE a_value gauge\n" +
+            "a_value 1.5\n" +
+            "# HELP b_total B help\n" +
+            "# TYPE b_total counter\n" +
+            "b_total{channel=\"one\"} 1\n" +
+            "b_total{channel=\"two\"} 3\n" +
+            "# HELP c_value C help\n" +
+            "# TYPE c_value gauge\n" +
+            "c_value{name=\"quote\\\" slash\\\\ line\\n\"} NaN\n" +
+            "# HELP d_total D help\n" +
+            "# TYPE d_total counter\n" +
+            "d_total +Inf\n";
+
+        Assertions.assertEquals(expected, registry.getPrometheusText());
+    }
+
+    @Test
+    void histogramIsExportedAsSummaryInSeconds()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        LatencyHistogram histogram = registry.histogram("test_seconds", "Test", "channel", "one");
+        Assertions.assertSame(histogram, registry.histogram("test_seconds", "Test", "channel", "one"));
+        Assertions.assertEquals(MetricType.SUMMARY, histogram.getType());
+
+        //Values below 32 nanoseconds are counted exactly
+        for(int x = 0; x < 5; x++)
+        {
+            histogram.recordNanos(10);
+        }
+
+        String expected =
+            "# HELP test_seconds Test\n" +
+            "# TYPE test_seconds summary\n" +
+            "test_seconds{channel=\"one\",quantile=\"0.5\"} " + (10 / 1E9) + "\n" +
+            "test_seconds{channel=\"one\",quantile=\"0.9\"} " + (10 / 1E9) + "\n" +
+            "test_seconds{channel=\"one\",quantile=\"0.99\"} " + (10 / 1E9) + "\n" +
+            "test_seconds{channel=\"one\",quantile=\"0.999\"} " + (10 / 1E9) + "\n" +
+            "test_seconds_sum{channel=\"one\"} " + (50 / 1E9) + "\n" +
+            "test_seconds_count{channel=\"one\"} 5\n";
+
+        Assertions.assertEquals(expected, registry.getPrometheusText());
+    }
+
+    @Test
+    void emptyHistogramQuantilesAreNaN()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        LatencyHistogram histogram = registry.histogram("test_seconds", "Test");
+        Assertions.assertTrue(Double.isNaN(histogram.getValueAtQuantile(0.5)));
+
+        String expected =
+            "# HELP test_seconds Test\n" +
+            "# TYPE test_seconds summary\n" +
+            "test_seconds{quantile=\"0.5\"} NaN\n" +
+            "test_seconds{quantile=\"0.9\"} NaN\n" +
+            "test_seconds{quantile=\"0.99\"} NaN\n" +
+            "test_seconds{quantile=\"0.999\"} NaN\n" +
+            "test_seconds_sum 0\n" +
+            "test_seconds_count 0\n";
+
+        Assertions.assertEquals(expected, registry.getPrometheusText());
+    }
+
+    @Test
+    void histogramBucketsCoverTheRangeWithoutGaps()
+    {
+        int maximumIndex = LatencyHistogram.getIndex((1L << 40) - 1);
+
+        for(int index = 0; index <= maximumIndex; index++)
+        {
+            long lowest = LatencyHistogram.getLowestValue(index);
+            long highest = LatencyHistogram.getHighestValue(index);
+            Assertions.assertTrue(lowest <= highest, "Index:" + index);
+            Assertions.assertEquals(index, LatencyHistogram.getIndex(lowest), "Index:" + index);
+            Assertions.assertEquals(index, LatencyHistogram.getIndex(highest), "Index:" + index);
+
+            if(index > 0)
+            {
+                Assertions.assertEquals(LatencyHistogram.getHighestValue(index - 1) + 1, lowest, "Index:" + index);
+            }
+
+            //Bucket width is within the documented relative error
+            Assertions.assertTrue(highest - lowest + 1 <= Math.max(1, lowest / 16), "Index:" + index);
+        }
+    }
+
+    @Test
+    void histogramQuantilesAreWithinRelativeError()
+    {
+        Random random = new Random(0);
+        LatencyHistogram histogram = new MetricsRegistry().histogram("test_seconds", "Test");
+        long[] values = new long[10000];
+
+        for(int x = 0; x < values.length; x++)
+        {
+            values[x] = 1 + (long)(Math.pow(10, random.nextDouble() * 9));
+            histogram.recordNanos(values[x]);
+        }
+
+        Arrays.sort(values);
+
+        for(double quantile : new double[]{0.1, 0.5, 0.9, 0.99, 0.999})
+        {
+            long exact = values[(int)Math.ceil(quantile * values.length) - 1];
+            double estimate = histogram.getValueAtQuantile(quantile);
+            Assertions.assertEquals(exact, estimate, exact * 0.0625, "Quantile:" + quantile);
+        }
+
+        //Out of range values are clamped
+        LatencyHistogram clamped = new MetricsRegistry().histogram("test_seconds", "Test");
+        clamped.recordNanos(-5);
+        Assertions.assertEquals(0.0, clamped.getValueAtQuantile(1.0));
+        clamped.recordNanos(Long.MAX_VALUE);
+        Assertions.assertEquals(1L << 40, clamped.getValueAtQuantile(1.0), (1L << 40) * 0.0625);
+        Assertions.assertEquals(2, clamped.getCount());
+    }
+
+    /**
+     * Prometheus text without the HELP and TYPE lines
+     */
+    private static String getSamples(MetricsRegistry registry)
+    {
+        StringBuilder sb = new StringBuilder();
+
+        for(String line : registry.getPrometheusText().split("\n"))
+        {
+            if(!line.startsWith("#"))
+            {
+                sb.append(line).append('\n');
+            }
+        }
+
+        return sb.toString();
+    }
+}
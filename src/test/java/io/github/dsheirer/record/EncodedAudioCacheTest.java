@@ -0,0 +1,107 @@
+package io.github.dsheirer.record;
+
+import io.github.dsheirer.audio.AudioSegment;
+import io.github.dsheirer.audio.convert.InputAudioFormat;
+import io.github.dsheirer.audio.convert.MP3Setting;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the reference counting of the shared encoded audio cache: consumers of the same audio segment and MP3 format
+ * share one encoder, the encoder stays cached until the last consumer releases it, and the released encoder is
+ * disposed so that a late update doesn't encode the audio segment.
+ */
+public class EncodedAudioCacheTest
+{
+    private static final InputAudioFormat FORMAT = InputAudioFormat.SR_8000;
+    private static final MP3Setting SETTING = MP3Setting.CBR_16;
+
+    @Test
+    void consumersShareAnEncoderPerSegmentAndFormat()
+    {
+        EncodedAudioCache cache = new EncodedAudioCache();
+        AudioSegment segment = new AudioSegment(null, 0);
+        AudioSegment otherSegment = new AudioSegment(null, 0);
+
+        IncrementalMP3Encoder encoder = cache.acquire(segment, FORMAT, SETTING);
+        Assertions.assertSame(encoder, cache.acquire(segment, FORMAT, SETTING));
+        Assertions.assertSame(segment, encoder.getAudioSegment());
+        Assertions.assertEquals(1, cache.size());
+
+        //Each segment and MP3 format has a separate encoder
+        IncrementalMP3Encoder other = cache.acquire(otherSegment, FORMAT, SETTING);
+        IncrementalMP3Encoder otherFormat = cache.acquire(segment, InputAudioFormat.SR_16000, SETTING);
+        IncrementalMP3Encoder otherSetting = cache.acquire(segment, FORMAT, MP3Setting.CBR_32);
+        Assertions.assertNotSame(encoder, other);
+        Assertions.assertNotSame(encoder, otherFormat);
+        Assertions.assertNotSame(encoder, otherSetting);
+        Assertions.assertNotSame(otherFormat, otherSetting);
+        Assertions.assertEquals(4, cache.size());
+    }
+
+    @Test
+    void encoderIsRemovedWhenTheLastConsumerReleases()
+    {
+        EncodedAudioCache cache = new EncodedAudioCache();
+        AudioSegment segment = new AudioSegment(null, 0);
+
+        IncrementalMP3Encoder encoder = cache.acquire(segment, FORMAT, SETTING);
+        cache.acquire(segment, FORMAT, SETTING);
+        cache.acquire(segment, FORMAT, SETTING);
+
+        cache.release(encoder);
+        cache.release(encoder);
+        Assertions.assertEquals(1, cache.size());
+
+        //A consumer that acquires while the encoder is still referenced shares the existing encoder
+        Assertions.assertSame(encoder, cache.acquire(segment, FORMAT, SETTING));
+        cache.release(encoder);
+        Assertions.assertEquals(1, cache.size());
+
+        cache.release(encoder);
+        Assertions.assertEquals(0, cache.size());
+
+        //A new consumer of the segment after the last release gets a new encoder
+        IncrementalMP3Encoder replacement = cache.acquire(segment, FORMAT, SETTING);
+        Assertions.assertNotSame(encoder, replacement);
+        Assertions.assertEquals(1, cache.size());
+        cache.release(replacement);
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void releasingOneEncoderDoesNotAffectOthers()
+    {
+        EncodedAudioCache cache = new EncodedAudioCache();
+        AudioSegment segment = new AudioSegment(null, 0);
+
+        IncrementalMP3Encoder encoder = cache.acquire(segment, FORMAT, SETTING);
+        IncrementalMP3Encoder otherFormat = cache.acquire(segment, InputAudioFormat.SR_16000, SETTING);
+
+        cache.release(encoder);
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertSame(otherFormat, cache.acquire(segment, InputAudioFormat.SR_16000, SETTING));
+    }
+
+    @Test
+    void releasedEncoderIgnoresLateUpdates()
+    {
+        EncodedAudioCache cache = new EncodedAudioCache();
+        AudioSegment segment = new AudioSegment(null, 0);
+        AudioSegment otherSegment = new AudioSegment(null, 0);
+        segment.completeProperty().set(true);
+        otherSegment.completeProperty().set(true);
+
+        //The last consumer releases the encoder before a queued update runs
+        IncrementalMP3Encoder released = cache.acquire(segment, FORMAT, SETTING);
+        cache.release(released);
+        released.update();
+        Assertions.assertFalse(released.isComplete());
+
+        IncrementalMP3Encoder active = cache.acquire(otherSegment, FORMAT, SETTING);
+        active.update();
+        Assertions.assertTrue(active.isComplete());
+        Assertions.assertFalse(active.hasAudio());
+        cache.release(active);
+    }
+}
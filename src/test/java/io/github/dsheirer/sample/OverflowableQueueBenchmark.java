@@ -0,0 +1,176 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2024 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.sample;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark that compares throughput and heap allocation of the linked transfer queue based overflowable transfer
+ * queue against the single-producer/single-consumer overflowable ring buffer, using one producer thread and one
+ * consumer thread that drains the queue in batches, as used throughout the sample pipeline.
+ *
+ * Elements are preallocated so that the measured allocation is only the allocation caused by the queue itself.
+ */
+public class OverflowableQueueBenchmark
+{
+    private static final Logger mLog = LoggerFactory.getLogger(OverflowableQueueBenchmark.class);
+    private static final int MAXIMUM_SIZE = 1024;
+    private static final int RESET_THRESHOLD = 512;
+    private static final int ELEMENT_COUNT = 10_000_000;
+    private static final int ITERATIONS = 5;
+
+    /**
+     * Queue operations under test
+     */
+    private interface BenchmarkQueue
+    {
+        void offer(Object element);
+        int drainTo(List<Object> elements);
+        int size();
+    }
+
+    /**
+     * Executes a single benchmark run.
+     * @param label for the queue type
+     * @param queue to test
+     * @param elements to transfer
+     */
+    private static void run(String label, BenchmarkQueue queue, Object[] elements) throws InterruptedException
+    {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long[] allocated = new long[2];
+        long[] received = new long[1];
+
+        Thread producer = new Thread(() -> {
+            long start = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+
+            for(Object element : elements)
+            {
+                //Apply back pressure so that the benchmark measures throughput and not overflow discards
+                while(queue.size() >= MAXIMUM_SIZE - 1)
+                {
+                    Thread.yield();
+                }
+
+                queue.offer(element);
+            }
+
+            allocated[0] = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+        });
+
+        Thread consumer = new Thread(() -> {
+            List<Object> batch = new ArrayList<>(MAXIMUM_SIZE);
+            long start = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            long count = 0;
+
+            while(count < elements.length)
+            {
+                int drained = queue.drainTo(batch);
+
+                if(drained == 0)
+                {
+                    Thread.yield();
+                }
+
+                count += drained;
+                batch.clear();
+            }
+
+            received[0] = count;
+            allocated[1] = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+        });
+
+        long start = System.nanoTime();
+        consumer.start();
+        producer.start();
+        producer.join();
+        consumer.join();
+        double seconds = (System.nanoTime() - start) / 1E9;
+
+        mLog.info(String.format("%-26s Elements: %,d  Throughput: %,.0f elements/sec  Allocated: %,d bytes " +
+            "(%.1f bytes/element)", label, received[0], received[0] / seconds, allocated[0] + allocated[1],
+            (double)(allocated[0] + allocated[1]) / received[0]));
+    }
+
+    public static void main(String[] args) throws InterruptedException
+    {
+        Object[] elements = new Object[ELEMENT_COUNT];
+        Object element = new Object();
+
+        for(int x = 0; x < elements.length; x++)
+        {
+            elements[x] = element;
+        }
+
+        for(int x = 0; x < ITERATIONS; x++)
+        {
+            OverflowableTransferQueue<Object> transferQueue = new OverflowableTransferQueue<>(MAXIMUM_SIZE,
+                RESET_THRESHOLD);
+
+            run("Linked Transfer Queue", new BenchmarkQueue()
+            {
+                @Override
+                public void offer(Object element)
+                {
+                    transferQueue.offer(element);
+                }
+
+                @Override
+                public int drainTo(List<Object> elements)
+                {
+                    return transferQueue.drainTo(elements);
+                }
+
+                @Override
+                public int size()
+                {
+                    return transferQueue.mCounter.get();
+                }
+            }, elements);
+
+            OverflowableRingBuffer<Object> ringBuffer = new OverflowableRingBuffer<>(MAXIMUM_SIZE, RESET_THRESHOLD);
+
+            run("SPSC Ring Buffer", new BenchmarkQueue()
+            {
+                @Override
+                public void offer(Object element)
+                {
+                    ringBuffer.offer(element);
+                }
+
+                @Override
+                public int drainTo(List<Object> elements)
+                {
+                    return ringBuffer.drainTo(elements);
+                }
+
+                @Override
+                public int size()
+                {
+                    return ringBuffer.size();
+                }
+            }, elements);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package io.github.dsheirer.sample;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Overflow, reset and concurrency tests for the multi-producer/single-consumer ring buffer.
+ */
+public class OverflowableRingBufferTest
+{
+    private static final int MAXIMUM_SIZE = 8;
+    private static final int RESET_THRESHOLD = 2;
+
+    @Test
+    void offerResumesAfterOverflowIsDrained()
+    {
+        OverflowableRingBuffer<Integer> buffer = new OverflowableRingBuffer<>(MAXIMUM_SIZE, RESET_THRESHOLD);
+        List<Boolean> states = new ArrayList<>();
+        buffer.setOverflowListener(states::add);
+
+        for(int x = 0; x < MAXIMUM_SIZE; x++)
+        {
+            Assertions.assertTrue(buffer.offer(x));
+        }
+
+        Assertions.assertFalse(buffer.offer(MAXIMUM_SIZE));
+        Assertions.assertTrue(buffer.isOverflow());
+        Assertions.assertFalse(buffer.offer(MAXIMUM_SIZE + 1));
+        Assertions.assertEquals(2, buffer.getOverflowCount());
+
+        //Draining to a size above the reset threshold doesn't clear the overflow state
+        List<Integer> drained = new ArrayList<>();
+        Assertions.assertEquals(MAXIMUM_SIZE - RESET_THRESHOLD - 1, buffer.drainTo(drained,
+            MAXIMUM_SIZE - RESET_THRESHOLD - 1));
+        Assertions.assertTrue(buffer.isOverflow());
+
+        Assertions.assertEquals(RESET_THRESHOLD + 1, buffer.drainTo(drained));
+        Assertions.assertTrue(buffer.isEmpty());
+        Assertions.assertFalse(buffer.isOverflow());
+        Assertions.assertEquals(List.of(true, false), states);
+
+        //Draining an empty queue is a no-op
+        Assertions.assertEquals(0, buffer.drainTo(drained));
+        Assertions.assertFalse(buffer.isOverflow());
+
+        Assertions.assertTrue(buffer.offer(100));
+        Assertions.assertEquals(Integer.valueOf(100), buffer.poll());
+
+        for(int x = 0; x < MAXIMUM_SIZE; x++)
+        {
+            Assertions.assertEquals(Integer.valueOf(x), drained.get(x));
+        }
+    }
+
+    /**
+     * The producer can enter the overflow state using a head index that it read before the consumer emptied the
+     * queue, after the consumer has already checked for reset.  The producer then ignores all inbound elements, so
+     * only an empty drain can reset the overflow state.  The race window can't be forced from a test, so this sets the
+     * resulting state (overflowed and empty) directly.
+     */
+    @Test
+    void emptyDrainResetsStaleOverflow() throws Exception
+    {
+        OverflowableRingBuffer<Integer> buffer = new OverflowableRingBuffer<>(MAXIMUM_SIZE, RESET_THRESHOLD);
+        List<Boolean> states = new ArrayList<>();
+        buffer.setOverflowListener(states::add);
+
+        Assertions.assertTrue(buffer.offer(1));
+        Assertions.assertEquals(1, buffer.drainTo(new ArrayList<>()));
+
+        Field overflow = OverflowableRingBuffer.class.getDeclaredField("mOverflow");
+        overflow.setAccessible(true);
+        ((AtomicBoolean)overflow.get(buffer)).set(true);
+
+        Assertions.assertFalse(buffer.offer(2));
+        Assertions.assertTrue(buffer.isEmpty());
+
+        Assertions.assertEquals(0, buffer.drain(element -> {}, Integer.MAX_VALUE));
+        Assertions.assertFalse(buffer.isOverflow());
+        Assertions.assertEquals(List.of(false), states);
+        Assertions.assertTrue(buffer.offer(3));
+        Assertions.assertEquals(Integer.valueOf(3), buffer.poll());
+    }
+
+    /**
+     * Concurrent producers must never lose, duplicate or overwrite an element: every accepted element is delivered
+     * exactly once and every rejected element is counted as an overflow.
+     */
+    @Test
+    void concurrentProducersDeliverEachAcceptedElementOnce() throws Exception
+    {
+        int producerCount = 4;
+        int elementsPerProducer = 100000;
+        OverflowableRingBuffer<Integer> buffer = new OverflowableRingBuffer<>(64, 16);
+        boolean[] delivered = new boolean[producerCount * elementsPerProducer];
+        boolean[] accepted = new boolean[delivered.length];
+        int[] duplicates = new int[1];
+        Thread[] producers = new Thread[producerCount];
+
+        for(int p = 0; p < producerCount; p++)
+        {
+            int base = p * elementsPerProducer;
+            producers[p] = new Thread(() -> {
+                for(int x = 0; x < elementsPerProducer; x++)
+                {
+                    accepted[base + x] = buffer.offer(base + x);
+                }
+            });
+            producers[p].start();
+        }
+
+        Listener<Integer> consumer = element -> {
+            if(delivered[element])
+            {
+                duplicates[0]++;
+            }
+
+            delivered[element] = true;
+        };
+
+        boolean running = true;
+
+        while(running)
+        {
+            running = false;
+
+            for(Thread producer : producers)
+            {
+                running |= producer.isAlive();
+            }
+
+            buffer.drain(consumer, 16);
+        }
+
+        for(Thread producer : producers)
+        {
+            producer.join();
+        }
+
+        while(!buffer.isEmpty())
+        {
+            buffer.drain(consumer, Integer.MAX_VALUE);
+        }
+
+        long acceptedCount = 0;
+
+        for(int x = 0; x < delivered.length; x++)
+        {
+            Assertions.assertEquals(accepted[x], delivered[x], "Element " + x);
+            acceptedCount += accepted[x] ? 1 : 0;
+        }
+
+        Assertions.assertEquals(0, duplicates[0]);
+        Assertions.assertEquals(delivered.length - acceptedCount, buffer.getOverflowCount());
+    }
+
+    /**
+     * The drained batch is delivered after releasing the consumer lock, so a control thread can clear the queue while
+     * the listener is processing the batch.
+     */
+    @Test
+    void clearIsNotBlockedByDelivery() throws Exception
+    {
+        OverflowableRingBuffer<Integer> buffer = new OverflowableRingBuffer<>(MAXIMUM_SIZE, RESET_THRESHOLD);
+        CountDownLatch receiving = new CountDownLatch(1);
+        CountDownLatch cleared = new CountDownLatch(1);
+        List<Integer> received = new ArrayList<>();
+
+        buffer.offer(1);
+        buffer.offer(2);
+
+        Thread consumer = new Thread(() -> buffer.drain(element -> {
+            received.add(element);
+
+            if(element == 1)
+            {
+                receiving.countDown();
+
+                try
+                {
+                    cleared.await(5, TimeUnit.SECONDS);
+                }
+                catch(InterruptedException ie)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, Integer.MAX_VALUE));
+        consumer.start();
+
+        Assertions.assertTrue(receiving.await(5, TimeUnit.SECONDS));
+        buffer.offer(3);
+
+        //Clear from a control thread while the listener is still blocked processing the batch
+        Thread control = new Thread(buffer::clear);
+        control.start();
+        control.join(2000);
+        boolean clearBlocked = control.isAlive();
+        cleared.countDown();
+        consumer.join();
+        control.join();
+        Assertions.assertFalse(clearBlocked, "clear() blocked behind listener delivery");
+
+        //The batch was already removed before delivery, so clear() only discards the element offered afterwards
+        Assertions.assertEquals(List.of(1, 2), received);
+        Assertions.assertTrue(buffer.isEmpty());
+        Assertions.assertNull(buffer.poll());
+    }
+}